@@ -0,0 +1,135 @@
+package io.dlminer.bench;
+
+import io.dlminer.graph.ALCNode;
+import io.dlminer.graph.Expansion;
+import io.dlminer.graph.SomeEdge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+/**
+ * Matches expansion trees of individuals against concept trees
+ * by {@link Expansion#isMoreSpecificThan}, which dominates instance checking.
+ * Trees are generated in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpansionBenchmark {
+
+	private static final int PATTERNS_NUMBER = 64;
+
+	@Param({"1000", "10000"})
+	public int aboxSize;
+
+	@Param({"1", "2"})
+	public int maxDepth;
+
+	@Param({"2", "4"})
+	public int branching;
+
+	@Param({"0.1", "0.3"})
+	public double labelDensity;
+
+	private List<Expansion> expansions;
+	private List<ALCNode> patterns;
+
+
+
+	@Setup
+	public void setup() {
+		SyntheticABox abox = new SyntheticABox(aboxSize, branching, labelDensity);
+		Random random = new Random(SyntheticABox.DEF_SEED);
+		expansions = new ArrayList<>(aboxSize);
+		for (int i = 0; i < aboxSize; i++) {
+			Expansion root = new Expansion(toExpressions(abox.getLabels(random)));
+			expand(root, 0, abox, random);
+			root.normalise();
+			root.updateConcept();
+			expansions.add(root);
+		}
+		// patterns are single paths as built by refinements
+		patterns = new ArrayList<>(PATTERNS_NUMBER);
+		for (int i = 0; i < PATTERNS_NUMBER; i++) {
+			ALCNode root = new ALCNode(toExpressions(abox.getClasses().get(
+					random.nextInt(abox.getClasses().size()))));
+			ALCNode current = root;
+			int depth = random.nextInt(maxDepth + 1);
+			for (int d = 0; d < depth; d++) {
+				ALCNode child = new ALCNode(toExpressions(abox.getClasses().get(
+						random.nextInt(abox.getClasses().size()))));
+				OWLObjectProperty role = abox.getRoles().get(random.nextInt(abox.getRoles().size()));
+				current.addOutEdge(new SomeEdge(current, role, child));
+				current = child;
+			}
+			root.normalise();
+			root.updateConcept();
+			patterns.add(root);
+		}
+	}
+
+
+
+	private void expand(Expansion node, int depth, SyntheticABox abox, Random random) {
+		if (depth >= maxDepth) {
+			return;
+		}
+		for (int j = 0; j < branching; j++) {
+			Expansion child = new Expansion(toExpressions(abox.getLabels(random)));
+			OWLObjectProperty role = abox.getRoles().get(random.nextInt(abox.getRoles().size()));
+			node.addOutEdge(new SomeEdge(node, role, child));
+			expand(child, depth + 1, abox, random);
+		}
+	}
+
+
+
+	private static Set<OWLClassExpression> toExpressions(Set<? extends OWLClassExpression> labels) {
+		return new HashSet<OWLClassExpression>(labels);
+	}
+
+
+	private static Set<OWLClassExpression> toExpressions(OWLClassExpression label) {
+		Set<OWLClassExpression> labels = new HashSet<>();
+		labels.add(label);
+		return labels;
+	}
+
+
+
+	@Benchmark
+	public void isMoreSpecificThan(Blackhole bh) {
+		for (ALCNode pattern : patterns) {
+			int count = 0;
+			for (Expansion expansion : expansions) {
+				if (expansion.isMoreSpecificThan(pattern)) {
+					count++;
+				}
+			}
+			bh.consume(count);
+		}
+	}
+
+}
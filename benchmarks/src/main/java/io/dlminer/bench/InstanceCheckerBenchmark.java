@@ -0,0 +1,77 @@
+package io.dlminer.bench;
+
+import io.dlminer.graph.ALCNode;
+import io.dlminer.ont.InstanceChecker;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Counts instances of concepts built by the miner
+ * by {@link InstanceChecker#countInstances(ALCNode)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceCheckerBenchmark {
+
+	@Param({"1000", "10000"})
+	public int aboxSize;
+
+	@Param({"1", "2"})
+	public int maxDepth;
+
+	@Param({"2", "4"})
+	public int branching;
+
+	@Param({"0.1", "0.3"})
+	public double labelDensity;
+
+	private MinerFixture fixture;
+	private InstanceChecker checker;
+	private List<ALCNode> nodes;
+
+
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fixture = new MinerFixture(aboxSize, maxDepth, branching, labelDensity);
+		checker = fixture.getConceptBuilder().getInstanceChecker();
+		nodes = fixture.getNodes();
+	}
+
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fixture.dispose();
+	}
+
+
+
+	@Benchmark
+	public void countInstances(Blackhole bh) {
+		for (ALCNode node : nodes) {
+			bh.consume(checker.countInstances(node));
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+package io.dlminer.bench;
+
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.DLMinerOutput;
+import io.dlminer.main.DLMinerStats;
+import io.dlminer.print.Out;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the miner end-to-end over the matrix of {@link MacroCase}
+ * and writes a report of medians over repeated runs. Initialisation
+ * and mining are measured by {@link PhaseProbe}; finer phases
+ * are taken from {@link DLMinerStats}, which records wall time only.
+ * <p>
+ * Usage: report [baseline [tolerance]]. With a baseline, the report
+ * is compared to it and the process exits with 1 on regressions.
+ */
+public class MacroBenchmark {
+
+	public static final int DEF_WARMUPS = 1;
+
+	public static final int DEF_REPEATS = 3;
+
+	public static final double DEF_TOLERANCE = 0.1;
+
+	public static final String INIT_PHASE = "init";
+	public static final String MINING_PHASE = "mining";
+
+	private int warmups;
+	private int repeats;
+
+
+
+	public MacroBenchmark(int warmups, int repeats) {
+		this.warmups = warmups;
+		this.repeats = Math.max(1, repeats);
+	}
+
+
+
+	public MacroReport run(List<MacroCase> cases) throws Exception {
+		MacroReport report = new MacroReport();
+		for (MacroCase macroCase : cases) {
+			Out.p("Benchmarking " + macroCase.getName());
+			for (int i = 0; i < warmups; i++) {
+				runCase(macroCase);
+			}
+			Map<String, List<Double>> samples = new LinkedHashMap<>();
+			for (int i = 0; i < repeats; i++) {
+				Map<String, Double> sample = runCase(macroCase);
+				for (Map.Entry<String, Double> entry : sample.entrySet()) {
+					List<Double> list = samples.get(entry.getKey());
+					if (list == null) {
+						list = new ArrayList<>();
+						samples.put(entry.getKey(), list);
+					}
+					list.add(entry.getValue());
+				}
+			}
+			for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+				String[] key = entry.getKey().split(",");
+				report.put(macroCase.getName(), key[0], key[1], median(entry.getValue()));
+			}
+		}
+		return report;
+	}
+
+
+
+	// values of a single run by phase and metric
+	private Map<String, Double> runCase(MacroCase macroCase) throws Exception {
+		Map<String, Double> sample = new LinkedHashMap<>();
+		PhaseProbe probe = new PhaseProbe();
+		DLMiner miner = new DLMiner(macroCase.createInput());
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				// ignore
+			}
+		}));
+		try {
+			probe.start();
+			miner.init();
+			putProbe(sample, INIT_PHASE, probe.stop());
+			probe.start();
+			miner.run();
+			putProbe(sample, MINING_PHASE, probe.stop());
+		} finally {
+			System.setOut(out);
+			dispose(miner);
+		}
+		DLMinerStats stats = miner.getStats();
+		putTime(sample, "reasoning", stats.getOntologyReasoningTime());
+		putTime(sample, "concepts", stats.getConceptBuildingTime());
+		putTime(sample, "roles", stats.getRoleBuildingTime());
+		putTime(sample, "hypotheses", stats.getHypothesesBuildingTime());
+		putTime(sample, "cleaning", stats.getHypothesesCleaningTime());
+		putCount(sample, "concepts", stats.getConceptsNumber());
+		putCount(sample, "hypotheses", stats.getHypothesesNumber());
+		return sample;
+	}
+
+
+
+	// failed runs must not leave reasoners behind for the next runs
+	private static void dispose(DLMiner miner) {
+		DLMinerOutput output = miner.getOutput();
+		if (output == null) {
+			return;
+		}
+		if (output.getAxiomBuilder() != null) {
+			output.getAxiomBuilder().dispose();
+		}
+		if (output.getReasoner() != null) {
+			output.getReasoner().dispose();
+		}
+	}
+
+
+
+	private static void putProbe(Map<String, Double> sample, String phase, double[] values) {
+		sample.put(phase + "," + MacroReport.TIME_METRIC, values[0]);
+		sample.put(phase + "," + MacroReport.ALLOCATION_METRIC, values[1]);
+		sample.put(phase + "," + MacroReport.PEAK_HEAP_METRIC, values[2]);
+	}
+
+
+
+	// stats record seconds
+	private static void putTime(Map<String, Double> sample, String phase, Double seconds) {
+		if (seconds != null) {
+			sample.put(phase + "," + MacroReport.TIME_METRIC, seconds * 1000);
+		}
+	}
+
+
+
+	private static void putCount(Map<String, Double> sample, String phase, Integer count) {
+		if (count != null) {
+			sample.put(phase + "," + MacroReport.COUNT_METRIC, count.doubleValue());
+		}
+	}
+
+
+
+	private static double median(List<Double> values) {
+		List<Double> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		int n = sorted.size();
+		if (n % 2 == 1) {
+			return sorted.get(n / 2);
+		}
+		return (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2;
+	}
+
+
+
+	public static void main(String[] args) throws Exception {
+
+		// check parameters number
+		if (args.length < 1 || args.length > 3) {
+			throw new RuntimeException(
+					"You need 1 to 3 parameters: report path, " +
+							"\nbaseline report path, tolerance.");
+		}
+
+		// process parameters
+		File reportFile = new File(args[0]);
+		File baselineFile = (args.length > 1) ? new File(args[1]) : null;
+		double tolerance = (args.length > 2) ? Double.parseDouble(args[2]) : DEF_TOLERANCE;
+
+		MacroBenchmark benchmark = new MacroBenchmark(DEF_WARMUPS, DEF_REPEATS);
+		MacroReport report = benchmark.run(MacroCase.createDefaultMatrix());
+		report.write(reportFile);
+		Out.p(report.size() + " values are saved to " + reportFile);
+
+		// compare with the baseline
+		if (baselineFile != null) {
+			MacroReport baseline = MacroReport.read(baselineFile);
+			File comparisonFile = new File(reportFile.getPath() + ".cmp.csv");
+			List<String> regressions = report.compare(baseline, tolerance, comparisonFile);
+			Out.p(regressions.size() + " regressions are found, see " + comparisonFile);
+			if (!regressions.isEmpty()) {
+				System.exit(1);
+			}
+		}
+	}
+
+}
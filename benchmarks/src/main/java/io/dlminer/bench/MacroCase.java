@@ -0,0 +1,102 @@
+package io.dlminer.bench;
+
+import io.dlminer.gen.GeneratorConfig;
+import io.dlminer.gen.OntologyGenerator;
+import io.dlminer.main.DLMinerInput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * A cell of the macro benchmark matrix: a synthetic workload
+ * and settings of the operator and axioms.
+ */
+public class MacroCase {
+
+	private String workload;
+	private GeneratorConfig generatorConfig;
+
+	private String setting;
+	private int maxLength;
+	private int minSupport;
+	private boolean useCleaning;
+	private int threadsNumber;
+	private int maxHypothesesNumber;
+
+
+
+	public MacroCase(String workload, GeneratorConfig generatorConfig,
+			String setting, int maxLength, int minSupport,
+			boolean useCleaning, int threadsNumber, int maxHypothesesNumber) {
+		this.workload = workload;
+		this.generatorConfig = generatorConfig;
+		this.setting = setting;
+		this.maxLength = maxLength;
+		this.minSupport = minSupport;
+		this.useCleaning = useCleaning;
+		this.threadsNumber = threadsNumber;
+		this.maxHypothesesNumber = maxHypothesesNumber;
+	}
+
+
+
+	/**
+	 * @return the input of the miner over a freshly generated ontology
+	 * @throws Exception if the ontology cannot be generated
+	 */
+	public DLMinerInput createInput() throws Exception {
+		OWLOntology ontology = new OntologyGenerator(generatorConfig).generate();
+		DLMinerInput input = new DLMinerInput(ontology);
+		input.setMaxHypothesesNumber(maxHypothesesNumber);
+		input.getOperatorConfig().maxLength = maxLength;
+		input.getOperatorConfig().minSupport = minSupport;
+		input.getAxiomConfig().useCleaning = useCleaning;
+		input.getAxiomConfig().threadsNumber = threadsNumber;
+		return input;
+	}
+
+
+
+	public String getName() {
+		return workload + "/" + setting;
+	}
+
+
+
+	/**
+	 * The default matrix, which must stay fixed to compare versions.
+	 * @return workloads combined with settings
+	 */
+	public static List<MacroCase> createDefaultMatrix() {
+		List<String> workloads = new ArrayList<>();
+		List<GeneratorConfig> configs = new ArrayList<>();
+		workloads.add("atomic-1k");
+		configs.add(createGeneratorConfig(1000, false));
+		workloads.add("atomic-5k");
+		configs.add(createGeneratorConfig(5000, false));
+		workloads.add("exist-1k");
+		configs.add(createGeneratorConfig(1000, true));
+		List<MacroCase> cases = new ArrayList<>();
+		for (int i = 0; i < workloads.size(); i++) {
+			String workload = workloads.get(i);
+			GeneratorConfig config = configs.get(i);
+			cases.add(new MacroCase(workload, config, "len4", 4, 10, false, 1, 1000));
+			cases.add(new MacroCase(workload, config, "len6-clean", 6, 10, true, 1, 1000));
+			cases.add(new MacroCase(workload, config, "len4-t4", 4, 10, false, 4, 1000));
+		}
+		return cases;
+	}
+
+
+
+	private static GeneratorConfig createGeneratorConfig(int individualsNumber,
+			boolean useExistentialPatterns) {
+		GeneratorConfig config = new GeneratorConfig();
+		config.individualsNumber = individualsNumber;
+		config.useExistentialPatterns = useExistentialPatterns;
+		return config;
+	}
+
+}
@@ -0,0 +1,152 @@
+package io.dlminer.bench;
+
+import io.dlminer.print.CSVStreamReader;
+import io.dlminer.print.CSVStreamWriter;
+import io.dlminer.print.Out;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of the macro benchmark: one value per case, phase and metric.
+ * Reports are CSV files with the columns case, phase, metric and value.
+ */
+public class MacroReport {
+
+	public static final String TIME_METRIC = "time_ms";
+	public static final String ALLOCATION_METRIC = "alloc_bytes";
+	public static final String PEAK_HEAP_METRIC = "peak_heap_bytes";
+	public static final String COUNT_METRIC = "count";
+
+	private static final String[] COLUMNS = {"case", "phase", "metric", "value"};
+
+	private static final String[] COMPARISON_COLUMNS = {
+		"case", "phase", "metric", "baseline", "current", "ratio", "regression"
+	};
+
+	// times below this bound are dominated by noise
+	private static final double MIN_COMPARED_TIME = 50;
+
+	private static final String KEY_DELIMITER = "\t";
+
+	private Map<String, Double> values;
+
+
+
+	public MacroReport() {
+		values = new LinkedHashMap<>();
+	}
+
+
+
+	public void put(String caseName, String phase, String metric, double value) {
+		values.put(caseName + KEY_DELIMITER + phase + KEY_DELIMITER + metric, value);
+	}
+
+
+
+	public Double get(String caseName, String phase, String metric) {
+		return values.get(caseName + KEY_DELIMITER + phase + KEY_DELIMITER + metric);
+	}
+
+
+
+	public int size() {
+		return values.size();
+	}
+
+
+
+	public void write(File file) throws IOException {
+		try (CSVStreamWriter writer = new CSVStreamWriter(file, false)) {
+			writer.writeHeader(CSVStreamWriter.renderHeader(COLUMNS));
+			for (Map.Entry<String, Double> entry : values.entrySet()) {
+				for (String part : entry.getKey().split(KEY_DELIMITER)) {
+					writer.cell(part);
+				}
+				writer.cell(entry.getValue());
+				writer.endRow();
+			}
+		}
+	}
+
+
+
+	public static MacroReport read(File file) throws IOException {
+		MacroReport report = new MacroReport();
+		try (CSVStreamReader reader = new CSVStreamReader(file, true)) {
+			String[] row;
+			while ((row = reader.next()) != null) {
+				if (row.length >= COLUMNS.length) {
+					report.put(row[0], row[1], row[2], CSVStreamReader.parseDouble(row[3]));
+				}
+			}
+		}
+		return report;
+	}
+
+
+
+	/**
+	 * Compares times, allocation and peak heap with the baseline;
+	 * a value is a regression if it exceeds the baseline by more than the tolerance.
+	 * Counts are compared exactly since they do not depend on the machine.
+	 * @param baseline the stored report
+	 * @param tolerance the allowed relative increase, e.g. 0.1
+	 * @param file the comparison report or null
+	 * @return descriptions of regressions
+	 * @throws IOException if the comparison report cannot be written
+	 */
+	public List<String> compare(MacroReport baseline, double tolerance, File file) throws IOException {
+		List<String> regressions = new ArrayList<>();
+		CSVStreamWriter writer = null;
+		if (file != null) {
+			writer = new CSVStreamWriter(file, false);
+			writer.writeHeader(CSVStreamWriter.renderHeader(COMPARISON_COLUMNS));
+		}
+		try {
+			for (Map.Entry<String, Double> entry : values.entrySet()) {
+				Double base = baseline.values.get(entry.getKey());
+				if (base == null) {
+					continue;
+				}
+				String[] key = entry.getKey().split(KEY_DELIMITER);
+				double current = entry.getValue();
+				double ratio = (base == 0) ? (current == 0 ? 1 : Double.POSITIVE_INFINITY) : current / base;
+				boolean isRegression;
+				if (key[2].equals(COUNT_METRIC)) {
+					isRegression = current != base;
+				} else if (current < 0 || base < 0) {
+					// not measured
+					isRegression = false;
+				} else if (key[2].equals(TIME_METRIC) && Math.max(current, base) < MIN_COMPARED_TIME) {
+					isRegression = false;
+				} else {
+					isRegression = ratio > 1 + tolerance;
+				}
+				if (isRegression) {
+					regressions.add(key[0] + " " + key[1] + " " + key[2] + ": "
+							+ base + " -> " + current);
+				}
+				if (writer != null) {
+					writer.cell(key[0]).cell(key[1]).cell(key[2])
+						.cell(base).cell(current).cell(ratio).cell(String.valueOf(isRegression));
+					writer.endRow();
+				}
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		for (String regression : regressions) {
+			Out.p("Regression: " + regression);
+		}
+		return regressions;
+	}
+
+}
@@ -0,0 +1,70 @@
+package io.dlminer.bench;
+
+import io.dlminer.graph.ALCNode;
+import io.dlminer.learn.ConceptBuilder;
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.DLMinerInput;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Initialises the miner over a synthetic ABox and builds concepts,
+ * which are then used as inputs of the benchmarked operations.
+ * The progress output of the miner is suppressed.
+ */
+public class MinerFixture {
+
+	public static final int DEF_MAX_CONCEPTS = 500;
+
+	private DLMiner miner;
+	private ConceptBuilder conceptBuilder;
+	private List<ALCNode> nodes;
+
+
+
+	public MinerFixture(int aboxSize, int maxDepth, int branching, double labelDensity) throws Exception {
+		OWLOntology ontology = new SyntheticABox(aboxSize, branching, labelDensity).build();
+		DLMinerInput input = new DLMinerInput(ontology);
+		input.getOperatorConfig().maxDepth = maxDepth;
+		input.getOperatorConfig().maxLength = 2 + 2 * maxDepth;
+		input.getOperatorConfig().minSupport = 1;
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				// ignore
+			}
+		}));
+		try {
+			miner = new DLMiner(input);
+			miner.init();
+			conceptBuilder = miner.getOutput().getConceptBuilder();
+			conceptBuilder.buildConcepts(DEF_MAX_CONCEPTS);
+		} finally {
+			System.setOut(out);
+		}
+		nodes = new ArrayList<>(conceptBuilder.getNodes());
+	}
+
+
+
+	public ConceptBuilder getConceptBuilder() {
+		return conceptBuilder;
+	}
+
+
+	public List<ALCNode> getNodes() {
+		return nodes;
+	}
+
+
+	public void dispose() {
+		miner.getOutput().getReasoner().dispose();
+	}
+
+}
@@ -0,0 +1,128 @@
+package io.dlminer.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the wall time, the allocated bytes and the peak heap
+ * of a phase through JMX. Allocation of threads and the used heap are
+ * sampled periodically, so threads of pools that terminate within the phase
+ * are counted up to their last sample and the peak heap is the largest
+ * sampled total; allocation is -1 if the JVM cannot measure it.
+ */
+public class PhaseProbe {
+
+	public static final long DEF_SAMPLING_INTERVAL = 10;
+
+	private ThreadMXBean threadBean;
+	private MemoryMXBean memoryBean;
+
+	private long startTime;
+	private Map<Long, Long> startAllocations;
+	// the last allocation of each thread seen in the phase
+	private Map<Long, Long> allocations;
+	private long peak;
+	private Thread sampler;
+	private long samplerId = -1;
+
+
+
+	public PhaseProbe() {
+		threadBean = ManagementFactory.getThreadMXBean();
+		memoryBean = ManagementFactory.getMemoryMXBean();
+	}
+
+
+
+	public void start() {
+		System.gc();
+		peak = 0;
+		startAllocations = getAllocatedBytes();
+		allocations = new HashMap<>();
+		sampler = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (!Thread.currentThread().isInterrupted()) {
+						sample();
+						Thread.sleep(DEF_SAMPLING_INTERVAL);
+					}
+				} catch (InterruptedException e) {
+					// stopped
+				}
+			}
+		}, "phase-probe");
+		sampler.setDaemon(true);
+		samplerId = sampler.getId();
+		sampler.start();
+		startTime = System.nanoTime();
+	}
+
+
+
+	private synchronized void sample() {
+		// pools peak at different times, so only the total is comparable
+		peak = Math.max(peak, memoryBean.getHeapMemoryUsage().getUsed());
+		if (startAllocations != null) {
+			allocations.putAll(getAllocatedBytes());
+		}
+	}
+
+
+
+	/**
+	 * @return the wall time in milliseconds, the allocated bytes and the peak heap bytes
+	 */
+	public double[] stop() {
+		long time = System.nanoTime() - startTime;
+		if (sampler != null) {
+			sampler.interrupt();
+			try {
+				sampler.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			sampler = null;
+			sample();
+		}
+		double allocated = -1;
+		if (startAllocations != null) {
+			allocated = 0;
+			for (Map.Entry<Long, Long> entry : allocations.entrySet()) {
+				// the sampler itself is not measured
+				if (entry.getKey() == samplerId) {
+					continue;
+				}
+				Long before = startAllocations.get(entry.getKey());
+				allocated += entry.getValue() - (before == null ? 0 : before);
+			}
+		}
+		return new double[] {time / 1e6, allocated, peak};
+	}
+
+
+
+	// allocated bytes per thread id or null if not supported
+	private Map<Long, Long> getAllocatedBytes() {
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+		if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+			return null;
+		}
+		long[] ids = bean.getAllThreadIds();
+		long[] bytes = bean.getThreadAllocatedBytes(ids);
+		Map<Long, Long> allocations = new HashMap<>();
+		for (int i = 0; i < ids.length; i++) {
+			if (bytes[i] >= 0) {
+				allocations.put(ids[i], bytes[i]);
+			}
+		}
+		return allocations;
+	}
+
+}
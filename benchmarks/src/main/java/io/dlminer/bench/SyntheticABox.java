@@ -0,0 +1,127 @@
+package io.dlminer.bench;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Builds deterministic ABoxes in memory: individuals are labelled
+ * by classes of a binary class tree with the given density and linked
+ * by roles with the given branching factor. The same parameters
+ * and seed always give the same ontology.
+ */
+public class SyntheticABox {
+
+	public static final String NS = "http://www.dlminer.io/bench#";
+
+	public static final int DEF_CLASSES = 16;
+	public static final int DEF_ROLES = 3;
+	public static final long DEF_SEED = 42;
+
+	private int individualsNumber;
+	private int classesNumber;
+	private int rolesNumber;
+	private int branching;
+	private double labelDensity;
+	private long seed;
+
+	private OWLDataFactory factory;
+	private List<OWLClass> classes;
+	private List<OWLObjectProperty> roles;
+
+
+
+	public SyntheticABox(int individualsNumber, int branching, double labelDensity) {
+		this(individualsNumber, DEF_CLASSES, DEF_ROLES, branching, labelDensity, DEF_SEED);
+	}
+
+
+	public SyntheticABox(int individualsNumber, int classesNumber, int rolesNumber,
+			int branching, double labelDensity, long seed) {
+		this.individualsNumber = individualsNumber;
+		this.classesNumber = classesNumber;
+		this.rolesNumber = rolesNumber;
+		this.branching = branching;
+		this.labelDensity = labelDensity;
+		this.seed = seed;
+		factory = OWLManager.getOWLDataFactory();
+		classes = new ArrayList<>(classesNumber);
+		for (int i = 0; i < classesNumber; i++) {
+			classes.add(factory.getOWLClass(IRI.create(NS + "C" + i)));
+		}
+		roles = new ArrayList<>(rolesNumber);
+		for (int i = 0; i < rolesNumber; i++) {
+			roles.add(factory.getOWLObjectProperty(IRI.create(NS + "r" + i)));
+		}
+	}
+
+
+
+	public OWLOntology build() throws OWLOntologyCreationException {
+		Random random = new Random(seed);
+		Set<OWLAxiom> axioms = new HashSet<>();
+		// a binary class tree
+		for (int i = 1; i < classesNumber; i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(classes.get(i), classes.get((i - 1) / 2)));
+		}
+		List<OWLNamedIndividual> individuals = new ArrayList<>(individualsNumber);
+		for (int i = 0; i < individualsNumber; i++) {
+			individuals.add(factory.getOWLNamedIndividual(IRI.create(NS + "i" + i)));
+		}
+		for (OWLNamedIndividual ind : individuals) {
+			for (OWLClass cl : getLabels(random)) {
+				axioms.add(factory.getOWLClassAssertionAxiom(cl, ind));
+			}
+			for (int j = 0; j < branching; j++) {
+				OWLObjectProperty role = roles.get(random.nextInt(roles.size()));
+				OWLNamedIndividual obj = individuals.get(random.nextInt(individuals.size()));
+				axioms.add(factory.getOWLObjectPropertyAssertionAxiom(role, ind, obj));
+			}
+		}
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		return manager.createOntology(axioms, IRI.create(NS.substring(0, NS.length() - 1)));
+	}
+
+
+
+	/**
+	 * @return classes labelling a node, at least one
+	 */
+	public Set<OWLClass> getLabels(Random random) {
+		Set<OWLClass> labels = new HashSet<>();
+		for (OWLClass cl : classes) {
+			if (random.nextDouble() < labelDensity) {
+				labels.add(cl);
+			}
+		}
+		if (labels.isEmpty()) {
+			labels.add(classes.get(random.nextInt(classes.size())));
+		}
+		return labels;
+	}
+
+
+
+	public List<OWLClass> getClasses() {
+		return classes;
+	}
+
+
+	public List<OWLObjectProperty> getRoles() {
+		return roles;
+	}
+
+}
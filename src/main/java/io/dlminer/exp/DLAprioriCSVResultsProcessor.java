@@ -1,10 +1,11 @@
 package io.dlminer.exp;
 
-import io.dlminer.print.CSVReader;
-import io.dlminer.print.CSVWriter;
+import io.dlminer.print.CSVStreamReader;
+import io.dlminer.print.CSVStreamWriter;
 import io.dlminer.print.Out;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -20,16 +21,17 @@ public class DLAprioriCSVResultsProcessor {
         File csvFile = new File(args[0]);
         File newCsvFile = new File(args[1]);
 
-        List<String[]> rows = CSVReader.read(csvFile, false);
-        List<String[]> newRows = new ArrayList<>();
-        for (String[] row : rows) {
-            newRows.add(processDLAprioriCSVRow(row));
+        // rows are processed one by one
+        try (CSVStreamReader csvReader = new CSVStreamReader(csvFile, false);
+             CSVStreamWriter csvWriter = new CSVStreamWriter(newCsvFile, false)) {
+            String[] row;
+            while ((row = csvReader.next()) != null) {
+                csvWriter.writeRow(processDLAprioriCSVRow(row));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
 
-        CSVWriter csvWriter = new CSVWriter(newCsvFile, false);
-        csvWriter.append(newRows);
-        csvWriter.close();
-
         Out.p("\nAll is done.\n");
     }
 
@@ -0,0 +1,14 @@
+package io.dlminer.gen;
+
+/**
+ * Distributions of generated data property values.
+ */
+public enum DataDistribution {
+
+	UNIFORM,
+
+	GAUSSIAN,
+
+	EXPONENTIAL
+
+}
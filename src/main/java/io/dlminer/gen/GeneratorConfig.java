@@ -0,0 +1,165 @@
+package io.dlminer.gen;
+
+/**
+ * Parameters of {@link OntologyGenerator}. The same parameters
+ * always produce the same ontology.
+ */
+public class GeneratorConfig {
+
+	public static final long DEF_SEED = 42;
+
+	public static final int DEF_INDIVIDUALS_NUMBER = 1000;
+
+	public static final int DEF_CLASSES_NUMBER = 30;
+
+	public static final int DEF_HIERARCHY_BRANCHING = 3;
+
+	public static final int DEF_ROLES_NUMBER = 3;
+
+	public static final int DEF_ROLE_FAN_OUT = 2;
+
+	public static final double DEF_ROLE_SKEW = 1;
+
+	public static final int DEF_LABELS_PER_INDIVIDUAL = 2;
+
+	public static final int DEF_DATA_PROPERTIES_NUMBER = 0;
+
+	public static final double DEF_DATA_DENSITY = 0.5;
+
+	public static final int DEF_PLANTED_PATTERNS_NUMBER = 5;
+
+	public static final double DEF_PATTERN_SUPPORT = 0.1;
+
+	public static final double DEF_PATTERN_CONFIDENCE = 1;
+
+	public static final int DEF_BATCH_SIZE = 10000;
+
+
+	/**
+	 * The seed of all random choices
+	 */
+	public long seed = DEF_SEED;
+
+
+	/**
+	 * The number of individuals, which determines the scale of the ABox
+	 */
+	public int individualsNumber = DEF_INDIVIDUALS_NUMBER;
+
+
+	/**
+	 * The number of classes in the class hierarchy
+	 */
+	public int classesNumber = DEF_CLASSES_NUMBER;
+
+
+	/**
+	 * The number of subclasses of each class in the hierarchy:
+	 * 1 gives a chain, larger numbers give shallower trees
+	 */
+	public int hierarchyBranching = DEF_HIERARCHY_BRANCHING;
+
+
+	/**
+	 * The number of object properties
+	 */
+	public int rolesNumber = DEF_ROLES_NUMBER;
+
+
+	/**
+	 * The average number of object property assertions per individual
+	 */
+	public int roleFanOut = DEF_ROLE_FAN_OUT;
+
+
+	/**
+	 * The skew of role objects: 1 picks objects uniformly,
+	 * larger values concentrate assertions on few hub individuals
+	 */
+	public double roleSkew = DEF_ROLE_SKEW;
+
+
+	/**
+	 * The average number of class assertions per individual
+	 * (excluding planted patterns)
+	 */
+	public int labelsPerIndividual = DEF_LABELS_PER_INDIVIDUAL;
+
+
+	/**
+	 * The number of data properties
+	 */
+	public int dataPropertiesNumber = DEF_DATA_PROPERTIES_NUMBER;
+
+
+	/**
+	 * The probability of an individual to have a value of a data property
+	 */
+	public double dataDensity = DEF_DATA_DENSITY;
+
+
+	/**
+	 * The distribution of data property values
+	 */
+	public DataDistribution dataDistribution = DataDistribution.GAUSSIAN;
+
+
+	/**
+	 * The number of planted SubClassOf patterns
+	 */
+	public int plantedPatternsNumber = DEF_PLANTED_PATTERNS_NUMBER;
+
+
+	/**
+	 * The fraction of individuals that are instances of the premise of a pattern
+	 */
+	public double patternSupport = DEF_PATTERN_SUPPORT;
+
+
+	/**
+	 * The fraction of premise instances that are instances of the conclusion
+	 */
+	public double patternConfidence = DEF_PATTERN_CONFIDENCE;
+
+
+	/**
+	 * Whether premises of patterns are existential restrictions
+	 * (r some P SubClassOf Q) rather than atomic classes (P SubClassOf Q)
+	 */
+	public boolean useExistentialPatterns = false;
+
+
+	/**
+	 * The number of assertions passed to the sink at once
+	 */
+	public int batchSize = DEF_BATCH_SIZE;
+
+
+
+	/**
+	 * @return the expected number of ABox assertions
+	 */
+	public long estimateAssertionsNumber() {
+		return (long) (individualsNumber * getAssertionsPerIndividual());
+	}
+
+
+
+	private double getAssertionsPerIndividual() {
+		return labelsPerIndividual + roleFanOut
+				+ dataPropertiesNumber * dataDensity
+				+ 2 * plantedPatternsNumber * patternSupport;
+	}
+
+
+
+	/**
+	 * Sets the number of individuals to produce about the given number of assertions.
+	 * @param assertionsNumber the number of assertions
+	 */
+	public void setScale(long assertionsNumber) {
+		long number = (long) Math.ceil(assertionsNumber / Math.max(getAssertionsPerIndividual(), 1));
+		individualsNumber = (int) Math.min(Integer.MAX_VALUE, Math.max(1, number));
+	}
+
+}
@@ -0,0 +1,408 @@
+package io.dlminer.gen;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.ont.AssertionSink;
+import io.dlminer.print.Out;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxObjectRenderer;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+
+/**
+ * The class generates a TBox and an ABox of a configurable scale
+ * with planted SubClassOf patterns which a miner is expected to find.
+ * <p>
+ * The TBox is a class tree with the given branching. Individuals get
+ * random labels, role assertions with skewed objects and data values.
+ * A pattern P SubClassOf Q (or s some P SubClassOf Q) is planted
+ * by asserting P for a fraction of individuals and Q for a fraction
+ * of the premise instances, while Q also has instances outside
+ * the premise, so the converse does not hold.
+ * <p>
+ * Every choice about an individual is derived from the seed and
+ * its index, so the ABox is streamed in bounded batches
+ * and is the same on every run.
+ */
+public class OntologyGenerator {
+
+	public static final String NS = "http://www.dlminer.io/gen#";
+
+	private static final long PREMISE_SALT = 0x9e3779b97f4a7c15L;
+	private static final long CONCLUSION_SALT = 0xc2b2ae3d27d4eb4fL;
+	private static final long NOISE_SALT = 0x165667b19e3779f9L;
+	private static final long SUBJECT_SALT = 0xd6e8feb86659fd93L;
+
+	private GeneratorConfig config;
+	private OWLDataFactory factory;
+
+	private List<OWLClass> classes;
+	private List<OWLObjectProperty> roles;
+	private List<OWLDataProperty> dataProperties;
+
+	// planted patterns
+	private List<OWLClass> premises;
+	private List<OWLClass> conclusions;
+	private List<OWLObjectProperty> patternRoles;
+	private List<OWLAxiom> plantedAxioms;
+
+
+
+	public OntologyGenerator(GeneratorConfig config) {
+		this.config = config;
+		factory = OWLManager.getOWLDataFactory();
+		classes = new ArrayList<>(config.classesNumber);
+		for (int i = 0; i < config.classesNumber; i++) {
+			classes.add(factory.getOWLClass(IRI.create(NS + "C" + i)));
+		}
+		roles = new ArrayList<>(config.rolesNumber);
+		for (int i = 0; i < config.rolesNumber; i++) {
+			roles.add(factory.getOWLObjectProperty(IRI.create(NS + "r" + i)));
+		}
+		dataProperties = new ArrayList<>(config.dataPropertiesNumber);
+		for (int i = 0; i < config.dataPropertiesNumber; i++) {
+			dataProperties.add(factory.getOWLDataProperty(IRI.create(NS + "d" + i)));
+		}
+		initPatterns();
+	}
+
+
+
+	private void initPatterns() {
+		int n = config.plantedPatternsNumber;
+		premises = new ArrayList<>(n);
+		conclusions = new ArrayList<>(n);
+		patternRoles = new ArrayList<>(n);
+		plantedAxioms = new ArrayList<>(n);
+		for (int k = 0; k < n; k++) {
+			OWLClass premise = factory.getOWLClass(IRI.create(NS + "P" + k));
+			OWLClass conclusion = factory.getOWLClass(IRI.create(NS + "Q" + k));
+			premises.add(premise);
+			conclusions.add(conclusion);
+			OWLClassExpression subClass = premise;
+			if (config.useExistentialPatterns) {
+				// a dedicated role keeps the confidence of the pattern exact
+				OWLObjectProperty role = factory.getOWLObjectProperty(IRI.create(NS + "s" + k));
+				patternRoles.add(role);
+				subClass = factory.getOWLObjectSomeValuesFrom(role, premise);
+			}
+			plantedAxioms.add(factory.getOWLSubClassOfAxiom(subClass, conclusion));
+		}
+	}
+
+
+
+	/**
+	 * @return declarations of all entities and the class hierarchy
+	 */
+	public Set<OWLAxiom> generateTBox() {
+		Set<OWLAxiom> axioms = new HashSet<>();
+		Set<OWLEntity> entities = new HashSet<>();
+		entities.addAll(classes);
+		entities.addAll(roles);
+		entities.addAll(dataProperties);
+		entities.addAll(premises);
+		entities.addAll(conclusions);
+		entities.addAll(patternRoles);
+		for (OWLEntity entity : entities) {
+			axioms.add(factory.getOWLDeclarationAxiom(entity));
+		}
+		int branching = Math.max(1, config.hierarchyBranching);
+		for (int i = 1; i < classes.size(); i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(classes.get(i),
+					classes.get((i - 1) / branching)));
+		}
+		return axioms;
+	}
+
+
+
+	/**
+	 * Passes ABox assertions to the sink in batches; the sink is not closed.
+	 * @param sink the destination of assertions
+	 * @return the number of generated assertions
+	 * @throws Exception if the sink fails
+	 */
+	public long generateABox(AssertionSink sink) throws Exception {
+		int batchSize = Math.max(1, config.batchSize);
+		List<OWLAxiom> batch = new ArrayList<>(batchSize);
+		long count = 0;
+		for (int i = 0; i < config.individualsNumber; i++) {
+			generateIndividual(i, batch);
+			if (batch.size() >= batchSize) {
+				count += batch.size();
+				sink.accept(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+		if (!batch.isEmpty()) {
+			count += batch.size();
+			sink.accept(batch);
+		}
+		Out.p(count + " assertions are generated for "
+				+ config.individualsNumber + " individuals");
+		return count;
+	}
+
+
+
+	private void generateIndividual(int i, List<OWLAxiom> batch) {
+		Random random = new Random(mix(config.seed, i, 0));
+		OWLNamedIndividual ind = getIndividual(i);
+		// labels
+		if (!classes.isEmpty() && config.labelsPerIndividual > 0) {
+			int labelsNumber = 1 + random.nextInt(2 * config.labelsPerIndividual - 1);
+			for (int j = 0; j < labelsNumber; j++) {
+				OWLClass cl = classes.get(random.nextInt(classes.size()));
+				batch.add(factory.getOWLClassAssertionAxiom(cl, ind));
+			}
+		}
+		// roles
+		if (!roles.isEmpty() && config.roleFanOut > 0) {
+			int edgesNumber = random.nextInt(2 * config.roleFanOut + 1);
+			for (int j = 0; j < edgesNumber; j++) {
+				OWLObjectProperty role = roles.get(random.nextInt(roles.size()));
+				batch.add(factory.getOWLObjectPropertyAssertionAxiom(role, ind,
+						getIndividual(getSkewedIndex(random))));
+			}
+		}
+		// data values
+		for (OWLDataProperty prop : dataProperties) {
+			if (random.nextDouble() < config.dataDensity) {
+				batch.add(factory.getOWLDataPropertyAssertionAxiom(prop, ind,
+						getDataValue(random)));
+			}
+		}
+		// patterns
+		for (int k = 0; k < plantedAxioms.size(); k++) {
+			generatePattern(k, i, ind, random, batch);
+		}
+	}
+
+
+
+	private void generatePattern(int k, int i, OWLNamedIndividual ind,
+			Random random, List<OWLAxiom> batch) {
+		boolean isPremise = isPremise(k, i);
+		if (isPremise) {
+			batch.add(factory.getOWLClassAssertionAxiom(premises.get(k), ind));
+		}
+		boolean isSubject = isPremise;
+		if (config.useExistentialPatterns) {
+			isSubject = uniform(mix(config.seed ^ SUBJECT_SALT, k, i)) < config.patternSupport;
+			if (isSubject) {
+				// link to a premise instance
+				int obj = random.nextInt(config.individualsNumber);
+				int attempts = 0;
+				while (!isPremise(k, obj) && attempts++ < 1000) {
+					obj = random.nextInt(config.individualsNumber);
+				}
+				if (!isPremise(k, obj)) {
+					isSubject = false;
+				} else {
+					batch.add(factory.getOWLObjectPropertyAssertionAxiom(
+							patternRoles.get(k), ind, getIndividual(obj)));
+				}
+			}
+		}
+		boolean isConclusion;
+		if (isSubject) {
+			isConclusion = uniform(mix(config.seed ^ CONCLUSION_SALT, k, i)) < config.patternConfidence;
+		} else {
+			// instances outside the premise
+			isConclusion = uniform(mix(config.seed ^ NOISE_SALT, k, i)) < config.patternSupport / 2;
+		}
+		if (isConclusion) {
+			batch.add(factory.getOWLClassAssertionAxiom(conclusions.get(k), ind));
+		}
+	}
+
+
+
+	private boolean isPremise(int k, int i) {
+		return uniform(mix(config.seed ^ PREMISE_SALT, k, i)) < config.patternSupport;
+	}
+
+
+
+	private OWLNamedIndividual getIndividual(int i) {
+		return factory.getOWLNamedIndividual(IRI.create(NS + "i" + i));
+	}
+
+
+
+	// hub individuals have small indices
+	private int getSkewedIndex(Random random) {
+		double u = random.nextDouble();
+		if (config.roleSkew > 1) {
+			u = Math.pow(u, config.roleSkew);
+		}
+		return (int) Math.min(config.individualsNumber - 1, (long) (u * config.individualsNumber));
+	}
+
+
+
+	private double getDataValue(Random random) {
+		double value;
+		switch (config.dataDistribution) {
+		case UNIFORM:
+			value = 100 * random.nextDouble();
+			break;
+		case EXPONENTIAL:
+			value = -10 * Math.log(1 - random.nextDouble());
+			break;
+		default:
+			value = 50 + 15 * random.nextGaussian();
+			break;
+		}
+		// few distinct values as in real data
+		return Math.round(value * 10) / 10.0;
+	}
+
+
+
+	// splitmix64 over the seed and two indices
+	private static long mix(long seed, long a, long b) {
+		long z = seed + 0x9e3779b97f4a7c15L * (a + 1) + 0xbf58476d1ce4e5b9L * (b + 1);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+
+
+	private static double uniform(long hash) {
+		return (hash >>> 11) * 0x1.0p-53;
+	}
+
+
+
+	/**
+	 * @return the ontology with the TBox and the ABox in memory
+	 * @throws Exception if the ontology cannot be created
+	 */
+	public OWLOntology generate() throws Exception {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		final OWLOntology ontology = manager.createOntology(generateTBox(), getIRI());
+		generateABox(new AssertionSink() {
+			@Override
+			public void accept(List<OWLAxiom> batch) {
+				ontology.getOWLOntologyManager().addAxioms(ontology, new HashSet<>(batch));
+			}
+			@Override
+			public void close() {
+				// nothing to release
+			}
+		});
+		return ontology;
+	}
+
+
+
+	/**
+	 * Writes the ontology in the functional syntax without keeping the ABox in memory.
+	 * @param file the output file
+	 * @return the number of generated assertions
+	 * @throws Exception if writing fails
+	 */
+	public long generate(File file) throws Exception {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology empty = manager.createOntology(getIRI());
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+			DefaultPrefixManager prefixes = new DefaultPrefixManager();
+			for (Map.Entry<String, String> entry : prefixes.getPrefixName2PrefixMap().entrySet()) {
+				writer.write("Prefix(" + entry.getKey() + "=<" + entry.getValue() + ">)\n");
+			}
+			writer.write("\n\nOntology(<" + getIRI() + ">\n\n");
+			final Writer out = writer;
+			final FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(empty, writer);
+			renderer.setPrefixManager(prefixes);
+			for (OWLAxiom axiom : generateTBox()) {
+				axiom.accept(renderer);
+				writer.write('\n');
+			}
+			long count = generateABox(new AssertionSink() {
+				@Override
+				public void accept(List<OWLAxiom> batch) throws IOException {
+					for (OWLAxiom axiom : batch) {
+						axiom.accept(renderer);
+						out.write('\n');
+					}
+				}
+				@Override
+				public void close() {
+					// the writer is closed by the caller
+				}
+			});
+			writer.write(")\n");
+			return count;
+		}
+	}
+
+
+
+	public IRI getIRI() {
+		return IRI.create(NS.substring(0, NS.length() - 1));
+	}
+
+
+
+	/**
+	 * @return axioms of planted patterns
+	 */
+	public List<OWLAxiom> getPlantedAxioms() {
+		return plantedAxioms;
+	}
+
+
+
+	/**
+	 * @param hypotheses mined hypotheses
+	 * @return the fraction of planted patterns among axioms of hypotheses
+	 */
+	public double measureRecall(Collection<Hypothesis> hypotheses) {
+		if (plantedAxioms.isEmpty()) {
+			return 1;
+		}
+		Set<OWLAxiom> minedAxioms = new HashSet<>();
+		for (Hypothesis h : hypotheses) {
+			for (OWLAxiom ax : h.axioms) {
+				minedAxioms.add(ax.getAxiomWithoutAnnotations());
+			}
+		}
+		int found = 0;
+		for (OWLAxiom ax : plantedAxioms) {
+			if (minedAxioms.contains(ax)) {
+				found++;
+			}
+		}
+		return (double) found / plantedAxioms.size();
+	}
+
+}
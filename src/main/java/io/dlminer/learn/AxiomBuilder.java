@@ -3,9 +3,12 @@ package io.dlminer.learn;
 import io.dlminer.main.DLMinerComponent;
 import io.dlminer.main.DLMinerMode;
 import io.dlminer.main.DLMinerOutputI;
+import io.dlminer.main.ProgressMonitor;
+import io.dlminer.ont.EntailmentService;
 import io.dlminer.ont.LengthMetric;
 import io.dlminer.ont.OWLObjectPropertyChain;
 import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.OntologyIndex;
 import io.dlminer.ont.ReasonerLoader;
 import io.dlminer.ont.ReasonerName;
 import io.dlminer.print.Out;
@@ -14,7 +17,12 @@ import io.dlminer.sort.ConceptLengthComparator;
 import io.dlminer.sort.MapSetEntry;
 import io.dlminer.sort.MapValueSizeComparator;
 import io.dlminer.sort.SortingOrder;
+import io.dlminer.telemetry.Counter;
+import io.dlminer.telemetry.Histogram;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -23,6 +31,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.InferenceType;
@@ -36,11 +52,15 @@ public class AxiomBuilder implements DLMinerComponent {
 	private OWLDataFactory factory;
 	private OWLReasoner ontologyReasoner;
 	private OntologyHandler ontologyHandler;
+	private OntologyIndex ontologyIndex;
 	private ConceptBuilder conceptBuilder;
 
 	// axiom components
 	private OWLReasoner hypothesisReasoner;
 	private OntologyHandler hypothesisHandler;
+	private EntailmentService entailmentService;
+	// the primary reasoner of the entailment service if it is not the ontology reasoner
+	private OWLReasoner pipelineReasoner;
 	
 	// parameters
     private OperatorConfig operatorConfig;
@@ -50,6 +70,21 @@ public class AxiomBuilder implements DLMinerComponent {
 	private Set<OWLAxiom> classAxioms;
 	private Set<OWLAxiom> roleAxioms;
 
+	// parallel generation
+	private static final int CHUNKS_PER_THREAD = 4;
+	private AtomicLong checkedPairs;
+	// the reasoner may clear interrupts, so tasks also check the flag
+	private volatile boolean isCancelled;
+
+	// measures and signatures of generated hypotheses
+	private HypothesisTable hypothesisTable = new HypothesisTable();
+
+	// telemetry
+	private Histogram entailmentTime = Telemetry.histogram(MetricNames.ENTAILMENT);
+	private Histogram consistencyTime = Telemetry.histogram(MetricNames.CONSISTENCY);
+	private Histogram flushTime = Telemetry.histogram(MetricNames.FLUSH);
+	private Counter checkedAxioms = Telemetry.counter(MetricNames.CHECKED_AXIOMS);
+
 	
 	
 	public AxiomBuilder(ConceptBuilder builder,
@@ -66,13 +101,64 @@ public class AxiomBuilder implements DLMinerComponent {
 
 
 	public void init() {
-        classAxioms = new HashSet<>();
+        classAxioms = Collections.newSetFromMap(new ConcurrentHashMap<OWLAxiom, Boolean>());
         roleAxioms = new HashSet<>();
+        ontologyIndex = ontologyHandler.getIndex();
 
         if (axiomConfig.dlminerMode.equals(DLMinerMode.KBC)) {
             initInternalReasoner();
         }
+        initEntailmentService();
     }
+
+
+
+	// replicas of the ontology reasoner let threads check entailments concurrently
+	private void initEntailmentService() {
+		if (ontologyReasoner == null) {
+			return;
+		}
+		List<OWLReasoner> replicas = new ArrayList<>();
+		int replicasNumber = isParallel() ? axiomConfig.threadsNumber - 1 : 0;
+		// concept search keeps using the ontology reasoner while a pipeline generates axioms
+		if (isPipelined()) {
+			replicasNumber++;
+		}
+		if (replicasNumber > 0) {
+			Out.p("\nInitialising " + replicasNumber + " reasoner replicas");
+			for (int i = 0; i < replicasNumber; i++) {
+				try {
+					OWLReasoner replica = ReasonerLoader.initReasoner(
+							ReasonerName.HERMIT, ontologyHandler.getOntology());
+					replica.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+							InferenceType.OBJECT_PROPERTY_HIERARCHY);
+					replicas.add(replica);
+				} catch (Exception e) {
+					Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
+				}
+			}
+		}
+		if (isPipelined() && !replicas.isEmpty()) {
+			pipelineReasoner = replicas.remove(0);
+			entailmentService = new EntailmentService(pipelineReasoner, replicas);
+		} else {
+			entailmentService = new EntailmentService(ontologyReasoner, replicas);
+		}
+	}
+
+
+
+	private boolean isPipelined() {
+		return axiomConfig.usePipelining != null && axiomConfig.usePipelining
+				&& AxiomPipeline.isSupported(operatorConfig, axiomConfig);
+	}
+
+
+
+	private boolean isParallel() {
+		return axiomConfig.threadsNumber != null && axiomConfig.threadsNumber > 1
+				&& !axiomConfig.dlminerMode.equals(DLMinerMode.KBC);
+	}
 	
 	
 	
@@ -167,13 +253,15 @@ public class AxiomBuilder implements DLMinerComponent {
 
 	public Set<Hypothesis> generateInitialClassAxioms(int maxHypothesesNumber) {
 		Set<Hypothesis> hypotheses = new HashSet<>();
-		Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap = conceptBuilder.getClassInstanceMap();
-		Set<OWLClass> sortCls = sortConceptsByInstanceNumber(classInstanceMap, SortingOrder.ASC).keySet();
-		List<OWLClass> cls = new LinkedList<>(sortCls);
-		Collections.sort(cls, new ConceptLengthComparator(SortingOrder.ASC));
+		List<OWLClass> cls = getSortedClasses();
 		long total = (long) cls.size()*cls.size() - cls.size();
 		int maxLength = findMaxLength(cls);
 		Out.p(total + " axioms to check");
+		// hypotheses added so far are kept if cancelled
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		monitor.setTotal(total);
+		// hypotheses are final once added unless they are cleaned afterwards
+		HypothesisSink sink = conceptBuilder.getHypothesisSink();
 		// if KBC
 		if (axiomConfig.dlminerMode.equals(DLMinerMode.KBC)) {
 		    loop:
@@ -185,6 +273,9 @@ public class AxiomBuilder implements DLMinerComponent {
 						continue;
 					}
 					for (OWLClass cl1 : cls) {					
+						if (monitor.isCancelled()) {
+							break loop;
+						}
 						if (cl1.equals(cl2)) {
 							continue;
 						}
@@ -194,6 +285,7 @@ public class AxiomBuilder implements DLMinerComponent {
 							continue;
 						}						
 						Hypothesis h = generateClassAxiom(cl1, cl2);
+						monitor.setDone(classAxioms.size());
 						// debug
 						if (classAxioms.size() % 1e3 == 0) {
 							Out.p(classAxioms.size() + " / " + total + " axioms checked; " + hypotheses.size() + " axioms added");
@@ -202,17 +294,20 @@ public class AxiomBuilder implements DLMinerComponent {
 							continue;
 						}
 						// add a hypothesis
-						hypotheses.add(h);
+						publish(h, hypotheses, sink);
 						// handle redundancy
-						if (h.precision >= axiomConfig.minPrecision) {
+						if (h.getValue(Measure.PRECISION) >= axiomConfig.minPrecision) {
 							try {
 								hypothesisHandler.addAxioms(h.axioms);
-								if (hypothesisReasoner.isConsistent()) {
-									hypothesisReasoner.flush();
-								} else {
+								long start = consistencyTime.start();
+								boolean isConsistent = hypothesisReasoner.isConsistent();
+								consistencyTime.stop(start);
+								if (!isConsistent) {
 									hypothesisHandler.removeAxioms(h.axioms);
-									hypothesisReasoner.flush();
 								}
+								start = flushTime.start();
+								hypothesisReasoner.flush();
+								flushTime.stop(start);
 							} catch (Exception e) {
 								hypothesisHandler.removeAxioms(h.axioms);
 								hypothesisReasoner.flush();
@@ -220,13 +315,25 @@ public class AxiomBuilder implements DLMinerComponent {
 							}
 						}
 						// check if the limit is exceeded
-                        if (hypotheses.size() >= maxHypothesesNumber) {
+                        if (hypotheses.size() >= maxHypothesesNumber
+                                || isMemoryExhausted(hypotheses.size())) {
                             break loop;
                         }
 					}
 				}
 			}
 		}
+		// if CDL or NORM with top-K selection
+		else if (axiomConfig.selectionMeasure != null) {
+			// the best hypotheses are only known at the end
+			for (Hypothesis h : selectClassAxioms(cls, total, maxHypothesesNumber)) {
+				publish(h, hypotheses, sink);
+			}
+		}
+		// if CDL or NORM in parallel
+		else if (isParallel()) {
+			hypotheses = generateClassAxiomsInParallel(cls, total, maxHypothesesNumber, sink);
+		}
 		// if CDL or NORM
 		else {		
 			long count = 0;
@@ -234,55 +341,382 @@ public class AxiomBuilder implements DLMinerComponent {
 			for (OWLClass cl2 : cls) {
 				OWLClassExpression expr2 = conceptBuilder.getExpressionByClass(cl2);
 				for (OWLClass cl1 : cls) {					
+					if (monitor.isCancelled()) {
+						break loop;
+					}
 					if (cl1.equals(cl2)) {
 						continue;
 					}
+					monitor.worked(1);
 					// debug
 					if (++count % 1e5 == 0) {
 						Out.p(count + " / " + total + " axioms checked; " + hypotheses.size() + " axioms added");
 					}
 					OWLClassExpression expr1 = conceptBuilder.getExpressionByClass(cl1);
-					if (axiomConfig.dlminerMode.equals(DLMinerMode.CDL)
-							&& expr1.isAnonymous() && expr2.isAnonymous()) {
+					if (isSkipped(expr1, expr2)) {
 						continue;
 					}
-					// prediction
-					OWLClass posClass = conceptBuilder.getPositiveClass();
-					OWLClass negClass = conceptBuilder.getNegativeClass();
-					if (posClass != null && negClass != null) {
-						if (!expr1.equals(posClass) && !expr1.equals(negClass)
-								&& !expr2.equals(posClass) && !expr2.equals(negClass)) {
-							continue;
-						}
-					}
 					Hypothesis h = generateClassAxiom(cl1, cl2);
 					if (h == null) {
 						continue;
 					}
 					// add a hypothesis
-					hypotheses.add(h);
+					publish(h, hypotheses, sink);
                     // check if the limit is exceeded
-                    if (hypotheses.size() >= maxHypothesesNumber) {
+                    if (hypotheses.size() >= maxHypothesesNumber
+                            || isMemoryExhausted(hypotheses.size())) {
                         break loop;
                     }
 				}
 			}			
 		}		
 		Out.p("\n" + hypotheses.size() + " class axioms are added");
+		conceptBuilder.getMemoryGovernor().account(MemoryGovernor.HYPOTHESES,
+				hypotheses.size() * MemoryGovernor.HYPOTHESIS_BYTES);
+		return hypotheses;
+	}
+
+
+
+	// duplicates by equals() are not passed to the sink
+	static void publish(Hypothesis h, Set<Hypothesis> hypotheses, HypothesisSink sink) {
+		if (hypotheses.add(h) && sink != null) {
+			sink.accept(h);
+		}
+	}
+
+
+
+	// classes in the order in which pairs are checked, RHS in the outer loop
+	List<OWLClass> getSortedClasses() {
+		Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap = conceptBuilder.getClassInstanceMap();
+		Set<OWLClass> sortCls = sortConceptsByInstanceNumber(classInstanceMap, SortingOrder.ASC).keySet();
+		List<OWLClass> cls = new LinkedList<>(sortCls);
+		Collections.sort(cls, new ConceptLengthComparator(SortingOrder.ASC));
+		return cls;
+	}
+
+
+
+	// only stopping applies to hypothesis building
+	private boolean isMemoryExhausted(int hypothesesNumber) {
+		MemoryGovernor governor = conceptBuilder.getMemoryGovernor();
+		if (governor.check(Degradation.COUNTING_MODE) != Degradation.STOP) {
+			return false;
+		}
+		governor.record(Degradation.STOP, "hypothesis building stops at "
+				+ hypothesesNumber + " hypotheses");
+		return true;
+	}
+
+
+
+	boolean isSkipped(OWLClassExpression expr1, OWLClassExpression expr2) {
+		if (axiomConfig.dlminerMode.equals(DLMinerMode.CDL)
+				&& expr1.isAnonymous() && expr2.isAnonymous()) {
+			return true;
+		}
+		// prediction
+		OWLClass posClass = conceptBuilder.getPositiveClass();
+		OWLClass negClass = conceptBuilder.getNegativeClass();
+		if (posClass != null && negClass != null) {
+			if (!expr1.equals(posClass) && !expr1.equals(negClass)
+					&& !expr2.equals(posClass) && !expr2.equals(negClass)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+
+	// pairs are sharded by RHS classes which workers claim in the serial order;
+	// no chunk is claimed once the shared counter reaches the limit, so the claimed
+	// chunks are a prefix and merging them in order gives the serial output;
+	// a chunk is merged once the ones before it are, while workers continue;
+	// a chunk records its checked pairs apart until it is merged, so a failed
+	// chunk starts over as if it had never run
+	private Set<Hypothesis> generateClassAxiomsInParallel(List<OWLClass> cls,
+			long total, final int maxHypothesesNumber, HypothesisSink sink) {
+		Out.p("Checking axioms in " + axiomConfig.threadsNumber + " threads");
+		final List<OWLClass> clList = new ArrayList<>(cls);
+		final int chunkSize = Math.max(1, clList.size() / (axiomConfig.threadsNumber * CHUNKS_PER_THREAD));
+		final int chunksNumber = (clList.size() + chunkSize - 1) / chunkSize;
+		// distinct slots are written by the workers under the lock of the list
+		final List<List<Hypothesis>> chunks = new ArrayList<>(
+				Collections.<List<Hypothesis>>nCopies(chunksNumber, null));
+		final List<Set<OWLAxiom>> chunkAxioms = new ArrayList<>();
+		for (int i = 0; i < chunksNumber; i++) {
+			chunkAxioms.add(new HashSet<OWLAxiom>());
+		}
+		final AtomicInteger nextChunk = new AtomicInteger();
+		final AtomicInteger generated = new AtomicInteger();
+		final AtomicInteger running = new AtomicInteger(axiomConfig.threadsNumber);
+		checkedPairs = new AtomicLong();
+		isCancelled = false;
+		ExecutorService executor = Executors.newFixedThreadPool(axiomConfig.threadsNumber);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < axiomConfig.threadsNumber; i++) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						int chunk;
+						while (generated.get() < maxHypothesesNumber && !isCancelled
+								&& (chunk = nextChunk.getAndIncrement()) < chunksNumber) {
+							int from = chunk * chunkSize;
+							int to = Math.min(from + chunkSize, clList.size());
+							List<Hypothesis> hypotheses = generateClassAxioms(clList, from, to,
+									maxHypothesesNumber, chunkAxioms.get(chunk));
+							generated.addAndGet(hypotheses.size());
+							synchronized (chunks) {
+								chunks.set(chunk, hypotheses);
+								chunks.notifyAll();
+							}
+						}
+					} finally {
+						synchronized (chunks) {
+							running.decrementAndGet();
+							chunks.notifyAll();
+						}
+					}
+				}
+			}));
+		}
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		Set<Hypothesis> hypotheses = new HashSet<>();
+		try {
+			for (int i = 0; i < chunksNumber; i++) {
+				List<Hypothesis> chunk = awaitChunk(chunks, i, running);
+				// hypotheses merged so far are kept once stopped
+				if (isCancelled || monitor.isCancelled()) {
+					return hypotheses;
+				}
+				// unclaimed or failed chunks are only needed if claimed ones had duplicates
+				if (chunk == null) {
+					int from = i * chunkSize;
+					chunkAxioms.set(i, new HashSet<OWLAxiom>());
+					chunk = generateClassAxioms(clList, from, Math.min(from + chunkSize, clList.size()),
+							maxHypothesesNumber - hypotheses.size(), chunkAxioms.get(i));
+				}
+				classAxioms.addAll(chunkAxioms.get(i));
+				for (Hypothesis h : chunk) {
+					publish(h, hypotheses, sink);
+					if (hypotheses.size() >= maxHypothesesNumber
+							|| isMemoryExhausted(hypotheses.size())) {
+						return hypotheses;
+					}
+				}
+				Out.p(checkedPairs.get() + " / " + total + " axioms checked; " + hypotheses.size() + " axioms added");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			isCancelled = true;
+			awaitTermination(executor);
+			for (Future<?> future : futures) {
+				try {
+					if (future.isDone()) {
+						future.get();
+					}
+				} catch (Exception e) {
+					Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
+				}
+			}
+		}
+		return hypotheses;
+	}
+
+
+
+	// null once all workers are over without writing the chunk
+	private static List<Hypothesis> awaitChunk(List<List<Hypothesis>> chunks,
+			int index, AtomicInteger running) throws InterruptedException {
+		synchronized (chunks) {
+			while (chunks.get(index) == null && running.get() > 0) {
+				chunks.wait();
+			}
+			return chunks.get(index);
+		}
+	}
+
+
+
+	// cancelled tasks must not outlive the reasoners they use
+	static void awaitTermination(ExecutorService executor) {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+
+	// the selection keeps the best hypotheses wrt the measure; chunks use
+	// their own selectors which are merged, so the output equals the serial one
+	private Set<Hypothesis> selectClassAxioms(List<OWLClass> cls,
+			long total, final int maxHypothesesNumber) {
+		final SelectionMeasure measure = axiomConfig.selectionMeasure;
+		Out.p("Selecting " + maxHypothesesNumber + " best axioms by " + measure);
+		final List<OWLClass> clList = new ArrayList<>(cls);
+		HypothesisSelector selector = new HypothesisSelector(measure, maxHypothesesNumber);
+		checkedPairs = new AtomicLong();
+		if (!isParallel()) {
+			selectClassAxioms(clList, 0, clList.size(), selector);
+		} else {
+			Out.p("Checking axioms in " + axiomConfig.threadsNumber + " threads");
+			int chunkSize = Math.max(1, clList.size() / (axiomConfig.threadsNumber * CHUNKS_PER_THREAD));
+			ExecutorService executor = Executors.newFixedThreadPool(axiomConfig.threadsNumber);
+			List<Future<HypothesisSelector>> futures = new ArrayList<>();
+			for (int start = 0; start < clList.size(); start += chunkSize) {
+				final int from = start;
+				final int to = Math.min(start + chunkSize, clList.size());
+				futures.add(executor.submit(new Callable<HypothesisSelector>() {
+					@Override
+					public HypothesisSelector call() {
+						HypothesisSelector chunkSelector = new HypothesisSelector(measure, maxHypothesesNumber);
+						selectClassAxioms(clList, from, to, chunkSelector);
+						return chunkSelector;
+					}
+				}));
+			}
+			try {
+				for (Future<HypothesisSelector> future : futures) {
+					selector.offerAll(future.get());
+					Out.p(checkedPairs.get() + " / " + total + " axioms checked; " + selector.size() + " axioms selected");
+				}
+			} catch (Exception e) {
+				Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
+			} finally {
+				awaitTermination(executor);
+			}
+		}
+		Out.p(selector.getPrunedNumber() + " axioms are pruned by " + measure + " bounds");
+		return selector.getHypothesisSet();
+	}
+
+
+
+	private void selectClassAxioms(List<OWLClass> cls, int from, int to,
+			HypothesisSelector selector) {
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		long size = cls.size();
+		for (int i = from; i < to; i++) {
+			OWLClass cl2 = cls.get(i);
+			OWLClassExpression expr2 = conceptBuilder.getExpressionByClass(cl2);
+			for (int j = 0; j < cls.size(); j++) {
+				OWLClass cl1 = cls.get(j);
+				if (cl1.equals(cl2)) {
+					continue;
+				}
+				if (monitor.isCancelled()) {
+					return;
+				}
+				monitor.worked(1);
+				// debug
+				if (checkedPairs.incrementAndGet() % 1e5 == 0) {
+					Out.p(checkedPairs.get() + " axioms checked; " + selector.size() + " axioms selected");
+				}
+				OWLClassExpression expr1 = conceptBuilder.getExpressionByClass(cl1);
+				if (isSkipped(expr1, expr2)) {
+					continue;
+				}
+				generateClassAxiom(cl1, cl2, selector, i*size + j);
+			}
+		}
+	}
+
+
+
+	// a task owns its list, measures and checked pairs; shared structures are only read
+	private List<Hypothesis> generateClassAxioms(List<OWLClass> cls,
+			int from, int to, int maxHypothesesNumber, Set<OWLAxiom> checked) {
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		List<Hypothesis> hypotheses = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			OWLClass cl2 = cls.get(i);
+			OWLClassExpression expr2 = conceptBuilder.getExpressionByClass(cl2);
+			for (OWLClass cl1 : cls) {
+				if (isCancelled || Thread.currentThread().isInterrupted()
+						|| monitor.isCancelled()) {
+					return hypotheses;
+				}
+				if (cl1.equals(cl2)) {
+					continue;
+				}
+				checkedPairs.incrementAndGet();
+				monitor.worked(1);
+				OWLClassExpression expr1 = conceptBuilder.getExpressionByClass(cl1);
+				if (isSkipped(expr1, expr2)) {
+					continue;
+				}
+				Hypothesis h = generateClassAxiom(cl1, cl2, conceptBuilder, null, 0, checked);
+				if (h == null) {
+					continue;
+				}
+				hypotheses.add(h);
+				// a longer prefix cannot be used by the merge
+				if (hypotheses.size() >= maxHypothesesNumber
+						|| conceptBuilder.getMemoryGovernor().check(Degradation.COUNTING_MODE) == Degradation.STOP) {
+					return hypotheses;
+				}
+			}
+		}
 		return hypotheses;
 	}
 	
 	
 	
 	
-	private Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2) {				
-		Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap = conceptBuilder.getClassInstanceMap();
+	private Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2) {
+		return generateClassAxiom(cl1, cl2, null, 0);
+	}
+
+
+
+	private Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2,
+			HypothesisSelector selector, long order) {
+		return generateClassAxiom(cl1, cl2, conceptBuilder, selector, order);
+	}
+
+
+
+	// concepts are looked up in the given index, e.g. while concept search goes on
+	Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2, ConceptIndex index) {
+		return generateClassAxiom(cl1, cl2, index, null, 0);
+	}
+
+
+
+	private Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2, ConceptIndex index,
+			HypothesisSelector selector, long order) {
+		return generateClassAxiom(cl1, cl2, index, selector, order, classAxioms);
+	}
+
+
+
+	// the selector, if any, prunes the pair before expensive checks and receives the hypothesis;
+	// pairs checked before are skipped, a newly checked one is recorded in the given set
+	private Hypothesis generateClassAxiom(OWLClass cl1, OWLClass cl2, ConceptIndex index,
+			HypothesisSelector selector, long order, Set<OWLAxiom> checked) {
+		Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap = index.getClassInstanceMap();
 		if (isEmpty(cl1, cl2, classInstanceMap)) {
 			return null;
 		}
 		// check if already processed
 		OWLAxiom codedAxiom = factory.getOWLSubClassOfAxiom(cl1, cl2);
-		if (classAxioms.contains(codedAxiom)) {
+		if (classAxioms.contains(codedAxiom) || checked.contains(codedAxiom)) {
+			return null;
+		}
+		Set<OWLNamedIndividual> pos1 = classInstanceMap.get(cl1);
+		Set<OWLNamedIndividual> pos2 = classInstanceMap.get(cl2);
+		int indNumber = ontologyIndex.getIndividualNumber();
+		// the measure cannot beat the selected ones even with the maximal support
+		if (selector != null && !selector.canAccept(
+				selector.getMeasure().upperBound(pos1.size(), pos2.size(), indNumber), order)) {
+			selector.prune();
 			return null;
 		}
 		double t1 = System.nanoTime();
@@ -290,29 +724,37 @@ public class AxiomBuilder implements DLMinerComponent {
 		if (axiomConfig.useMinSupport && support < operatorConfig.minSupport) {
 			return null;
 		}
-		Set<OWLNamedIndividual> pos1 = classInstanceMap.get(cl1);
-		Set<OWLNamedIndividual> pos2 = classInstanceMap.get(cl2);
-		double assumption = pos1.size() - support;
 		double precision = support/pos1.size();
 		double t2 = System.nanoTime();
 		if (axiomConfig.useMinPrecision && precision < axiomConfig.minPrecision) {
 			return null;
-		}					
+		}
+		double score = 0;
+		if (selector != null) {
+			score = selector.getMeasure().score(pos1.size(), pos2.size(), support, indNumber);
+			if (!selector.canAccept(score, order)) {
+				selector.prune();
+				return null;
+			}
+		}
 		// check redundancy
-		OWLClassExpression expr1 = conceptBuilder.getExpressionByClass(cl1);
-		OWLClassExpression expr2 = conceptBuilder.getExpressionByClass(cl2);
+		OWLClassExpression expr1 = index.getExpressionByClass(cl1);
+		OWLClassExpression expr2 = index.getExpressionByClass(cl2);
         OWLSubClassOfAxiom axiom = factory.getOWLSubClassOfAxiom(expr1, expr2);
 		// check seed signature
 		if (!meetsSyntacticRestrictions(axiom)) {
 			return null;
 		}
 		// record the processed axiom
-        classAxioms.add(codedAxiom);
+        checked.add(codedAxiom);
+        checkedAxioms.inc();
 		// expensive checks
 		if (axiomConfig.dlminerMode.equals(DLMinerMode.KBC)) {
 			boolean isRed = true;
 			try {							
+				long start = entailmentTime.start();
 				isRed = hypothesisReasoner.isEntailed(axiom);
+				entailmentTime.stop(start);
 			} catch (Exception e) {
 				Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
 			}
@@ -322,11 +764,17 @@ public class AxiomBuilder implements DLMinerComponent {
 		}
 		// check informativeness
 		double informTime = 0;					
-		if (ontologyReasoner != null && ontologyReasoner.isEntailmentCheckingSupported(axiom.getAxiomType())) {
+		if (entailmentService != null) {
 			boolean isEnt = true;
 			try {								
 				double start = System.nanoTime();
-				isEnt = ontologyReasoner.isEntailed(axiom);
+				if (entailmentService.isEntailmentCheckingSupported(axiom.getAxiomType())) {
+					long entStart = entailmentTime.start();
+					isEnt = entailmentService.isEntailed(axiom);
+					entailmentTime.stop(entStart);
+				} else {
+					isEnt = false;
+				}
 				informTime = (System.nanoTime() - start)/1e9;				
 			} catch (Exception e) {
 				Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
@@ -341,68 +789,98 @@ public class AxiomBuilder implements DLMinerComponent {
 		Set<OWLAxiom> codedAxSet = new HashSet<>(2);
 		codedAxSet.add(codedAxiom);
 		Set<OWLAxiom> defSet = new HashSet<>(2);
-		OWLAxiom def1 = conceptBuilder.getDefinitionByExpression(expr1);
-		OWLAxiom def2 = conceptBuilder.getDefinitionByExpression(expr2);
+		OWLAxiom def1 = index.getDefinitionByExpression(expr1);
+		OWLAxiom def2 = index.getDefinitionByExpression(expr2);
 		if (def1 != null) {
 			defSet.add(def1);
 		}
 		if (def2 != null) {
 			defSet.add(def2);
 		}
-		Hypothesis h = new Hypothesis(axSet, codedAxSet, defSet);
+		Hypothesis h = new Hypothesis(hypothesisTable, axSet, codedAxSet, defSet);
 		// statistical measures
 		double t3 = System.nanoTime();
-		int indNumber = ontologyHandler.getIndividuals().size();
-		double prob1 = (double)pos1.size() / indNumber;
-		double prob2 = (double)pos2.size() / indNumber;
-		double prob12 = support / indNumber;
-		double prob1not2 = assumption / indNumber;
-//		double probnot12 = prob2 - prob12;
-//		double probnot1not2 = 1 - prob1 - prob2 + prob12;
-		h.support = support;				
-		h.assumption = assumption;				
-		h.precision = precision;
-		h.recall = prob12 / prob2;				
-		h.lift = (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.POSITIVE_INFINITY;
-		h.leverage = precision - prob1*prob2;
-		h.addedValue = precision - prob2;
-		h.jaccard = prob12 / (prob1 + prob2 - prob12);
-		h.certaintyFactor = h.addedValue / (1 - prob2);
-		h.klosgen = Math.sqrt(prob12) / (precision - prob2);
-		if (prob1not2 == 0) {
-			h.conviction = Double.POSITIVE_INFINITY;
-		} else {
-			h.conviction = prob1*(1 - prob2) / prob1not2;			
-		}
-		h.shapiro = prob12 - prob1*prob2;
-		h.cosine = prob12 / Math.sqrt(prob1*prob2);
-		h.informGain = Math.log(h.lift);				
-		h.sebag = prob12 / prob1not2;				
-		h.contradiction = (prob12 - prob1not2) / prob2;
-		h.oddMultiplier = prob12*(1 - prob2) / (prob2*prob1not2);
-		h.linearCorrelation = (prob12 == prob1*prob2) ? 0 : 
-			(prob12 - prob1*prob2) / 
-			Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2));				
-		h.jmeasure = prob12*Math.log(h.lift) + (prob1not2 == 0 ? 0 :
-			prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2))));
+		setStatisticalMeasures(h, pos1.size(), pos2.size(), support, indNumber);
 		double t4 = System.nanoTime();
 		// performance
-		Double te1 = conceptBuilder.getTimeByExpression(expr1);
-		Double te2 = conceptBuilder.getTimeByExpression(expr2);
-		h.basicTime = te1 + te2 + (t2 - t1 + t4 - t3)/1e9;
-		h.informTime = informTime;
+		Double te1 = index.getTimeByExpression(expr1);
+		Double te2 = index.getTimeByExpression(expr2);
+		h.set(Measure.BASIC_TIME, te1 + te2 + (t2 - t1 + t4 - t3)/1e9);
+		h.set(Measure.INFORM_TIME, informTime);
 		// logical measures				
 		try {
-			h.noveltyApprox = (double) HypothesisEvaluator.getNoveltyApprox(expr1, expr2, ontologyReasoner).size();
-			h.dissimilarityApprox = HypothesisEvaluator.getDissimilarityApprox(expr1, expr2, ontologyReasoner);
+			setLogicalMeasures(h, expr1, expr2);
 		} catch (Exception e) {
 			Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
 		}
+		if (selector != null) {
+			selector.offer(h, score, order);
+		}
 		return h;
 	}
 
 
 
+	private void setLogicalMeasures(final Hypothesis h,
+			final OWLClassExpression expr1, final OWLClassExpression expr2) throws Exception {
+		if (entailmentService == null) {
+			h.set(Measure.NOVELTY_APPROX, (double) HypothesisEvaluator.getNoveltyApprox(expr1, expr2, ontologyReasoner).size());
+			h.set(Measure.DISSIMILARITY_APPROX, HypothesisEvaluator.getDissimilarityApprox(expr1, expr2, ontologyReasoner));
+			return;
+		}
+		entailmentService.query(new EntailmentService.ReasonerQuery<Void>() {
+			@Override
+			public Void answer(OWLReasoner reasoner) throws Exception {
+				h.set(Measure.NOVELTY_APPROX, (double) HypothesisEvaluator.getNoveltyApprox(expr1, expr2, reasoner).size());
+				h.set(Measure.DISSIMILARITY_APPROX, HypothesisEvaluator.getDissimilarityApprox(expr1, expr2, reasoner));
+				return null;
+			}
+		});
+	}
+
+
+
+	// only depends on its arguments, so it is safe to call from any thread
+	private static void setStatisticalMeasures(Hypothesis h, double size1, double size2,
+			double support, int indNumber) {
+		double assumption = size1 - support;
+		double precision = support/size1;
+		double prob1 = size1 / indNumber;
+		double prob2 = size2 / indNumber;
+		double prob12 = support / indNumber;
+		double prob1not2 = assumption / indNumber;
+//		double probnot12 = prob2 - prob12;
+//		double probnot1not2 = 1 - prob1 - prob2 + prob12;
+		h.set(Measure.SUPPORT, support);				
+		h.set(Measure.ASSUMPTION, assumption);				
+		h.set(Measure.PRECISION, precision);
+		h.set(Measure.RECALL, prob12 / prob2);				
+		h.set(Measure.LIFT, (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.POSITIVE_INFINITY);
+		h.set(Measure.LEVERAGE, precision - prob1*prob2);
+		h.set(Measure.ADDED_VALUE, precision - prob2);
+		h.set(Measure.JACCARD, prob12 / (prob1 + prob2 - prob12));
+		h.set(Measure.CERTAINTY_FACTOR, h.getValue(Measure.ADDED_VALUE) / (1 - prob2));
+		h.set(Measure.KLOSGEN, Math.sqrt(prob12) / (precision - prob2));
+		if (prob1not2 == 0) {
+			h.set(Measure.CONVICTION, Double.POSITIVE_INFINITY);
+		} else {
+			h.set(Measure.CONVICTION, prob1*(1 - prob2) / prob1not2);			
+		}
+		h.set(Measure.SHAPIRO, prob12 - prob1*prob2);
+		h.set(Measure.COSINE, prob12 / Math.sqrt(prob1*prob2));
+		h.set(Measure.INFORM_GAIN, Math.log(h.getValue(Measure.LIFT)));				
+		h.set(Measure.SEBAG, prob12 / prob1not2);				
+		h.set(Measure.CONTRADICTION, (prob12 - prob1not2) / prob2);
+		h.set(Measure.ODD_MULTIPLIER, prob12*(1 - prob2) / (prob2*prob1not2));
+		h.set(Measure.LINEAR_CORRELATION, (prob12 == prob1*prob2) ? 0 : 
+			(prob12 - prob1*prob2) / 
+			Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2)));				
+		h.set(Measure.JMEASURE, prob12*Math.log(h.getValue(Measure.LIFT)) + (prob1not2 == 0 ? 0 :
+			prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2)))));
+	}
+
+
+
     private boolean meetsSyntacticRestrictions(OWLSubClassOfAxiom axiom) {
 	    if (containsIgnoredStrings(axiom)) {
 	        return false;
@@ -498,7 +976,7 @@ public class AxiomBuilder implements DLMinerComponent {
 		Set<OWLObjectProperty> props = roleInstanceMap.keySet();
         long total = (long) props.size()*props.size() - props.size();
 		Out.p(total + " role axioms to check");		
-		int indNumber = ontologyHandler.getIndividuals().size();
+		int indNumber = ontologyIndex.getIndividualNumber();
 		indNumber = indNumber*indNumber;
 		long count = 0;
 		for (OWLObjectProperty prop2 : props) {
@@ -575,47 +1053,47 @@ public class AxiomBuilder implements DLMinerComponent {
 				if (def2 != null) {
 					defSet.add(def2);
 				}
-				Hypothesis h = new Hypothesis(axSet, codedAxSet, defSet);
+				Hypothesis h = new Hypothesis(hypothesisTable, axSet, codedAxSet, defSet);
 				// statistical measures
 				double t3 = System.currentTimeMillis();
 				double prob1 = (double)pos1.size() / indNumber;
 				double prob2 = (double)pos2.size() / indNumber;
 				double prob12 = support / indNumber;
-				h.support = support;
+				h.set(Measure.SUPPORT, support);
 				double prob1not2 = assumption / indNumber;
-				h.assumption = assumption;				
-				h.precision = precision;
-				h.recall = prob12 / prob2;
-				h.lift = (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.MAX_VALUE;								
-				h.leverage = precision - prob1*prob2;
-				h.addedValue = precision - prob2;
-				h.jaccard = prob12 / (prob1 + prob2 - prob12);
-				h.certaintyFactor = h.addedValue / (1 - prob2);
-				h.klosgen = Math.sqrt(prob12) / (precision - prob2);				
+				h.set(Measure.ASSUMPTION, assumption);				
+				h.set(Measure.PRECISION, precision);
+				h.set(Measure.RECALL, prob12 / prob2);
+				h.set(Measure.LIFT, (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.MAX_VALUE);								
+				h.set(Measure.LEVERAGE, precision - prob1*prob2);
+				h.set(Measure.ADDED_VALUE, precision - prob2);
+				h.set(Measure.JACCARD, prob12 / (prob1 + prob2 - prob12));
+				h.set(Measure.CERTAINTY_FACTOR, h.getValue(Measure.ADDED_VALUE) / (1 - prob2));
+				h.set(Measure.KLOSGEN, Math.sqrt(prob12) / (precision - prob2));				
 				if (prob1not2 == 0) {
-					h.conviction = Double.POSITIVE_INFINITY;
+					h.set(Measure.CONVICTION, Double.POSITIVE_INFINITY);
 				} else {
-					h.conviction = prob1*(1 - prob2) / prob1not2;			
+					h.set(Measure.CONVICTION, prob1*(1 - prob2) / prob1not2);			
 				}				
-				h.shapiro = prob12 - prob1*prob2;
-				h.cosine = prob12 / Math.sqrt(prob1*prob2);
-				h.informGain = Math.log(h.lift);
-				h.sebag = prob12 / prob1not2;
-				h.contradiction = (prob12 - prob1not2) / prob2;
-				h.oddMultiplier = prob12*(1 - prob2) / (prob2*prob1not2);
-				h.linearCorrelation = (prob12 == prob1*prob2) ? 0 : 
+				h.set(Measure.SHAPIRO, prob12 - prob1*prob2);
+				h.set(Measure.COSINE, prob12 / Math.sqrt(prob1*prob2));
+				h.set(Measure.INFORM_GAIN, Math.log(h.getValue(Measure.LIFT)));
+				h.set(Measure.SEBAG, prob12 / prob1not2);
+				h.set(Measure.CONTRADICTION, (prob12 - prob1not2) / prob2);
+				h.set(Measure.ODD_MULTIPLIER, prob12*(1 - prob2) / (prob2*prob1not2));
+				h.set(Measure.LINEAR_CORRELATION, (prob12 == prob1*prob2) ? 0 : 
 					(prob12 - prob1*prob2) / 
-					Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2));				
-				h.jmeasure = prob12*Math.log(h.lift) + (prob1not2 == 0 ? 0 :
-					prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2))));
+					Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2)));				
+				h.set(Measure.JMEASURE, prob12*Math.log(h.getValue(Measure.LIFT)) + (prob1not2 == 0 ? 0 :
+					prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2)))));
 				double t4 = System.currentTimeMillis();
 				// performance
-				h.basicTime = (t2 - t1 + t4 - t3)/1e3;
-				h.informTime = informTime;
+				h.set(Measure.BASIC_TIME, (t2 - t1 + t4 - t3)/1e3);
+				h.set(Measure.INFORM_TIME, informTime);
 				// logical measures
 				try {
-					h.noveltyApprox = (double) HypothesisEvaluator.getNoveltyApprox(expr1, expr2, ontologyReasoner).size();
-					h.dissimilarityApprox = HypothesisEvaluator.getDissimilarityApprox(expr1, expr2, ontologyReasoner);
+					h.set(Measure.NOVELTY_APPROX, (double) HypothesisEvaluator.getNoveltyApprox(expr1, expr2, ontologyReasoner).size());
+					h.set(Measure.DISSIMILARITY_APPROX, HypothesisEvaluator.getDissimilarityApprox(expr1, expr2, ontologyReasoner));
 				} catch (Exception e) {
 					Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
 				}
@@ -629,9 +1107,19 @@ public class AxiomBuilder implements DLMinerComponent {
 	
 	
 	
+	// disposing again has no effect
 	public void dispose() {
 		if (hypothesisReasoner != null) {
 			hypothesisReasoner.dispose();
+			hypothesisReasoner = null;
+		}
+		if (entailmentService != null) {
+			entailmentService.dispose();
+			entailmentService = null;
+		}
+		if (pipelineReasoner != null) {
+			pipelineReasoner.dispose();
+			pipelineReasoner = null;
 		}
 	}
 
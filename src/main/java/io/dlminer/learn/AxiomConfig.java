@@ -85,4 +85,31 @@ public class AxiomConfig {
 
 
 
+    /**
+     * The number of threads that check concept pairs in NORM and CDL modes,
+     * each additional thread gets its own replica of the ontology reasoner
+     */
+    public Integer threadsNumber;
+
+
+
+    /**
+     * The measure by which the best hypotheses are selected in NORM and CDL modes;
+     * if it is set, all concept pairs are considered and only the maximal number
+     * of hypotheses with the highest values is kept, otherwise the generation
+     * stops as soon as the maximal number is reached
+     */
+    public SelectionMeasure selectionMeasure;
+
+
+
+    /**
+     * The flag indicating whether concept search, axiom generation and cleaning
+     * run concurrently in NORM and CDL modes, each accepted concept being paired
+     * with the ones accepted before it; the output equals the staged one
+     */
+    public Boolean usePipelining;
+
+
+
 }
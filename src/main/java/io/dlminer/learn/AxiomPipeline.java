@@ -0,0 +1,629 @@
+package io.dlminer.learn;
+
+import io.dlminer.main.DLMinerMode;
+import io.dlminer.main.DLMinerOutputI;
+import io.dlminer.main.DaemonThreadFactory;
+import io.dlminer.main.ProgressMonitor;
+import io.dlminer.ont.ReasonerLoader;
+import io.dlminer.ont.ReasonerName;
+import io.dlminer.print.Out;
+import io.dlminer.refine.OperatorConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The class runs concept search, axiom generation and cleaning concurrently.
+ * Every concept accepted by DL-Apriori is passed through a bounded queue and
+ * paired with all concepts accepted before it, and the axioms which survive
+ * are passed through another bounded queue to cleaning workers. A full queue
+ * holds back the stage before it.
+ * <p>
+ * The output equals the staged one. Once the search is over, hypotheses are
+ * put into the order in which the staged mode checks pairs and cut at
+ * the maximal number. Hypotheses whose cleaning depended on other hypotheses
+ * or on concepts that turned out differently are cleaned again.
+ * <p>
+ * The staged mode orders concepts by the number of instances, so a hypothesis
+ * is preceded by all hypotheses whose RHS has fewer instances. Pairs and
+ * hypotheses preceded by the maximal number of known hypotheses cannot survive
+ * the cut, so they are neither checked nor cleaned.
+ */
+public class AxiomPipeline {
+
+	public static final int DEF_CONCEPT_QUEUE_CAPACITY = 1000;
+
+	public static final int DEF_HYPOTHESIS_QUEUE_CAPACITY = 1000;
+
+	// milliseconds between checks for cancellation while waiting for a stage
+	private static final long WAIT_INTERVAL = 100;
+
+	private static final Concept END_OF_CONCEPTS = new Concept(null);
+
+	private static final PairedHypothesis END_OF_HYPOTHESES = new PairedHypothesis(null, null, null);
+
+
+	private ConceptBuilder conceptBuilder;
+	private AxiomBuilder axiomBuilder;
+	private AxiomConfig axiomConfig;
+	private ProgressMonitor monitor;
+	private int threadsNumber;
+	private int maxHypothesesNumber;
+
+	// the concepts accepted so far
+	private Index index;
+	private BlockingQueue<Concept> concepts;
+	private Thread dispatcher;
+	private ThreadPoolExecutor pairingExecutor;
+
+	// all hypotheses and axioms generated so far
+	private Queue<PairedHypothesis> paired;
+	// the number of hypotheses generated so far by the instance number of their RHS
+	private ConcurrentSkipListMap<Integer, AtomicInteger> rhsCounts;
+	private Set<OWLAxiom> hypoAxioms;
+	private BlockingQueue<PairedHypothesis> hypoQueue;
+	private List<Thread> cleaners;
+	// the hypotheses of the first pairs in the staged order
+	private List<PairedHypothesis> selected;
+
+	private AtomicBoolean isStopped;
+
+
+
+	public AxiomPipeline(ConceptBuilder conceptBuilder, AxiomBuilder axiomBuilder,
+			AxiomConfig axiomConfig) {
+		this.conceptBuilder = conceptBuilder;
+		this.axiomBuilder = axiomBuilder;
+		this.axiomConfig = axiomConfig;
+		monitor = conceptBuilder.getProgressMonitor();
+		threadsNumber = (axiomConfig.threadsNumber == null) ?
+				1 : Math.max(1, axiomConfig.threadsNumber);
+	}
+
+
+
+	/**
+	 * @return true if the staged output can be reproduced: pairs are checked
+	 * independently of each other and concepts have their instances
+	 */
+	public static boolean isSupported(OperatorConfig operatorConfig, AxiomConfig axiomConfig) {
+		return !axiomConfig.dlminerMode.equals(DLMinerMode.KBC)
+				&& axiomConfig.selectionMeasure == null
+				&& operatorConfig.storeInstances;
+	}
+
+
+
+	/**
+	 * Runs concept search in the calling thread while accepted concepts
+	 * are paired and the hypotheses are cleaned in other threads.
+	 */
+	public void buildConcepts(int maxConceptNumber, int maxHypothesesNumber) {
+		this.maxHypothesesNumber = maxHypothesesNumber;
+		start();
+		conceptBuilder.setConceptSink(new ConceptSink() {
+			@Override
+			public void accept(OWLClass cl, OWLClassExpression expr, Set<OWLNamedIndividual> instances,
+					OWLAxiom definition, Double time) {
+				index.add(cl, expr, instances, definition, time);
+				put(concepts, new Concept(cl));
+			}
+		});
+		try {
+			conceptBuilder.buildConcepts(maxConceptNumber);
+		} finally {
+			conceptBuilder.setConceptSink(null);
+			put(concepts, END_OF_CONCEPTS);
+		}
+	}
+
+
+
+	private void start() {
+		index = new Index();
+		concepts = new ArrayBlockingQueue<>(DEF_CONCEPT_QUEUE_CAPACITY);
+		paired = new ConcurrentLinkedQueue<>();
+		rhsCounts = new ConcurrentSkipListMap<>();
+		hypoAxioms = Collections.newSetFromMap(new ConcurrentHashMap<OWLAxiom, Boolean>());
+		hypoQueue = new ArrayBlockingQueue<>(DEF_HYPOTHESIS_QUEUE_CAPACITY);
+		isStopped = new AtomicBoolean(false);
+		Out.p("\nPipelining concepts, axioms and cleaning in " + threadsNumber + " threads");
+		// the pool of the dispatcher runs a task itself once the queue is full
+		pairingExecutor = new ThreadPoolExecutor(threadsNumber, threadsNumber,
+				0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(2 * threadsNumber),
+				new DaemonThreadFactory("dlminer-pairing"), new ThreadPoolExecutor.CallerRunsPolicy());
+		dispatcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				dispatch();
+			}
+		}, "dlminer-concepts");
+		dispatcher.setDaemon(true);
+		dispatcher.start();
+		cleaners = new ArrayList<>();
+		if (!axiomConfig.useCleaning) {
+			return;
+		}
+		// reasoners are initialised here because the ontology is shared
+		for (int i = 0; i < threadsNumber; i++) {
+			try {
+				final OWLReasoner reasoner = ReasonerLoader.initReasoner(ReasonerName.HERMIT,
+						conceptBuilder.getHandler().getOntology());
+				reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+						InferenceType.OBJECT_PROPERTY_HIERARCHY);
+				final HypothesisCleaner cleaner = new HypothesisCleaner(conceptBuilder,
+						new HashSet<Hypothesis>(), hypoAxioms, reasoner);
+				cleaner.setConceptIndex(index);
+				Thread thread = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						clean(cleaner, reasoner);
+					}
+				}, "dlminer-cleaning-" + i);
+				thread.setDaemon(true);
+				cleaners.add(thread);
+			} catch (Exception e) {
+				Out.p(e + HypothesisCleaner.HYPOTHESIS_CLEANING_ERROR);
+			}
+		}
+		for (Thread thread : cleaners) {
+			thread.start();
+		}
+	}
+
+
+
+	// each concept is paired with the ones taken before it
+	private void dispatch() {
+		List<OWLClass> previous = new ArrayList<>();
+		try {
+			while (true) {
+				Concept concept = concepts.take();
+				if (concept == END_OF_CONCEPTS) {
+					return;
+				}
+				final OWLClass cl = concept.cl;
+				final OWLClass[] others = previous.toArray(new OWLClass[previous.size()]);
+				previous.add(cl);
+				if (isStopped()) {
+					continue;
+				}
+				pairingExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							pair(cl, others);
+						} catch (Exception e) {
+							Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
+						}
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			stop(null);
+		}
+	}
+
+
+
+	// both directions are checked as the staged mode checks all ordered pairs
+	private void pair(OWLClass cl, OWLClass[] others) {
+		OWLClassExpression expr = index.getExpressionByClass(cl);
+		int rank = index.getRank(cl);
+		// the cut only moves forward, so an earlier one is safe to use
+		Integer cutRank = getCutRank();
+		for (OWLClass other : others) {
+			if (isStopped()) {
+				return;
+			}
+			OWLClassExpression otherExpr = index.getExpressionByClass(other);
+			if (!isCut(rank, cutRank) && !axiomBuilder.isSkipped(otherExpr, expr)) {
+				offer(axiomBuilder.generateClassAxiom(other, cl, index), other, cl, cutRank);
+			}
+			if (!isCut(index.getRank(other), cutRank) && !axiomBuilder.isSkipped(expr, otherExpr)) {
+				offer(axiomBuilder.generateClassAxiom(cl, other, index), cl, other, cutRank);
+			}
+		}
+	}
+
+
+
+	// the largest RHS rank within the cut, i.e. hypotheses of larger RHS ranks are
+	// preceded by the maximal number of known ones; null if there are not enough
+	private Integer getCutRank() {
+		int count = 0;
+		for (Map.Entry<Integer, AtomicInteger> entry : rhsCounts.entrySet()) {
+			count += entry.getValue().get();
+			if (count >= maxHypothesesNumber) {
+				return entry.getKey();
+			}
+		}
+		return null;
+	}
+
+
+
+	// ties are ordered arbitrarily, so they are never cut
+	private static boolean isCut(int rhsRank, Integer cutRank) {
+		return cutRank != null && rhsRank > cutRank;
+	}
+
+
+
+	private void offer(Hypothesis h, OWLClass cl1, OWLClass cl2, Integer cutRank) {
+		if (h == null) {
+			return;
+		}
+		PairedHypothesis ph = new PairedHypothesis(h, cl1, cl2);
+		paired.add(ph);
+		int rank = index.getRank(cl2);
+		AtomicInteger count = rhsCounts.get(rank);
+		if (count == null) {
+			AtomicInteger newCount = new AtomicInteger();
+			count = rhsCounts.putIfAbsent(rank, newCount);
+			if (count == null) {
+				count = newCount;
+			}
+		}
+		count.incrementAndGet();
+		// only stopping applies to hypothesis building
+		MemoryGovernor governor = conceptBuilder.getMemoryGovernor();
+		if (governor.check(Degradation.COUNTING_MODE) == Degradation.STOP) {
+			stop("pipelined hypothesis building stops at " + paired.size() + " hypotheses");
+		}
+		if (!cleaners.isEmpty() && !isCut(rank, cutRank)) {
+			// axioms are known before cleaning which depends on them
+			hypoAxioms.addAll(h.axioms);
+			put(hypoQueue, ph);
+		}
+	}
+
+
+
+	// hypotheses which are taken after stopping are left to the final cleaning,
+	// those which are cut by then are dropped
+	private void clean(HypothesisCleaner cleaner, OWLReasoner reasoner) {
+		try {
+			while (true) {
+				PairedHypothesis ph = hypoQueue.take();
+				if (ph == END_OF_HYPOTHESES) {
+					return;
+				}
+				if (isStopped() || isCut(index.getRank(ph.cl2), getCutRank())) {
+					continue;
+				}
+				try {
+					HypothesisCleaner.Dependencies dependencies = new HypothesisCleaner.Dependencies();
+					ph.clean = cleaner.cleanSeparately(ph.hypothesis, dependencies);
+					ph.dependencies = dependencies;
+				} catch (Exception e) {
+					Out.p(e + HypothesisCleaner.HYPOTHESIS_CLEANING_ERROR);
+				}
+			}
+		} catch (InterruptedException e) {
+			stop(null);
+		} finally {
+			cleaner.dispose();
+			reasoner.dispose();
+		}
+	}
+
+
+
+	/**
+	 * Waits until all accepted concepts are paired.
+	 * @return the hypotheses of the first pairs in the order of the staged mode
+	 */
+	public Set<Hypothesis> generateClassAxioms() {
+		await(dispatcher);
+		pairingExecutor.shutdown();
+		try {
+			while (!pairingExecutor.awaitTermination(WAIT_INTERVAL, TimeUnit.MILLISECONDS)) {
+				checkCancelled();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stop(null);
+		}
+		// positions of classes in the staged loops, RHS in the outer one
+		List<OWLClass> cls = axiomBuilder.getSortedClasses();
+		final Map<OWLClass, Integer> positions = new HashMap<>();
+		for (OWLClass cl : cls) {
+			positions.put(cl, positions.size());
+		}
+		selected = new ArrayList<>(paired);
+		Collections.sort(selected, new Comparator<PairedHypothesis>() {
+			@Override
+			public int compare(PairedHypothesis ph1, PairedHypothesis ph2) {
+				int cmp = positions.get(ph1.cl2).compareTo(positions.get(ph2.cl2));
+				if (cmp != 0) {
+					return cmp;
+				}
+				return positions.get(ph1.cl1).compareTo(positions.get(ph2.cl1));
+			}
+		});
+		if (selected.size() > maxHypothesesNumber) {
+			selected = new ArrayList<>(selected.subList(0, maxHypothesesNumber));
+		}
+		// hypotheses are final once cut unless they are cleaned afterwards
+		HypothesisSink sink = conceptBuilder.getHypothesisSink();
+		Set<Hypothesis> hypotheses = new HashSet<>();
+		for (PairedHypothesis ph : selected) {
+			AxiomBuilder.publish(ph.hypothesis, hypotheses, sink);
+		}
+		Out.p("\n" + paired.size() + " class axioms are generated, "
+				+ hypotheses.size() + " class axioms are added");
+		conceptBuilder.getMemoryGovernor().account(MemoryGovernor.HYPOTHESES,
+				hypotheses.size() * MemoryGovernor.HYPOTHESIS_BYTES);
+		return hypotheses;
+	}
+
+
+
+	/**
+	 * Waits for the cleaning workers and cleans again the hypotheses
+	 * whose cleaning depended on what has changed since.
+	 * @return the clean hypotheses of the first pairs
+	 */
+	public Set<Hypothesis> cleanClassAxioms() {
+		for (int i = 0; i < cleaners.size(); i++) {
+			put(hypoQueue, END_OF_HYPOTHESES);
+		}
+		for (Thread thread : cleaners) {
+			await(thread);
+		}
+		// the staged set is rebuilt in the same way, so that duplicates by equals()
+		// after cleaning are resolved in its iteration order
+		Set<Hypothesis> hypotheses = new HashSet<>();
+		Map<Hypothesis, PairedHypothesis> pairs = new HashMap<>();
+		for (PairedHypothesis ph : selected) {
+			hypotheses.add(ph.hypothesis);
+			pairs.put(ph.hypothesis, ph);
+		}
+		List<PairedHypothesis> ordered = new ArrayList<>(hypotheses.size());
+		for (Hypothesis h : hypotheses) {
+			ordered.add(pairs.get(h));
+		}
+		Set<OWLAxiom> finalAxioms = HypothesisCleaner.getAxioms(hypotheses);
+		Set<Hypothesis> cleanHypos = new HashSet<>();
+		HypothesisSink sink = conceptBuilder.getHypothesisSink();
+		HypothesisCleaner cleaner = null;
+		int recleaned = 0;
+		monitor.setTotal(ordered.size());
+		try {
+			for (int i = 0; i < ordered.size(); i++) {
+				// hypotheses which are not cleaned are dropped unless out of time
+				if (monitor.isCancelled()) {
+					Out.p("Cleaning is cancelled");
+					if (HypothesisCleaner.keepsUncleaned(monitor)) {
+						for (int j = i; j < ordered.size(); j++) {
+							publish(ordered.get(j).hypothesis, cleanHypos, sink);
+						}
+					}
+					break;
+				}
+				PairedHypothesis ph = ordered.get(i);
+				Hypothesis cleanHypo = ph.clean;
+				if (ph.dependencies == null || !ph.dependencies.holds(finalAxioms, conceptBuilder)) {
+					if (cleaner == null) {
+						cleaner = new HypothesisCleaner(conceptBuilder, hypotheses,
+								finalAxioms, conceptBuilder.getReasoner());
+					}
+					cleanHypo = cleaner.cleanSeparately(ph.hypothesis);
+					recleaned++;
+				}
+				if (cleanHypo != null) {
+					publish(cleanHypo, cleanHypos, sink);
+				}
+				monitor.worked(1);
+			}
+		} finally {
+			if (cleaner != null) {
+				cleaner.dispose();
+			}
+		}
+		Out.p(recleaned + " / " + selected.size() + " hypotheses are cleaned after the search");
+		Out.p(cleanHypos.size() + " / " +
+				selected.size() + " unique by equals() hypotheses");
+		return cleanHypos;
+	}
+
+
+
+	// duplicates by equals() are not passed to the sink
+	private static void publish(Hypothesis h, Set<Hypothesis> cleanHypos, HypothesisSink sink) {
+		if (cleanHypos.add(h) && sink != null) {
+			sink.accept(h);
+		}
+	}
+
+
+
+	/**
+	 * Stops all stages and waits for their threads.
+	 */
+	public void dispose() {
+		stop(null);
+		List<Thread> threads = new ArrayList<>();
+		if (dispatcher != null) {
+			threads.add(dispatcher);
+		}
+		if (cleaners != null) {
+			threads.addAll(cleaners);
+		}
+		for (Thread thread : threads) {
+			thread.interrupt();
+		}
+		try {
+			if (pairingExecutor != null) {
+				pairingExecutor.shutdownNow();
+				pairingExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+
+	private boolean isStopped() {
+		return isStopped.get() || monitor.getCancellationToken().isCancelled();
+	}
+
+
+
+	private void stop(String reason) {
+		if (isStopped.compareAndSet(false, true) && reason != null) {
+			conceptBuilder.getMemoryGovernor().record(Degradation.STOP, reason);
+		}
+	}
+
+
+
+	// out of time, the stages after the current phase are stopped as well
+	private void checkCancelled() {
+		if (monitor.isCancelled()) {
+			stop(null);
+		}
+	}
+
+
+
+	private void await(Thread thread) {
+		try {
+			while (thread.isAlive()) {
+				checkCancelled();
+				thread.join(WAIT_INTERVAL);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stop(null);
+		}
+	}
+
+
+
+	// the consumers of both queues never block on each other, so a put ends eventually
+	private <T> void put(BlockingQueue<T> queue, T element) {
+		try {
+			queue.put(element);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stop(null);
+		}
+	}
+
+
+
+	private static class Concept {
+
+		OWLClass cl;
+
+		Concept(OWLClass cl) {
+			this.cl = cl;
+		}
+	}
+
+
+
+	private static class PairedHypothesis {
+
+		Hypothesis hypothesis;
+		OWLClass cl1;
+		OWLClass cl2;
+		// written by a cleaning worker before it is joined
+		Hypothesis clean;
+		HypothesisCleaner.Dependencies dependencies;
+
+		PairedHypothesis(Hypothesis hypothesis, OWLClass cl1, OWLClass cl2) {
+			this.hypothesis = hypothesis;
+			this.cl1 = cl1;
+			this.cl2 = cl2;
+		}
+	}
+
+
+
+	// the concurrent counterpart of the maps of the concept builder
+	private static class Index implements ConceptIndex {
+
+		private Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap = new ConcurrentHashMap<>();
+		private Map<OWLClass, OWLClassExpression> classExpressionMap = new ConcurrentHashMap<>();
+		private Map<OWLClassExpression, OWLClass> expressionClassMap = new ConcurrentHashMap<>();
+		private Map<OWLClassExpression, OWLAxiom> definitionMap = new ConcurrentHashMap<>();
+		private Map<OWLClassExpression, Double> timeMap = new ConcurrentHashMap<>();
+
+		// a concept without instances is never paired, null values are skipped
+		void add(OWLClass cl, OWLClassExpression expr, Set<OWLNamedIndividual> instances,
+				OWLAxiom definition, Double time) {
+			if (instances != null) {
+				classInstanceMap.put(cl, instances);
+			}
+			if (definition != null) {
+				definitionMap.put(expr, definition);
+			}
+			if (time != null) {
+				timeMap.put(expr, time);
+			}
+			classExpressionMap.put(cl, expr);
+			expressionClassMap.put(expr, cl);
+		}
+
+		@Override
+		public Map<OWLClass, Set<OWLNamedIndividual>> getClassInstanceMap() {
+			return classInstanceMap;
+		}
+
+		@Override
+		public OWLClassExpression getExpressionByClass(OWLClass cl) {
+			return classExpressionMap.get(cl);
+		}
+
+		@Override
+		public OWLClass getClassByExpression(OWLClassExpression expr) {
+			return expressionClassMap.get(expr);
+		}
+
+		@Override
+		public OWLAxiom getDefinitionByExpression(OWLClassExpression expr) {
+			return definitionMap.get(expr);
+		}
+
+		@Override
+		public Double getTimeByExpression(OWLClassExpression expr) {
+			return timeMap.get(expr);
+		}
+
+		// the staged mode sorts concepts by their instance numbers
+		int getRank(OWLClass cl) {
+			return classInstanceMap.get(cl).size();
+		}
+	}
+
+}
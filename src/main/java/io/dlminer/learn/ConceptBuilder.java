@@ -16,6 +16,7 @@ import java.util.TreeSet;
 
 import io.dlminer.graph.*;
 import io.dlminer.main.DLMinerComponent;
+import io.dlminer.main.ProgressMonitor;
 import io.dlminer.refine.OperatorConfig;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
@@ -25,11 +26,17 @@ import io.dlminer.ont.OWLObjectPropertyChain;
 import io.dlminer.ont.OntologyHandler;
 import io.dlminer.print.Out;
 import io.dlminer.refine.ALCOperator;
+import io.dlminer.refine.SearchSpaceProfile;
 import io.dlminer.sort.NodeLengthComparator;
 import io.dlminer.sort.SortingOrder;
+import io.dlminer.telemetry.Counter;
+import io.dlminer.telemetry.FlightEvents;
+import io.dlminer.telemetry.Histogram;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
 
 
-public class ConceptBuilder implements DLMinerComponent {
+public class ConceptBuilder implements DLMinerComponent, ConceptIndex {
 	
 	private OntologyHandler handler;		
 	private OWLDataFactory factory;
@@ -82,6 +89,16 @@ public class ConceptBuilder implements DLMinerComponent {
 
     private Set<ALCNode> nodes;
 
+    private MemoryGovernor memoryGovernor = new MemoryGovernor(new MemoryConfig());
+
+    private SearchSpaceProfile searchProfile;
+
+    private ProgressMonitor progressMonitor = new ProgressMonitor();
+
+    private HypothesisSink hypothesisSink;
+
+    private ConceptSink conceptSink;
+
 
     public ConceptBuilder(OntologyHandler handler, OWLReasoner reasoner, OperatorConfig config) {
         this.handler = handler;
@@ -112,6 +129,31 @@ public class ConceptBuilder implements DLMinerComponent {
         }
 	}
 
+
+
+	/**
+	 * Prepares the builder for another run: concepts and roles of the previous
+	 * run are dropped, while the refinement operator, the expansions and
+	 * cached instances of nodes are kept.
+	 * @param config the parameters of the run, which may only differ
+	 * from the initial ones in parameters of the search
+	 */
+	public void reset(OperatorConfig config) {
+		this.config = config;
+		operator.setConfig(config);
+		initCollections();
+		// caching may have been switched off under memory pressure
+		instanceChecker.setCaching(true);
+		positiveClass = null;
+		negativeClass = null;
+		positiveNode = null;
+		negativeNode = null;
+		nodes = null;
+		searchProfile = null;
+		hypothesisSink = null;
+		conceptSink = null;
+	}
+
 				
 	
 	public void setPositiveClass(OWLClass positiveClass) {
@@ -143,11 +185,78 @@ public class ConceptBuilder implements DLMinerComponent {
 
 
 
+	public void setMemoryGovernor(MemoryGovernor memoryGovernor) {
+		this.memoryGovernor = memoryGovernor;
+	}
+
+
+
+	public MemoryGovernor getMemoryGovernor() {
+		return memoryGovernor;
+	}
+
+
+
+	public void setProgressMonitor(ProgressMonitor progressMonitor) {
+		this.progressMonitor = progressMonitor;
+	}
+
+
+
+	/**
+	 * @return the monitor shared by builders, cleaners and evaluators of a run
+	 */
+	public ProgressMonitor getProgressMonitor() {
+		return progressMonitor;
+	}
+
+
+
+	public void setHypothesisSink(HypothesisSink hypothesisSink) {
+		this.hypothesisSink = hypothesisSink;
+	}
+
+
+
+	/**
+	 * @return the receiver of final hypotheses, i.e. generated ones if they are
+	 * not cleaned and cleaned ones otherwise, or null if they are not streamed
+	 */
+	public HypothesisSink getHypothesisSink() {
+		return hypothesisSink;
+	}
+
+
+
+	public void setConceptSink(ConceptSink conceptSink) {
+		this.conceptSink = conceptSink;
+	}
+
+
+
+	/**
+	 * @return the receiver of accepted concepts or null if they are not passed on
+	 */
+	public ConceptSink getConceptSink() {
+		return conceptSink;
+	}
+
+
+
+	/**
+	 * @return the profile of the last concept search or null
+	 */
+	public SearchSpaceProfile getSearchSpaceProfile() {
+		return searchProfile;
+	}
+
+
+
 	private void initRefinementOperator() {
 		Set<OWLClass> cls = new HashSet<>(classes);
 		Set<OWLObjectProperty> props = new HashSet<>(properties);
         Set<OWLDataProperty> dataProps = new HashSet<>(dataProperties);
-        operator = new ALCOperator(reasoner, cls, props, dataProps, config);
+        operator = new ALCOperator(reasoner, cls, props, dataProps, config, handler.getIndex());
 	}
 
 
@@ -595,21 +704,41 @@ public class ConceptBuilder implements DLMinerComponent {
         // loop
         Out.p("\nEntering the main loop");
 		int iters = 0;
+		Histogram instanceCheckTime = Telemetry.histogram(MetricNames.INSTANCE_CHECK);
+		Counter iterations = Telemetry.counter(MetricNames.APRIORI_ITERATIONS);
+		int beamSize = config.beamSize;
+		Degradation applied = Degradation.NONE;
+		searchProfile = new SearchSpaceProfile();
+		operator.setSearchSpaceProfile(searchProfile);
+		progressMonitor.setTotal(maxConceptNumber == Integer.MAX_VALUE ? -1 : maxConceptNumber);
 		loop:
 		while (!candidates.isEmpty()) {
+			// concepts found so far are kept
+			if (progressMonitor.isCancelled()) {
+				Out.p("\nDL-Apriori is cancelled");
+				break;
+			}
 			ALCNode current = candidates.poll();
+			Object iterationEvent = FlightEvents.beginIteration();
 			// generate all non-redundant extensions of labelSize+1
 			Set<ALCNode> refinements = operator.refine(current);
 			// first check atomic nodes
 			if (current.isOWLThing()) {
 				refinements.addAll(operator.getAtomicNodes());				
 			}
+			SearchSpaceProfile.Cell cell = searchProfile.getCell(current.depth(), current.length());
+			cell.refined++;
+			cell.generated += refinements.size();
 			List<ALCNode> extensions = new ArrayList<>(refinements);
 			Collections.sort(extensions, new NodeLengthComparator(SortingOrder.ASC));			
 			// beam
 			List<ALCNode> beam = new ArrayList<>();
 			// evaluate extensions			
+			Object checkEvent = FlightEvents.beginInstanceChecks();
+			int checks = 0;
+			int examined = 0;
 			for (ALCNode extension : extensions) {
+				examined++;
 				OWLClassExpression concept = extension.getConcept();				
 				if (extension.depth() <= config.maxDepth
 						&& extension.length() <= config.maxLength
@@ -618,10 +747,12 @@ public class ConceptBuilder implements DLMinerComponent {
 					if (positiveClass != null && negativeClass != null) {
 						if (concept.containsEntityInSignature(positiveClass)
 								|| concept.containsEntityInSignature(negativeClass)) {
+							cell.boundPrunes++;
 							continue;
 						}
 					}
 					double t1 = System.nanoTime();
+					checks++;
                     Set<OWLNamedIndividual> instances = null;
                     if (config.storeInstances) {
                         if (config.useReasonerForClassInstances) {
@@ -642,6 +773,8 @@ public class ConceptBuilder implements DLMinerComponent {
                     // record time
                     double t2 = System.nanoTime();
                     double time = (t2 - t1)/1e9;
+                    instanceCheckTime.record((long) (t2 - t1));
+                    cell.evaluationNanos += (long) (t2 - t1);
                     if (extension.isAtomic()) {
                         Double classTime = operator.getTimeByClass(concept);
                         if (classTime != null) {
@@ -660,20 +793,67 @@ public class ConceptBuilder implements DLMinerComponent {
                         if (!config.checkRedundancy || !extension.isRedundant()) {
                             expressionInstanceMap.put(concept, instances);
                             nodes.add(extension);
+                            cell.frequent++;
+                            publishConcept(concept);
+                        } else {
+                            cell.redundantConcepts++;
                         }
 						// break the loop if the maximal number of concepts is reached
 						if (expressionInstanceMap.size() >= maxConceptNumber) {
+							cell.limitPrunes += extensions.size() - examined;
+							FlightEvents.endInstanceChecks(checkEvent, checks, beam.size() + 1);
+							FlightEvents.endIteration(iterationEvent, current.length(), extensions.size(), candidates.size());
 							break loop;
 						}
                         beam.add(extension);
-						if (beam.size() >= config.beamSize) {
+						if (beam.size() >= beamSize) {
+							cell.beamPrunes += extensions.size() - examined;
 						    break;
                         }
+					} else {
+						cell.supportPrunes++;
 					}
-				}				
+				} else if (extension.depth() <= config.maxDepth
+						&& extension.length() <= config.maxLength) {
+					cell.duplicates++;
+				} else {
+					cell.boundPrunes++;
+				}
 			}			
+			FlightEvents.endInstanceChecks(checkEvent, checks, beam.size());
 			processed.addAll(extensions);
             candidates.addAll(beam);
+            iterations.inc();
+			progressMonitor.setDone(expressionInstanceMap.size());
+			FlightEvents.endIteration(iterationEvent, current.length(), extensions.size(), candidates.size());
+			// degrade under memory pressure
+			Degradation degradation = memoryGovernor.check(applied);
+			if (degradation.compareTo(applied) > 0) {
+				accountMemory(candidates);
+				for (Degradation d : Degradation.values()) {
+					if (d.compareTo(applied) <= 0 || d.compareTo(degradation) > 0) {
+						continue;
+					}
+					if (d == Degradation.SHRINK_CACHES) {
+						int dropped = instanceChecker.retainCaches(candidates);
+						memoryGovernor.record(d, dropped + " cached concepts are dropped");
+					} else if (d == Degradation.TIGHTEN_BEAM) {
+						int oldBeamSize = beamSize;
+						beamSize = Math.max(1, beamSize / 2);
+						memoryGovernor.record(d, "beamSize " + oldBeamSize + " -> " + beamSize);
+					} else if (d == Degradation.COUNTING_MODE) {
+						instanceChecker.setCaching(false);
+						memoryGovernor.record(d, "instances are not cached");
+					} else if (d == Degradation.STOP) {
+						memoryGovernor.record(d, "concept search stops at "
+								+ expressionInstanceMap.size() + " concepts");
+					}
+				}
+				applied = degradation;
+				if (applied == Degradation.STOP) {
+					break;
+				}
+			}
 			// debug
             if (++iters % 1000 == 0) {
                 Out.p("iterations=" + iters
@@ -684,6 +864,20 @@ public class ConceptBuilder implements DLMinerComponent {
             }
 		}
 		Out.p("\nDL-Apriori has terminated");		
+		accountMemory(candidates);
+		operator.setSearchSpaceProfile(null);
+		searchProfile.record();
+		Out.p("\n" + searchProfile.getSummary());
+	}
+
+
+
+	private void accountMemory(Collection<ALCNode> candidates) {
+		memoryGovernor.account(MemoryGovernor.CONCEPT_INSTANCES,
+				MemoryGovernor.estimateSets(expressionInstanceMap.values()));
+		memoryGovernor.account(MemoryGovernor.CLUSTERS, instanceChecker.estimateClusterBytes());
+		memoryGovernor.account(MemoryGovernor.INSTANCE_CACHES, instanceChecker.estimateCacheBytes());
+		memoryGovernor.account(MemoryGovernor.CANDIDATES, candidates.size() * MemoryGovernor.NODE_BYTES);
 	}
 	
 	
@@ -719,25 +913,52 @@ public class ConceptBuilder implements DLMinerComponent {
 
 
 	public void generateAndMapDataConcepts() {
+		List<OWLClass> cls = getDataClasses();
+		for (OWLClassExpression expr : expressionInstanceMap.keySet()) {
+			if (!expressionClassMap.containsKey(expr)) {
+				mapDataConcept(expr, cls);
+			}
+		}
+	}
+
+
+
+	private List<OWLClass> getDataClasses() {
 		List<OWLClass> cls = languageClassMap.get(Language.DATA_C);
 		if (cls == null) {
 			cls = new ArrayList<>();
 			languageClassMap.put(Language.DATA_C, cls);
 		}
-		for (OWLClassExpression expr : expressionInstanceMap.keySet()) {
-			if (!expressionClassMap.containsKey(expr)) {
-				OWLClass cl;
-				if (!expr.isAnonymous()) {
-					cl = expr.asOWLClass();
-				} else {
-					cl = handler.generateClass();
-				}
-				cls.add(cl);
-				expressionClassMap.put(expr, cl);
-				classExpressionMap.put(cl, expr);
-				classInstanceMap.put(cl, expressionInstanceMap.get(expr));
-			}
+		return cls;
+	}
+
+
+
+	private OWLClass mapDataConcept(OWLClassExpression expr, List<OWLClass> cls) {
+		OWLClass cl;
+		if (!expr.isAnonymous()) {
+			cl = expr.asOWLClass();
+		} else {
+			cl = handler.generateClass();
 		}
+		cls.add(cl);
+		expressionClassMap.put(expr, cl);
+		classExpressionMap.put(cl, expr);
+		classInstanceMap.put(cl, expressionInstanceMap.get(expr));
+		return cl;
+	}
+
+
+
+	// concepts are mapped in the order of acceptance as they would be after the search
+	private void publishConcept(OWLClassExpression expr) {
+		if (conceptSink == null) {
+			return;
+		}
+		OWLClass cl = mapDataConcept(expr, getDataClasses());
+		buildClassDefinition(cl);
+		conceptSink.accept(cl, expr, classInstanceMap.get(cl),
+				classExpressionDefinitionMap.get(expr), expressionTimeMap.get(expr));
 	}
 
 	
@@ -1605,4 +1826,14 @@ public class ConceptBuilder implements DLMinerComponent {
 	    return nodes;
     }
 
+
+    public ALCOperator getOperator() {
+        return operator;
+    }
+
+
+    public InstanceChecker getInstanceChecker() {
+        return instanceChecker;
+    }
+
 }
@@ -0,0 +1,28 @@
+package io.dlminer.learn;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+
+/**
+ * Lookups of built concepts which are needed to generate and clean class axioms.
+ * The concept builder answers them once concept search is over, while
+ * the axiom pipeline answers them for the concepts accepted so far.
+ */
+interface ConceptIndex {
+
+	Map<OWLClass, Set<OWLNamedIndividual>> getClassInstanceMap();
+
+	OWLClassExpression getExpressionByClass(OWLClass cl);
+
+	OWLClass getClassByExpression(OWLClassExpression expr);
+
+	OWLAxiom getDefinitionByExpression(OWLClassExpression expr);
+
+	Double getTimeByExpression(OWLClassExpression expr);
+
+}
@@ -0,0 +1,27 @@
+package io.dlminer.learn;
+
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+
+/**
+ * Receives concepts as soon as concept search accepts them, in the order
+ * of acceptance. The method is called from the search thread and
+ * may block it until the receiver is ready for more.
+ */
+public interface ConceptSink {
+
+	/**
+	 * @param cl the class encoding the concept
+	 * @param expr the concept
+	 * @param instances the instances of the concept
+	 * @param definition the definition of the class or null if it is atomic
+	 * @param time the time of checking the instances in seconds
+	 */
+	void accept(OWLClass cl, OWLClassExpression expr, Set<OWLNamedIndividual> instances,
+			OWLAxiom definition, Double time);
+
+}
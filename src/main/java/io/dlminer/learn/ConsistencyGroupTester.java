@@ -0,0 +1,151 @@
+package io.dlminer.learn;
+
+import io.dlminer.main.DLMinerOutputI;
+import io.dlminer.ont.OntologyHandler;
+import io.dlminer.print.Out;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The class checks the consistency of hypotheses with the ontology in groups.
+ * A consistent group passes with a single reasoner call, an inconsistent
+ * one is bisected until the inconsistent hypotheses are isolated.
+ * Consistency is monotone, so the results equal those of checking
+ * hypotheses one by one. The group size follows the observed
+ * inconsistency rate p and is about 1/sqrt(p).
+ */
+public class ConsistencyGroupTester {
+
+	public static final int DEF_MAX_GROUP_SIZE = 256;
+
+	private OntologyHandler handler;
+	private OWLReasoner reasoner;
+	private int maxGroupSize;
+
+	// statistics for the group size
+	private int testedNumber;
+	private int inconsistentNumber;
+	private int reasonerCalls;
+
+
+
+	public ConsistencyGroupTester(OntologyHandler handler, OWLReasoner reasoner, int maxGroupSize) {
+		this.handler = handler;
+		this.reasoner = reasoner;
+		this.maxGroupSize = Math.max(1, maxGroupSize);
+	}
+
+
+	public ConsistencyGroupTester(OntologyHandler handler, OWLReasoner reasoner) {
+		this(handler, reasoner, DEF_MAX_GROUP_SIZE);
+	}
+
+
+
+	/**
+	 * Sets the consistency flag and time of each hypothesis
+	 * which has an axiom; hypotheses with failed checks are left unchanged.
+	 * @param hypotheses hypotheses to check
+	 */
+	public void test(List<Hypothesis> hypotheses) {
+		List<Hypothesis> candidates = new ArrayList<>();
+		for (Hypothesis h : hypotheses) {
+			if (h.getFirstAxiom() != null) {
+				h.set(Measure.CONSIST_TIME, 0.);
+				candidates.add(h);
+			}
+		}
+		int start = 0;
+		while (start < candidates.size()) {
+			int end = Math.min(start + getGroupSize(), candidates.size());
+			testGroup(candidates.subList(start, end));
+			start = end;
+			Out.p(start + " / " + hypotheses.size() + " hypotheses evaluated by consistency");
+		}
+	}
+
+
+
+	// the Laplace estimate of the inconsistency rate is never zero
+	private int getGroupSize() {
+		double rate = (inconsistentNumber + 1.) / (testedNumber + 2.);
+		int size = (int) Math.round(1 / Math.sqrt(rate));
+		return Math.max(1, Math.min(size, maxGroupSize));
+	}
+
+
+
+	private void testGroup(List<Hypothesis> group) {
+		Set<OWLAxiom> axioms = new HashSet<>();
+		for (Hypothesis h : group) {
+			axioms.add(h.getFirstAxiom());
+		}
+		Boolean isCons = null;
+		double t1 = System.nanoTime();
+		try {
+			reasonerCalls++;
+			isCons = isConsistent(axioms);
+		} catch (Exception e) {
+			Out.p(e + DLMinerOutputI.HYPOTHESIS_EVALUATION_ERROR);
+		}
+		double time = (System.nanoTime() - t1)/1e9;
+		for (Hypothesis h : group) {
+			h.set(Measure.CONSIST_TIME, h.getValue(Measure.CONSIST_TIME) + time / group.size());
+		}
+		if (group.size() == 1) {
+			Hypothesis h = group.get(0);
+			if (isCons != null) {
+				h.isConsistent = isCons;
+			}
+			testedNumber++;
+			if (Boolean.FALSE.equals(isCons)) {
+				inconsistentNumber++;
+			}
+			return;
+		}
+		if (Boolean.TRUE.equals(isCons)) {
+			for (Hypothesis h : group) {
+				h.isConsistent = true;
+			}
+			testedNumber += group.size();
+			return;
+		}
+		// inconsistent or failed groups are split
+		int middle = group.size() / 2;
+		testGroup(group.subList(0, middle));
+		testGroup(group.subList(middle, group.size()));
+	}
+
+
+
+	// only added axioms are removed, so the ontology is left intact
+	private boolean isConsistent(Set<OWLAxiom> axioms) throws Exception {
+		Set<OWLAxiom> added = new HashSet<>();
+		for (OWLAxiom axiom : axioms) {
+			if (!handler.getOntology().containsAxiom(axiom)) {
+				added.add(axiom);
+			}
+		}
+		try {
+			handler.addAxioms(added);
+			reasoner.flush();
+			return reasoner.isConsistent();
+		} finally {
+			handler.removeAxioms(added);
+			reasoner.flush();
+		}
+	}
+
+
+
+	public int getReasonerCalls() {
+		return reasonerCalls;
+	}
+
+}
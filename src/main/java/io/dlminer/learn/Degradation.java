@@ -0,0 +1,35 @@
+package io.dlminer.learn;
+
+/**
+ * Degradations applied by {@link MemoryGovernor} under memory pressure,
+ * ordered by the heap usage at which they are applied.
+ */
+public enum Degradation {
+
+	/**
+	 * the heap usage is below all thresholds
+	 */
+	NONE,
+
+	/**
+	 * cached instances of concepts which are not refined anymore are dropped
+	 */
+	SHRINK_CACHES,
+
+	/**
+	 * the beam size of the concept search is halved
+	 */
+	TIGHTEN_BEAM,
+
+	/**
+	 * instances of new concepts are found among all expansion clusters,
+	 * as when counting them, and nothing is cached
+	 */
+	COUNTING_MODE,
+
+	/**
+	 * the concept search or hypothesis building terminates early
+	 */
+	STOP
+
+}
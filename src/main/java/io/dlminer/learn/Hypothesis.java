@@ -22,6 +22,10 @@ import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 
 
 
+/**
+ * A hypothesis is a view of a row of {@link HypothesisTable},
+ * which stores its measures and signature.
+ */
 public class Hypothesis {
 	
 	// generated id
@@ -32,75 +36,29 @@ public class Hypothesis {
 	public Set<OWLAxiom> axioms;
 	public Set<OWLAxiom> codedAxioms;
 	public Set<OWLAxiom> definitions;	
-	public Set<OWLEntity> signature;
 	public Integer length;
 	public Integer depth;
-
-	// logical measures
-	public Double noveltyApprox;
-	public Double novelty;	
-	public Double dissimilarityApprox;
-	public Double dissimilarity;
-	public Double strength;
 	public boolean isConsistent;
 	
-	// statistical measures
-	public Double support;
-	public Double assumption;	
-	public Double fitness;	
-	public Double braveness;	
-	public Double precision;
-	public Double recall;
-	public Double lift;
-	public Double leverage;
-	public Double addedValue;
-	public Double jaccard;
-	public Double certaintyFactor;
-	public Double klosgen;
-	public Double conviction;
-	public Double convictionNeg;
-	public Double convictionQue;
-	public Double shapiro;
-	public Double cosine;
-	public Double informGain;
-	public Double sebag;
-	public Double contradiction;
-	public Double oddMultiplier;
-	public Double linearCorrelation;
-	public Double jmeasure;
-	
-	// contrapositive measures
-	public Double mainSupport;
-	public Double mainAssumption;
-	public Double mainContradiction;
-	public Double mainPrecision;
-	public Double mainLift;
-	public Double mainConvictionNeg;
-	public Double mainConvictionQue;
-	
-	
-	// ranking
-	public Double[] measures = null;
-	public Double[] scaledMeasures = null;
-	public Double quality;
-	
-	// comparison
-	public Double noveltySum;
-	public Double fitnessSum;
-	public Double bravenessSum;
-	
-	// performance
-	public Double fitnessTime;
-	public Double bravenessTime;
-	public Double noveltyTime;
-	public Double dissimTime;
-	public Double strengthTime;
-	public Double basicTime;
-	public Double mainTime;
-	public Double consistTime;
-	public Double informTime;
-	public Double cleanTime;
+	// ranking objectives, the assumption is better if lower
+	public static final Measure[] OBJECTIVES = {Measure.SUPPORT, Measure.ASSUMPTION};
+	private static final boolean[] NEGATED = {false, true};
+	
+	// measures summed by add()
+	private static final Measure[] SUMMED_MEASURES = {
+		Measure.SUPPORT, Measure.ASSUMPTION, Measure.PRECISION, Measure.RECALL,
+		Measure.LIFT, Measure.LEVERAGE, Measure.ADDED_VALUE, Measure.JACCARD,
+		Measure.CERTAINTY_FACTOR, Measure.KLOSGEN, Measure.CONVICTION,
+		Measure.SHAPIRO, Measure.COSINE, Measure.INFORM_GAIN, Measure.SEBAG,
+		Measure.CONTRADICTION, Measure.ODD_MULTIPLIER, Measure.LINEAR_CORRELATION,
+		Measure.JMEASURE
+	};
+	
+	private static final Measure[] MEASURES = Measure.values();
 	
+	// the row of the table
+	private HypothesisTable table;
+	private int row;
 	
 	// concept for faster reasoning
 	private OWLClassExpression concept;
@@ -108,86 +66,139 @@ public class Hypothesis {
 	
 	
 	public Hypothesis() {
+		this(new HypothesisTable());
+	}
+	
+	
+	public Hypothesis(HypothesisTable table) {
+		this.table = table;
+		this.row = table.addRow();
 		this.id = UUID.randomUUID().toString();
 	}
 	
 	
 	public Hypothesis(Set<OWLAxiom> axioms, Set<OWLAxiom> codedAxioms, Set<OWLAxiom> definitions) {
+		this(new HypothesisTable(), axioms, codedAxioms, definitions);
+	}
+	
+	
+	public Hypothesis(HypothesisTable table, Set<OWLAxiom> axioms, 
+			Set<OWLAxiom> codedAxioms, Set<OWLAxiom> definitions) {
+		this(table);
 		this.axioms = axioms;		
 		this.codedAxioms = codedAxioms;
 		this.definitions = definitions;
 		this.length = LengthMetric.length(axioms);
 		this.depth = DepthMetric.depth(axioms);
-		this.signature = OntologyHandler.getSignature(axioms);
-		this.id = UUID.randomUUID().toString();
+		setSignature(OntologyHandler.getSignature(axioms));
 	}
 	
 
+	// the copy is added to the same table
 	public Hypothesis(Hypothesis h) {
-		// generated id
-		this.id = UUID.randomUUID().toString();
+		this(h.table);
 		// axioms
 		this.axioms = new HashSet<>(h.axioms);
 		this.codedAxioms = new HashSet<>(h.codedAxioms);
 		this.definitions = new HashSet<>(h.definitions);
-		this.signature = new HashSet<>(h.signature);
+		setSignature(h.getSignature());
 		this.length = h.length;
 		this.depth = h.depth;	
-		// statistical measures
-		this.fitness = h.fitness;
-		this.support = h.support;
-		this.braveness = h.braveness;
-		this.assumption = h.assumption;
-		this.precision = h.precision;
-		this.recall = h.recall;
-		this.lift = h.lift;
-		this.leverage = h.leverage;
-		this.addedValue = h.addedValue;
-		this.jaccard = h.jaccard;
-		this.certaintyFactor = h.certaintyFactor;
-		this.klosgen = h.klosgen;
-		this.conviction = h.conviction;
-		this.convictionNeg = h.convictionNeg;
-		this.convictionQue = h.convictionQue;		
-		this.shapiro = h.shapiro;
-		this.cosine = h.cosine;
-		this.informGain = h.informGain;
-		this.sebag = h.sebag;
-		this.contradiction = h.contradiction;	
-		this.oddMultiplier = h.oddMultiplier;
-		this.linearCorrelation = h.linearCorrelation;
-		this.jmeasure = h.jmeasure;
-		// contrapositive measures
-		this.mainSupport = h.mainSupport;
-		this.mainAssumption = h.mainAssumption;
-		this.mainContradiction = h.mainContradiction;
-		this.mainPrecision = h.mainPrecision;
-		this.mainLift = h.mainLift;
-		this.mainConvictionNeg = h.mainConvictionNeg;
-		this.mainConvictionQue = h.mainConvictionQue;
-		// logical measures		
-		this.noveltyApprox = h.noveltyApprox;
-		this.novelty = h.novelty;		
-		this.dissimilarityApprox = h.dissimilarityApprox;
-		this.dissimilarity = h.dissimilarity;
-		this.strength = h.strength;
 		this.isConsistent = h.isConsistent;
-		// comparison
-		this.fitnessSum = h.fitnessSum;
-		this.bravenessSum = h.bravenessSum;
-		this.noveltySum = h.noveltySum;
-		// performance
-		this.fitnessTime = h.fitnessTime;
-		this.bravenessTime = h.bravenessTime;
-		this.noveltyTime = h.noveltyTime;
-		this.dissimTime = h.dissimTime;
-		this.strengthTime = h.strengthTime;
-		this.basicTime = h.basicTime;
-		this.mainTime = h.mainTime;
-		this.consistTime = h.consistTime;
-		this.informTime = h.informTime;
-		this.cleanTime = h.cleanTime;
+		// quality depends on the ranked hypotheses, so it is not copied
+		for (Measure measure : MEASURES) {
+			if (measure.isStored() && measure != Measure.QUALITY) {
+				table.set(measure, row, h.getValue(measure));
+			}
+		}
+	}
+	
+	
+	
+	public HypothesisTable getTable() {
+		return table;
+	}
+	
+	
+	public int getRow() {
+		return row;
+	}
+	
+	
+	
+	/**
+	 * @param measure a measure
+	 * @return the value or null if it is not set
+	 */
+	public Double get(Measure measure) {
+		double value = getValue(measure);
+		return HypothesisTable.isSet(value) ? value : null;
+	}
+	
+	
+	/**
+	 * @param measure a measure
+	 * @return the value or {@link HypothesisTable#UNSET} without boxing
+	 */
+	public double getValue(Measure measure) {
+		if (measure.isStored()) {
+			return table.get(measure, row);
+		}
+		Integer value = null;
+		if (measure == Measure.RANK) {
+			value = rank;
+		} else if (measure == Measure.LENGTH) {
+			value = length;
+		} else if (measure == Measure.DEPTH) {
+			value = depth;
+		}
+		return (value == null) ? HypothesisTable.UNSET : value;
 	}
+	
+	
+	public boolean isSet(Measure measure) {
+		return HypothesisTable.isSet(getValue(measure));
+	}
+	
+	
+	/**
+	 * @param measure a stored measure
+	 * @param value the value or null to unset it
+	 */
+	public void set(Measure measure, Double value) {
+		if (value == null) {
+			table.unset(measure, row);
+		} else {
+			table.set(measure, row, value);
+		}
+	}
+	
+	
+	public void set(Measure measure, double value) {
+		table.set(measure, row, value);
+	}
+	
+	
+	
+	/**
+	 * @return a new set of the signature
+	 */
+	public Set<OWLEntity> getSignature() {
+		return table.getSignature(row);
+	}
+	
+	
+	public void setSignature(Set<OWLEntity> signature) {
+		table.setSignature(row, signature);
+	}
+	
+	
+	public int getSignatureSize() {
+		int[] ids = table.getSignatureIds(row);
+		return (ids == null) ? 0 : ids.length;
+	}
+	
+	
 
 	@Override
 	public String toString() {
@@ -227,34 +238,22 @@ public class Hypothesis {
 		boolean result = axioms.addAll(h.axioms);
 		this.codedAxioms.addAll(h.codedAxioms);
 		this.definitions.addAll(h.definitions);		
-		this.signature.addAll(h.signature);
+		Set<OWLEntity> signature = getSignature();
+		signature.addAll(h.getSignature());
+		setSignature(signature);
 		this.length += h.length;
 		this.depth = DepthMetric.depth(axioms);
 		// statistical measures
-		this.support += h.support;		
-		this.assumption += h.assumption;
-		this.precision += h.precision;
-		this.recall += h.recall;
-		this.lift += h.lift;
-		this.leverage += h.leverage;
-		this.addedValue += h.addedValue;
-		this.jaccard += h.jaccard;
-		this.certaintyFactor += h.certaintyFactor;
-		this.klosgen += h.klosgen;
-		this.conviction += h.conviction;
-		this.shapiro += h.shapiro;
-		this.cosine += h.cosine;
-		this.informGain += h.informGain;
-		this.sebag += h.sebag;
-		this.contradiction += h.contradiction;	
-		this.oddMultiplier += h.oddMultiplier;
-		this.linearCorrelation += h.linearCorrelation;
-		this.jmeasure += h.jmeasure;
+		for (Measure measure : SUMMED_MEASURES) {
+			set(measure, get(measure) + h.get(measure));
+		}
 		// logical measures		
-		this.noveltyApprox = (this.noveltyApprox == null || h.noveltyApprox == null) 
-				? null : this.noveltyApprox + h.noveltyApprox;
-		this.dissimilarityApprox = (this.dissimilarityApprox == null || h.dissimilarityApprox == null) 
-				? null : this.dissimilarityApprox + h.dissimilarityApprox;
+		Double noveltyApprox = get(Measure.NOVELTY_APPROX);
+		Double dissimilarityApprox = get(Measure.DISSIMILARITY_APPROX);
+		set(Measure.NOVELTY_APPROX, (noveltyApprox == null || !h.isSet(Measure.NOVELTY_APPROX)) 
+				? null : noveltyApprox + h.get(Measure.NOVELTY_APPROX));
+		set(Measure.DISSIMILARITY_APPROX, (dissimilarityApprox == null || !h.isSet(Measure.DISSIMILARITY_APPROX)) 
+				? null : dissimilarityApprox + h.get(Measure.DISSIMILARITY_APPROX));
 		return result;
 	}
 
@@ -315,65 +314,53 @@ public class Hypothesis {
 	}
 	
 	
-	public void initMeasures() {
-		measures = new Double[]{				
-				support, -assumption, 
-//				precision,
-//				fitness, -braveness,
-//				lift, conviction
-				};
+	/**
+	 * @param i the index of an objective in {@link #OBJECTIVES}
+	 * @return the objective value, higher is better
+	 */
+	public double getObjective(int i) {
+		double value = getValue(OBJECTIVES[i]);
+		return NEGATED[i] ? - value : value;
 	}
 	
 	
 	
-	public void scaleMeasures(double[] maxima) {		
-		scaledMeasures = new Double[measures.length];
-		for (int i=0; i<measures.length; i++) {
-			if (maxima[i] == 0) {
-				scaledMeasures[i] = i != 1 ? 0.0 : 1.0;
-				continue;
-			}
-			if (Double.isFinite(measures[i])) {
-				scaledMeasures[i] = measures[i]/maxima[i];
-			} else if (Double.isInfinite(measures[i])) {
-				scaledMeasures[i] = 1.0;
-			} else {
-				scaledMeasures[i] = 0.0;
-			}
-			if (i == 1) {
-				scaledMeasures[i] += 1;
-			}
+	/**
+	 * @param i the index of an objective in {@link #OBJECTIVES}
+	 * @param max the maximal absolute value of the objective
+	 * @return the objective value scaled by the maximum
+	 */
+	public double getScaledObjective(int i, double max) {
+		double value = getObjective(i);
+		if (max == 0) {
+			return NEGATED[i] ? 1.0 : 0.0;
 		}
+		double scaled;
+		if (Double.isFinite(value)) {
+			scaled = value/max;
+		} else if (Double.isInfinite(value)) {
+			scaled = 1.0;
+		} else {
+			scaled = 0.0;
+		}
+		if (NEGATED[i]) {
+			scaled += 1;
+		}
+		return scaled;
 	}
 	
 	
 	
-	public void calculateQuality(Distance distance) {		
-		if (distance.equals(Distance.EUCLIDIAN)) {
-			quality = calculateEuclidian();
-		} else if (distance.equals(Distance.MANHATTAN)) {
-			quality = calculateManhattan();
-		} else {
+	public void calculateQuality(double[] maxima, Distance distance) {		
+		if (!distance.equals(Distance.EUCLIDIAN) && !distance.equals(Distance.MANHATTAN)) {
 			throw new IllegalArgumentException("Please specify the distance metric!");
-		}		
-	}
-	
-	
-	private double calculateEuclidian() {
-		double q = 0;
-		for (int i=0; i<scaledMeasures.length; i++) {
-			q += scaledMeasures[i]*scaledMeasures[i];
 		}
-		return Math.sqrt(q);
-	}
-	
-	
-	private double calculateManhattan() {
 		double q = 0;
-		for (int i=0; i<scaledMeasures.length; i++) {
-			q += scaledMeasures[i];
+		for (int i=0; i<OBJECTIVES.length; i++) {
+			double scaled = getScaledObjective(i, maxima[i]);
+			q += distance.equals(Distance.EUCLIDIAN) ? scaled*scaled : scaled;
 		}
-		return q;
+		set(Measure.QUALITY, distance.equals(Distance.EUCLIDIAN) ? Math.sqrt(q) : q);
 	}
 
 
@@ -384,8 +371,12 @@ public class Hypothesis {
 	
 	
 	public boolean hasSignatureOverlapAtLeast(Hypothesis h, int minOverlap) {				
+		if (table == h.table) {
+			return HypothesisTable.countOverlap(table.getSignatureIds(row),
+					table.getSignatureIds(h.row)) >= minOverlap;
+		}
 		return HypothesisEvaluator.countIntersection(
-				signature, h.signature) >= minOverlap;
+				getSignature(), h.getSignature()) >= minOverlap;
 	}
 
 
@@ -1,5 +1,6 @@
 package io.dlminer.learn;
 
+import io.dlminer.main.ProgressMonitor;
 import io.dlminer.ont.*;
 import io.dlminer.print.Out;
 import io.dlminer.sort.AbstractComparator;
@@ -7,6 +8,7 @@ import io.dlminer.sort.AxiomLengthComparator;
 import io.dlminer.sort.HypothesisSorter;
 import io.dlminer.sort.OWLClassExpressionSignatureComparator;
 import io.dlminer.sort.SortingOrder;
+import io.dlminer.telemetry.FlightEvents;
 
 import java.util.*;
 
@@ -29,17 +31,24 @@ public class HypothesisCleaner extends AxiomCleaner {
 	private Set<OWLAxiom> hypoAxioms;
 	private Set<OWLAxiom> entAxioms;
 	private OWLReasoner ontologyReasoner;
+	private ConceptIndex conceptIndex;
+	private Dependencies dependencies;
 	
 	public HypothesisCleaner(ConceptBuilder conceptBuilder, 
 			Set<Hypothesis> hypotheses, OWLReasoner ontologyReasoner) {
+		this(conceptBuilder, hypotheses, getAxioms(hypotheses), ontologyReasoner);
+	}
+
+
+	// hypothesis axioms can be given for a larger set of hypotheses than cleaned
+	HypothesisCleaner(ConceptBuilder conceptBuilder, Set<Hypothesis> hypotheses,
+			Set<OWLAxiom> hypoAxioms, OWLReasoner ontologyReasoner) {
 		// in order to check transformed axioms
 		this.conceptBuilder = conceptBuilder;
+		conceptIndex = conceptBuilder;
 		this.hypotheses = hypotheses;
+		this.hypoAxioms = hypoAxioms;
 		entAxioms = new HashSet<>();
-		hypoAxioms = new HashSet<>();
-		for (Hypothesis h : hypotheses) {
-			hypoAxioms.addAll(h.axioms);
-		}
 		this.ontologyReasoner = ontologyReasoner;
 		// create the empty handler		
 		hypothesisHandler = new OntologyHandler();		
@@ -55,6 +64,28 @@ public class HypothesisCleaner extends AxiomCleaner {
 			e.printStackTrace();
 		}		
 	}
+
+
+	static Set<OWLAxiom> getAxioms(Collection<Hypothesis> hypotheses) {
+		Set<OWLAxiom> axioms = new HashSet<>();
+		for (Hypothesis h : hypotheses) {
+			axioms.addAll(h.axioms);
+		}
+		return axioms;
+	}
+
+
+	// concepts can be looked up while concept search goes on
+	void setConceptIndex(ConceptIndex conceptIndex) {
+		this.conceptIndex = conceptIndex;
+	}
+
+
+	public void dispose() {
+		if (hypothesisReasoner != null) {
+			hypothesisReasoner.dispose();
+		}
+	}
 	
 	
 	public Set<Hypothesis> cleanMutually() {
@@ -83,17 +114,32 @@ public class HypothesisCleaner extends AxiomCleaner {
 	
 	public Set<Hypothesis> cleanSeparately() {
 		Set<Hypothesis> cleanHypos = new HashSet<>();
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		HypothesisSink sink = conceptBuilder.getHypothesisSink();
+		monitor.setTotal(hypotheses.size());
 		int count = 0;
-		for (Hypothesis h : hypotheses) {
+		Iterator<Hypothesis> iterator = hypotheses.iterator();
+		while (iterator.hasNext()) {
+			// hypotheses which are not cleaned are dropped unless out of time
+			if (monitor.isCancelled()) {
+				Out.p("Cleaning is cancelled");
+				if (keepsUncleaned(monitor)) {
+					while (iterator.hasNext()) {
+						publish(iterator.next(), cleanHypos, sink);
+					}
+				}
+				break;
+			}
+			Hypothesis h = iterator.next();
 			// debug
 			if (++count % 1e4 == 0) {
 				Out.p(count + " / " + hypotheses.size() + " hypotheses are cleaned");
 			}
-			Hypothesis cleanHypo = cleanHypothesis(h);
-			// add only one-axiom hypotheses
-			if (cleanHypo.axioms.size() == 1) {				
-				cleanHypos.add(cleanHypo);
+			Hypothesis cleanHypo = cleanSeparately(h);
+			if (cleanHypo != null) {				
+				publish(cleanHypo, cleanHypos, sink);
 			}
+			monitor.worked(1);
 		}
 		Out.p(cleanHypos.size() + " / " +
 				hypotheses.size() + " unique by equals() hypotheses");		
@@ -101,8 +147,46 @@ public class HypothesisCleaner extends AxiomCleaner {
 	}
 
 
+	// duplicates by equals() are not passed to the sink
+	private static void publish(Hypothesis h, Set<Hypothesis> cleanHypos, HypothesisSink sink) {
+		if (cleanHypos.add(h) && sink != null) {
+			sink.accept(h);
+		}
+	}
+
+
+	// out of time in anytime mode, uncleaned hypotheses are still the best found so far
+	static boolean keepsUncleaned(ProgressMonitor monitor) {
+		return monitor.isOutOfTime() && !monitor.getCancellationToken().isCancelled();
+	}
+
+
+	// also records what the result depends on, so it can be checked against later state
+	Hypothesis cleanSeparately(Hypothesis h, Dependencies dependencies) {
+		this.dependencies = dependencies;
+		try {
+			return cleanSeparately(h);
+		} finally {
+			this.dependencies = null;
+		}
+	}
+
+
+	// returns null if the clean hypothesis has more than one axiom
+	Hypothesis cleanSeparately(Hypothesis h) {
+		Object event = FlightEvents.beginCleaning();
+		Hypothesis cleanHypo = cleanHypothesis(h);
+		FlightEvents.endCleaning(event, h.axioms.size(), cleanHypo.axioms.size());
+		// add only one-axiom hypotheses
+		if (cleanHypo.axioms.size() == 1) {
+			return cleanHypo;
+		}
+		return null;
+	}
+
+
 
-    public Set<Hypothesis> cleanDataRestrictions(Set<Hypothesis> hypos) {
+    public static Set<Hypothesis> cleanDataRestrictions(Set<Hypothesis> hypos) {
 	    Out.p("\nCleaning data restrictions");
 	    // check if there are any data restrictions
         boolean hasDataRestrictions = false;
@@ -203,7 +287,7 @@ public class HypothesisCleaner extends AxiomCleaner {
     }
 
 
-    private boolean isMoreSpecificDataRestriction(
+    private static boolean isMoreSpecificDataRestriction(
             OWLSubClassOfAxiom axiom1, OWLSubClassOfAxiom axiom2) {
 	    if (axiom1.equals(axiom2)) {
 	        return true;
@@ -221,7 +305,7 @@ public class HypothesisCleaner extends AxiomCleaner {
         return false;
     }
 
-    private boolean isMoreSpecificDataRestriction(
+    private static boolean isMoreSpecificDataRestriction(
             OWLClassExpression exp1, OWLClassExpression exp2) {
 	    // only compare data restrictions
         if (!AxiomMetric.containsDataRestrictions(exp1)
@@ -260,7 +344,7 @@ public class HypothesisCleaner extends AxiomCleaner {
     }
 
 
-    private boolean isMoreSpecificDataRestriction(
+    private static boolean isMoreSpecificDataRestriction(
             OWLDataSomeValuesFrom exp1, OWLDataSomeValuesFrom exp2) {
 	    if (!exp1.getProperty().equals(exp2.getProperty())) {
 	        return false;
@@ -374,9 +458,9 @@ public class HypothesisCleaner extends AxiomCleaner {
 		double t1 = System.nanoTime();
 		cleanHypo.axioms = cleanAxioms(hypothesis.axioms);
 		double time = (System.nanoTime() - t1)/1e9;
-		cleanHypo.cleanTime = time;
+		cleanHypo.set(Measure.CLEAN_TIME, time);
 		cleanHypo.length = LengthMetric.length(cleanHypo.axioms);
-		cleanHypo.signature = OntologyHandler.getSignature(cleanHypo.axioms);		
+		cleanHypo.setSignature(OntologyHandler.getSignature(cleanHypo.axioms));		
 		return cleanHypo;
 	}
 	
@@ -402,26 +486,40 @@ public class HypothesisCleaner extends AxiomCleaner {
 		Set<OWLAxiom> infAxioms = new HashSet<>(suspects);		
 		for (OWLAxiom suspect : suspects) {			
 			if (hypoAxioms.contains(suspect)) {
+				// the result only depends on hypothesis axioms which are entailed
+				if (dependencies != null && isEntailed(suspect)) {
+					dependencies.hypoAxioms.put(suspect, true);
+				}
 				continue;
 			}
-			if (entAxioms.contains(suspect)) {
+			if (isEntailed(suspect)) {
 				infAxioms.remove(suspect);
-				continue;
-			}
-			try {
-				if (ontologyReasoner.isEntailed(suspect)) {
-					entAxioms.add(suspect);
-					infAxioms.remove(suspect);
+				if (dependencies != null) {
+					dependencies.hypoAxioms.put(suspect, false);
 				}
-			} catch (Exception e) {
-				Out.p(e + HYPOTHESIS_CLEANING_ERROR);
-				// assume it is not entailed so we do not loose the axiom
 			}
 		}		
 		return infAxioms;
 	}
 
 
+	private boolean isEntailed(OWLAxiom suspect) {
+		if (entAxioms.contains(suspect)) {
+			return true;
+		}
+		try {
+			if (ontologyReasoner.isEntailed(suspect)) {
+				entAxioms.add(suspect);
+				return true;
+			}
+		} catch (Exception e) {
+			Out.p(e + HYPOTHESIS_CLEANING_ERROR);
+			// assume it is not entailed so we do not loose the axiom
+		}
+		return false;
+	}
+
+
 	private Set<OWLAxiom> cleanEntailedAxioms(Set<OWLAxiom> axioms) {
 		Set<OWLAxiom> nentAxioms = new HashSet<>();		
 		// initialise a reasoner
@@ -470,10 +568,17 @@ public class HypothesisCleaner extends AxiomCleaner {
 		for (OWLAxiom ax : trAxioms) {
 			if (ax instanceof OWLSubClassOfAxiom) {
 				OWLSubClassOfAxiom axiom = (OWLSubClassOfAxiom) ax;
-				OWLClass subClass = conceptBuilder.getClassByExpression(axiom.getSubClass());
-				OWLClass superClass = conceptBuilder.getClassByExpression(axiom.getSuperClass());
+				OWLClass subClass = conceptIndex.getClassByExpression(axiom.getSubClass());
+				OWLClass superClass = conceptIndex.getClassByExpression(axiom.getSuperClass());
 				if (subClass != null && superClass != null) {
 					clAxioms.add(axiom);
+				} else if (dependencies != null) {
+					if (subClass == null) {
+						dependencies.unknownExpressions.add(axiom.getSubClass());
+					}
+					if (superClass == null) {
+						dependencies.unknownExpressions.add(axiom.getSuperClass());
+					}
 				}
 			}
 		}
@@ -712,4 +817,37 @@ public class HypothesisCleaner extends AxiomCleaner {
 	}
 
 
+
+
+	/**
+	 * What cleaning a hypothesis depends on besides the hypothesis itself:
+	 * entailed suspects which are kept because they are hypothesis axioms (true)
+	 * or removed because they are not (false), and expressions which had
+	 * no class when the axioms were transformed.
+	 */
+	static class Dependencies {
+
+		Map<OWLAxiom, Boolean> hypoAxioms = new HashMap<>();
+
+		Set<OWLClassExpression> unknownExpressions = new HashSet<>();
+
+		/**
+		 * @return true if cleaning with the given state gives the same result
+		 */
+		boolean holds(Set<OWLAxiom> axioms, ConceptIndex index) {
+			for (Map.Entry<OWLAxiom, Boolean> entry : hypoAxioms.entrySet()) {
+				if (axioms.contains(entry.getKey()) != entry.getValue()) {
+					return false;
+				}
+			}
+			for (OWLClassExpression expr : unknownExpressions) {
+				if (index.getClassByExpression(expr) != null) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
 }
@@ -4,8 +4,10 @@ import io.dlminer.main.DLMinerComponent;
 import io.dlminer.main.DLMinerOutput;
 import io.dlminer.main.DLMinerOutputI;
 import io.dlminer.main.DLMinerStats;
+import io.dlminer.main.ProgressMonitor;
 import io.dlminer.ont.LengthMetric;
 import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.OntologyIndex;
 import io.dlminer.ont.ReasonerLoader;
 import io.dlminer.ont.ReasonerName;
 import io.dlminer.print.Out;
@@ -25,13 +27,16 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	
 	// tbox
 	private OntologyHandler ontologyHandler;
+	private OntologyIndex ontologyIndex;
 	private OWLReasoner ontologyReasoner;	
-	// hypothesis
+	// hypothesis, interrupted from the timer of a time budget
 	private OntologyHandler hypothesisHandler;
-	private OWLReasoner hypothesisReasoner;
+	private volatile OWLReasoner hypothesisReasoner;
 	// definitions
 	private OntologyHandler defaultHandler;
-	private OWLReasoner defaultReasoner;	
+	private volatile OWLReasoner defaultReasoner;	
+	// definitions added to the ontology for evaluation
+	private Set<OWLAxiom> addedDefinitions;
 	// internal class mappings
 	private Map<OWLClass, Set<OWLNamedIndividual>> classInstanceMap;
 	private Map<OWLNamedIndividual, Set<OWLClass>> instanceClassMap;
@@ -44,6 +49,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	// internal role mappings
 	private Map<OWLObjectProperty, Set<List<OWLNamedIndividual>>> roleInstanceMap;
 	private Map<List<OWLNamedIndividual>, Set<OWLObjectProperty>> instanceRoleMap;
+	// measures and signatures of evaluated axioms
+	private HypothesisTable hypothesisTable = new HypothesisTable();
 
 
 	private ConceptBuilder conceptBuilder;
@@ -53,6 +60,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 
 	public HypothesisEvaluator(DLMinerOutput output) {
 		this.ontologyHandler = output.getHandler();
+		this.ontologyIndex = ontologyHandler.getIndex();
 		this.ontologyReasoner = output.getReasoner();
 		this.conceptBuilder = output.getConceptBuilder();
 		this.classInstanceMap = conceptBuilder.getClassInstanceMap();
@@ -238,7 +246,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 			return 0;
 		}
 		OWLClassExpression expr2 = conceptBuilder.getExpressionByClass(cl2);
-		return (assumNumber - h.mainContradiction) * LengthMetric.length(expr2);		
+		return (assumNumber - h.getValue(Measure.MAIN_CONTRADICTION)) * LengthMetric.length(expr2);		
 	}
 	
 	
@@ -411,23 +419,23 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public boolean setObjectivesLight(Hypothesis h) throws Exception {		
 		double t1 = System.nanoTime();
 		// fitness
-		h.fitness = getFitnessLight(h);
+		h.set(Measure.FITNESS, getFitnessLight(h));
 		double t2 = System.nanoTime();
-		h.fitnessTime = (t2 - t1)/1e9;
+		h.set(Measure.FITNESS_TIME, (t2 - t1)/1e9);
 		// braveness
-		h.braveness = getBravenessLight(h);
+		h.set(Measure.BRAVENESS, getBravenessLight(h));
 		double t3 = System.nanoTime();
-		h.bravenessTime = (t3 - t2)/1e9;
+		h.set(Measure.BRAVENESS_TIME, (t3 - t2)/1e9);
 		// novelty
-		h.novelty = (double) getNovelty(h).size();
+		h.set(Measure.NOVELTY, (double) getNovelty(h).size());
 		double t4 = System.nanoTime();
-		h.noveltyTime = (t4 - t3)/1e9;
+		h.set(Measure.NOVELTY_TIME, (t4 - t3)/1e9);
 		// dissimilarity
-		h.dissimilarity = getDissimilarity(h);
+		h.set(Measure.DISSIMILARITY, getDissimilarity(h));
 		double t5 = System.nanoTime();
-		h.dissimTime = (t5 - t4)/1e9;
+		h.set(Measure.DISSIM_TIME, (t5 - t4)/1e9);
 		// check fitness
-		if (h.fitness > 0) {		
+		if (h.getValue(Measure.FITNESS) > 0) {		
 			return true;
 		}
 		return false;		
@@ -934,6 +942,24 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	
 	
 
+	/**
+	 * Interrupts the current calls of all reasoners used for evaluation,
+	 * e.g. once the time budget of evaluation expires
+	 */
+	public void interruptReasoners() {
+		ontologyReasoner.interrupt();
+		OWLReasoner reasoner = hypothesisReasoner;
+		if (reasoner != null) {
+			reasoner.interrupt();
+		}
+		reasoner = defaultReasoner;
+		if (reasoner != null) {
+			reasoner.interrupt();
+		}
+	}
+
+
+
 	public void dispose() {		
 		if (hypothesisReasoner != null) {
 			hypothesisReasoner.dispose();
@@ -949,7 +975,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateAverageSupport(Collection<Hypothesis> hypotheses) {
 		double averageSupport = 0;
 		for (Hypothesis h : hypotheses) {
-			averageSupport += h.support;
+			averageSupport += h.getValue(Measure.SUPPORT);
 		}
 		return averageSupport/hypotheses.size();
 	}
@@ -957,7 +983,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateAverageAssumption(Collection<Hypothesis> hypotheses) {
 		double averageAssumption = 0;
 		for (Hypothesis h : hypotheses) {
-			averageAssumption += h.assumption;
+			averageAssumption += h.getValue(Measure.ASSUMPTION);
 		}
 		return averageAssumption/hypotheses.size();
 	}
@@ -965,7 +991,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateAverageNovelty(Collection<Hypothesis> hypotheses) {
 		double averageNovelty = 0;
 		for (Hypothesis h : hypotheses) {
-			averageNovelty += h.noveltyApprox;
+			averageNovelty += h.getValue(Measure.NOVELTY_APPROX);
 		}
 		return averageNovelty/hypotheses.size();
 	}
@@ -981,8 +1007,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMinSupport(Collection<Hypothesis> hypotheses) {
 		double minSupport = Double.MAX_VALUE;
 		for (Hypothesis h : hypotheses) {
-			if (minSupport > h.support) {
-				minSupport = h.support;
+			if (minSupport > h.getValue(Measure.SUPPORT)) {
+				minSupport = h.getValue(Measure.SUPPORT);
 			}
 		}
 		return minSupport;
@@ -991,8 +1017,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMinAssumption(Collection<Hypothesis> hypotheses) {
 		double minAssumption = Double.MAX_VALUE;
 		for (Hypothesis h : hypotheses) {
-			if (minAssumption > h.assumption) {
-				minAssumption = h.assumption;
+			if (minAssumption > h.getValue(Measure.ASSUMPTION)) {
+				minAssumption = h.getValue(Measure.ASSUMPTION);
 			}
 		}
 		return minAssumption;
@@ -1001,8 +1027,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMinNovelty(Collection<Hypothesis> hypotheses) {
 		double minNovelty = Double.MAX_VALUE;
 		for (Hypothesis h : hypotheses) {
-			if (minNovelty > h.noveltyApprox) {
-				minNovelty = h.noveltyApprox;
+			if (minNovelty > h.getValue(Measure.NOVELTY_APPROX)) {
+				minNovelty = h.getValue(Measure.NOVELTY_APPROX);
 			}
 		}
 		return minNovelty;
@@ -1021,8 +1047,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMaxSupport(Collection<Hypothesis> hypotheses) {
 		double maxSupport = -1;
 		for (Hypothesis h : hypotheses) {
-			if (maxSupport < h.support) {
-				maxSupport = h.support;
+			if (maxSupport < h.getValue(Measure.SUPPORT)) {
+				maxSupport = h.getValue(Measure.SUPPORT);
 			}
 		}
 		return maxSupport;
@@ -1031,8 +1057,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMaxAssumption(Collection<Hypothesis> hypotheses) {
 		double maxAssumption = -1;
 		for (Hypothesis h : hypotheses) {
-			if (maxAssumption < h.assumption) {
-				maxAssumption = h.assumption;
+			if (maxAssumption < h.getValue(Measure.ASSUMPTION)) {
+				maxAssumption = h.getValue(Measure.ASSUMPTION);
 			}
 		}
 		return maxAssumption;
@@ -1041,8 +1067,8 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static Double calculateMaxNovelty(Collection<Hypothesis> hypotheses) {
 		double maxNovelty = -1;
 		for (Hypothesis h : hypotheses) {
-			if (maxNovelty < h.noveltyApprox) {
-				maxNovelty = h.noveltyApprox;
+			if (maxNovelty < h.getValue(Measure.NOVELTY_APPROX)) {
+				maxNovelty = h.getValue(Measure.NOVELTY_APPROX);
 			}
 		}
 		return maxNovelty;
@@ -1063,23 +1089,42 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public void evaluateComplexMeasures(Collection<Hypothesis> hypotheses, DLMinerStats stats) {		
 		Out.p("\nEvaluating " + hypotheses.size() + " hypotheses");
 		Out.p("Adding necessary definitions");		
-		double start = System.currentTimeMillis();		
-		try {			
-			addDefinitionsToReasoners(hypotheses);
-		} catch (Exception e) {
-			Out.p(e + DLMinerOutputI.REASONER_UPDATE_ERROR);
+		double start = System.currentTimeMillis();
+		// the ontology and its reasoner may be shared by later runs,
+		// so the definitions are removed however evaluation ends
+		try {
+			try {			
+				addDefinitionsToReasoners(hypotheses);
+			} catch (Exception e) {
+				Out.p(e + DLMinerOutputI.REASONER_UPDATE_ERROR);
+				double time = (System.currentTimeMillis() - start)/1e3;
+				stats.setComplexMeasuresPrecompTime(time);
+				return;
+			}
 			double time = (System.currentTimeMillis() - start)/1e3;
+			Out.p("Reasoner is updated in " + Out.fn(time) + " seconds");
 			stats.setComplexMeasuresPrecompTime(time);
-			return;
+			setComplexMeasures(hypotheses, stats);
+		} finally {
+			removeDefinitionsFromReasoners();
 		}
-		double time = (System.currentTimeMillis() - start)/1e3;
-		Out.p("Reasoner is updated in " + Out.fn(time) + " seconds");
-		stats.setComplexMeasuresPrecompTime(time);
+	}
+
+
+
+	private void setComplexMeasures(Collection<Hypothesis> hypotheses, DLMinerStats stats) {
 		Out.p("Evaluation has started...");
-		start = System.currentTimeMillis();
+		double start = System.currentTimeMillis();
 		int count = 0;
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		monitor.addTotal(hypotheses.size());
 		for (Hypothesis h : hypotheses) {
+			// measures of the remaining hypotheses are not set
+			if (monitor.isCancelled()) {
+				break;
+			}
 			count++;
+			monitor.worked(1);
 			if (count % 10 == 0) {
 				Out.p(count + " / " + hypotheses.size() + " hypotheses evaluated");
 			}			
@@ -1090,8 +1135,13 @@ public class HypothesisEvaluator implements DLMinerComponent {
 				Out.p(e + DLMinerOutputI.HYPOTHESIS_EVALUATION_ERROR);
 			}			
 		}
-		time = (System.currentTimeMillis() - start)/1e3;
+		double time = (System.currentTimeMillis() - start)/1e3;
 		stats.setComplexMeasuresTime(time);
+		// summary measures need all hypotheses
+		if (monitor.isCancelled()) {
+			Out.p("\nEvaluation is cancelled");
+			return;
+		}
 		if (!hypotheses.isEmpty()) {
 			Out.p("\nAverage evaluation time = " + Out.fn(time/hypotheses.size()) 
 					+ " seconds (" + hypotheses.size() + " hypotheses in " 
@@ -1109,75 +1159,74 @@ public class HypothesisEvaluator implements DLMinerComponent {
 				}
 				axiomHypoMap.put(axiom, h);
 				// set summary measures
-				h.noveltySum = h.novelty;
-				h.fitnessSum = h.fitness;
-				h.bravenessSum = h.braveness;
+				h.set(Measure.NOVELTY_SUM, h.get(Measure.NOVELTY));
+				h.set(Measure.FITNESS_SUM, h.get(Measure.FITNESS));
+				h.set(Measure.BRAVENESS_SUM, h.get(Measure.BRAVENESS));
 			}
 		}
 		// multiple axioms
 		for (Hypothesis h : hypotheses) {
 			if (h.axioms.size() > 1) {
 				// summary measures
-				h.noveltySum = 0.;
-				h.fitnessSum = 0.;
-				h.bravenessSum = 0.;
+				h.set(Measure.NOVELTY_SUM, 0.);
+				h.set(Measure.FITNESS_SUM, 0.);
+				h.set(Measure.BRAVENESS_SUM, 0.);
 				// time
-				h.basicTime = 0.;
-				h.mainTime = 0.;
-				h.consistTime = 0.;
-				h.informTime = 0.;
-				h.cleanTime = 0.;
+				h.set(Measure.BASIC_TIME, 0.);
+				h.set(Measure.MAIN_TIME, 0.);
+				h.set(Measure.CONSIST_TIME, 0.);
+				h.set(Measure.INFORM_TIME, 0.);
+				h.set(Measure.CLEAN_TIME, 0.);
 				// contrapositive measures
-				h.mainSupport = 0.;
-				h.mainAssumption = 0.;
-				h.mainContradiction = 0.;
-				h.mainPrecision = 0.;
-				h.mainLift = 0.;
-				h.mainConvictionNeg = 0.;
-				h.mainConvictionQue = 0.;
+				h.set(Measure.MAIN_SUPPORT, 0.);
+				h.set(Measure.MAIN_ASSUMPTION, 0.);
+				h.set(Measure.MAIN_CONTRADICTION, 0.);
+				h.set(Measure.MAIN_PRECISION, 0.);
+				h.set(Measure.MAIN_LIFT, 0.);
+				h.set(Measure.MAIN_CONVICTION_NEG, 0.);
+				h.set(Measure.MAIN_CONVICTION_QUE, 0.);
 				for (OWLAxiom ax : h.axioms) {					
 					Hypothesis axh = axiomHypoMap.get(ax);
 					if (axh == null) {
 						continue;
 					}
 					// summary measures
-					h.noveltySum = (h.noveltySum == null || axh.novelty == null) ? null : h.noveltySum + axh.novelty;
-					h.fitnessSum = (h.fitnessSum == null || axh.fitness == null) ? null : h.fitnessSum + axh.fitness;
-					h.bravenessSum = (h.bravenessSum == null || axh.braveness == null) ? null : h.bravenessSum + axh.braveness;
+					h.set(Measure.NOVELTY_SUM, (h.get(Measure.NOVELTY_SUM) == null || axh.get(Measure.NOVELTY) == null) ? null : h.get(Measure.NOVELTY_SUM) + axh.get(Measure.NOVELTY));
+					h.set(Measure.FITNESS_SUM, (h.get(Measure.FITNESS_SUM) == null || axh.get(Measure.FITNESS) == null) ? null : h.get(Measure.FITNESS_SUM) + axh.get(Measure.FITNESS));
+					h.set(Measure.BRAVENESS_SUM, (h.get(Measure.BRAVENESS_SUM) == null || axh.get(Measure.BRAVENESS) == null) ? null : h.get(Measure.BRAVENESS_SUM) + axh.get(Measure.BRAVENESS));
 					// time
-					h.basicTime = (h.basicTime == null || axh.basicTime == null) ? null : h.basicTime + axh.basicTime;
-					h.mainTime = (h.mainTime == null || axh.mainTime == null) ? null : h.mainTime + axh.mainTime;
-					h.consistTime = (h.consistTime == null || axh.consistTime == null) ? null : h.consistTime + axh.consistTime;
-					h.informTime = (h.informTime == null || axh.informTime == null) ? null : h.informTime + axh.informTime;
-					h.cleanTime = (h.cleanTime == null || axh.cleanTime == null) ? null : h.cleanTime + axh.cleanTime;
+					h.set(Measure.BASIC_TIME, (h.get(Measure.BASIC_TIME) == null || axh.get(Measure.BASIC_TIME) == null) ? null : h.get(Measure.BASIC_TIME) + axh.get(Measure.BASIC_TIME));
+					h.set(Measure.MAIN_TIME, (h.get(Measure.MAIN_TIME) == null || axh.get(Measure.MAIN_TIME) == null) ? null : h.get(Measure.MAIN_TIME) + axh.get(Measure.MAIN_TIME));
+					h.set(Measure.CONSIST_TIME, (h.get(Measure.CONSIST_TIME) == null || axh.get(Measure.CONSIST_TIME) == null) ? null : h.get(Measure.CONSIST_TIME) + axh.get(Measure.CONSIST_TIME));
+					h.set(Measure.INFORM_TIME, (h.get(Measure.INFORM_TIME) == null || axh.get(Measure.INFORM_TIME) == null) ? null : h.get(Measure.INFORM_TIME) + axh.get(Measure.INFORM_TIME));
+					h.set(Measure.CLEAN_TIME, (h.get(Measure.CLEAN_TIME) == null || axh.get(Measure.CLEAN_TIME) == null) ? null : h.get(Measure.CLEAN_TIME) + axh.get(Measure.CLEAN_TIME));
 					// contrapositive measures
-					h.mainSupport = (h.mainSupport == null || axh.mainSupport == null) ? null : h.mainSupport + axh.mainSupport;
-					h.mainAssumption = (h.mainAssumption == null || axh.mainAssumption == null) ? null : h.mainAssumption + axh.mainAssumption;
-					h.mainContradiction = (h.mainContradiction == null || axh.mainContradiction == null) ? null : h.mainContradiction + axh.mainContradiction;
-					h.mainPrecision = (h.mainPrecision == null || axh.mainPrecision == null) ? null : h.mainPrecision + axh.mainPrecision;
-					h.mainLift = (h.mainLift == null || axh.mainLift == null) ? null : h.mainLift + axh.mainLift;
-					h.mainConvictionNeg = (h.mainConvictionNeg == null || axh.mainConvictionNeg == null) ? null : h.mainConvictionNeg + axh.mainConvictionNeg;
-					h.mainConvictionQue = (h.mainConvictionQue == null || axh.mainConvictionQue == null) ? null : h.mainConvictionQue + axh.mainConvictionQue;
+					h.set(Measure.MAIN_SUPPORT, (h.get(Measure.MAIN_SUPPORT) == null || axh.get(Measure.MAIN_SUPPORT) == null) ? null : h.get(Measure.MAIN_SUPPORT) + axh.get(Measure.MAIN_SUPPORT));
+					h.set(Measure.MAIN_ASSUMPTION, (h.get(Measure.MAIN_ASSUMPTION) == null || axh.get(Measure.MAIN_ASSUMPTION) == null) ? null : h.get(Measure.MAIN_ASSUMPTION) + axh.get(Measure.MAIN_ASSUMPTION));
+					h.set(Measure.MAIN_CONTRADICTION, (h.get(Measure.MAIN_CONTRADICTION) == null || axh.get(Measure.MAIN_CONTRADICTION) == null) ? null : h.get(Measure.MAIN_CONTRADICTION) + axh.get(Measure.MAIN_CONTRADICTION));
+					h.set(Measure.MAIN_PRECISION, (h.get(Measure.MAIN_PRECISION) == null || axh.get(Measure.MAIN_PRECISION) == null) ? null : h.get(Measure.MAIN_PRECISION) + axh.get(Measure.MAIN_PRECISION));
+					h.set(Measure.MAIN_LIFT, (h.get(Measure.MAIN_LIFT) == null || axh.get(Measure.MAIN_LIFT) == null) ? null : h.get(Measure.MAIN_LIFT) + axh.get(Measure.MAIN_LIFT));
+					h.set(Measure.MAIN_CONVICTION_NEG, (h.get(Measure.MAIN_CONVICTION_NEG) == null || axh.get(Measure.MAIN_CONVICTION_NEG) == null) ? null : h.get(Measure.MAIN_CONVICTION_NEG) + axh.get(Measure.MAIN_CONVICTION_NEG));
+					h.set(Measure.MAIN_CONVICTION_QUE, (h.get(Measure.MAIN_CONVICTION_QUE) == null || axh.get(Measure.MAIN_CONVICTION_QUE) == null) ? null : h.get(Measure.MAIN_CONVICTION_QUE) + axh.get(Measure.MAIN_CONVICTION_QUE));
 				}
 			}
 		}
-		// flush reasoners
-		try {
-			removeDefinitionsFromReasoners(hypotheses);
-		} catch (Exception e) {
-			Out.p(e + DLMinerOutputI.REASONER_UPDATE_ERROR);
-		}
 	}
 	
 	
 	
-	private void removeDefinitionsFromReasoners(Collection<Hypothesis> hypotheses) {
-		Set<OWLAxiom> definitions = new HashSet<>(conceptBuilder.getClassDefinitions(hypotheses));
-		definitions.addAll(conceptBuilder.getRoleDefinitions(hypotheses));
-		defaultHandler.removeAxioms(definitions);
-		defaultReasoner.flush();
-		ontologyHandler.removeAxioms(definitions);
-		ontologyReasoner.flush();
+	// the ontology is restored before flushing which may fail, e.g. if interrupted
+	private void removeDefinitionsFromReasoners() {
+		if (addedDefinitions == null) {
+			return;
+		}
+		ontologyHandler.removeAxioms(addedDefinitions);
+		addedDefinitions = null;
+		try {
+			ontologyReasoner.flush();
+		} catch (Exception e) {
+			Out.p(e + DLMinerOutputI.REASONER_UPDATE_ERROR);
+		}
 	}
 	
 	
@@ -1192,7 +1241,14 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		defaultReasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, 
 				InferenceType.OBJECT_PROPERTY_HIERARCHY);
 		Out.p("Updating the main reasoner");
-		ontologyHandler.addAxioms(definitions);       
+		// definitions which the ontology already has are kept
+		addedDefinitions = new HashSet<>();
+		for (OWLAxiom definition : definitions) {
+			if (!ontologyHandler.getOntology().containsAxiom(definition)) {
+				addedDefinitions.add(definition);
+			}
+		}
+		ontologyHandler.addAxioms(addedDefinitions);       
         ontologyReasoner.flush();
         ontologyReasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
         		InferenceType.OBJECT_PROPERTY_HIERARCHY);        
@@ -1201,46 +1257,31 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	
 	
 	public static void initMeasures(Collection<Hypothesis> hypotheses) {
+		double[] maxima = getObjectiveMaxima(hypotheses);
 		for (Hypothesis h : hypotheses) {
-			h.initMeasures();
+			h.calculateQuality(maxima, Distance.MANHATTAN);
 		}
-		scaleMeasures(hypotheses);
-		calculateQuality(hypotheses, Distance.MANHATTAN);
 	}
 	
 	
 	
-	
-	private static void calculateQuality(Collection<Hypothesis> hypotheses, Distance distance) {
-		for (Hypothesis h : hypotheses) {			
-			h.calculateQuality(distance);
-		}
-	}
-	
-	
-
-	private static void scaleMeasures(Collection<Hypothesis> hypotheses) {
-		// find maxima
-		Hypothesis first = null;
-		for (Hypothesis h : hypotheses) {
-			first = h;
-			break;
-		}
-		double[] maxima = new double[first.measures.length];
+	/**
+	 * @param hypotheses hypotheses
+	 * @return maximal finite absolute values of objectives, used for scaling
+	 */
+	public static double[] getObjectiveMaxima(Collection<Hypothesis> hypotheses) {
+		double[] maxima = new double[Hypothesis.OBJECTIVES.length];
 		for (int i=0; i<maxima.length; i++) {
 			double max = 0;
 			for (Hypothesis h : hypotheses) {
-				double abs = h.measures[i] >= 0 ? h.measures[i] : - h.measures[i];
+				double abs = Math.abs(h.getObjective(i));
 				if (Double.isFinite(abs) && abs > max) {
 					max = abs;
 				}
 			}
 			maxima[i] = max;
 		}
-		// scale measures
-		for (Hypothesis h : hypotheses) {
-			h.scaleMeasures(maxima);			
-		}
+		return maxima;
 	}
 		
 	
@@ -1299,7 +1340,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 			double[] rankQuality = new double[maxRank+1];			
 			for (Hypothesis h : hypotheses) {
 				rankHist[h.rank]++;
-				rankQuality[h.rank] += h.quality;				
+				rankQuality[h.rank] += h.getValue(Measure.QUALITY);				
 			}			
 			for (int i=0; i<rankHist.length; i++) {
 				Out.p(Out.fn(rankQuality[i]/rankHist[i]));
@@ -1311,7 +1352,7 @@ public class HypothesisEvaluator implements DLMinerComponent {
 	public static double calculateAverageQuality(Collection<Hypothesis> hypotheses) {
 		double dist = 0;
 		for (Hypothesis h : hypotheses) {			
-			dist += h.quality;
+			dist += h.getValue(Measure.QUALITY);
 		}
 		return dist / hypotheses.size();		
 	}
@@ -1398,8 +1439,15 @@ public class HypothesisEvaluator implements DLMinerComponent {
 			+ " hypotheses by basic measures");
 		double start = System.currentTimeMillis();
 		int count = 0;
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		monitor.addTotal(hypotheses.size());
 		for (Hypothesis h : hypotheses) {
+			// measures of the remaining hypotheses are not set
+			if (monitor.isCancelled()) {
+				break;
+			}
 			count++;
+			monitor.worked(1);
 			if (count % 10 == 0) {
 				Out.p(count + " / " + hypotheses.size() + " hypotheses evaluated by basic measures");
 			}			
@@ -1426,8 +1474,15 @@ public class HypothesisEvaluator implements DLMinerComponent {
 			+ " hypotheses by main measures (contraposition)");
 		double start = System.currentTimeMillis();
 		int count = 0;
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		monitor.addTotal(hypotheses.size());
 		for (Hypothesis h : hypotheses) {
+			// measures of the remaining hypotheses are not set
+			if (monitor.isCancelled()) {
+				break;
+			}
 			count++;
+			monitor.worked(1);
 			if (count % 10 == 0) {
 				Out.p(count + " / " + hypotheses.size() + " hypotheses evaluated by contraposition");
 			}			
@@ -1454,26 +1509,10 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		Out.p("\nEvaluating " + hypotheses.size() 
 			+ " hypotheses by consistency");
 		double start = System.currentTimeMillis();
-		int count = 0;
-		for (Hypothesis h : hypotheses) {
-			count++;
-			if (count % 10 == 0) {
-				Out.p(count + " / " + hypotheses.size() + " hypotheses evaluated by consistency");
-			}			
-			// evaluate the hypothesis
-			try {
-				OWLAxiom classAxiom = h.getFirstAxiom();
-				if (classAxiom == null) {
-					continue;
-				}
-				double t1 = System.nanoTime();				
-				h.isConsistent = HypothesisEvaluator.isConsistent(
-						classAxiom, ontologyHandler, ontologyReasoner);
-				h.consistTime = (System.nanoTime() - t1)/1e9;
-			} catch (Exception e) {
-				Out.p(e + DLMinerOutputI.HYPOTHESIS_EVALUATION_ERROR);				
-			}			
-		}
+		// hypotheses are checked in groups
+		ConsistencyGroupTester tester = new ConsistencyGroupTester(ontologyHandler, ontologyReasoner);
+		tester.test(new ArrayList<>(hypotheses));
+		Out.p(tester.getReasonerCalls() + " reasoner calls for consistency");
 		double time = (System.currentTimeMillis() - start)/1e3;
 		stats.setConsistencyTime(time);
 		if (!hypotheses.isEmpty()) {
@@ -1502,14 +1541,14 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		// positive instances
 		Set<OWLNamedIndividual> pos1 = getPositiveInstances(cl1);
 		Set<OWLNamedIndividual> pos2 = getPositiveInstances(cl2);
-		h.support = countIntersection(pos1, pos2);
-		h.assumption = pos1.size() - h.support;
-		h.precision = h.support/pos1.size();
-		int indNumber = ontologyHandler.getIndividuals().size();
+		h.set(Measure.SUPPORT, countIntersection(pos1, pos2));
+		h.set(Measure.ASSUMPTION, pos1.size() - h.getValue(Measure.SUPPORT));
+		h.set(Measure.PRECISION, h.getValue(Measure.SUPPORT)/pos1.size());
+		int indNumber = ontologyIndex.getIndividualNumber();
 		double prob2 = (double)pos2.size() / indNumber;
-		h.lift = (h.precision < prob2 * Double.MAX_VALUE) ? h.precision / prob2 : Double.POSITIVE_INFINITY;		
+		h.set(Measure.LIFT, (h.getValue(Measure.PRECISION) < prob2 * Double.MAX_VALUE) ? h.getValue(Measure.PRECISION) / prob2 : Double.POSITIVE_INFINITY);		
 		double t2 = System.nanoTime();
-		h.basicTime = (t2 - t1)/1e9;
+		h.set(Measure.BASIC_TIME, (t2 - t1)/1e9);
 	}
 	
 	
@@ -1524,16 +1563,16 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		OWLSubClassOfAxiom axiom = h.getFirstClassAxiom();
 		if (axiom == null) {
 			// a role inclusion
-			h.mainSupport = h.support;
-			h.mainAssumption = h.assumption;
-			h.mainContradiction = 0.;
-			h.mainPrecision = h.precision;
-			h.mainLift = h.lift;
-			h.mainConvictionNeg = 0.;
-			h.mainConvictionQue = h.conviction;
-			h.convictionNeg = 0.;
-			h.convictionQue = h.conviction;
-			h.mainTime = h.basicTime;			
+			h.set(Measure.MAIN_SUPPORT, h.get(Measure.SUPPORT));
+			h.set(Measure.MAIN_ASSUMPTION, h.get(Measure.ASSUMPTION));
+			h.set(Measure.MAIN_CONTRADICTION, 0.);
+			h.set(Measure.MAIN_PRECISION, h.get(Measure.PRECISION));
+			h.set(Measure.MAIN_LIFT, h.get(Measure.LIFT));
+			h.set(Measure.MAIN_CONVICTION_NEG, 0.);
+			h.set(Measure.MAIN_CONVICTION_QUE, h.get(Measure.CONVICTION));
+			h.set(Measure.CONVICTION_NEG, 0.);
+			h.set(Measure.CONVICTION_QUE, h.get(Measure.CONVICTION));
+			h.set(Measure.MAIN_TIME, h.get(Measure.BASIC_TIME));			
 			return;
 		}		
 		double t1 = System.nanoTime();
@@ -1546,51 +1585,51 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		Set<OWLNamedIndividual> neg1 = getNegativeInstances(cl1);
 		Set<OWLNamedIndividual> neg2 = getNegativeInstances(cl2);
 		// calculate main measures
-		int indNumber = conceptBuilder.getHandler().getIndividuals().size();
+		int indNumber = ontologyIndex.getIndividualNumber();
 		double intersect = countIntersection(neg1, neg2);
-		h.mainSupport = h.support + intersect;
-		h.mainContradiction = countIntersection(pos1, neg2);
-		h.assumption -= h.mainContradiction;
-		h.mainAssumption = h.assumption + (neg2.size() - intersect - h.mainContradiction);		
-		double mainCoverage = h.mainSupport + h.mainAssumption + h.mainContradiction;
-		h.mainPrecision = h.mainSupport / mainCoverage;		
+		h.set(Measure.MAIN_SUPPORT, h.getValue(Measure.SUPPORT) + intersect);
+		h.set(Measure.MAIN_CONTRADICTION, countIntersection(pos1, neg2));
+		h.set(Measure.ASSUMPTION, h.getValue(Measure.ASSUMPTION) - h.getValue(Measure.MAIN_CONTRADICTION));
+		h.set(Measure.MAIN_ASSUMPTION, h.getValue(Measure.ASSUMPTION) + (neg2.size() - intersect - h.getValue(Measure.MAIN_CONTRADICTION)));		
+		double mainCoverage = h.getValue(Measure.MAIN_SUPPORT) + h.getValue(Measure.MAIN_ASSUMPTION) + h.getValue(Measure.MAIN_CONTRADICTION);
+		h.set(Measure.MAIN_PRECISION, h.getValue(Measure.MAIN_SUPPORT) / mainCoverage);		
 		double probNeg1UPos2 = countUnion(neg1, pos2) / indNumber;
-		h.mainLift = (h.mainPrecision < probNeg1UPos2 * Double.MAX_VALUE) ? h.mainPrecision / probNeg1UPos2 : Double.POSITIVE_INFINITY;
-		double probMContr = h.mainContradiction / indNumber;
-		if (h.mainContradiction == 0) {			
-			h.mainConvictionNeg = 0.;			
+		h.set(Measure.MAIN_LIFT, (h.getValue(Measure.MAIN_PRECISION) < probNeg1UPos2 * Double.MAX_VALUE) ? h.getValue(Measure.MAIN_PRECISION) / probNeg1UPos2 : Double.POSITIVE_INFINITY);
+		double probMContr = h.getValue(Measure.MAIN_CONTRADICTION) / indNumber;
+		if (h.getValue(Measure.MAIN_CONTRADICTION) == 0) {			
+			h.set(Measure.MAIN_CONVICTION_NEG, 0.);			
 		} else {
-			h.mainConvictionNeg = mainCoverage / indNumber;
+			h.set(Measure.MAIN_CONVICTION_NEG, mainCoverage / indNumber);
 		}
-		if (h.mainAssumption == 0) {
+		if (h.getValue(Measure.MAIN_ASSUMPTION) == 0) {
 			if (1 - probNeg1UPos2 - probMContr == 0) {
-				h.mainConvictionQue = 0.;
+				h.set(Measure.MAIN_CONVICTION_QUE, 0.);
 			} else {
-				h.mainConvictionQue = Double.POSITIVE_INFINITY;
+				h.set(Measure.MAIN_CONVICTION_QUE, Double.POSITIVE_INFINITY);
 			}
 		} else {
-			h.mainConvictionQue = mainCoverage * (1 - probNeg1UPos2 - probMContr) / h.mainAssumption;
+			h.set(Measure.MAIN_CONVICTION_QUE, mainCoverage * (1 - probNeg1UPos2 - probMContr) / h.getValue(Measure.MAIN_ASSUMPTION));
 		}
 		// basic convictions
-		double coverage = h.support + h.assumption + h.mainContradiction;
+		double coverage = h.getValue(Measure.SUPPORT) + h.getValue(Measure.ASSUMPTION) + h.getValue(Measure.MAIN_CONTRADICTION);
 		double probPos2 = (double)pos2.size()/indNumber;
 		double probNeg2 = (double)neg2.size()/indNumber;
-		if (h.mainContradiction == 0 || probNeg2 == 0) {			
-			h.convictionNeg = 0.;			
+		if (h.getValue(Measure.MAIN_CONTRADICTION) == 0 || probNeg2 == 0) {			
+			h.set(Measure.CONVICTION_NEG, 0.);			
 		} else {
-			h.convictionNeg = coverage * probNeg2 / h.mainContradiction;
+			h.set(Measure.CONVICTION_NEG, coverage * probNeg2 / h.getValue(Measure.MAIN_CONTRADICTION));
 		}
-		if (h.assumption == 0) {
+		if (h.getValue(Measure.ASSUMPTION) == 0) {
 			if (1 - probPos2 - probNeg2 == 0) {
-				h.convictionQue = 0.;
+				h.set(Measure.CONVICTION_QUE, 0.);
 			} else {
-				h.convictionQue = Double.POSITIVE_INFINITY;
+				h.set(Measure.CONVICTION_QUE, Double.POSITIVE_INFINITY);
 			}
 		} else {
-			h.convictionQue = coverage * (1 - probPos2 - probNeg2) / h.assumption;
+			h.set(Measure.CONVICTION_QUE, coverage * (1 - probPos2 - probNeg2) / h.getValue(Measure.ASSUMPTION));
 		}
 		double t2 = System.nanoTime();
-		h.mainTime = (t2 - t1)/1e9;
+		h.set(Measure.MAIN_TIME, (t2 - t1)/1e9);
 	}
 
 	
@@ -1814,48 +1853,48 @@ public class HypothesisEvaluator implements DLMinerComponent {
 		if (def2 != null) {
 			defSet.add(def2);
 		}
-		Hypothesis h = new Hypothesis(axSet, codedAxSet, defSet);
+		Hypothesis h = new Hypothesis(hypothesisTable, axSet, codedAxSet, defSet);
 		// statistical measures		
-		int indNumber = ontologyHandler.getIndividuals().size();
+		int indNumber = ontologyIndex.getIndividualNumber();
 		double prob1 = (double)pos1.size() / indNumber;
 		double prob2 = (double)pos2.size() / indNumber;
 		double prob12 = support / indNumber;
 		double prob1not2 = assumption / indNumber;
-		h.support = support;				
-		h.assumption = assumption;				
-		h.precision = precision;
-		h.recall = prob12 / prob2;				
-		h.lift = (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.MAX_VALUE;
-		h.leverage = precision - prob1*prob2;
-		h.addedValue = precision - prob2;
-		h.jaccard = prob12 / (prob1 + prob2 - prob12);
-		h.certaintyFactor = h.addedValue / (1 - prob2);
-		h.klosgen = Math.sqrt(prob12) / (precision - prob2);
+		h.set(Measure.SUPPORT, support);				
+		h.set(Measure.ASSUMPTION, assumption);				
+		h.set(Measure.PRECISION, precision);
+		h.set(Measure.RECALL, prob12 / prob2);				
+		h.set(Measure.LIFT, (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.MAX_VALUE);
+		h.set(Measure.LEVERAGE, precision - prob1*prob2);
+		h.set(Measure.ADDED_VALUE, precision - prob2);
+		h.set(Measure.JACCARD, prob12 / (prob1 + prob2 - prob12));
+		h.set(Measure.CERTAINTY_FACTOR, h.getValue(Measure.ADDED_VALUE) / (1 - prob2));
+		h.set(Measure.KLOSGEN, Math.sqrt(prob12) / (precision - prob2));
 		if (prob1not2 == 0) {
-			h.conviction = Double.POSITIVE_INFINITY;
+			h.set(Measure.CONVICTION, Double.POSITIVE_INFINITY);
 		} else {
-			h.conviction = prob1*(1 - prob2) / prob1not2;			
-		}
-		h.shapiro = prob12 - prob1*prob2;
-		h.cosine = prob12 / Math.sqrt(prob1*prob2);
-		h.informGain = Math.log(h.lift);				
-		h.sebag = prob12 / prob1not2;				
-		h.contradiction = (prob12 - prob1not2) / prob2;
-		h.oddMultiplier = prob12*(1 - prob2) / (prob2*prob1not2);
-		h.linearCorrelation = (prob12 == prob1*prob2) ? 0 : 
+			h.set(Measure.CONVICTION, prob1*(1 - prob2) / prob1not2);			
+		}
+		h.set(Measure.SHAPIRO, prob12 - prob1*prob2);
+		h.set(Measure.COSINE, prob12 / Math.sqrt(prob1*prob2));
+		h.set(Measure.INFORM_GAIN, Math.log(h.getValue(Measure.LIFT)));				
+		h.set(Measure.SEBAG, prob12 / prob1not2);				
+		h.set(Measure.CONTRADICTION, (prob12 - prob1not2) / prob2);
+		h.set(Measure.ODD_MULTIPLIER, prob12*(1 - prob2) / (prob2*prob1not2));
+		h.set(Measure.LINEAR_CORRELATION, (prob12 == prob1*prob2) ? 0 : 
 			(prob12 - prob1*prob2) / 
-			Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2));				
-		h.jmeasure = prob12*Math.log(h.lift) + (prob1not2 == 0 ? 0 :
-			prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2))));
+			Math.sqrt(prob1*prob2*(1 - prob1)*(1 - prob2)));				
+		h.set(Measure.JMEASURE, prob12*Math.log(h.getValue(Measure.LIFT)) + (prob1not2 == 0 ? 0 :
+			prob1not2*Math.log(prob1not2 / (prob1*(1 - prob2)))));
 		double t2 = System.nanoTime();
 		// performance
 		Double te1 = conceptBuilder.getTimeByExpression(expr1);
 		Double te2 = conceptBuilder.getTimeByExpression(expr2);		
-		h.basicTime = te1 + te2 + (t2 - t1)/1e9;
+		h.set(Measure.BASIC_TIME, te1 + te2 + (t2 - t1)/1e9);
 		// logical measures				
 		try {
-			h.noveltyApprox = (double) getNoveltyApprox(expr1, expr2, ontologyReasoner).size();
-			h.dissimilarityApprox = getDissimilarityApprox(expr1, expr2, ontologyReasoner);
+			h.set(Measure.NOVELTY_APPROX, (double) getNoveltyApprox(expr1, expr2, ontologyReasoner).size());
+			h.set(Measure.DISSIMILARITY_APPROX, getDissimilarityApprox(expr1, expr2, ontologyReasoner));
 		} catch (Exception e) {
 			Out.p(e + DLMinerOutputI.AXIOM_BUILDING_ERROR);
 		}
@@ -0,0 +1,143 @@
+package io.dlminer.learn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The class keeps the K best hypotheses seen so far in a bounded heap.
+ * Hypotheses are ranked by the score descending and then by the order
+ * in which they are generated, so the selection does not depend on
+ * how the candidates are partitioned.
+ */
+public class HypothesisSelector {
+
+	private final SelectionMeasure measure;
+	private final int capacity;
+	// the worst entry is on the top
+	private final PriorityQueue<Entry> heap;
+	private long pruned;
+
+
+
+	public HypothesisSelector(SelectionMeasure measure, int capacity) {
+		this.measure = measure;
+		this.capacity = capacity;
+		this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1,
+				Collections.reverseOrder(new EntryComparator()));
+	}
+
+
+
+	public SelectionMeasure getMeasure() {
+		return measure;
+	}
+
+
+
+	/**
+	 * @param bound the best score a candidate can possibly get
+	 * @param order the generation order of the candidate
+	 * @return false if the candidate cannot get into the heap
+	 */
+	public boolean canAccept(double bound, long order) {
+		if (heap.size() < capacity) {
+			return true;
+		}
+		Entry worst = heap.peek();
+		return bound > worst.score || (bound == worst.score && order < worst.order);
+	}
+
+
+
+	public void prune() {
+		pruned++;
+	}
+
+	public long getPrunedNumber() {
+		return pruned;
+	}
+
+
+
+	public void offer(Hypothesis h, double score, long order) {
+		if (!canAccept(score, order)) {
+			return;
+		}
+		heap.add(new Entry(h, score, order));
+		if (heap.size() > capacity) {
+			heap.poll();
+		}
+	}
+
+
+
+	public void offerAll(HypothesisSelector selector) {
+		for (Entry entry : selector.heap) {
+			offer(entry.hypothesis, entry.score, entry.order);
+		}
+		pruned += selector.pruned;
+	}
+
+
+
+	public int size() {
+		return heap.size();
+	}
+
+
+
+	/**
+	 * @return the selected hypotheses from the best to the worst
+	 */
+	public List<Hypothesis> getHypotheses() {
+		List<Entry> entries = new ArrayList<>(heap);
+		Collections.sort(entries, new EntryComparator());
+		List<Hypothesis> hypotheses = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			hypotheses.add(entry.hypothesis);
+		}
+		return hypotheses;
+	}
+
+
+
+	public Set<Hypothesis> getHypothesisSet() {
+		return new HashSet<>(getHypotheses());
+	}
+
+
+
+	private static class Entry {
+
+		private final Hypothesis hypothesis;
+		private final double score;
+		private final long order;
+
+		private Entry(Hypothesis hypothesis, double score, long order) {
+			this.hypothesis = hypothesis;
+			this.score = score;
+			this.order = order;
+		}
+	}
+
+
+
+	// the best first
+	private static class EntryComparator implements Comparator<Entry> {
+
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			int cmp = Double.compare(e2.score, e1.score);
+			if (cmp != 0) {
+				return cmp;
+			}
+			return Long.compare(e1.order, e2.order);
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package io.dlminer.learn;
+
+/**
+ * Receives hypotheses as soon as they are final, e.g. once they are cleaned.
+ * Hypotheses may be passed from several mining threads, and the method
+ * may block them until the receiver is ready for more.
+ */
+public interface HypothesisSink {
+
+	/**
+	 * @param hypothesis the hypothesis with its measures
+	 */
+	void accept(Hypothesis hypothesis);
+
+}
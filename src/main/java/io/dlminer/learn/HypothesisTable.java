@@ -0,0 +1,207 @@
+package io.dlminer.learn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * The class stores measures of hypotheses column-wise: one primitive array
+ * per {@link Measure} indexed by the row of a hypothesis, which is a view
+ * of its row. Unset values are NaN with a dedicated payload, so they differ
+ * from NaN results such as 0/0. Signature entities are interned and rows
+ * refer to their sorted ids.
+ * Rows are added by many threads while hypotheses are built, so columns
+ * are split into segments of doubling size which never move: segment k
+ * holds rows from 2^k - 1 to 2^(k+1) - 2. Rows are only added, values of
+ * a row are read and written without locks like fields of a hypothesis.
+ */
+public class HypothesisTable {
+
+	private static final long UNSET_BITS = 0x7ff80000000000ffL;
+
+	public static final double UNSET = Double.longBitsToDouble(UNSET_BITS);
+
+	private static final Measure[] MEASURES = Measure.values();
+
+	// enough for all int rows
+	private static final int MAX_SEGMENTS = 31;
+
+	// segments of columns, columns of measures which are not stored are null
+	private final double[][][] segments;
+	// segments of sorted signature ids
+	private final int[][][] signatureSegments;
+	private int size;
+
+	// interned entities
+	private List<OWLEntity> entities;
+	private Map<OWLEntity, Integer> entityIds;
+
+
+
+	public HypothesisTable() {
+		segments = new double[MAX_SEGMENTS][][];
+		signatureSegments = new int[MAX_SEGMENTS][][];
+		entities = new ArrayList<>();
+		entityIds = new HashMap<>();
+	}
+
+
+
+	/**
+	 * @return the new row with all measures unset
+	 */
+	public synchronized int addRow() {
+		int row = size;
+		int segment = getSegment(row);
+		if (segments[segment] == null) {
+			int length = 1 << segment;
+			double[][] columns = new double[MEASURES.length][];
+			for (Measure measure : MEASURES) {
+				if (measure.isStored()) {
+					double[] column = new double[length];
+					Arrays.fill(column, UNSET);
+					columns[measure.ordinal()] = column;
+				}
+			}
+			segments[segment] = columns;
+			signatureSegments[segment] = new int[length][];
+		}
+		size++;
+		return row;
+	}
+
+
+
+	private static int getSegment(int row) {
+		return 31 - Integer.numberOfLeadingZeros(row + 1);
+	}
+
+
+
+	private static int getOffset(int row, int segment) {
+		return row + 1 - (1 << segment);
+	}
+
+
+
+	public synchronized int size() {
+		return size;
+	}
+
+
+
+	public static boolean isSet(double value) {
+		return Double.doubleToRawLongBits(value) != UNSET_BITS;
+	}
+
+
+
+	/**
+	 * @param measure a stored measure
+	 * @param row the row
+	 * @return the value or {@link #UNSET}
+	 */
+	public double get(Measure measure, int row) {
+		int segment = getSegment(row);
+		return segments[segment][measure.ordinal()][getOffset(row, segment)];
+	}
+
+
+
+	/**
+	 * @param measure a stored measure
+	 * @param row the row
+	 * @param value the value, NaN results are kept apart from {@link #UNSET}
+	 */
+	public void set(Measure measure, int row, double value) {
+		int segment = getSegment(row);
+		segments[segment][measure.ordinal()][getOffset(row, segment)] =
+				Double.isNaN(value) ? Double.NaN : value;
+	}
+
+
+
+	public void unset(Measure measure, int row) {
+		int segment = getSegment(row);
+		segments[segment][measure.ordinal()][getOffset(row, segment)] = UNSET;
+	}
+
+
+
+	/**
+	 * @param row the row
+	 * @return sorted ids of the signature
+	 */
+	public int[] getSignatureIds(int row) {
+		int segment = getSegment(row);
+		return signatureSegments[segment][getOffset(row, segment)];
+	}
+
+
+
+	// ids are sorted to intersect rows by merging
+	public synchronized void setSignature(int row, Set<OWLEntity> signature) {
+		int segment = getSegment(row);
+		int[] ids = null;
+		if (signature != null) {
+			ids = new int[signature.size()];
+			int i = 0;
+			for (OWLEntity entity : signature) {
+				Integer id = entityIds.get(entity);
+				if (id == null) {
+					id = entities.size();
+					entities.add(entity);
+					entityIds.put(entity, id);
+				}
+				ids[i++] = id;
+			}
+			Arrays.sort(ids);
+		}
+		signatureSegments[segment][getOffset(row, segment)] = ids;
+	}
+
+
+
+	/**
+	 * @param row the row
+	 * @return a new set of the signature or null if it is not set
+	 */
+	public synchronized Set<OWLEntity> getSignature(int row) {
+		int[] ids = getSignatureIds(row);
+		if (ids == null) {
+			return null;
+		}
+		Set<OWLEntity> signature = new HashSet<>(ids.length * 2);
+		for (int id : ids) {
+			signature.add(entities.get(id));
+		}
+		return signature;
+	}
+
+
+
+	public static int countOverlap(int[] ids1, int[] ids2) {
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < ids1.length && j < ids2.length) {
+			if (ids1[i] < ids2[j]) {
+				i++;
+			} else if (ids1[i] > ids2[j]) {
+				j++;
+			} else {
+				count++;
+				i++;
+				j++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,90 @@
+package io.dlminer.learn;
+
+/**
+ * Numeric measures and metrics of hypotheses. The constants up to
+ * {@link #CLEAN_TIME} follow the order of the hypothesis CSV output.
+ */
+public enum Measure {
+
+	// statistical measures
+	SUPPORT,
+	ASSUMPTION,
+	PRECISION,
+	RECALL,
+	LIFT,
+	LEVERAGE,
+	ADDED_VALUE,
+	JACCARD,
+	CERTAINTY_FACTOR,
+	KLOSGEN,
+	CONVICTION,
+	SHAPIRO,
+	COSINE,
+	INFORM_GAIN,
+	SEBAG,
+	CONTRADICTION,
+	ODD_MULTIPLIER,
+	LINEAR_CORRELATION,
+	JMEASURE,
+	// logical measures
+	NOVELTY_APPROX,
+	DISSIMILARITY_APPROX,
+	// costly measures
+	FITNESS,
+	BRAVENESS,
+	NOVELTY,
+	DISSIMILARITY,
+	STRENGTH,
+	RANK,
+	// comparison
+	FITNESS_SUM,
+	BRAVENESS_SUM,
+	NOVELTY_SUM,
+	// contrapositive measures
+	MAIN_SUPPORT,
+	MAIN_ASSUMPTION,
+	MAIN_CONTRADICTION,
+	MAIN_PRECISION,
+	MAIN_LIFT,
+	MAIN_CONVICTION_NEG,
+	MAIN_CONVICTION_QUE,
+	CONVICTION_NEG,
+	CONVICTION_QUE,
+	// performance
+	FITNESS_TIME,
+	BRAVENESS_TIME,
+	NOVELTY_TIME,
+	DISSIM_TIME,
+	STRENGTH_TIME,
+	BASIC_TIME,
+	MAIN_TIME,
+	CONSIST_TIME,
+	INFORM_TIME,
+	CLEAN_TIME,
+	// ranking and metrics
+	QUALITY,
+	LENGTH,
+	DEPTH;
+
+
+
+	/**
+	 * @return whether values are stored in the columns of
+	 * {@link HypothesisTable}; the rank and axiom metrics are integral
+	 * fields of hypotheses
+	 */
+	public boolean isStored() {
+		return this != RANK && this != LENGTH && this != DEPTH;
+	}
+
+
+
+	/**
+	 * @param h a hypothesis
+	 * @return the value of the hypothesis or null if it is not set
+	 */
+	public Double get(Hypothesis h) {
+		return h.get(this);
+	}
+
+}
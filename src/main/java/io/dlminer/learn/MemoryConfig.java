@@ -0,0 +1,49 @@
+package io.dlminer.learn;
+
+/**
+ * The configuration of {@link MemoryGovernor}. Thresholds are fractions
+ * of the maximal heap at which the respective {@link Degradation} is applied.
+ */
+public class MemoryConfig {
+
+	public static final double DEF_CACHE_THRESHOLD = 0.7;
+
+	public static final double DEF_BEAM_THRESHOLD = 0.8;
+
+	public static final double DEF_COUNTING_THRESHOLD = 0.85;
+
+	public static final double DEF_STOP_THRESHOLD = 0.95;
+
+
+	/**
+	 * Whether the governor degrades the search under memory pressure;
+	 * when disabled, the run either finishes or fails with OutOfMemoryError
+	 */
+	public boolean enabled = false;
+
+
+	/**
+	 * The heap usage at which cached instances are dropped
+	 */
+	public double cacheThreshold = DEF_CACHE_THRESHOLD;
+
+
+	/**
+	 * The heap usage at which the beam size is halved
+	 */
+	public double beamThreshold = DEF_BEAM_THRESHOLD;
+
+
+	/**
+	 * The heap usage at which instances are not cached anymore
+	 */
+	public double countingThreshold = DEF_COUNTING_THRESHOLD;
+
+
+	/**
+	 * The heap usage at which concept search and hypothesis building stop
+	 */
+	public double stopThreshold = DEF_STOP_THRESHOLD;
+
+
+}
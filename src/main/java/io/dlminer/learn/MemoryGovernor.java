@@ -0,0 +1,179 @@
+package io.dlminer.learn;
+
+import io.dlminer.print.Out;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Watches the heap during concept search and hypothesis building
+ * and tells the builders which {@link Degradation} the configured
+ * thresholds call for; the builders apply and record them.
+ * Garbage inflates the heap usage, so a level is only confirmed
+ * after a collection, which is triggered at most once per
+ * {@link #COLLECTION_INTERVAL} milliseconds.
+ * <p>
+ * Builders also report estimated sizes of their major structures,
+ * which are recorded as gauges with the prefix {@link MetricNames#MEMORY_PREFIX}.
+ */
+public class MemoryGovernor {
+
+	public static final long COLLECTION_INTERVAL = 5000;
+
+	// accounted structures
+	public static final String CONCEPT_INSTANCES = "concept_instances";
+	public static final String CLUSTERS = "clusters";
+	public static final String INSTANCE_CACHES = "instance_caches";
+	public static final String CANDIDATES = "candidates";
+	public static final String HYPOTHESES = "hypotheses";
+
+	// rough sizes in bytes on a 64-bit JVM
+	public static final long REFERENCE_BYTES = 8;
+	public static final long SET_BYTES = 64;
+	public static final long SET_ENTRY_BYTES = 40;
+	public static final long NODE_BYTES = 256;
+	public static final long HYPOTHESIS_BYTES = 512;
+
+	private MemoryConfig config;
+
+	private long lastCollection;
+	private Degradation confirmed;
+
+	private List<String> degradations;
+	private Map<String, Long> estimates;
+
+
+
+	public MemoryGovernor(MemoryConfig config) {
+		this.config = config;
+		confirmed = Degradation.NONE;
+		degradations = Collections.synchronizedList(new ArrayList<String>());
+		estimates = new LinkedHashMap<>();
+	}
+
+
+
+	public boolean isEnabled() {
+		return config.enabled;
+	}
+
+
+
+	/**
+	 * @param applied the degradation which has already been applied by the caller;
+	 * the usage is only confirmed by a collection if it calls for a further one
+	 * @return the degradation for the current heap usage,
+	 * always {@link Degradation#NONE} if the governor is disabled
+	 */
+	public Degradation check(Degradation applied) {
+		if (!config.enabled) {
+			return Degradation.NONE;
+		}
+		// the raw usage is an upper bound of live data
+		Degradation level = getLevel(getHeapUsage());
+		if (level.compareTo(applied) <= 0) {
+			return level;
+		}
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			if (now - lastCollection >= COLLECTION_INTERVAL) {
+				System.gc();
+				lastCollection = System.currentTimeMillis();
+				confirmed = getLevel(getHeapUsage());
+			}
+			return (confirmed.compareTo(level) < 0) ? confirmed : level;
+		}
+	}
+
+
+
+	private Degradation getLevel(double usage) {
+		if (usage >= config.stopThreshold) {
+			return Degradation.STOP;
+		}
+		if (usage >= config.countingThreshold) {
+			return Degradation.COUNTING_MODE;
+		}
+		if (usage >= config.beamThreshold) {
+			return Degradation.TIGHTEN_BEAM;
+		}
+		if (usage >= config.cacheThreshold) {
+			return Degradation.SHRINK_CACHES;
+		}
+		return Degradation.NONE;
+	}
+
+
+
+	/**
+	 * @return the used heap as a fraction of the maximal heap
+	 */
+	public static double getHeapUsage() {
+		Runtime runtime = Runtime.getRuntime();
+		return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+	}
+
+
+
+	/**
+	 * Records an applied degradation.
+	 * @param degradation the degradation
+	 * @param details what has been changed
+	 */
+	public void record(Degradation degradation, String details) {
+		String record = degradation + ": " + details
+				+ " at " + Math.round(getHeapUsage() * 100) + "% of heap";
+		Out.p("\nMemory pressure, " + record);
+		degradations.add(record);
+	}
+
+
+
+	public List<String> getDegradations() {
+		synchronized (degradations) {
+			return new ArrayList<>(degradations);
+		}
+	}
+
+
+
+	/**
+	 * Records the estimated size of a structure.
+	 * @param structure the name of the structure
+	 * @param bytes the estimated size
+	 */
+	public synchronized void account(String structure, long bytes) {
+		estimates.put(structure, bytes);
+		Telemetry.gauge(MetricNames.MEMORY_PREFIX + structure).set(bytes);
+	}
+
+
+
+	public synchronized Map<String, Long> getEstimates() {
+		return new LinkedHashMap<>(estimates);
+	}
+
+
+
+	/**
+	 * @param sets hash sets, possibly null
+	 * @return the estimated size of the sets and their entries
+	 */
+	public static long estimateSets(Collection<? extends Collection<?>> sets) {
+		long bytes = 0;
+		for (Collection<?> set : sets) {
+			bytes += REFERENCE_BYTES;
+			if (set != null) {
+				bytes += SET_BYTES + set.size() * SET_ENTRY_BYTES;
+			}
+		}
+		return bytes;
+	}
+
+}
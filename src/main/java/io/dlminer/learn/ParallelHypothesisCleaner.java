@@ -0,0 +1,270 @@
+package io.dlminer.learn;
+
+import io.dlminer.main.ProgressMonitor;
+import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.ReasonerLoader;
+import io.dlminer.ont.ReasonerName;
+import io.dlminer.print.Out;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * The class cleans hypotheses separately in several threads.
+ * Hypotheses are partitioned by shared signature, and each worker owns
+ * a hypothesis cleaner with a reasoner over the locality module of its part,
+ * which preserves all entailments over the signature of the part.
+ * Since every hypothesis is cleaned independently of others, the result
+ * equals the one of {@link HypothesisCleaner#cleanSeparately()}.
+ */
+public class ParallelHypothesisCleaner {
+
+	private ConceptBuilder conceptBuilder;
+	private Set<Hypothesis> hypotheses;
+	private OWLOntology ontology;
+	private int threadsNumber;
+
+
+
+	public ParallelHypothesisCleaner(ConceptBuilder conceptBuilder,
+			Set<Hypothesis> hypotheses, int threadsNumber) {
+		this.conceptBuilder = conceptBuilder;
+		this.hypotheses = hypotheses;
+		this.ontology = conceptBuilder.getHandler().getOntology();
+		this.threadsNumber = threadsNumber;
+	}
+
+
+
+	public Set<Hypothesis> cleanSeparately() {
+		if (hypotheses.isEmpty()) {
+			return new HashSet<>();
+		}
+		// keep the serial order to resolve duplicates in the same way
+		final List<Hypothesis> hypoList = new ArrayList<>(hypotheses);
+		final Set<OWLAxiom> hypoAxioms = HypothesisCleaner.getAxioms(hypoList);
+		List<List<Integer>> parts = partition(hypoList);
+		Out.p("Cleaning hypotheses in " + parts.size() + " parts");
+		conceptBuilder.getProgressMonitor().setTotal(hypoList.size());
+		final Hypothesis[] cleanHypos = new Hypothesis[hypoList.size()];
+		ExecutorService executor = Executors.newFixedThreadPool(parts.size());
+		List<Future<?>> futures = new ArrayList<>();
+		for (final List<Integer> part : parts) {
+			// modules are extracted here because the ontology is shared
+			final Set<OWLAxiom> module = OntologyHandler.extractModule(ontology,
+					getSignature(hypoList, part), ModuleType.STAR);
+			futures.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					cleanPart(hypoList, part, hypoAxioms, module, cleanHypos);
+					return null;
+				}
+			}));
+		}
+		List<List<Integer>> failedParts = new ArrayList<>();
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					Out.p(e + HypothesisCleaner.HYPOTHESIS_CLEANING_ERROR);
+					failedParts.add(parts.get(i));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			AxiomBuilder.awaitTermination(executor);
+		}
+		// failed parts are cleaned again in this thread, skipping cleaned hypotheses
+		for (List<Integer> part : failedParts) {
+			List<Integer> rest = new ArrayList<>();
+			for (Integer i : part) {
+				if (cleanHypos[i] == null) {
+					rest.add(i);
+				}
+			}
+			Out.p("Cleaning " + rest.size() + " hypotheses of a failed part serially");
+			try {
+				cleanPart(hypoList, rest, hypoAxioms, OntologyHandler.extractModule(ontology,
+						getSignature(hypoList, rest), ModuleType.STAR), cleanHypos);
+			} catch (Exception e) {
+				Out.p(e + HypothesisCleaner.HYPOTHESIS_CLEANING_ERROR);
+			}
+		}
+		Set<Hypothesis> cleanSet = new HashSet<>();
+		for (Hypothesis cleanHypo : cleanHypos) {
+			if (cleanHypo != null) {
+				cleanSet.add(cleanHypo);
+			}
+		}
+		Out.p(cleanSet.size() + " / " +
+				hypotheses.size() + " unique by equals() hypotheses");
+		return cleanSet;
+	}
+
+
+
+	private void cleanPart(List<Hypothesis> hypoList, List<Integer> part,
+			Set<OWLAxiom> hypoAxioms, Set<OWLAxiom> module, Hypothesis[] cleanHypos) throws Exception {
+		OntologyHandler moduleHandler = new OntologyHandler(module);
+		OWLReasoner moduleReasoner = ReasonerLoader.initReasoner(
+				ReasonerName.HERMIT, moduleHandler.getOntology());
+		Set<Hypothesis> partHypos = new HashSet<>();
+		for (Integer i : part) {
+			partHypos.add(hypoList.get(i));
+		}
+		HypothesisCleaner cleaner = new HypothesisCleaner(conceptBuilder,
+				partHypos, hypoAxioms, moduleReasoner);
+		ProgressMonitor monitor = conceptBuilder.getProgressMonitor();
+		HypothesisSink sink = conceptBuilder.getHypothesisSink();
+		try {
+			for (int j = 0; j < part.size(); j++) {
+				int i = part.get(j);
+				// hypotheses which are not cleaned are dropped unless out of time
+				if (Thread.currentThread().isInterrupted() || monitor.isCancelled()) {
+					if (HypothesisCleaner.keepsUncleaned(monitor)) {
+						for (int k = j; k < part.size(); k++) {
+							cleanHypos[part.get(k)] = hypoList.get(part.get(k));
+							publish(cleanHypos[part.get(k)], sink);
+						}
+					}
+					return;
+				}
+				// each index is written by a single worker
+				cleanHypos[i] = cleaner.cleanSeparately(hypoList.get(i));
+				publish(cleanHypos[i], sink);
+				monitor.worked(1);
+			}
+		} finally {
+			cleaner.dispose();
+			moduleReasoner.dispose();
+		}
+	}
+
+
+
+	// duplicates by equals() across workers are filtered by the sink
+	private static void publish(Hypothesis h, HypothesisSink sink) {
+		if (h != null && sink != null) {
+			sink.accept(h);
+		}
+	}
+
+
+
+	// connected components by shared entities are packed into parts of similar size;
+	// components above the size of a part are split into chunks because a module
+	// over a larger signature preserves the entailments of each hypothesis as well
+	private List<List<Integer>> partition(List<Hypothesis> hypoList) {
+		int[] parents = new int[hypoList.size()];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+		Map<OWLEntity, Integer> entityOwners = new HashMap<>();
+		for (int i = 0; i < hypoList.size(); i++) {
+			for (OWLEntity entity : OntologyHandler.getSignature(hypoList.get(i).axioms)) {
+				// Thing and Nothing do not connect hypotheses
+				if (entity.isBuiltIn()) {
+					continue;
+				}
+				Integer owner = entityOwners.get(entity);
+				if (owner == null) {
+					entityOwners.put(entity, i);
+				} else {
+					union(parents, owner, i);
+				}
+			}
+		}
+		Map<Integer, List<Integer>> components = new LinkedHashMap<>();
+		for (int i = 0; i < parents.length; i++) {
+			int root = find(parents, i);
+			List<Integer> component = components.get(root);
+			if (component == null) {
+				component = new ArrayList<>();
+				components.put(root, component);
+			}
+			component.add(i);
+		}
+		int partsNumber = Math.max(1, Math.min(threadsNumber, hypoList.size()));
+		int maxPartSize = (hypoList.size() + partsNumber - 1) / partsNumber;
+		List<List<Integer>> compList = new ArrayList<>();
+		for (List<Integer> component : components.values()) {
+			for (int from = 0; from < component.size(); from += maxPartSize) {
+				compList.add(component.subList(from, Math.min(from + maxPartSize, component.size())));
+			}
+		}
+		// the largest components first, each goes to the smallest part
+		Collections.sort(compList, new Comparator<List<Integer>>() {
+			@Override
+			public int compare(List<Integer> c1, List<Integer> c2) {
+				return Integer.compare(c2.size(), c1.size());
+			}
+		});
+		partsNumber = Math.min(partsNumber, compList.size());
+		List<List<Integer>> parts = new ArrayList<>(partsNumber);
+		for (int i = 0; i < partsNumber; i++) {
+			parts.add(new ArrayList<Integer>());
+		}
+		for (List<Integer> component : compList) {
+			List<Integer> smallest = parts.get(0);
+			for (List<Integer> part : parts) {
+				if (part.size() < smallest.size()) {
+					smallest = part;
+				}
+			}
+			smallest.addAll(component);
+		}
+		return parts;
+	}
+
+
+
+	private static int find(int[] parents, int i) {
+		while (parents[i] != i) {
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+
+
+	private static void union(int[] parents, int i, int j) {
+		int root1 = find(parents, i);
+		int root2 = find(parents, j);
+		if (root1 != root2) {
+			parents[Math.max(root1, root2)] = Math.min(root1, root2);
+		}
+	}
+
+
+
+	private static Set<OWLEntity> getSignature(List<Hypothesis> hypoList, List<Integer> part) {
+		Set<OWLEntity> signature = new HashSet<>();
+		for (Integer i : part) {
+			signature.addAll(OntologyHandler.getSignature(hypoList.get(i).axioms));
+		}
+		return signature;
+	}
+
+}
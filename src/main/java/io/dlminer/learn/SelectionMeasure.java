@@ -0,0 +1,64 @@
+package io.dlminer.learn;
+
+/**
+ * Measures by which the best hypotheses are selected during axiom generation.
+ * For fixed instance numbers of LHS and RHS all of them are non-decreasing
+ * in support, so the measure at the maximal possible support is an upper bound.
+ */
+public enum SelectionMeasure {
+
+    SUPPORT,
+    PRECISION,
+    RECALL,
+    LIFT,
+    JACCARD,
+    CONVICTION;
+
+
+
+    /**
+     * @param size1 the number of LHS instances
+     * @param size2 the number of RHS instances
+     * @param support the number of common instances
+     * @param indNumber the number of individuals
+     * @return the measure value as calculated for hypotheses
+     */
+    public double score(double size1, double size2, double support, int indNumber) {
+        double prob1 = size1 / indNumber;
+        double prob2 = size2 / indNumber;
+        double prob12 = support / indNumber;
+        double precision = support / size1;
+        double value;
+        switch (this) {
+            case SUPPORT:
+                value = support;
+                break;
+            case PRECISION:
+                value = precision;
+                break;
+            case RECALL:
+                value = prob12 / prob2;
+                break;
+            case LIFT:
+                value = (precision < prob2 * Double.MAX_VALUE) ? precision / prob2 : Double.POSITIVE_INFINITY;
+                break;
+            case JACCARD:
+                value = prob12 / (prob1 + prob2 - prob12);
+                break;
+            case CONVICTION:
+                double prob1not2 = (size1 - support) / indNumber;
+                value = (prob1not2 == 0) ? Double.POSITIVE_INFINITY : prob1*(1 - prob2) / prob1not2;
+                break;
+            default:
+                value = support;
+        }
+        return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+    }
+
+
+
+    public double upperBound(double size1, double size2, int indNumber) {
+        return score(size1, size2, Math.min(size1, size2), indNumber);
+    }
+
+}
@@ -0,0 +1,23 @@
+package io.dlminer.main;
+
+/**
+ * The flag by which a run of DL-Miner is cancelled from another thread.
+ * Long loops check it cooperatively, so the run returns shortly after
+ * cancelling with the results completed so far.
+ */
+public class CancellationToken {
+
+	private volatile boolean cancelled;
+
+
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+}
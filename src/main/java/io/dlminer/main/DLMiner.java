@@ -4,11 +4,13 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.dlminer.learn.*;
 import io.dlminer.refine.OperatorConfig;
@@ -16,18 +18,22 @@ import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.reasoner.InferenceType;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
 
 import io.dlminer.ont.AxiomMetric;
+import io.dlminer.ont.InstrumentedReasoner;
 import io.dlminer.ont.Logic;
 import io.dlminer.ont.OntologyFormat;
 import io.dlminer.ont.OntologyHandler;
-import io.dlminer.ont.ReasonerLoader;
-import io.dlminer.print.HypothesisWriter;
+import io.dlminer.print.BatchedHypothesisWriter;
+import io.dlminer.print.HypothesisStreamFormat;
+import io.dlminer.print.HypothesisStreamWriter;
 import io.dlminer.print.Out;
 import io.dlminer.sort.HypothesisSorter;
-import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
+import io.dlminer.telemetry.TelemetryConfig;
 
 
 /**
@@ -58,6 +64,32 @@ public class DLMiner implements DLMinerComponent {
      * e.g. number of hypotheses, performance, etc.
      */
     private DLMinerStats stats;
+
+
+    /**
+     * Phases and progress of the run, reported to listeners,
+     * and the token by which the run is cancelled.
+     */
+    private ProgressMonitor progressMonitor;
+
+
+    /**
+     * The receiver of final hypotheses if they are streamed, see run(HypothesisSink).
+     */
+    private HypothesisSink hypothesisSink;
+
+
+    /**
+     * The preprocessed ontology and the initialised concept builders.
+     */
+    private MiningWorkspace workspace;
+
+
+    /**
+     * The flag indicating whether the workspace is created by init()
+     * and disposed once the run finishes.
+     */
+    private boolean ownsWorkspace;
     
     
     
@@ -87,6 +119,56 @@ public class DLMiner implements DLMinerComponent {
     }
 
 
+    /**
+     * @param listener the listener of phases and progress
+     */
+    public void addListener(DLMinerListener listener) {
+        progressMonitor.addListener(listener);
+    }
+
+
+    /**
+     * @param listener the listener to remove
+     */
+    public void removeListener(DLMinerListener listener) {
+        progressMonitor.removeListener(listener);
+    }
+
+
+    /**
+     * @return the token by which the run is cancelled from another thread
+     */
+    public CancellationToken getCancellationToken() {
+        return progressMonitor.getCancellationToken();
+    }
+
+
+    /**
+     * Cancels the run: the current phase keeps the results completed so far
+     * and no further phase starts, so run() returns partial results.
+     */
+    public void cancel() {
+        progressMonitor.getCancellationToken().cancel();
+    }
+
+
+    /**
+     * @return true if the run has been cancelled
+     */
+    public boolean isCancelled() {
+        return progressMonitor.getCancellationToken().isCancelled();
+    }
+
+
+    /**
+     * @return true if the run is in anytime mode and its time budget has expired
+     */
+    public boolean isOutOfTime() {
+        TimeBudget timeBudget = progressMonitor.getTimeBudget();
+        return timeBudget != null && timeBudget.isExpired();
+    }
+
+
     // ====================== constructors ======================
 
     /**
@@ -94,6 +176,7 @@ public class DLMiner implements DLMinerComponent {
      */
     public DLMiner(DLMinerInput input) {
         this.input = input;
+        progressMonitor = new ProgressMonitor();
     }
 
 
@@ -119,6 +202,9 @@ public class DLMiner implements DLMinerComponent {
         if (input.getReasonerTimeout() <= 0) {
             throw new DLMinerException(DLMinerInputI.WRONG_REASONER_TIMEOUT_ERR);
         }
+        if (input.getTimeBudget() != null && input.getTimeBudget() <= 0) {
+            throw new DLMinerException(DLMinerInputI.WRONG_TIME_BUDGET_ERR);
+        }
         if (input.getAxiomConfig().minPrecision <= 0) {
             throw new DLMinerException(DLMinerInputI.WRONG_MIN_PRECISION_ERR);
         }
@@ -139,68 +225,83 @@ public class DLMiner implements DLMinerComponent {
 
         // check the parameters
         verifyParameters();
+        initTelemetry();
+        initTimeBudget();
 
         // init stats
         stats = new DLMinerStats();
 
         // parse the ontology file
-        long start = System.currentTimeMillis();
-        OntologyHandler handler = null;
-        if (input.getOntology() != null) {
-            handler = new OntologyHandler(input.getOntology(), true);
-        } else {
-            handler = new OntologyHandler(input.getOntologyFile(), true);
-        }
-
-        Out.p("\nOntology size:");
-        Out.p("\tTBox size = " + handler.getTBoxAxioms().size());
-        Out.p("\tRBox size = " + handler.getRBoxAxioms().size());
-        Out.p("\tABox size = " + handler.getABoxAxioms().size());
-        Out.p("\tnumber of classes = " + handler.getClassesInSignature().size());
-        Out.p("\tnumber of object properties = " + handler.getObjectPropertiesInSignature().size());
-        Out.p("\tnumber of data properties = " + handler.getDataPropertiesInSignature().size());
-        Out.p("\tnumber of individuals = " + handler.getIndividuals().size());
-        long end = System.currentTimeMillis();
-        double ontologyParsingTime = (double) (end - start) / 1e3;
-        stats.setOntologyParsingTime(ontologyParsingTime);
-        Out.p("Ontology parsing time = " + Out.fn(ontologyParsingTime) + " seconds");
+        beginPhase(MetricNames.PARSING);
+        workspace = new MiningWorkspace(input);
+        ownsWorkspace = true;
+        workspace.parse();
 
         // process the ontology by the reasoner
-        Out.p("\nInitialising the reasoner");
-        start = System.currentTimeMillis();
-        OWLReasoner reasoner = ReasonerLoader.initReasoner(
-                input.getReasonerName(),
-                handler.getOntology(),
-                input.getReasonerTimeout());
-
-        // check if the ontology is consistent
-        if (!reasoner.isConsistent()) {
-            Out.p("\nThe ontology is inconsistent!");
-            handler.removeInconsistency(reasoner);
-            reasoner.flush();
-        }
-        reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
-                InferenceType.OBJECT_PROPERTY_HIERARCHY,
-                InferenceType.DATA_PROPERTY_HIERARCHY);
-        handler.removeUnsatClasses(reasoner);
-        handler.removeTautologies(reasoner);
-        reasoner.flush();
-        end = System.currentTimeMillis();
-        double ontologyReasoningTime = (double) (end - start) / 1e3;
-        stats.setOntologyReasoningTime(ontologyReasoningTime);
-        Out.p("Ontology reasoning time = " + Out.fn(ontologyReasoningTime) + " seconds");
-
-        if (input.isUseClosedWorldAssumption()) {
-            handler.applyCWA(reasoner);
-            reasoner.flush();
-            if (!reasoner.isConsistent()) {
-                Out.p("\nThe ontology is inconsistent!");
-                handler.removeInconsistency(reasoner);
-                reasoner.flush();
+        beginPhase(MetricNames.REASONING);
+        workspace.reason();
+
+        initBuilders();
+    }
+
+
+
+    /**
+     * The method initialises the DL-Miner object over an ontology which is
+     * already parsed and processed by the reasoner, so that only the parameters
+     * of the input are used, not its ontology. The workspace stays open
+     * after the run, and runs over it must not overlap.
+     *
+     * @param workspace the preprocessed ontology shared by runs
+     * @throws Exception throws an error if an input parameter value is incorrect
+     */
+    public void init(MiningWorkspace workspace) throws Exception {
+        verifyParameters();
+        initTelemetry();
+        initTimeBudget();
+        stats = new DLMinerStats();
+        this.workspace = workspace;
+        ownsWorkspace = false;
+        initBuilders();
+    }
+
+
+
+    // init telemetry before components request their metrics
+    private void initTelemetry() {
+        TelemetryConfig telemetryConfig = input.getTelemetryConfig();
+        Telemetry.setEnabled(telemetryConfig.enabled);
+        Telemetry.setReasonerProfiling(telemetryConfig.profileReasoners);
+        if (telemetryConfig.enabled) {
+            Telemetry.getRegistry().clear();
+            if (telemetryConfig.snapshotFile != null && telemetryConfig.reportingInterval > 0) {
+                Telemetry.startReporting(telemetryConfig.snapshotFile, telemetryConfig.reportingInterval);
             }
         }
+    }
+
+
+
+    // the budget of an anytime run includes parsing and reasoning
+    private void initTimeBudget() {
+        TimeBudget timeBudget = null;
+        if (input.getTimeBudget() != null) {
+            timeBudget = new TimeBudget(input.getTimeBudget(), getBudgetedPhases());
+        }
+        progressMonitor.setTimeBudget(timeBudget);
+    }
+
+
+
+    private void initBuilders() throws Exception {
+
+        OntologyHandler handler = workspace.getHandler();
+        OWLReasoner reasoner = workspace.getReasoner();
+        stats.setOntologyParsingTime(workspace.getOntologyParsingTime());
+        stats.setOntologyReasoningTime(workspace.getOntologyReasoningTime());
 
         Out.p("\nInitialising the concept builder");
+        beginPhase(MetricNames.INITIALISATION);
         // config
         OperatorConfig operatorConfig = input.getOperatorConfig();
         AxiomConfig axiomConfig = input.getAxiomConfig();
@@ -225,8 +326,9 @@ public class DLMiner implements DLMinerComponent {
         }
 
         // builder
-        ConceptBuilder conceptBuilder = new ConceptBuilder(handler, reasoner, operatorConfig);
-        conceptBuilder.init();
+        ConceptBuilder conceptBuilder = workspace.getConceptBuilder(operatorConfig);
+        conceptBuilder.setMemoryGovernor(new MemoryGovernor(input.getMemoryConfig()));
+        conceptBuilder.setProgressMonitor(progressMonitor);
 
         // if prediction
         if (axiomConfig.positiveClass != null) {
@@ -266,63 +368,298 @@ public class DLMiner implements DLMinerComponent {
      *
      */
     public void run() throws Exception {
+        try {
+            mine();
+        } finally {
+            finishTelemetry();
+        }
+    }
 
-        // build hypotheses
-        Collection<Hypothesis> hypotheses = buildHypotheses();
-        output.setHypotheses(hypotheses);
-
-        // record stats
-        stats.setConceptsNumber(output.getConceptBuilder().getClassInstanceMap().size());
-        stats.setRolesNumber(output.getConceptBuilder().getRoleInstanceMap().size());
-        stats.setHypothesesNumber(hypotheses.size());
-        OWLDocumentFormat hypothesisFormat = null;
-        if (input.getHypothesisFormat().equals(OntologyFormat.OWLXML)) {
-        	hypothesisFormat = new OWLXMLDocumentFormat();
-    	} else if (input.getHypothesisFormat().equals(OntologyFormat.TURTLE)) {
-    		hypothesisFormat = new TurtleDocumentFormat();
-    	}
-        output.setHypothesisFormat(hypothesisFormat);
-        if (!hypotheses.isEmpty()) {
-            // average values
-        	stats.setAverageSupport(HypothesisEvaluator.calculateAverageSupport(hypotheses));
-        	stats.setAverageAssumption(HypothesisEvaluator.calculateAverageAssumption(hypotheses));
-        	stats.setAverageLength(HypothesisEvaluator.calculateAverageLength(hypotheses));
-        	stats.setAverageNovelty(HypothesisEvaluator.calculateAverageNovelty(hypotheses));
-            // min values
-        	stats.setMinSupport(HypothesisEvaluator.calculateMinSupport(hypotheses));
-        	stats.setMinAssumption(HypothesisEvaluator.calculateMinAssumption(hypotheses));
-        	stats.setMinLength(HypothesisEvaluator.calculateMinLength(hypotheses));
-        	stats.setMinNovelty(HypothesisEvaluator.calculateMinNovelty(hypotheses));
-            // max values
-        	stats.setMaxSupport(HypothesisEvaluator.calculateMaxSupport(hypotheses));
-        	stats.setMaxAssumption(HypothesisEvaluator.calculateMaxAssumption(hypotheses));
-        	stats.setMaxLength(HypothesisEvaluator.calculateMaxLength(hypotheses));
-        	stats.setMaxNovelty(HypothesisEvaluator.calculateMaxNovelty(hypotheses));
-        } else {
-            throw new DLMinerException(DLMinerOutputI.EMPTY_OUTPUT_ERROR);
+
+
+    /**
+     * The method runs the DL-Miner algorithm and passes hypotheses to the sink
+     * as they become final, possibly from several mining threads.
+     * Each hypothesis is passed once.
+     *
+     * @param sink the receiver of hypotheses
+     * @throws Exception throws an error if the output is empty
+     */
+    public void run(final HypothesisSink sink) throws Exception {
+        // hypotheses with equal axioms are passed by several cleaners;
+        // the keys are copied because hypotheses are annotated after publishing
+        final Set<Set<OWLAxiom>> published =
+                Collections.newSetFromMap(new ConcurrentHashMap<Set<OWLAxiom>, Boolean>());
+        hypothesisSink = new HypothesisSink() {
+            @Override
+            public void accept(Hypothesis hypothesis) {
+                if (published.add(new HashSet<>(hypothesis.axioms))) {
+                    sink.accept(copy(hypothesis));
+                }
+            }
+        };
+        try {
+            run();
+        } finally {
+            hypothesisSink = null;
         }
+    }
 
-        // if profound evaluation is requested
-        if (input.isUseComplexMeasures()) {
-            // initialise the evaluator
-            Out.p("\nInitialising the evaluator");
-            HypothesisEvaluator evaluator = new HypothesisEvaluator(output);
-            evaluator.init();
-            if (input.getAxiomConfig().useConsistency) {
-                evaluator.evaluateConsistency(hypotheses, stats);
+
+
+    // the receiver gets a copy which the run does not change afterwards
+    private static Hypothesis copy(Hypothesis hypothesis) {
+        Hypothesis copy = new Hypothesis(hypothesis);
+        copy.id = hypothesis.id;
+        copy.rank = hypothesis.rank;
+        copy.set(Measure.QUALITY, hypothesis.get(Measure.QUALITY));
+        return copy;
+    }
+
+
+
+    /**
+     * The method runs the DL-Miner algorithm and writes hypotheses to the file
+     * as they become final, so the file grows while mining continues.
+     *
+     * @param file the file to store the hypotheses
+     * @param format the output format
+     * @param compress whether the file is compressed by gzip
+     * @throws Exception throws an error if the output is empty or cannot be written
+     */
+    public void run(File file, HypothesisStreamFormat format, boolean compress) throws Exception {
+        IRI iri = output.getOntology().getOntologyID().getOntologyIRI().or(IRI.create("unknown"));
+        try (HypothesisStreamWriter writer = new HypothesisStreamWriter(
+                file, iri, format, compress, true)) {
+            writer.writeHeader(output.getOntology().getAnnotations());
+            run(writer);
+        }
+    }
+
+
+
+    /**
+     * The method runs the DL-Miner algorithm in a background thread and
+     * returns its hypotheses as they become final, so that they can be
+     * consumed while mining continues. Once the stream is exhausted,
+     * the output and the statistics are available as after run().
+     *
+     * @param lookAhead the maximal number of hypotheses mined ahead of the caller
+     * @return the stream of hypotheses
+     */
+    public HypothesisStream stream(int lookAhead) {
+        final HypothesisStream stream = new HypothesisStream(lookAhead, getCancellationToken());
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Throwable error = null;
+                try {
+                    DLMiner.this.run(stream.getSink());
+                } catch (Throwable e) {
+                    Out.p(e);
+                    error = e;
+                } finally {
+                    stream.finish(error);
+                }
             }
-            evaluator.evaluateMainMeasures(hypotheses, stats);
-            evaluator.evaluateComplexMeasures(hypotheses, stats);
-            evaluator.dispose();
+        }, "dlminer-stream");
+        thread.start();
+        return stream;
+    }
+
+
+
+    /**
+     * @return the stream of hypotheses with the default look-ahead
+     */
+    public HypothesisStream stream() {
+        return stream(HypothesisStream.DEF_LOOK_AHEAD);
+    }
+
+
+
+    // hypotheses are streamed once their measures are final
+    private void publish(Collection<Hypothesis> hypotheses) {
+        if (hypothesisSink == null) {
+            return;
         }
+        for (Hypothesis h : hypotheses) {
+            hypothesisSink.accept(h);
+        }
+    }
 
-        // dispose the main reasoner
-        output.getReasoner().dispose();
+
+
+    private void mine() throws Exception {
+
+        // anytime mode, the budget runs since initialisation
+        TimeBudget timeBudget = progressMonitor.getTimeBudget();
+
+        // reasoners of the run are disposed even if it fails or is cancelled
+        try {
+            // build hypotheses
+            Collection<Hypothesis> hypotheses = buildHypotheses();
+            output.setHypotheses(hypotheses);
+
+            // record stats
+            stats.setConceptsNumber(output.getConceptBuilder().getClassInstanceMap().size());
+            stats.setRolesNumber(output.getConceptBuilder().getRoleInstanceMap().size());
+            stats.setHypothesesNumber(hypotheses.size());
+            stats.setDegradations(output.getConceptBuilder().getMemoryGovernor().getDegradations());
+            stats.setCancelled(isCancelled());
+            OWLDocumentFormat hypothesisFormat = null;
+            if (input.getHypothesisFormat().equals(OntologyFormat.OWLXML)) {
+            	hypothesisFormat = new OWLXMLDocumentFormat();
+        	} else if (input.getHypothesisFormat().equals(OntologyFormat.TURTLE)) {
+        		hypothesisFormat = new TurtleDocumentFormat();
+        	}
+            output.setHypothesisFormat(hypothesisFormat);
+            if (!hypotheses.isEmpty()) {
+                // average values
+            	stats.setAverageSupport(HypothesisEvaluator.calculateAverageSupport(hypotheses));
+            	stats.setAverageAssumption(HypothesisEvaluator.calculateAverageAssumption(hypotheses));
+            	stats.setAverageLength(HypothesisEvaluator.calculateAverageLength(hypotheses));
+            	stats.setAverageNovelty(HypothesisEvaluator.calculateAverageNovelty(hypotheses));
+                // min values
+            	stats.setMinSupport(HypothesisEvaluator.calculateMinSupport(hypotheses));
+            	stats.setMinAssumption(HypothesisEvaluator.calculateMinAssumption(hypotheses));
+            	stats.setMinLength(HypothesisEvaluator.calculateMinLength(hypotheses));
+            	stats.setMinNovelty(HypothesisEvaluator.calculateMinNovelty(hypotheses));
+                // max values
+            	stats.setMaxSupport(HypothesisEvaluator.calculateMaxSupport(hypotheses));
+            	stats.setMaxAssumption(HypothesisEvaluator.calculateMaxAssumption(hypotheses));
+            	stats.setMaxLength(HypothesisEvaluator.calculateMaxLength(hypotheses));
+            	stats.setMaxNovelty(HypothesisEvaluator.calculateMaxNovelty(hypotheses));
+            } else if (!isCancelled() && timeBudget == null) {
+                throw new DLMinerException(DLMinerOutputI.EMPTY_OUTPUT_ERROR);
+            }
+
+            // if profound evaluation is requested
+            if (input.isUseComplexMeasures() && !isCancelled() && !isOutOfTime()) {
+                // initialise the evaluator
+                Out.p("\nInitialising the evaluator");
+                beginPhase(MetricNames.EVALUATION);
+                final HypothesisEvaluator evaluator = new HypothesisEvaluator(output);
+                if (timeBudget != null) {
+                    // a reasoner call must not outlast the phase
+                    timeBudget.setExpiryAction(new Runnable() {
+                        @Override
+                        public void run() {
+                            evaluator.interruptReasoners();
+                        }
+                    });
+                }
+                try {
+                    evaluator.init();
+                    if (input.getAxiomConfig().useConsistency) {
+                        evaluator.evaluateConsistency(hypotheses, stats);
+                    }
+                    evaluator.evaluateMainMeasures(hypotheses, stats);
+                    evaluator.evaluateComplexMeasures(hypotheses, stats);
+                } catch (ReasonerInterruptedException e) {
+                    Out.p("\nEvaluation is out of time");
+                } finally {
+                    evaluator.dispose();
+                }
+            }
+
+            // in anytime mode, the best hypotheses found so far come first
+            if (timeBudget != null && !hypotheses.isEmpty()) {
+                HypothesisEvaluator.initMeasures(hypotheses);
+                hypotheses = HypothesisSorter.sortByQuality(hypotheses);
+                output.setHypotheses(hypotheses);
+            }
+
+            // complex measures are final only after evaluation
+            if (input.isUseComplexMeasures()) {
+                publish(hypotheses);
+            }
+        } finally {
+            // the internal reasoners are usually disposed earlier
+            output.getAxiomBuilder().dispose();
+            // dispose the main reasoner unless it is kept for other runs
+            if (ownsWorkspace) {
+                workspace.dispose();
+            }
+        }
+        if (timeBudget != null) {
+            progressMonitor.endPhase();
+            stats.setExpiredPhases(timeBudget.getExpiredPhases());
+        }
+    }
+
+
+
+    // phases which get a share of the time budget
+    private List<String> getBudgetedPhases() {
+        List<String> phases = new ArrayList<>();
+        phases.add(MetricNames.CONCEPT_BUILDING);
+        phases.add(MetricNames.HYPOTHESIS_BUILDING);
+        if (input.getAxiomConfig().useCleaning) {
+            phases.add(MetricNames.CLEANING);
+        }
+        if (input.isUseComplexMeasures()) {
+            phases.add(MetricNames.EVALUATION);
+        }
+        return phases;
+    }
+
+
+
+    // phases are not started once the run is cancelled
+    private void beginPhase(String phase) {
+        Telemetry.setPhase(phase);
+        if (isCancelled()) {
+            progressMonitor.endPhase();
+        } else {
+            progressMonitor.beginPhase(phase);
+        }
+    }
+
+
+
+    private void finishTelemetry() {
+        Telemetry.setPhase(Telemetry.DEF_PHASE);
+        progressMonitor.endPhase();
+        if (!Telemetry.isEnabled()) {
+            return;
+        }
+        TelemetryConfig telemetryConfig = input.getTelemetryConfig();
+        Telemetry.stopReporting();
+        if (stats.getConceptsNumber() != null) {
+            Telemetry.gauge(MetricNames.CONCEPTS).set(stats.getConceptsNumber());
+            Telemetry.gauge(MetricNames.ROLES).set(stats.getRolesNumber());
+            Telemetry.gauge(MetricNames.HYPOTHESES).set(stats.getHypothesesNumber());
+        }
+        if (Telemetry.isReasonerProfiling()) {
+            Out.p("\n" + InstrumentedReasoner.getReport(Telemetry.getRegistry(),
+                    telemetryConfig.reportedCallSitesNumber));
+        }
+        if (telemetryConfig.snapshotFile != null) {
+            Telemetry.writeSnapshot(telemetryConfig.snapshotFile);
+            Out.p("\nMetrics are saved to " + telemetryConfig.snapshotFile);
+        }
     }
     
     
     
     
+    // pipelining falls back to stages if the staged output cannot be reproduced
+    private boolean usesPipelining() {
+        AxiomConfig axiomConfig = input.getAxiomConfig();
+        if (axiomConfig.usePipelining == null || !axiomConfig.usePipelining) {
+            return false;
+        }
+        if (!AxiomPipeline.isSupported(input.getOperatorConfig(), axiomConfig)) {
+            Out.p("\nPipelining is not supported in KBC mode, with a selection measure"
+                    + " or without storing instances; building in stages");
+            return false;
+        }
+        return true;
+    }
+
+
+
     private Collection<Hypothesis> buildHypotheses() {
 
         // initialise parameters
@@ -339,6 +676,7 @@ public class DLMiner implements DLMinerComponent {
         if (!input.getAxiomConfig().dlminerMode.equals(DLMinerMode.CDL)) {
         	// build roles
         	Out.p("\nBuilding roles");        
+        	beginPhase(MetricNames.ROLE_BUILDING);
         	conceptBuilder.buildRoles();        
 
         	// find role instances
@@ -352,6 +690,9 @@ public class DLMiner implements DLMinerComponent {
 
         	Out.p("\nAppending hypotheses");
         	hypotheses.addAll(roleAxioms);
+        	if (!input.isUseComplexMeasures()) {
+        		publish(roleAxioms);
+        	}
         }
         long end = System.currentTimeMillis();
         double time = (double)(end - start) / 1e3;
@@ -359,42 +700,92 @@ public class DLMiner implements DLMinerComponent {
         hypothesesBuildingTime += time;
         
     	// build concepts
-    	Out.p("\nBuilding at most " + maxConceptNumber 
+    	Out.p("\nBuilding at most " + maxConceptNumber
     			+ " concepts of length at most " + input.getOperatorConfig().maxLength);
+    	beginPhase(MetricNames.CONCEPT_BUILDING);
     	start = System.currentTimeMillis();
-    	conceptBuilder.buildConcepts(maxConceptNumber);
-    	end = System.currentTimeMillis();
-    	conceptBuildingTime += (double)(end - start) / 1e3;
-    	hypothesesBuildingTime += (double)(end - start) / 1e3;
-
-    	// find concept instances
-    	Map<OWLClass, Set<OWLNamedIndividual>> classInstMap =
-    			conceptBuilder.getClassInstanceMap();       	
-    	Out.p("\n" + classInstMap.size() + " concepts are built");
-
-        // debug
-//        Out.printClassesMS(conceptBuilder.getExpressionClassMap().keySet());
-
-    	// build hypotheses
-    	Out.p("\nBuilding hypotheses of length at most " + 2*input.getOperatorConfig().maxLength);
-    	start = System.currentTimeMillis();        	
-    	Set<Hypothesis> classAxioms = axiomBuilder.generateInitialClassAxioms(
-    	        input.getMaxHypothesesNumber());
-    	end = System.currentTimeMillis();
-    	hypothesesBuildingTime += (double)(end - start) / 1e3;
-    	
-    	   	
-    	// filter out simple redundancies
-    	Out.p("\nCleaning hypotheses");
-    	start = System.currentTimeMillis();
-    	Set<Hypothesis> cleanClassAxioms = classAxioms;        
-    	if (input.getAxiomConfig().useCleaning) {
-    		HypothesisCleaner cleaner = new HypothesisCleaner(
-    				conceptBuilder, classAxioms, output.getReasoner());
-    		cleanClassAxioms = cleaner.cleanSeparately();
-    		if (input.getOperatorConfig().useDataProperties) {
-                cleanClassAxioms = cleaner.cleanDataRestrictions(cleanClassAxioms);
-            }
+    	Set<Hypothesis> classAxioms = new HashSet<>();
+    	Set<Hypothesis> cleanClassAxioms = classAxioms;
+    	// generated hypotheses are final unless they are cleaned
+    	boolean streamsGenerated = !input.isUseComplexMeasures()
+    			&& !input.getAxiomConfig().useCleaning;
+    	// cleaners stream hypotheses unless they are filtered afterwards
+    	boolean streamsCleaned = false;
+    	// the stages of the pipeline are stopped even if a step fails
+    	AxiomPipeline pipeline = null;
+    	try {
+    		if (usesPipelining()) {
+    			pipeline = new AxiomPipeline(conceptBuilder, axiomBuilder, input.getAxiomConfig());
+    			pipeline.buildConcepts(maxConceptNumber, input.getMaxHypothesesNumber());
+    		} else {
+    			conceptBuilder.buildConcepts(maxConceptNumber);
+    		}
+    		end = System.currentTimeMillis();
+    		conceptBuildingTime += (double)(end - start) / 1e3;
+    		hypothesesBuildingTime += (double)(end - start) / 1e3;
+
+    		// find concept instances
+    		Map<OWLClass, Set<OWLNamedIndividual>> classInstMap =
+    				conceptBuilder.getClassInstanceMap();
+    		Out.p("\n" + classInstMap.size() + " concepts are built");
+
+    		// debug
+//    		Out.printClassesMS(conceptBuilder.getExpressionClassMap().keySet());
+
+    		// build hypotheses
+    		Out.p("\nBuilding hypotheses of length at most " + 2*input.getOperatorConfig().maxLength);
+    		beginPhase(MetricNames.HYPOTHESIS_BUILDING);
+    		start = System.currentTimeMillis();
+    		if (streamsGenerated) {
+    			conceptBuilder.setHypothesisSink(hypothesisSink);
+    		}
+    		if (!isCancelled()) {
+    			classAxioms = (pipeline != null) ?
+    					pipeline.generateClassAxioms() :
+    					axiomBuilder.generateInitialClassAxioms(input.getMaxHypothesesNumber());
+    		}
+    		conceptBuilder.setHypothesisSink(null);
+    		end = System.currentTimeMillis();
+    		hypothesesBuildingTime += (double)(end - start) / 1e3;
+
+
+    		// filter out simple redundancies
+    		Out.p("\nCleaning hypotheses");
+    		beginPhase(MetricNames.CLEANING);
+    		start = System.currentTimeMillis();
+    		cleanClassAxioms = classAxioms;
+    		streamsCleaned = !input.isUseComplexMeasures()
+    				&& input.getAxiomConfig().useCleaning && !isCancelled()
+    				&& !input.getOperatorConfig().useDataProperties;
+    		if (streamsCleaned) {
+    			conceptBuilder.setHypothesisSink(hypothesisSink);
+    		}
+    		if (input.getAxiomConfig().useCleaning && !isCancelled()) {
+    			Integer threadsNumber = input.getAxiomConfig().threadsNumber;
+    			if (pipeline != null) {
+    				cleanClassAxioms = pipeline.cleanClassAxioms();
+    			} else if (threadsNumber != null && threadsNumber > 1) {
+    				ParallelHypothesisCleaner cleaner = new ParallelHypothesisCleaner(
+    						conceptBuilder, classAxioms, threadsNumber);
+    				cleanClassAxioms = cleaner.cleanSeparately();
+    			} else {
+    				HypothesisCleaner cleaner = new HypothesisCleaner(
+    						conceptBuilder, classAxioms, output.getReasoner());
+    				cleanClassAxioms = cleaner.cleanSeparately();
+    				cleaner.dispose();
+    			}
+    			if (input.getOperatorConfig().useDataProperties) {
+    				cleanClassAxioms = HypothesisCleaner.cleanDataRestrictions(cleanClassAxioms);
+    			}
+    		}
+    	} finally {
+    		conceptBuilder.setHypothesisSink(null);
+    		if (pipeline != null) {
+    			pipeline.dispose();
+    		}
+    	}
+    	if (!input.isUseComplexMeasures() && !streamsGenerated && !streamsCleaned) {
+    		publish(cleanClassAxioms);
     	}
     	end = System.currentTimeMillis();
     	hypothesesCleaningTime += (double)(end - start) / 1e3;
@@ -423,7 +814,7 @@ public class DLMiner implements DLMinerComponent {
         stats.setHypothesesBuildingTime(hypothesesBuildingTime);
         stats.setHypothesesCleaningTime(hypothesesCleaningTime);
            
-        // sort by length
+        // sort by length, in anytime mode they are ranked by quality after evaluation
         List<Hypothesis> sortedHypotheses = HypothesisSorter.sortByLength(hypotheses);
         // add quality values
         addQualityValues(sortedHypotheses);
@@ -452,7 +843,7 @@ public class DLMiner implements DLMinerComponent {
     	Set<Hypothesis> goodHypotheses = new HashSet<>();
     	int half = input.getMaxHypothesesNumber()/2;
     	for (Hypothesis h : newHypotheses) {
-    		if (h.precision >= input.getAxiomConfig().minPrecision) {
+    		if (h.getValue(Measure.PRECISION) >= input.getAxiomConfig().minPrecision) {
     			goodHypotheses.add(h);
     		}
     		if (goodHypotheses.size() >= half) {
@@ -470,7 +861,7 @@ public class DLMiner implements DLMinerComponent {
     	Set<Hypothesis> badHypotheses = new HashSet<>();
     	int half = input.getMaxHypothesesNumber()/2;
     	for (Hypothesis h : newHypotheses) {
-    		if (h.precision < input.getAxiomConfig().minPrecision) {
+    		if (h.getValue(Measure.PRECISION) < input.getAxiomConfig().minPrecision) {
     			badHypotheses.add(h);
     		}
     		if (badHypotheses.size() >= half) {
@@ -615,6 +1006,44 @@ public class DLMiner implements DLMinerComponent {
 	
 	
 		
+	/**
+	 * Writes hypotheses with their quality values one by one
+	 * without assembling an ontology in memory, e.g. after the run;
+	 * see run(File, HypothesisStreamFormat, boolean) to write them while mining.
+	 * @param hypotheses the hypotheses to store
+	 * @param file the file to store the hypotheses
+	 * @param iri the IRI to assign the hypotheses
+	 * @param number the number of hypotheses (from the beginning) to store
+	 * @param format the output format
+	 * @param compress whether the file is compressed by gzip
+	 */
+	public void streamHypotheses(Collection<Hypothesis> hypotheses, File file, IRI iri, 
+			int number, HypothesisStreamFormat format, boolean compress) {
+		try (HypothesisStreamWriter writer = new HypothesisStreamWriter(
+				file, iri, format, compress, true)) {
+			writer.writeHeader(output.getOntology().getAnnotations());
+			writer.write(hypotheses, number);
+		} catch (IOException e) {
+			Out.p(e + DLMinerOutputI.HYPOTHESES_SAVING_ERROR);
+		}
+	}
+	
+	
+	
+	/**
+	 * @param file the file to store the output hypotheses
+	 * @param format the output format
+	 * @param compress whether the file is compressed by gzip
+	 */
+	public void streamHypotheses(File file, HypothesisStreamFormat format, boolean compress) {
+		IRI iri = output.getOntology().getOntologyID().getOntologyIRI().or(IRI.create("unknown"));
+		streamHypotheses(output.getHypotheses(), file, iri, 
+				input.getMaxHypothesesNumber(), format, compress);
+	}
+
+	
+	
+		
 	/**
      * @return the mapping of hypothesis IDs to data entries:
      * fitness, braveness, interest, length, entities, file.
@@ -638,9 +1067,9 @@ public class DLMiner implements DLMinerComponent {
             OntologyHandler handler = new OntologyHandler(hypothesis.axioms, iri);
             handler.saveOntology(file, format);
             HypothesisEntry entry = new HypothesisEntry(
-                    hypothesis.support.intValue(),
-                    hypothesis.assumption.intValue(),
-                    hypothesis.noveltyApprox.intValue(),
+                    hypothesis.get(Measure.SUPPORT).intValue(),
+                    hypothesis.get(Measure.ASSUMPTION).intValue(),
+                    hypothesis.get(Measure.NOVELTY_APPROX).intValue(),
                     hypothesis.length,
                     hypothesisToEntitiesMap.get(hypothesis),
                     file);
@@ -659,125 +1088,45 @@ public class DLMiner implements DLMinerComponent {
 
 
 
-	public void saveHypothesesAsSeparateFiles(File hypothesesPath) {
+	public void saveHypothesesAsSeparateFiles(File hypothesesPath) throws IOException {
 		IRI iri = output.getOntology().getOntologyID().getOntologyIRI().or(IRI.create("unknown"));
 		saveHypothesesAsSeparateFiles(hypothesesPath, iri);		
 	}
 	
 	
 	
-	public void saveHypothesesAsSeparateFiles(File hypothesesPath, IRI iri) {
-		HypothesisWriter hypoWriter = new HypothesisWriter(output.getHypothesisFormat(), iri);
+	public void saveHypothesesAsSeparateFiles(File hypothesesPath, IRI iri) throws IOException {
+		BatchedHypothesisWriter hypoWriter = new BatchedHypothesisWriter(
+				output.getHypothesisFormat(), iri, getThreadsNumber());
 		hypoWriter.saveHypothesesToSeparateFiles(output.getHypotheses(), hypothesesPath);
 	}
 	
+	
+	
+	/**
+	 * Saves hypotheses to a single archive with an index of offsets.
+	 * @param archive the archive file
+	 */
+	public void saveHypothesesToArchive(File archive) {
+		IRI iri = output.getOntology().getOntologyID().getOntologyIRI().or(IRI.create("unknown"));
+		BatchedHypothesisWriter hypoWriter = new BatchedHypothesisWriter(
+				output.getHypothesisFormat(), iri, getThreadsNumber());
+		hypoWriter.saveHypothesesToArchive(output.getHypotheses(), archive);
+	}
+	
+	
+	
+	private int getThreadsNumber() {
+		Integer threadsNumber = input.getAxiomConfig().threadsNumber;
+		return (threadsNumber == null) ? 1 : threadsNumber;
+	}
+	
 
 
 
 	public static void addQualityValues(Collection<Hypothesis> hypotheses) {
-		IRI iri = IRI.create("http://www.dlminer.io");
-		OWLDataFactory factory = new OWLDataFactoryImpl();
 		for (Hypothesis h : hypotheses) {	
-			Set<OWLAnnotation> annots = new HashSet<>();
-			// ids
-//			if (h.id != null) {
-//				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-//						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "_id"));
-//				OWLLiteral value = factory.getOWLLiteral(h.id);
-//				OWLAnnotation annot =
-//						factory.getOWLAnnotation(annProp, value);
-//				annots.add(annot);
-//			}
-			// logical measures			
-			if (h.novelty != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "novelty"));
-				OWLLiteral value = factory.getOWLLiteral(h.novelty);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}			
-			if (h.dissimilarity != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "dissimilarity"));
-				OWLLiteral value = factory.getOWLLiteral(h.dissimilarity);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			// statistical measures
-			if (h.assumption != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "assumption"));
-				OWLLiteral value = factory.getOWLLiteral(h.assumption);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.braveness != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "braveness"));
-				OWLLiteral value = factory.getOWLLiteral(h.braveness);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.fitness != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "fitness"));
-				OWLLiteral value = factory.getOWLLiteral(h.fitness);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.support != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "support"));
-				OWLLiteral value = factory.getOWLLiteral(h.support);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.mainContradiction != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "contradiction"));
-				OWLLiteral value = factory.getOWLLiteral(h.mainContradiction);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.precision != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "precision"));
-				OWLLiteral value = factory.getOWLLiteral(h.precision);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.lift != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "lift"));
-				OWLLiteral value = factory.getOWLLiteral(h.lift);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.convictionNeg != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "conviction_neg"));
-				OWLLiteral value = factory.getOWLLiteral(h.convictionNeg);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
-			if (h.convictionQue != null) {
-				OWLAnnotationProperty annProp = factory.getOWLAnnotationProperty(
-						IRI.create(iri.toString() + Out.IRI_SEPARATOR + "conviction_que"));
-				OWLLiteral value = factory.getOWLLiteral(h.convictionQue);
-				OWLAnnotation annot = 							
-						factory.getOWLAnnotation(annProp, value);
-				annots.add(annot);
-			}
+			Set<OWLAnnotation> annots = HypothesisStreamWriter.getQualityAnnotations(h);
 			// add annotations
 			Set<OWLAxiom> annotatedAxioms = new HashSet<>();
 			for (OWLAxiom ax : h.axioms) {
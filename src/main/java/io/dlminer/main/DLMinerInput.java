@@ -1,6 +1,7 @@
 package io.dlminer.main;
 
 import io.dlminer.learn.AxiomConfig;
+import io.dlminer.learn.MemoryConfig;
 import io.dlminer.ont.OntologyFormat;
 import io.dlminer.ont.ReasonerName;
 
@@ -10,6 +11,7 @@ import java.io.FileNotFoundException;
 import java.io.InputStream;
 
 import io.dlminer.refine.OperatorConfig;
+import io.dlminer.telemetry.TelemetryConfig;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 /**
@@ -34,6 +36,15 @@ public class DLMinerInput {
      * Configuration for axiom generation procedures
      */
     private AxiomConfig axiomConfig;
+
+
+
+    /**
+     * Configuration for metrics recorded during the run
+     */
+    private TelemetryConfig telemetryConfig;
+
+    private MemoryConfig memoryConfig;
 	
 
 	
@@ -53,6 +64,16 @@ public class DLMinerInput {
 	 */
 	private Integer reasonerTimeout;
 
+
+	/**
+	 * The wall-clock budget in seconds of a run (without ontology parsing and
+	 * reasoning). If set, DL-Miner runs in anytime mode: the budget is split
+	 * across the phases, each phase stops once its share expires, and the run
+	 * returns the hypotheses found so far ranked by quality.
+	 * If null, the run is limited only by the number of hypotheses.
+	 */
+	private Integer timeBudget;
+
 	
 
 	/**
@@ -150,6 +171,24 @@ public class DLMinerInput {
 
 
 
+	/**
+	 * @return the timeBudget
+	 */
+	public Integer getTimeBudget() {
+		return timeBudget;
+	}
+
+
+
+	/**
+	 * @param timeBudget the timeBudget to set
+	 */
+	public void setTimeBudget(Integer timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+
+
 
     public File getOntologyFile() {
         return ontologyFile;
@@ -276,6 +315,16 @@ public class DLMinerInput {
     }
 
 
+    public TelemetryConfig getTelemetryConfig() {
+        return telemetryConfig;
+    }
+
+
+    public MemoryConfig getMemoryConfig() {
+        return memoryConfig;
+    }
+
+
     // ====================== constructors ======================
 
 
@@ -340,11 +389,20 @@ public class DLMinerInput {
 	    axiomConfig.useConsistency = DLMinerInputI.DEF_USE_CONSISTENCY;
 	    axiomConfig.useCleaning = DLMinerInputI.DEF_USE_CLEANING;
 	    axiomConfig.axiomPattern = DLMinerInputI.DEF_AXIOM_PATTERN;
+	    axiomConfig.threadsNumber = DLMinerInputI.DEF_THREADS_NUMBER;
+	    axiomConfig.usePipelining = DLMinerInputI.DEF_USE_PIPELINING;
+
+	    // telemetry config
+	    telemetryConfig = new TelemetryConfig();
+
+	    // memory config
+	    memoryConfig = new MemoryConfig();
 
 
 	    // other parameters
 		maxHypothesesNumber = DLMinerInputI.DEF_MAX_HYPOTHESES_NUMBER;
 		reasonerTimeout = DLMinerInputI.DEF_REASONER_TIMEOUT;
+		timeBudget = DLMinerInputI.DEF_TIME_BUDGET;
 		hypothesisFormat = DLMinerInputI.DEF_HYPOTHESIS_FORMAT;
 		reasonerName = DLMinerInputI.DEF_REASONER_NAME;
 		useClosedWorldAssumption = DLMinerInputI.DEF_USE_CWA;
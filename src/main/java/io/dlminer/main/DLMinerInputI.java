@@ -37,6 +37,12 @@ public interface DLMinerInputI {
 	Integer DEF_REASONER_TIMEOUT = 6000;
 	
 	
+	/**
+	 * Default timeBudget in seconds, null if unlimited
+	 */
+	Integer DEF_TIME_BUDGET = null;
+	
+	
 	/**
 	 * Default minPrecision
 	 */
@@ -197,6 +203,18 @@ public interface DLMinerInputI {
 
     AxiomPattern DEF_AXIOM_PATTERN = AxiomPattern.SEEDS_RHS_LHS;
 
+
+    /**
+     * Default number of threads for generating hypotheses
+     */
+    Integer DEF_THREADS_NUMBER = 1;
+
+
+    /**
+     * Default flag for running concept search, axiom generation and cleaning concurrently
+     */
+    Boolean DEF_USE_PIPELINING = false;
+
 		
 	
 	// ====================== error messages ======================
@@ -206,6 +224,7 @@ public interface DLMinerInputI {
 	String WRONG_MAX_ROLE_DEPTH_ERR = "maxRoleDepth cannot be negative (can only be zero or positive)!";
 	String WRONG_MAX_HYPOTHESES_NUMBER_ERR = "maxHypothesesNumber can only be positive!";
 	String WRONG_REASONER_TIMEOUT_ERR = "reasonerTimeout can only be positive!";
+	String WRONG_TIME_BUDGET_ERR = "timeBudget can only be positive!";
 	String WRONG_MIN_PRECISION_ERR = "minPrecision can only be positive!";
 	String WRONG_MIN_CONCEPT_SUPPORT_ERR = "minConceptSupport cannot be negative!";
 
@@ -0,0 +1,31 @@
+package io.dlminer.main;
+
+/**
+ * Receives phase transitions and progress of a run of DL-Miner.
+ * Methods are called from the mining threads, so they must return quickly.
+ * Phases are named as in {@link io.dlminer.telemetry.MetricNames}.
+ */
+public interface DLMinerListener {
+
+	/**
+	 * @param phase the phase which has started
+	 */
+	void phaseStarted(String phase);
+
+
+	/**
+	 * @param phase the current phase
+	 * @param done the number of processed items, e.g. concepts or pairs of concepts
+	 * @param total the expected number of items or -1 if unknown
+	 * @param eta the estimated remaining seconds of the phase or -1 if unknown
+	 */
+	void progress(String phase, long done, long total, double eta);
+
+
+	/**
+	 * @param phase the phase which has finished or has been cancelled
+	 * @param seconds the duration of the phase
+	 */
+	void phaseFinished(String phase, double seconds);
+
+}
@@ -24,5 +24,23 @@ public interface DLMinerOutputI {
 	String REASONER_UPDATE_ERROR = ": Evaluation is not possible due to the reasoning error";
 
 	String ENTAILMENT_CHEKING_ERROR = ": Entailment checking has failed";
+
+	String HYPOTHESES_SAVING_ERROR = ": Hypotheses cannot be saved";
+
+	String TELEMETRY_ERROR = ": Metrics cannot be saved";
+
+	String STREAM_ERROR = "The run has failed while streaming hypotheses";
+
+	String MATERIALISATION_ERROR = "The ABox cannot be materialised";
+
+	String UNKNOWN_ONTOLOGY_ERROR = ": No such ontology is loaded";
+
+	String DUPLICATE_ONTOLOGY_ERROR = ": The ontology is already loaded";
+
+	String UNKNOWN_JOB_ERROR = ": No such job";
+
+	String UNKNOWN_PARAMETER_ERROR = ": Unknown parameter";
+
+	String WRONG_PARAMETER_VALUE_ERROR = ": Wrong parameter value";
 	
 }
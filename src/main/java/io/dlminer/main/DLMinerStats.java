@@ -1,6 +1,10 @@
 package io.dlminer.main;
 
 import io.dlminer.print.Out;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
+
+import java.util.List;
 
 public class DLMinerStats {
 	
@@ -158,6 +162,23 @@ public class DLMinerStats {
 	 * average hypothesis length
 	 */
 	private Double averageLength;
+
+	/**
+	 * whether the run was cancelled and returned partial results
+	 */
+	private Boolean cancelled;
+
+	// memory
+	/**
+	 * degradations applied under memory pressure, see MemoryGovernor
+	 */
+	private List<String> degradations;
+
+	// time budget
+	/**
+	 * phases stopped by the time budget of an anytime run
+	 */
+	private List<String> expiredPhases;
 	
 	
 	
@@ -177,6 +198,9 @@ public class DLMinerStats {
 	 */
 	public void setOntologyParsingTime(Double ontologyParsingTime) {
 		this.ontologyParsingTime = ontologyParsingTime;
+		if (ontologyParsingTime != null) {
+			Telemetry.recordPhase(MetricNames.PARSING, ontologyParsingTime);
+		}
 	}
 
 
@@ -193,6 +217,9 @@ public class DLMinerStats {
 	 */
 	public void setOntologyReasoningTime(Double ontologyReasoningTime) {
 		this.ontologyReasoningTime = ontologyReasoningTime;
+		if (ontologyReasoningTime != null) {
+			Telemetry.recordPhase(MetricNames.REASONING, ontologyReasoningTime);
+		}
 	}
 
 
@@ -209,6 +236,9 @@ public class DLMinerStats {
 	 */
 	public void setConceptBuildingTime(Double conceptBuildingTime) {
 		this.conceptBuildingTime = conceptBuildingTime;
+		if (conceptBuildingTime != null) {
+			Telemetry.recordPhase(MetricNames.CONCEPT_BUILDING, conceptBuildingTime);
+		}
 	}
 
 
@@ -225,6 +255,9 @@ public class DLMinerStats {
 	 */
 	public void setRoleBuildingTime(Double roleBuildingTime) {
 		this.roleBuildingTime = roleBuildingTime;
+		if (roleBuildingTime != null) {
+			Telemetry.recordPhase(MetricNames.ROLE_BUILDING, roleBuildingTime);
+		}
 	}
 
 
@@ -241,6 +274,9 @@ public class DLMinerStats {
 	 */
 	public void setHypothesesBuildingTime(Double hypothesesBuildingTime) {
 		this.hypothesesBuildingTime = hypothesesBuildingTime;
+		if (hypothesesBuildingTime != null) {
+			Telemetry.recordPhase(MetricNames.HYPOTHESIS_BUILDING, hypothesesBuildingTime);
+		}
 	}
 
 
@@ -257,6 +293,9 @@ public class DLMinerStats {
 	 */
 	public void setHypothesesCleaningTime(Double hypothesesCleaningTime) {
 		this.hypothesesCleaningTime = hypothesesCleaningTime;
+		if (hypothesesCleaningTime != null) {
+			Telemetry.recordPhase(MetricNames.CLEANING, hypothesesCleaningTime);
+		}
 	}
 
 
@@ -273,6 +312,9 @@ public class DLMinerStats {
 	 */
 	public void setBasicMeasuresTime(Double basicMeasuresTime) {
 		this.basicMeasuresTime = basicMeasuresTime;
+		if (basicMeasuresTime != null) {
+			Telemetry.recordPhase("basic_measures", basicMeasuresTime);
+		}
 	}
 
 
@@ -289,6 +331,9 @@ public class DLMinerStats {
 	 */
 	public void setContraMeasuresTime(Double contraMeasuresTime) {
 		this.contraMeasuresTime = contraMeasuresTime;
+		if (contraMeasuresTime != null) {
+			Telemetry.recordPhase("main_measures", contraMeasuresTime);
+		}
 	}
 
 
@@ -305,6 +350,9 @@ public class DLMinerStats {
 	 */
 	public void setComplexMeasuresTime(Double complexMeasuresTime) {
 		this.complexMeasuresTime = complexMeasuresTime;
+		if (complexMeasuresTime != null) {
+			Telemetry.recordPhase("complex_measures", complexMeasuresTime);
+		}
 	}
 
 
@@ -321,6 +369,9 @@ public class DLMinerStats {
 	 */
 	public void setComplexMeasuresPrecompTime(Double complexMeasuresPrecompTime) {
 		this.complexMeasuresPrecompTime = complexMeasuresPrecompTime;
+		if (complexMeasuresPrecompTime != null) {
+			Telemetry.recordPhase("complex_measures_precomputation", complexMeasuresPrecompTime);
+		}
 	}
 
 
@@ -337,6 +388,9 @@ public class DLMinerStats {
 	 */
 	public void setStrengthTime(Double strengthTime) {
 		this.strengthTime = strengthTime;
+		if (strengthTime != null) {
+			Telemetry.recordPhase("strength", strengthTime);
+		}
 	}
 
 
@@ -353,6 +407,9 @@ public class DLMinerStats {
 	 */
 	public void setDominanceTime(Double dominanceTime) {
 		this.dominanceTime = dominanceTime;
+		if (dominanceTime != null) {
+			Telemetry.recordPhase("dominance", dominanceTime);
+		}
 	}
 
 
@@ -369,6 +426,9 @@ public class DLMinerStats {
 	 */
 	public void setConsistencyTime(Double consistencyTime) {
 		this.consistencyTime = consistencyTime;
+		if (consistencyTime != null) {
+			Telemetry.recordPhase("consistency", consistencyTime);
+		}
 	}
 
 
@@ -615,6 +675,54 @@ public class DLMinerStats {
 	public void setAverageLength(Double averageLength) {
 		this.averageLength = averageLength;
 	}
+
+
+	/**
+	 * @return the cancelled
+	 */
+	public Boolean getCancelled() {
+		return cancelled;
+	}
+
+
+	/**
+	 * @param cancelled the cancelled to set
+	 */
+	public void setCancelled(Boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+
+	/**
+	 * @return the degradations
+	 */
+	public List<String> getDegradations() {
+		return degradations;
+	}
+
+
+	/**
+	 * @param degradations the degradations to set
+	 */
+	public void setDegradations(List<String> degradations) {
+		this.degradations = degradations;
+	}
+
+
+	/**
+	 * @return the expiredPhases
+	 */
+	public List<String> getExpiredPhases() {
+		return expiredPhases;
+	}
+
+
+	/**
+	 * @param expiredPhases the expiredPhases to set
+	 */
+	public void setExpiredPhases(List<String> expiredPhases) {
+		this.expiredPhases = expiredPhases;
+	}
 	
 	
 		
@@ -647,7 +755,12 @@ public class DLMinerStats {
                 + "\n minNovelty = " + minNovelty
                 + "\n maxLength = " + maxLength
                 + "\n averageLength = " + (averageLength == null ? "null" : Out.fn(averageLength))
-                + "\n minLength = " + minLength;
+                + "\n minLength = " + minLength
+                + "\n cancelled = " + cancelled
+                + "\nMemory:"
+                + "\n degradations = " + degradations
+                + "\nTime budget:"
+                + "\n expiredPhases = " + expiredPhases;
         return stats;
     }
 	
@@ -0,0 +1,33 @@
+package io.dlminer.main;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates numbered daemon threads, so that worker threads of DL-Miner
+ * never keep the JVM alive once the caller has returned.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+	private String prefix;
+	private AtomicInteger count = new AtomicInteger();
+
+
+
+	/**
+	 * @param prefix the prefix of thread names
+	 */
+	public DaemonThreadFactory(String prefix) {
+		this.prefix = prefix;
+	}
+
+
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, prefix + "-" + count.getAndIncrement());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
@@ -0,0 +1,157 @@
+package io.dlminer.main;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.HypothesisSink;
+
+/**
+ * Yields the hypotheses of a run while it continues in a background thread,
+ * see {@link DLMiner#stream(int)}. Hypotheses come in the order they become
+ * final, i.e. once they are cleaned or, if complex measures are requested,
+ * once they are evaluated. At most the look-ahead number of hypotheses are
+ * buffered; after that the mining threads wait until the caller takes more.
+ * Closing the stream cancels the run. Annotations with quality values
+ * are added to the axioms of hypotheses at the end of the run.
+ */
+public class HypothesisStream implements Iterator<Hypothesis>, Closeable {
+
+	public static final int DEF_LOOK_AHEAD = 100;
+
+	// milliseconds after which a waiting mining thread checks if the stream is closed
+	private static final long OFFER_INTERVAL = 100;
+
+	// marks the end of the run
+	private static final Hypothesis END = new Hypothesis();
+
+	private BlockingQueue<Hypothesis> queue;
+	private CancellationToken token;
+	private HypothesisSink sink;
+
+	private volatile boolean closed;
+	private volatile Throwable error;
+	private Hypothesis next;
+	private boolean ended;
+
+
+
+	HypothesisStream(int lookAhead, CancellationToken token) {
+		this.token = token;
+		queue = new ArrayBlockingQueue<>(lookAhead);
+		sink = new HypothesisSink() {
+			@Override
+			public void accept(Hypothesis hypothesis) {
+				put(hypothesis);
+			}
+		};
+	}
+
+
+
+	HypothesisSink getSink() {
+		return sink;
+	}
+
+
+
+	// waits while the buffer is full
+	private void put(Hypothesis hypothesis) {
+		try {
+			while (!closed) {
+				if (queue.offer(hypothesis, OFFER_INTERVAL, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+
+	/**
+	 * @param error the error which has stopped the run or null
+	 */
+	void finish(Throwable error) {
+		this.error = error;
+		put(END);
+	}
+
+
+
+	/**
+	 * Waits until the next hypothesis is mined or the run finishes.
+	 * @throws IllegalStateException if the run has failed
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+		if (ended) {
+			return false;
+		}
+		try {
+			next = queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+			return false;
+		}
+		if (next == END) {
+			next = null;
+			ended = true;
+			if (error != null) {
+				throw new IllegalStateException(DLMinerOutputI.STREAM_ERROR, error);
+			}
+			return false;
+		}
+		return true;
+	}
+
+
+
+	@Override
+	public Hypothesis next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Hypothesis hypothesis = next;
+		next = null;
+		return hypothesis;
+	}
+
+
+
+	/**
+	 * @return the number of hypotheses mined ahead of the caller
+	 */
+	public int getBuffered() {
+		return queue.size();
+	}
+
+
+
+	/**
+	 * Cancels the run unless it has finished and releases the waiting mining threads.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (!ended && !queue.contains(END)) {
+			token.cancel();
+		}
+		ended = true;
+		next = null;
+		queue.clear();
+	}
+
+}
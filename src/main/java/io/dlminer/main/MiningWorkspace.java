@@ -0,0 +1,229 @@
+package io.dlminer.main;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import io.dlminer.learn.ConceptBuilder;
+import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.ReasonerLoader;
+import io.dlminer.print.Out;
+import io.dlminer.refine.OperatorConfig;
+
+/**
+ * Keeps an ontology preprocessed for several runs, see
+ * {@link DLMiner#init(MiningWorkspace)}. The ontology is parsed and
+ * processed by the reasoner once. Concept builders, which hold the refinement
+ * operator, the expansions of individuals and cached instances of concepts,
+ * are initialised once per combination of the parameters they precompute;
+ * other parameters, e.g. the maximal length or the minimal support,
+ * may differ between runs. Runs over a workspace share its state and
+ * must not overlap, and the output of a run is valid until the next run starts.
+ */
+public class MiningWorkspace implements DLMinerComponent {
+
+	public static final int DEF_MAX_CONCEPT_BUILDERS = 4;
+
+
+	private DLMinerInput input;
+	private OntologyHandler handler;
+	private OWLReasoner reasoner;
+
+	private double ontologyParsingTime;
+	private double ontologyReasoningTime;
+
+	private int maxConceptBuilders;
+	// initialised builders by precomputed parameters, the least recently used first
+	private Map<String, ConceptBuilder> conceptBuilders;
+
+
+
+	/**
+	 * @param input the ontology and the parameters of the reasoner
+	 */
+	public MiningWorkspace(DLMinerInput input) {
+		this(input, DEF_MAX_CONCEPT_BUILDERS);
+	}
+
+
+
+	/**
+	 * @param input the ontology and the parameters of the reasoner
+	 * @param maxConceptBuilders the number of initialised concept builders
+	 * kept at once, the least recently used one is dropped first
+	 */
+	public MiningWorkspace(DLMinerInput input, int maxConceptBuilders) {
+		this.input = input;
+		this.maxConceptBuilders = maxConceptBuilders;
+		conceptBuilders = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+
+
+	/**
+	 * Parses the ontology and processes it by the reasoner.
+	 */
+	@Override
+	public void init() throws Exception {
+		parse();
+		reason();
+	}
+
+
+
+	public void parse() throws Exception {
+		long start = System.currentTimeMillis();
+		if (input.getOntology() != null) {
+			handler = new OntologyHandler(input.getOntology(), true);
+		} else {
+			handler = new OntologyHandler(input.getOntologyFile(), true);
+		}
+
+		Out.p("\nOntology size:");
+		Out.p("\tTBox size = " + handler.getTBoxAxioms().size());
+		Out.p("\tRBox size = " + handler.getRBoxAxioms().size());
+		Out.p("\tABox size = " + handler.getABoxAxioms().size());
+		Out.p("\tnumber of classes = " + handler.getClassesInSignature().size());
+		Out.p("\tnumber of object properties = " + handler.getObjectPropertiesInSignature().size());
+		Out.p("\tnumber of data properties = " + handler.getDataPropertiesInSignature().size());
+		Out.p("\tnumber of individuals = " + handler.getIndividuals().size());
+		long end = System.currentTimeMillis();
+		ontologyParsingTime = (double) (end - start) / 1e3;
+		Out.p("Ontology parsing time = " + Out.fn(ontologyParsingTime) + " seconds");
+	}
+
+
+
+	public void reason() throws Exception {
+		Out.p("\nInitialising the reasoner");
+		long start = System.currentTimeMillis();
+		reasoner = ReasonerLoader.initReasoner(
+				input.getReasonerName(),
+				handler.getOntology(),
+				input.getReasonerTimeout());
+
+		// check if the ontology is consistent
+		if (!reasoner.isConsistent()) {
+			Out.p("\nThe ontology is inconsistent!");
+			handler.removeInconsistency(reasoner);
+			reasoner.flush();
+		}
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+				InferenceType.OBJECT_PROPERTY_HIERARCHY,
+				InferenceType.DATA_PROPERTY_HIERARCHY);
+		handler.removeUnsatClasses(reasoner);
+		handler.removeTautologies(reasoner);
+		reasoner.flush();
+		long end = System.currentTimeMillis();
+		ontologyReasoningTime = (double) (end - start) / 1e3;
+		Out.p("Ontology reasoning time = " + Out.fn(ontologyReasoningTime) + " seconds");
+
+		if (input.isUseClosedWorldAssumption()) {
+			handler.applyCWA(reasoner);
+			reasoner.flush();
+			if (!reasoner.isConsistent()) {
+				Out.p("\nThe ontology is inconsistent!");
+				handler.removeInconsistency(reasoner);
+				reasoner.flush();
+			}
+		}
+	}
+
+
+
+	/**
+	 * @param config the parameters of the run, adjusted to the ontology
+	 * @return the initialised concept builder prepared for the run
+	 */
+	public ConceptBuilder getConceptBuilder(OperatorConfig config) {
+		String key = getPrecomputedParameters(config);
+		ConceptBuilder conceptBuilder = conceptBuilders.get(key);
+		if (conceptBuilder != null) {
+			Out.p("\nReusing the initialised concept builder");
+			conceptBuilder.reset(config);
+			return conceptBuilder;
+		}
+		conceptBuilder = new ConceptBuilder(handler, reasoner, config);
+		conceptBuilder.init();
+		conceptBuilders.put(key, conceptBuilder);
+		// the shared ontology and reasoner stay with the workspace
+		Iterator<String> iterator = conceptBuilders.keySet().iterator();
+		while (conceptBuilders.size() > maxConceptBuilders && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+		return conceptBuilder;
+	}
+
+
+
+	/**
+	 * @param config the parameters of a run
+	 * @return true if a concept builder for the parameters is initialised
+	 */
+	public boolean containsConceptBuilder(OperatorConfig config) {
+		return conceptBuilders.containsKey(getPrecomputedParameters(config));
+	}
+
+
+
+	// parameters read by the refinement operator, the materialisation and the expansions
+	private static String getPrecomputedParameters(OperatorConfig config) {
+		return "maxDepth=" + config.maxDepth
+				+ " expands=" + (config.maxLength > 1)
+				+ " useNegation=" + config.useNegation
+				+ " useDataProperties=" + config.useDataProperties
+				+ " dataThresholdsNumber=" + config.dataThresholdsNumber
+				+ " useInverseObjectProperties=" + config.useInverseObjectProperties
+				+ " checkDisjointness=" + config.checkDisjointness
+				+ " checkRedundancy=" + config.checkRedundancy
+				+ " useReasonerForAtomicClassInstances=" + config.useReasonerForAtomicClassInstances
+				+ " useReasonerForClassInstances=" + config.useReasonerForClassInstances;
+	}
+
+
+
+	public DLMinerInput getInput() {
+		return input;
+	}
+
+
+
+	public OntologyHandler getHandler() {
+		return handler;
+	}
+
+
+
+	public OWLReasoner getReasoner() {
+		return reasoner;
+	}
+
+
+
+	public double getOntologyParsingTime() {
+		return ontologyParsingTime;
+	}
+
+
+
+	public double getOntologyReasoningTime() {
+		return ontologyReasoningTime;
+	}
+
+
+
+	/**
+	 * Drops the concept builders and disposes the reasoner.
+	 */
+	public void dispose() {
+		conceptBuilders.clear();
+		if (reasoner != null) {
+			reasoner.dispose();
+		}
+	}
+
+}
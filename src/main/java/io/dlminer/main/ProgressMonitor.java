@@ -0,0 +1,197 @@
+package io.dlminer.main;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the current phase of a run and its progress, notifies
+ * {@link DLMinerListener}s and exposes the {@link CancellationToken}
+ * to long loops. Progress is reported at most once per
+ * {@link #DEF_REPORTING_INTERVAL} milliseconds and at the end of a phase.
+ * Workers of parallel phases may report progress concurrently.
+ * In anytime mode, a phase is also cancelled once its {@link TimeBudget} expires.
+ */
+public class ProgressMonitor {
+
+	public static final long DEF_REPORTING_INTERVAL = 500;
+
+	private List<DLMinerListener> listeners;
+	private CancellationToken token;
+	private TimeBudget timeBudget;
+
+	private volatile String phase;
+	private long phaseStart;
+	private AtomicLong done;
+	private AtomicLong total;
+	private volatile long lastReport;
+
+
+
+	public ProgressMonitor() {
+		this(new CancellationToken());
+	}
+
+
+	public ProgressMonitor(CancellationToken token) {
+		this.token = token;
+		listeners = new CopyOnWriteArrayList<>();
+		done = new AtomicLong();
+		total = new AtomicLong(-1);
+	}
+
+
+
+	public void addListener(DLMinerListener listener) {
+		listeners.add(listener);
+	}
+
+
+	public void removeListener(DLMinerListener listener) {
+		listeners.remove(listener);
+	}
+
+
+	public CancellationToken getCancellationToken() {
+		return token;
+	}
+
+
+	public TimeBudget getTimeBudget() {
+		return timeBudget;
+	}
+
+
+	public void setTimeBudget(TimeBudget timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
+
+	/**
+	 * @return true if the run is cancelled or the current phase is out of time
+	 */
+	public boolean isCancelled() {
+		return token.isCancelled() || isOutOfTime();
+	}
+
+
+	/**
+	 * @return true if the time budget of the current phase has expired
+	 */
+	public boolean isOutOfTime() {
+		return timeBudget != null && timeBudget.isPhaseExpired();
+	}
+
+
+	public String getPhase() {
+		return phase;
+	}
+
+
+
+	/**
+	 * Finishes the current phase, if any, and starts the next one.
+	 * @param name the phase
+	 */
+	public synchronized void beginPhase(String name) {
+		endPhase();
+		phase = name;
+		phaseStart = System.nanoTime();
+		lastReport = phaseStart;
+		done.set(0);
+		total.set(-1);
+		if (timeBudget != null) {
+			timeBudget.beginPhase(name);
+		}
+		for (DLMinerListener listener : listeners) {
+			listener.phaseStarted(name);
+		}
+	}
+
+
+
+	/**
+	 * Finishes the current phase, if any, reporting its final progress.
+	 */
+	public synchronized void endPhase() {
+		if (phase == null) {
+			return;
+		}
+		report();
+		if (timeBudget != null) {
+			timeBudget.endPhase();
+		}
+		double seconds = (System.nanoTime() - phaseStart) / 1e9;
+		for (DLMinerListener listener : listeners) {
+			listener.phaseFinished(phase, seconds);
+		}
+		phase = null;
+	}
+
+
+
+	/**
+	 * @param n the expected number of items of the current phase or -1 if unknown
+	 */
+	public void setTotal(long n) {
+		total.set(n);
+	}
+
+
+	/**
+	 * @param n the number of further expected items of the current phase
+	 */
+	public void addTotal(long n) {
+		total.compareAndSet(-1, 0);
+		total.addAndGet(n);
+	}
+
+
+	public void setDone(long n) {
+		done.set(n);
+		maybeReport();
+	}
+
+
+	public void worked(long n) {
+		done.addAndGet(n);
+		maybeReport();
+	}
+
+
+
+	private void maybeReport() {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		long now = System.nanoTime();
+		if ((now - lastReport) / 1e6 < DEF_REPORTING_INTERVAL) {
+			return;
+		}
+		synchronized (this) {
+			if ((now - lastReport) / 1e6 >= DEF_REPORTING_INTERVAL) {
+				lastReport = now;
+				report();
+			}
+		}
+	}
+
+
+
+	private void report() {
+		if (phase == null || listeners.isEmpty()) {
+			return;
+		}
+		long doneItems = done.get();
+		long totalItems = total.get();
+		double eta = -1;
+		if (doneItems > 0 && totalItems >= doneItems) {
+			double elapsed = (System.nanoTime() - phaseStart) / 1e9;
+			eta = elapsed / doneItems * (totalItems - doneItems);
+		}
+		for (DLMinerListener listener : listeners) {
+			listener.progress(phase, doneItems, totalItems, eta);
+		}
+	}
+
+}
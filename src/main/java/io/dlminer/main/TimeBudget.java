@@ -0,0 +1,184 @@
+package io.dlminer.main;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import io.dlminer.print.Out;
+import io.dlminer.telemetry.MetricNames;
+
+/**
+ * Splits the wall-clock budget of an anytime run across its phases.
+ * When a phase starts, it is given its share of the time remaining
+ * for itself and the phases after it, so the time that earlier phases
+ * leave unused is passed on. Phases without a share, e.g. role building,
+ * are only limited by the total budget. Phases check the budget between
+ * steps; a long step, e.g. a reasoner call, can be stopped by an expiry action.
+ */
+public class TimeBudget {
+
+	public static final double DEF_CONCEPT_BUILDING_SHARE = 0.4;
+
+	public static final double DEF_HYPOTHESIS_BUILDING_SHARE = 0.3;
+
+	public static final double DEF_CLEANING_SHARE = 0.15;
+
+	public static final double DEF_EVALUATION_SHARE = 0.15;
+
+	// milliseconds between repeated expiry actions
+	public static final long EXPIRY_ACTION_PERIOD = 10;
+
+
+	private long deadline;
+	// shares of the phases which have not started yet
+	private Map<String, Double> shares;
+
+	private String phase;
+	private volatile long phaseDeadline;
+	private List<String> expiredPhases;
+	private Timer timer;
+
+
+
+	/**
+	 * @param seconds the total budget starting now
+	 * @param phases the budgeted phases which are going to run
+	 */
+	public TimeBudget(double seconds, Collection<String> phases) {
+		deadline = System.nanoTime() + (long) (seconds * 1e9);
+		phaseDeadline = deadline;
+		shares = new LinkedHashMap<>();
+		for (String name : phases) {
+			shares.put(name, getDefaultShare(name));
+		}
+		expiredPhases = new ArrayList<>();
+	}
+
+
+
+	private static double getDefaultShare(String phase) {
+		if (MetricNames.CONCEPT_BUILDING.equals(phase)) {
+			return DEF_CONCEPT_BUILDING_SHARE;
+		}
+		if (MetricNames.HYPOTHESIS_BUILDING.equals(phase)) {
+			return DEF_HYPOTHESIS_BUILDING_SHARE;
+		}
+		if (MetricNames.CLEANING.equals(phase)) {
+			return DEF_CLEANING_SHARE;
+		}
+		if (MetricNames.EVALUATION.equals(phase)) {
+			return DEF_EVALUATION_SHARE;
+		}
+		return 0;
+	}
+
+
+
+	public synchronized void beginPhase(String name) {
+		endPhase();
+		phase = name;
+		long now = System.nanoTime();
+		Double share = shares.remove(name);
+		if (share == null || share <= 0) {
+			phaseDeadline = deadline;
+			return;
+		}
+		double rest = share;
+		for (Double s : shares.values()) {
+			rest += s;
+		}
+		long remaining = Math.max(0, deadline - now);
+		phaseDeadline = now + (long) (remaining * share / rest);
+		Out.p("Time budget of " + name + " = "
+				+ Out.fn((phaseDeadline - now) / 1e9) + " seconds");
+	}
+
+
+
+	/**
+	 * @param action the action run once the current phase expires,
+	 * e.g. interrupting the reasoner, and repeated until the phase ends
+	 * because a reasoner clears interrupts between its internal tasks
+	 */
+	public synchronized void setExpiryAction(final Runnable action) {
+		cancelTimer();
+		final String name = phase;
+		long delay = Math.max(0, phaseDeadline - System.nanoTime()) / 1000000;
+		timer = new Timer("time-budget", true);
+		timer.schedule(new TimerTask() {
+			private boolean expired = false;
+			@Override
+			public void run() {
+				if (!expired) {
+					expired = true;
+					Out.p("\nTime budget of " + name + " has expired");
+				}
+				try {
+					action.run();
+				} catch (Exception e) {
+					Out.p(e);
+				}
+			}
+		}, delay, EXPIRY_ACTION_PERIOD);
+	}
+
+
+
+	private void cancelTimer() {
+		if (timer != null) {
+			timer.cancel();
+			timer = null;
+		}
+	}
+
+
+
+	public synchronized void endPhase() {
+		cancelTimer();
+		if (phase == null) {
+			return;
+		}
+		if (System.nanoTime() > phaseDeadline) {
+			expiredPhases.add(phase);
+		}
+		phase = null;
+	}
+
+
+
+	/**
+	 * @return true if the current phase has used up its share
+	 */
+	public boolean isPhaseExpired() {
+		return System.nanoTime() > phaseDeadline;
+	}
+
+
+	/**
+	 * @return true if the total budget is used up
+	 */
+	public boolean isExpired() {
+		return System.nanoTime() > deadline;
+	}
+
+
+	/**
+	 * @return the remaining time of the total budget in seconds
+	 */
+	public double getRemainingTime() {
+		return Math.max(0, deadline - System.nanoTime()) / 1e9;
+	}
+
+
+	/**
+	 * @return the phases which were stopped by the budget
+	 */
+	public synchronized List<String> getExpiredPhases() {
+		return new ArrayList<>(expiredPhases);
+	}
+
+}
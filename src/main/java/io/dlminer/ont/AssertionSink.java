@@ -0,0 +1,18 @@
+package io.dlminer.ont;
+
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * The destination of materialised assertions which are passed in batches.
+ * It is closed by its creator, also if materialisation fails.
+ */
+public interface AssertionSink extends AutoCloseable {
+
+	void accept(List<OWLAxiom> batch) throws Exception;
+
+	@Override
+	void close() throws Exception;
+
+}
@@ -0,0 +1,99 @@
+package io.dlminer.ont;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The class gives concurrent access to reasoners over the same ontology.
+ * Reasoners are not thread-safe, so each query borrows one reasoner
+ * from a pool and returns it afterwards. With a single reasoner in the pool
+ * queries are simply serialised.
+ */
+public class EntailmentService {
+
+	/**
+	 * A query to be answered by a borrowed reasoner
+	 */
+	public interface ReasonerQuery<T> {
+		T answer(OWLReasoner reasoner) throws Exception;
+	}
+
+
+	private BlockingQueue<OWLReasoner> pool;
+	private List<OWLReasoner> replicas;
+
+
+
+	/**
+	 * @param reasoner the primary reasoner which is never disposed by the service
+	 * @param replicas additional reasoners over the same ontology owned by the service
+	 */
+	public EntailmentService(OWLReasoner reasoner, Collection<OWLReasoner> replicas) {
+		this.replicas = new ArrayList<>(replicas);
+		pool = new ArrayBlockingQueue<>(this.replicas.size() + 1);
+		pool.add(reasoner);
+		pool.addAll(this.replicas);
+	}
+
+
+	public EntailmentService(OWLReasoner reasoner) {
+		this(reasoner, new ArrayList<OWLReasoner>(0));
+	}
+
+
+
+	public <T> T query(ReasonerQuery<T> query) throws Exception {
+		OWLReasoner reasoner = pool.take();
+		try {
+			return query.answer(reasoner);
+		} finally {
+			pool.add(reasoner);
+		}
+	}
+
+
+
+	public boolean isEntailed(final OWLAxiom axiom) throws Exception {
+		return query(new ReasonerQuery<Boolean>() {
+			@Override
+			public Boolean answer(OWLReasoner reasoner) {
+				return reasoner.isEntailed(axiom);
+			}
+		});
+	}
+
+
+
+	public boolean isEntailmentCheckingSupported(final AxiomType<?> type) throws Exception {
+		return query(new ReasonerQuery<Boolean>() {
+			@Override
+			public Boolean answer(OWLReasoner reasoner) {
+				return reasoner.isEntailmentCheckingSupported(type);
+			}
+		});
+	}
+
+
+
+	public int getPoolSize() {
+		return replicas.size() + 1;
+	}
+
+
+
+	public void dispose() {
+		pool.removeAll(replicas);
+		for (OWLReasoner replica : replicas) {
+			replica.dispose();
+		}
+		replicas.clear();
+	}
+
+}
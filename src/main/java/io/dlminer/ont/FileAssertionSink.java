@@ -0,0 +1,41 @@
+package io.dlminer.ont;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * The sink writes assertions to a file, one axiom per line
+ * in the functional-style syntax with full IRIs.
+ */
+public class FileAssertionSink implements AssertionSink {
+
+	private Writer writer;
+
+	public FileAssertionSink(File file) throws IOException {
+		writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(file), StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void accept(List<OWLAxiom> batch) throws IOException {
+		for (OWLAxiom axiom : batch) {
+			writer.write(axiom.toString());
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+}
@@ -5,13 +5,18 @@ import io.dlminer.main.DLMinerOutputI;
 import io.dlminer.print.Out;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import io.dlminer.learn.MemoryGovernor;
 import io.dlminer.refine.ALCOperator;
+import io.dlminer.telemetry.Counter;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
@@ -33,10 +38,17 @@ public class InstanceChecker {
 	private Map<Expansion, Set<OWLNamedIndividual>> expansionClusterMap;
     private Map<OWLNamedIndividual, Expansion> individualClusterMap;
 
+    // whether instances of nodes are cached to check their refinements
+    private boolean useCaching = true;
+
 	private OWLDataFactory factory;
 	private OntologyHandler handler;
 	private OWLReasoner reasoner;
 
+	// telemetry
+	private Counter cacheHits = Telemetry.counter(MetricNames.INSTANCE_CACHE_HITS);
+	private Counter cacheMisses = Telemetry.counter(MetricNames.INSTANCE_CACHE_MISSES);
+
 		
 	public InstanceChecker(ALCOperator operator, OntologyHandler handler) {
 		classInstanceMap = operator.getClassInstanceMap();
@@ -54,7 +66,7 @@ public class InstanceChecker {
 
 
     private void initPropMaps() {
-        Set<OWLObjectPropertyAssertionAxiom> propAxioms = handler.getObjectPropertyAssertions();
+        Set<OWLObjectPropertyAssertionAxiom> propAxioms = handler.getIndex().getPropertyAssertions();
         propInstanceMap = new HashMap<>();
         // fill individuals maps
         for (OWLObjectPropertyAssertionAxiom ax : propAxioms) {
@@ -93,12 +105,13 @@ public class InstanceChecker {
         } catch (Exception e) {
             Out.p(e + DLMinerOutputI.CONCEPT_BUILDING_ERROR);
             instances = new HashSet<>(1);
-            nodeInstanceMap.put(node, instances);
         }
         if (instances == null) {
             instances = new HashSet<>(1);
         }
-        nodeInstanceMap.put(node, instances);
+        if (useCaching) {
+            nodeInstanceMap.put(node, instances);
+        }
         return instances;
     }
 
@@ -110,9 +123,14 @@ public class InstanceChecker {
 
 
 	public Set<OWLNamedIndividual> getInstances(ALCNode node, ALCNode general) {
+        if (!useCaching) {
+            return getInstancesFromClusters(node);
+        }
         if (nodeInstanceMap.containsKey(node)) {
+            cacheHits.inc();
             return nodeInstanceMap.get(node);
         }
+        cacheMisses.inc();
 	    if (node.isOWLThing()) {
 	        return getInstancesOfOWLThing();
         }
@@ -233,6 +251,84 @@ public class InstanceChecker {
 
 
 
+    // finds instances as counting does, without caching
+    private Set<OWLNamedIndividual> getInstancesFromClusters(ALCNode node) {
+        if (node.isOWLThing()) {
+            return handler.getIndividuals();
+        }
+        if (node.isAtomic()) {
+            return classInstanceMap.get(node.getConcept());
+        }
+        Set<OWLNamedIndividual> individuals = new HashSet<>(1);
+        for (Expansion expansion : expansionClusterMap.keySet()) {
+            if (isInstanceOf(expansion, node)) {
+                individuals.addAll(expansionClusterMap.get(expansion));
+            }
+        }
+        return individuals;
+    }
+
+
+
+    /**
+     * Switches caching of instances; without caching, instances
+     * of each node are found among all expansion clusters,
+     * which saves memory but is slower.
+     * @param useCaching whether instances are cached
+     */
+    public void setCaching(boolean useCaching) {
+        this.useCaching = useCaching;
+        if (!useCaching) {
+            nodeInstanceMap.clear();
+            nodeExpansionMap.clear();
+        }
+    }
+
+
+
+    /**
+     * Drops cached instances of all nodes except the given ones,
+     * which must include all nodes that will be refined.
+     * @param nodes the nodes to keep
+     * @return the number of dropped nodes
+     */
+    public int retainCaches(Collection<ALCNode> nodes) {
+        Set<ALCNode> retained = new HashSet<>(nodes);
+        retained.add(ALCNode.OWL_THING);
+        int size = nodeExpansionMap.size();
+        nodeInstanceMap.keySet().retainAll(retained);
+        nodeExpansionMap.keySet().retainAll(retained);
+        return size - nodeExpansionMap.size();
+    }
+
+
+
+    /**
+     * @return the estimated size of cached instances in bytes
+     */
+    public long estimateCacheBytes() {
+        long bytes = MemoryGovernor.estimateSets(nodeInstanceMap.values());
+        for (List<Expansion> expansions : nodeExpansionMap.values()) {
+            bytes += MemoryGovernor.SET_BYTES + expansions.size() * MemoryGovernor.REFERENCE_BYTES;
+        }
+        return bytes;
+    }
+
+
+
+    /**
+     * @return the estimated size of expansion clusters in bytes
+     */
+    public long estimateClusterBytes() {
+        if (expansionClusterMap == null) {
+            return 0;
+        }
+        return MemoryGovernor.estimateSets(expansionClusterMap.values())
+                + expansionClusterMap.size() * MemoryGovernor.NODE_BYTES;
+    }
+
+
+
     public int countInstances(ALCNode node) {
 	    return countInstances(node, Integer.MAX_VALUE);
     }
@@ -240,7 +336,7 @@ public class InstanceChecker {
 
     public int countInstances(ALCNode node, int maxInstanceNumber) {
 	    if (node.isOWLThing()) {
-	        return handler.getIndividuals().size();
+	        return handler.getIndex().getIndividualNumber();
         }
         if (node.isAtomic()) {
 	        return classInstanceMap.get(node.getConcept()).size();
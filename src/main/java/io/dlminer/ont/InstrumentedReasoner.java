@@ -0,0 +1,189 @@
+package io.dlminer.ont;
+
+import io.dlminer.telemetry.FlightEvents;
+import io.dlminer.telemetry.Histogram;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.MetricsRegistry;
+import io.dlminer.telemetry.Telemetry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.TimeOutException;
+
+/**
+ * The decorator of a reasoner which records the latency of every
+ * reasoner method, the calling phase (see {@link Telemetry#getPhase()})
+ * and the calling site, i.e. the first DL-Miner frame on the stack,
+ * as histograms of {@link Telemetry#getRegistry()}. Timeouts and other
+ * errors are counted per method. Methods which only return
+ * settings of the reasoner are not recorded.
+ * <p>
+ * The decorator is a dynamic proxy, so it covers all methods
+ * of {@link OWLReasoner}. Finding the calling site walks the stack,
+ * which is cheap compared to reasoning but not free.
+ * <p>
+ * Reasoners are also wrapped to emit JFR events of calls,
+ * see {@link FlightEvents}; then metrics are recorded only if profiling.
+ */
+public class InstrumentedReasoner implements InvocationHandler {
+
+	private static final String PACKAGE_PREFIX = "io.dlminer.";
+
+	// accessors of settings which do not reason
+	private static final String[] PLAIN_METHODS = {
+		"getReasonerName", "getReasonerVersion", "getBufferingMode",
+		"getRootOntology", "getPendingChanges", "getPendingAxiomAdditions",
+		"getPendingAxiomRemovals", "getPrecomputableInferenceTypes", "isPrecomputed",
+		"isEntailmentCheckingSupported", "getTimeOut", "getFreshEntityPolicy",
+		"getIndividualNodeSetPolicy", "interrupt", "dispose",
+		"equals", "hashCode", "toString"
+	};
+
+	private OWLReasoner delegate;
+	private MetricsRegistry registry;
+	private Map<Method, Histogram> methodHistograms;
+	private boolean isProfiling;
+
+
+
+	private InstrumentedReasoner(OWLReasoner delegate) {
+		this.delegate = delegate;
+		registry = Telemetry.getRegistry();
+		methodHistograms = new ConcurrentHashMap<>();
+		isProfiling = Telemetry.isReasonerProfiling();
+	}
+
+
+
+	/**
+	 * @param reasoner a reasoner
+	 * @return the reasoner recording its calls
+	 */
+	public static OWLReasoner wrap(OWLReasoner reasoner) {
+		return (OWLReasoner) Proxy.newProxyInstance(
+				OWLReasoner.class.getClassLoader(),
+				new Class<?>[] {OWLReasoner.class},
+				new InstrumentedReasoner(reasoner));
+	}
+
+
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (isPlain(method)) {
+			return call(method, args);
+		}
+		Object event = FlightEvents.beginReasonerCall();
+		boolean isTimeout = false;
+		long start = System.nanoTime();
+		try {
+			return call(method, args);
+		} catch (TimeOutException e) {
+			isTimeout = true;
+			if (isProfiling) {
+				registry.counter(MetricNames.REASONER_TIMEOUTS_PREFIX + method.getName()).inc();
+			}
+			throw e;
+		} catch (Throwable e) {
+			if (isProfiling) {
+				registry.counter(MetricNames.REASONER_ERRORS_PREFIX + method.getName()).inc();
+			}
+			throw e;
+		} finally {
+			if (isProfiling) {
+				long time = System.nanoTime() - start;
+				getHistogram(method).record(time);
+				registry.histogram(MetricNames.REASONER_PHASE_PREFIX + Telemetry.getPhase()).record(time);
+				registry.histogram(MetricNames.REASONER_SITE_PREFIX + findCallSite()).record(time);
+			}
+			FlightEvents.endReasonerCall(event, method.getName(), Telemetry.getPhase(), isTimeout);
+		}
+	}
+
+
+
+	private Object call(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(delegate, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+
+
+	private static boolean isPlain(Method method) {
+		for (String name : PLAIN_METHODS) {
+			if (name.equals(method.getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+
+	private Histogram getHistogram(Method method) {
+		Histogram histogram = methodHistograms.get(method);
+		if (histogram == null) {
+			histogram = registry.histogram(MetricNames.REASONER_CALL_PREFIX + method.getName());
+			methodHistograms.put(method, histogram);
+		}
+		return histogram;
+	}
+
+
+
+	private static String findCallSite() {
+		for (StackTraceElement frame : new Throwable().getStackTrace()) {
+			String className = frame.getClassName();
+			if (className.startsWith(PACKAGE_PREFIX)
+					&& !className.equals(InstrumentedReasoner.class.getName())) {
+				return className.substring(PACKAGE_PREFIX.length()) + "."
+						+ frame.getMethodName() + ":" + frame.getLineNumber();
+			}
+		}
+		return "unknown";
+	}
+
+
+
+	/**
+	 * @param registry the registry of recorded calls
+	 * @param number the number of call sites
+	 * @return the report of call sites with the largest cumulative reasoner time
+	 */
+	public static String getReport(MetricsRegistry registry, int number) {
+		List<Map.Entry<String, Histogram>> sites = new ArrayList<>();
+		for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+			if (entry.getKey().startsWith(MetricNames.REASONER_SITE_PREFIX)) {
+				sites.add(entry);
+			}
+		}
+		Collections.sort(sites, new Comparator<Map.Entry<String, Histogram>>() {
+			@Override
+			public int compare(Map.Entry<String, Histogram> e1, Map.Entry<String, Histogram> e2) {
+				return Long.compare(e2.getValue().getSum(), e1.getValue().getSum());
+			}
+		});
+		StringBuilder report = new StringBuilder("Top reasoner call sites by cumulative time:");
+		for (int i = 0; i < sites.size() && i < number; i++) {
+			Histogram h = sites.get(i).getValue();
+			String site = sites.get(i).getKey().substring(MetricNames.REASONER_SITE_PREFIX.length());
+			report.append("\n\t").append(String.format("%10.1f ms %8d calls  %s",
+					h.getSum() / 1e6, h.getCount(), site));
+		}
+		return report.toString();
+	}
+
+}
@@ -0,0 +1,51 @@
+package io.dlminer.ont;
+
+import java.io.File;
+
+/**
+ * The configuration of the streaming ABox materialisation.
+ */
+public class MaterialisationConfig {
+
+	public static final int DEF_BATCH_SIZE = 10000;
+
+	public static final int DEF_MIN_BATCH_SIZE = 100;
+
+	public static final int DEF_PROGRESS_STEP = 100000;
+
+
+	/**
+	 * The number of inferred assertions that are buffered
+	 * before being flushed to the sink
+	 */
+	public int batchSize = DEF_BATCH_SIZE;
+
+
+	/**
+	 * The smallest batch size the materialisation shrinks to
+	 * when the memory ceiling is exceeded
+	 */
+	public int minBatchSize = DEF_MIN_BATCH_SIZE;
+
+
+	/**
+	 * The amount of used heap (in bytes) above which batches
+	 * are halved and flushed eagerly, null means no ceiling
+	 */
+	public Long memoryCeiling;
+
+
+	/**
+	 * The number of produced assertions between progress reports
+	 */
+	public int progressStep = DEF_PROGRESS_STEP;
+
+
+	/**
+	 * The file to which inferred assertions are written
+	 * (one axiom per line) instead of the ontology, null means the ontology
+	 */
+	public File outputFile;
+
+
+}
@@ -4,6 +4,7 @@ import io.dlminer.graph.Graph;
 import io.dlminer.learn.ConceptBuilder;
 import io.dlminer.learn.Hypothesis;
 import io.dlminer.learn.HypothesisEvaluator;
+import io.dlminer.main.DLMinerOutputI;
 import io.dlminer.print.Out;
 import io.dlminer.refine.ALCOperator;
 import io.dlminer.refine.RefinementOperator;
@@ -61,6 +62,8 @@ public class OntologyHandler {
 	private OWLOntologyManager manager;
 	private OWLDataFactory factory;
 	private AxiomVisitor visitor;
+	private MaterialisationConfig materialisationConfig = new MaterialisationConfig();
+	private volatile OntologyIndex index;
 	
 	
 	public OntologyHandler(OWLOntology ontology) {
@@ -234,11 +237,19 @@ public class OntologyHandler {
 	}
 
 	public void removeAxiom(OWLAxiom ax) {
-		manager.removeAxiom(ontology, ax);		
+		boolean contained = ontology.containsAxiom(ax);
+		manager.removeAxiom(ontology, ax);
+		if (contained && index != null) {
+			index.remove(ax, ontology);
+		}
 	}
 
 	public void addAxiom(OWLAxiom ax) {
+		boolean contained = ontology.containsAxiom(ax);
 		manager.addAxiom(ontology, ax);
+		if (!contained && index != null) {
+			index.add(ax);
+		}
 	}
 	
 	public void addAxioms(Collection<? extends OWLAxiom> axioms) {		
@@ -250,7 +261,20 @@ public class OntologyHandler {
 	}
 	
 	public void addAxioms(Set<? extends OWLAxiom> axioms) {
-		manager.addAxioms(ontology, axioms);
+		if (index == null) {
+			manager.addAxioms(ontology, axioms);
+			return;
+		}
+		Set<OWLAxiom> added = new HashSet<>();
+		for (OWLAxiom ax : axioms) {
+			if (!ontology.containsAxiom(ax)) {
+				added.add(ax);
+			}
+		}
+		manager.addAxioms(ontology, added);
+		for (OWLAxiom ax : added) {
+			index.add(ax);
+		}
 	}
 	
 
@@ -265,7 +289,20 @@ public class OntologyHandler {
 	}	
 	
 	public void removeAxioms(Set<? extends OWLAxiom> axioms) {
-		manager.removeAxioms(ontology, axioms);
+		if (index == null) {
+			manager.removeAxioms(ontology, axioms);
+			return;
+		}
+		Set<OWLAxiom> removed = new HashSet<>();
+		for (OWLAxiom ax : axioms) {
+			if (ontology.containsAxiom(ax)) {
+				removed.add(ax);
+			}
+		}
+		manager.removeAxioms(ontology, removed);
+		for (OWLAxiom ax : removed) {
+			index.remove(ax, ontology);
+		}
 	}
 	
 	
@@ -365,8 +402,21 @@ public class OntologyHandler {
 	
 	
 	
+	/**
+	 * @return the index of the ontology, it is built on the first call
+	 * and then updated by every change made through this handler
+	 */
+	public synchronized OntologyIndex getIndex() {
+		if (index == null) {
+			index = OntologyIndex.build(ontology);
+		}
+		return index;
+	}
+	
+	
+	
 	public Set<OWLNamedIndividual> getIndividuals() {
-		return ontology.getIndividualsInSignature();
+		return new HashSet<>(getIndex().getIndividuals());
 	}
 	
 	public static Set<OWLNamedIndividual> getIndividuals(Set<OWLAxiom> axioms) {
@@ -508,15 +558,12 @@ public class OntologyHandler {
 		
 	
 	public Set<OWLClassAssertionAxiom> getClassAssertions() {
-		if (!hasAxiomVisitor()) {
-			initAxiomVisitor();
-		}
-		return visitor.ClassAssertionAxioms;
+		return new HashSet<>(getIndex().getClassAssertions());
 	}
 	
 	
 	public Set<OWLClassAssertionAxiom> getClassAssertions(Set<OWLEntity> sig) {
-		Set<OWLClassAssertionAxiom> cas = getClassAssertions();
+		Set<OWLClassAssertionAxiom> cas = getIndex().getClassAssertions();
 		Set<OWLClassAssertionAxiom> scas = new HashSet<>();
 		for (OWLClassAssertionAxiom ax : cas) {
 			if (sig.containsAll(ax.getClassesInSignature())) {
@@ -528,14 +575,11 @@ public class OntologyHandler {
 	
 	
 	public Set<OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertions() {
-		if (!hasAxiomVisitor()) {
-			initAxiomVisitor();
-		}
-		return visitor.ObjectPropertyAssertionAxioms;
+		return new HashSet<>(getIndex().getPropertyAssertions());
 	}
 	
 	public Set<OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertions(Set<OWLEntity> sig) {
-		Set<OWLObjectPropertyAssertionAxiom> ras = getObjectPropertyAssertions();
+		Set<OWLObjectPropertyAssertionAxiom> ras = getIndex().getPropertyAssertions();
 		Set<OWLObjectPropertyAssertionAxiom> sras = new HashSet<>();
 		for (OWLObjectPropertyAssertionAxiom ax : ras) {
 			if (sig.containsAll(ax.getObjectPropertiesInSignature())) {
@@ -551,13 +595,9 @@ public class OntologyHandler {
 	
 	
 	private Set<OWLClassAssertionAxiom> getClassAssertionsOfInd(OWLNamedIndividual ind) {
-		if (!hasAxiomVisitor()) {
-			initAxiomVisitor();
-		}
 		Set<OWLClassAssertionAxiom> cas = new HashSet<>();
-		for (OWLClassAssertionAxiom ax : visitor.ClassAssertionAxioms) {
-			if (ax.getIndividualsInSignature().contains(ind)
-					&& !isTautology(ax)) {
+		for (OWLClassAssertionAxiom ax : getIndex().getClassAssertions(ind)) {
+			if (!isTautology(ax)) {
 				cas.add(ax);
 			}
 		}		
@@ -567,11 +607,8 @@ public class OntologyHandler {
 	
 	
 	public Set<OWLClassAssertionAxiom> getClassAssertionsOfInds(Set<OWLNamedIndividual> con) {
-		if (!hasAxiomVisitor()) {
-			initAxiomVisitor();
-		}
 		Set<OWLClassAssertionAxiom> cas = new HashSet<>();
-		for (OWLClassAssertionAxiom ax : visitor.ClassAssertionAxioms) {
+		for (OWLClassAssertionAxiom ax : getIndex().getClassAssertions()) {
 			if (con.containsAll(ax.getIndividualsInSignature())
 					&& !isTautology(ax)) {
 				cas.add(ax);
@@ -596,11 +633,8 @@ public class OntologyHandler {
 	}
 	
 	public Set<OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertionsOfInds(Set<OWLNamedIndividual> con) {
-		if (!hasAxiomVisitor()) {
-			initAxiomVisitor();
-		}
 		Set<OWLObjectPropertyAssertionAxiom> ras = new HashSet<>();
-		for (OWLObjectPropertyAssertionAxiom ax : visitor.ObjectPropertyAssertionAxioms) {
+		for (OWLObjectPropertyAssertionAxiom ax : getIndex().getPropertyAssertions()) {
 			if (con.containsAll(ax.getIndividualsInSignature())) {
 				ras.add(ax);
 			}
@@ -682,7 +716,7 @@ public class OntologyHandler {
 	
 	
 	public Set<Set<OWLNamedIndividual>> getConnectedIndividuals(Set<OWLNamedIndividual> inds) {
-		return getConnectedIndividuals(inds, getObjectPropertyAssertions());
+		return getConnectedIndividuals(inds, getIndex().getPropertyAssertions());
 	}
 	
 	
@@ -785,28 +819,14 @@ public class OntologyHandler {
 	public void removeUnsatClasses(OWLReasoner reasoner) {
 		Set<OWLClass> unsats = reasoner.getUnsatisfiableClasses().getEntitiesMinusBottom();
 		Set<OWLAxiom> removes = new HashSet<>();
-		for (OWLAxiom axiom : ontology.getLogicalAxioms()) {			
-			for (OWLClass cl : axiom.getClassesInSignature()) {
-				if (unsats.contains(cl)) {
-					removes.add(axiom);
-					break;
-				}
-			}
-		}
+		removes.addAll(getIndex().getLogicalAxioms(unsats));
 		removeAxioms(removes);
 	}
 	
 	public void removeTautologies(OWLReasoner reasoner) {
 		Set<OWLClass> tauts = reasoner.getTopClassNode().getEntitiesMinusTop();
 		Set<OWLAxiom> removes = new HashSet<>();
-		for (OWLAxiom axiom : ontology.getLogicalAxioms()) {			
-			for (OWLClass cl : axiom.getClassesInSignature()) {
-				if (tauts.contains(cl)) {
-					removes.add(axiom);
-					break;
-				}
-			}
-		}
+		removes.addAll(getIndex().getLogicalAxioms(tauts));
 		removeAxioms(removes);
 	}
 	
@@ -1141,71 +1161,29 @@ public class OntologyHandler {
 	
 	public Map<OWLNamedIndividual, Set<OWLClassAssertionAxiom>> 
 		createIndClassAssertionMap() {
-		Set<OWLAxiom> axioms = getABoxAxioms();
-		Map<OWLNamedIndividual, Set<OWLClassAssertionAxiom>> indCAssMap = new HashMap<>();
-		for (OWLAxiom axiom : axioms) {			
-			if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
-				OWLClassAssertionAxiom fact = (OWLClassAssertionAxiom) axiom;
-				OWLIndividual anonym = fact.getIndividual();
-				if (anonym.isNamed()) {
-					OWLNamedIndividual ind = anonym.asOWLNamedIndividual();
-					Set<OWLClassAssertionAxiom> facts = indCAssMap.get(ind);
-					if (facts == null) {
-						facts = new HashSet<>();
-						indCAssMap.put(ind, facts);
-					}
-					facts.add(fact);
-				}
-			}
-		}
-		return indCAssMap;
+		return copy(getIndex().getIndClassAssertionMap());
 	}
 
 	public Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> 
 		createIndPropertyAssertionMap() {	
-		Set<OWLAxiom> axioms = getABoxAxioms();
-		Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> indRAssMap = new HashMap<>();
-		for (OWLAxiom axiom : axioms) {			
-			if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
-				OWLObjectPropertyAssertionAxiom fact = (OWLObjectPropertyAssertionAxiom) axiom;
-				OWLIndividual subj = fact.getSubject();
-				OWLIndividual obj = fact.getObject();
-				if (subj.isNamed() && obj.isNamed()) {
-					OWLNamedIndividual ind = subj.asOWLNamedIndividual();
-					Set<OWLObjectPropertyAssertionAxiom> facts = indRAssMap.get(ind);
-					if (facts == null) {
-						facts = new HashSet<>();
-						indRAssMap.put(ind, facts);
-					}
-					facts.add(fact);
-				}				
-			}
-		}
-		return indRAssMap;
+		return copy(getIndex().getIndPropertyAssertionMap());
 	}
 	
 	
 	
 	public Map<OWLNamedIndividual, Set<OWLDataPropertyAssertionAxiom>>
 		createIndDataPropertyAssertionMap() {
-		Set<OWLAxiom> axioms = getABoxAxioms();
-		Map<OWLNamedIndividual, Set<OWLDataPropertyAssertionAxiom>> indDAssMap = new HashMap<>();
-		for (OWLAxiom axiom : axioms) {			
-			if (axiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION)) {
-				OWLDataPropertyAssertionAxiom fact = (OWLDataPropertyAssertionAxiom) axiom;
-				OWLIndividual subj = fact.getSubject();
-				if (subj.isNamed()) {
-					OWLNamedIndividual ind = subj.asOWLNamedIndividual();
-					Set<OWLDataPropertyAssertionAxiom> facts = indDAssMap.get(ind);
-					if (facts == null) {
-						facts = new HashSet<>();
-						indDAssMap.put(ind, facts);
-					}
-					facts.add(fact);
-				}				
-			}
+		return copy(getIndex().getIndDataPropertyAssertionMap());
+	}
+	
+	
+	
+	private static <K, V> Map<K, Set<V>> copy(Map<K, Set<V>> map) {
+		Map<K, Set<V>> copy = new HashMap<>();
+		for (Map.Entry<K, Set<V>> entry : map.entrySet()) {
+			copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
 		}
-		return indDAssMap;
+		return copy;
 	}
 	
 	
@@ -1710,299 +1688,70 @@ public class OntologyHandler {
 
 	
 	
-	// potentially memory costly!
-	public void materialiseOptimised(
-			OWLReasoner reasoner, Map<OWLClass, Set<OWLClass>> disjClassMap) {		
-		Set<OWLAxiom> assertions = new HashSet<>();
-		// create individual-fact maps
-		Map<OWLNamedIndividual, Set<OWLClassAssertionAxiom>> indCAssMap = 
-				createIndClassAssertionMap();
-		Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> indRAssMap = 
-				createIndPropertyAssertionMap();
-		Map<OWLNamedIndividual, Set<OWLDataPropertyAssertionAxiom>> indDAssMap = 
-				createIndDataPropertyAssertionMap();
-		// create nodes
-		Set<OWLNamedIndividual> inds = getIndividuals();
-		for (OWLNamedIndividual ind : inds) {
-			Set<OWLClassAssertionAxiom> cfacts = indCAssMap.get(ind);
-			Set<OWLClassExpression> label = null;
-			if (cfacts != null) {
-				label = getExpressionsFromAssertions(cfacts);
-				// add super classes
-				label = addSuperClasses(label, reasoner);			
-				// create assertions
-				for (OWLClassExpression cl : label) {
-					OWLClassAssertionAxiom cfactnew = 
-							factory.getOWLClassAssertionAxiom(cl, ind);
-					if (!cfacts.contains(cfactnew)) {
-						assertions.add(cfactnew);
-					}
-				}
-				// get disjoint classes
-				if (disjClassMap != null && !disjClassMap.isEmpty()) {
-					Set<OWLClass> disjCls = getDisjointClasses(label, disjClassMap);
-					// create assertions
-					for (OWLClass cl : disjCls) {
-						OWLClassExpression negCl = factory.getOWLObjectComplementOf(cl);
-						OWLClassAssertionAxiom cfactnew = 
-								factory.getOWLClassAssertionAxiom(negCl, ind);
-						if (!cfacts.contains(cfactnew)) {
-							assertions.add(cfactnew);
-						}
-					}
-				}
-				
-			}			
-		}
-		// create relations
-		for (OWLNamedIndividual subj : indRAssMap.keySet()) {
-			Set<OWLObjectPropertyAssertionAxiom> rfacts = indRAssMap.get(subj);			
-			for (OWLObjectPropertyAssertionAxiom rfact : rfacts) {
-				OWLIndividual anonymObj = rfact.getObject();
-				if (anonymObj.isNamed()) {
-					OWLNamedIndividual obj = anonymObj.asOWLNamedIndividual();
-					// add super properties
-					Set<OWLObjectPropertyExpression> superProps = 
-							addSuperProperties(rfact.getProperty(), reasoner);
-					// create assertions
-					for (OWLObjectPropertyExpression prop : superProps) {						
-						OWLObjectPropertyAssertionAxiom rfactnew = 
-								factory.getOWLObjectPropertyAssertionAxiom(prop, subj, obj);
-						if (!rfacts.contains(rfactnew)) {
-							assertions.add(rfactnew);
-						}
-					}
-					// add inverse properties
-					Set<OWLObjectPropertyExpression> inverseProps = 
-							addInverseProperties(rfact.getProperty(), reasoner);
-					for (OWLObjectPropertyExpression prop : inverseProps) {						
-						OWLObjectPropertyAssertionAxiom rfactnew = 
-								factory.getOWLObjectPropertyAssertionAxiom(prop, obj, subj);
-						if (!rfacts.contains(rfactnew)) {
-							assertions.add(rfactnew);
-						}
-					}
-					// add domains for the subject
-					Set<OWLClass> domains = getPropertyDomains(
-							rfact.getProperty(), reasoner);
-					// create assertions
-					for (OWLClass cl : domains) {
-						if (cl.isOWLThing()) {
-							continue;
-						}
-						OWLClassAssertionAxiom cfactnew = 
-								factory.getOWLClassAssertionAxiom(cl, subj);
-						Set<OWLClassAssertionAxiom> cfacts = indCAssMap.get(subj);
-						if (cfacts == null || !cfacts.contains(cfactnew)) {
-							assertions.add(cfactnew);
-						}
-					}
-					// add ranges for the object
-					Set<OWLClass> ranges = getPropertyRanges(
-							rfact.getProperty(), reasoner);
-					// create assertions
-					for (OWLClass cl : ranges) {
-						if (cl.isOWLThing()) {
-							continue;
-						}
-						OWLClassAssertionAxiom cfactnew = 
-								factory.getOWLClassAssertionAxiom(cl, obj);
-						Set<OWLClassAssertionAxiom> cfacts = indCAssMap.get(obj);
-						if (cfacts == null || !cfacts.contains(cfactnew)) {
-							assertions.add(cfactnew);
-						}
-					}
-				}
-			}
-		}
-		// add data property domains
-		for (OWLNamedIndividual subj : indDAssMap.keySet()) {
-			Set<OWLDataPropertyAssertionAxiom> rfacts = indDAssMap.get(subj);			
-			for (OWLDataPropertyAssertionAxiom rfact : rfacts) {				
-				// add domains for the subject
-				OWLDataPropertyExpression propExpr = rfact.getProperty();
-				if (propExpr.isAnonymous()) {
-					continue;
-				}
-				OWLDataProperty prop = propExpr.asOWLDataProperty();
-				Set<OWLClass> domains = getDataPropertyDomains(
-						prop, reasoner);
-				// create assertions
-				for (OWLClass cl : domains) {
-					if (cl.isOWLThing()) {
-						continue;
-					}
-					OWLClassAssertionAxiom cfactnew = 
-							factory.getOWLClassAssertionAxiom(cl, subj);
-					Set<OWLClassAssertionAxiom> cfacts = indCAssMap.get(subj);
-					if (cfacts == null || !cfacts.contains(cfactnew)) {
-						assertions.add(cfactnew);
-					}
-				}
-			}
-		}		
-		Out.p("ABox axioms = " + getOntologySize());
-		addAxioms(assertions);
-		Out.p("ABox axioms after materialisation = " + getOntologySize());
-	}
-	
-	
-		
-	public void materialise(ALCOperator operator) {		
-		Set<OWLAxiom> assertions = new HashSet<>();				
-		// create atomic class assertions
-		Map<OWLClassExpression, Set<OWLNamedIndividual>> clInstMap = operator.getClassInstanceMap();	
-		for (OWLClassExpression cl : clInstMap.keySet()) {
-			Set<OWLNamedIndividual> insts = clInstMap.get(cl);
-			if (insts == null) {
-				continue;
-			}			
-			for (OWLNamedIndividual inst : insts) {				
-				OWLClassAssertionAxiom cfact = factory.getOWLClassAssertionAxiom(cl, inst);
-				assertions.add(cfact);
-			}
-		}		
-		// create property assertions
-		Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> indRAssMap = 
-				createIndPropertyAssertionMap();		
-		for (OWLNamedIndividual subj : indRAssMap.keySet()) {
-			Set<OWLObjectPropertyAssertionAxiom> rfacts = indRAssMap.get(subj);			
-			for (OWLObjectPropertyAssertionAxiom rfact : rfacts) {
-				OWLIndividual anonymObj = rfact.getObject();
-				if (anonymObj.isNamed()) {
-					OWLNamedIndividual obj = anonymObj.asOWLNamedIndividual();
-					// add super properties
-					Set<OWLObjectPropertyExpression> superProps = 
-							addSuperProperties(rfact.getProperty(), operator);
-					// create assertions
-					for (OWLObjectPropertyExpression prop : superProps) {						
-						OWLObjectPropertyAssertionAxiom rfactnew = 
-								factory.getOWLObjectPropertyAssertionAxiom(prop, subj, obj);
-						if (!rfacts.contains(rfactnew)) {
-							assertions.add(rfactnew);
-						}
-					}
-					// add inverse properties
-					Set<OWLObjectPropertyExpression> inverseProps = 
-							operator.getInverseObjectProperties(rfact.getProperty());
-					if (inverseProps != null) {
-						for (OWLObjectPropertyExpression prop : inverseProps) {						
-							OWLObjectPropertyAssertionAxiom rfactnew = 
-									factory.getOWLObjectPropertyAssertionAxiom(prop, obj, subj);
-							if (!rfacts.contains(rfactnew)) {
-								assertions.add(rfactnew);
-							}
-						}
-					}
-				}
-			}
-		}
-		// create data property assertions?
-		Out.p("ABox axioms = " + getOntologySize());
-		addAxioms(assertions);
-		Out.p("ABox axioms after materialisation = " + getOntologySize());
+	public MaterialisationConfig getMaterialisationConfig() {
+		return materialisationConfig;
 	}
 
+	public void setMaterialisationConfig(MaterialisationConfig materialisationConfig) {
+		this.materialisationConfig = materialisationConfig;
+	}
 
 
 
-    private Set<OWLClass> getDisjointClasses(Set<OWLClassExpression> cls, 
-			Map<OWLClass, Set<OWLClass>> disjClassMap) {
-		Set<OWLClass> disjCls = new HashSet<>();
-		for (OWLClassExpression cl : cls) {
-			disjCls.addAll(disjClassMap.get(cl));
-		}		
-		disjCls.remove(factory.getOWLThing());
-		disjCls.remove(factory.getOWLNothing());
-		return disjCls;
+	private AssertionSink createAssertionSink() throws Exception {
+		if (materialisationConfig.outputFile != null) {
+			return new FileAssertionSink(materialisationConfig.outputFile);
+		}
+		return new AssertionSink() {
+			@Override
+			public void accept(List<OWLAxiom> batch) {
+				addAxioms(new HashSet<>(batch));
+			}
+			@Override
+			public void close() {}
+		};
 	}
-	
-	
 
-	private Set<OWLClassExpression> addSuperClasses(Set<OWLClassExpression> cls, 
-			OWLReasoner reasoner) {
-		Set<OWLClassExpression> extCls = new HashSet<>();
-		for (OWLClassExpression cl : cls) {
-			extCls.addAll(reasoner.getEquivalentClasses(cl).getEntities());
-			extCls.addAll(reasoner.getSuperClasses(cl, false).getFlattened());
+
+
+	/**
+	 * @throws IllegalStateException if materialisation fails, the ontology
+	 * may then contain some of the materialised assertions
+	 */
+	public void materialiseOptimised(
+			OWLReasoner reasoner, Map<OWLClass, Set<OWLClass>> disjClassMap) {
+		Out.p("ABox axioms = " + getOntologySize());
+		try (AssertionSink sink = createAssertionSink()) {
+			StreamingMaterialiser materialiser = new StreamingMaterialiser(
+					this, materialisationConfig, sink);
+			materialiser.materialise(reasoner, disjClassMap);
+		} catch (Exception e) {
+			throw new IllegalStateException(DLMinerOutputI.MATERIALISATION_ERROR, e);
 		}
-		extCls.remove(factory.getOWLThing());
-		extCls.remove(factory.getOWLNothing());
-		return extCls;
+		Out.p("ABox axioms after materialisation = " + getOntologySize());
 	}
 	
 	
-	
-	
-	private Set<OWLObjectPropertyExpression> addSuperProperties(
-			OWLObjectPropertyExpression property, ALCOperator operator) {
-		Set<OWLObjectPropertyExpression> extProps = new HashSet<>();
-		Set<OWLObjectPropertyExpression> eqProps = operator.getEquivalentObjectProperties(property);
-		if (eqProps != null) {
-			extProps.addAll(eqProps);
-		}
-		Set<OWLObjectPropertyExpression> superProps = operator.getSuperObjectProperties(property);
-		if (superProps != null) {
-			extProps.addAll(superProps);
+		
+	/**
+	 * @throws IllegalStateException if materialisation fails, the ontology
+	 * may then contain some of the materialised assertions
+	 */
+	public void materialise(ALCOperator operator) {
+		Out.p("ABox axioms = " + getOntologySize());
+		try (AssertionSink sink = createAssertionSink()) {
+			StreamingMaterialiser materialiser = new StreamingMaterialiser(
+					this, materialisationConfig, sink);
+			materialiser.materialise(operator);
+		} catch (Exception e) {
+			throw new IllegalStateException(DLMinerOutputI.MATERIALISATION_ERROR, e);
 		}
-		return extProps;
-	}
-	
-	
-	
-	private Set<OWLObjectPropertyExpression> addSuperProperties(
-			OWLObjectPropertyExpression property, OWLReasoner reasoner) {
-		Set<OWLObjectPropertyExpression> extProps = new HashSet<>();
-		extProps.addAll(reasoner.getEquivalentObjectProperties(property).getEntities());
-		extProps.addAll(reasoner.getSuperObjectProperties(property, false).getFlattened());
-		extProps.remove(factory.getOWLTopObjectProperty());
-		extProps.remove(factory.getOWLBottomObjectProperty());
-		return extProps;
+		Out.p("ABox axioms after materialisation = " + getOntologySize());
 	}
 
 
-    private Set<OWLDataProperty> addSuperProperties(
-            OWLDataProperty property, OWLReasoner reasoner) {
-        Set<OWLDataProperty> extProps = new HashSet<>();
-        extProps.addAll(reasoner.getEquivalentDataProperties(property).getEntities());
-        extProps.addAll(reasoner.getSuperDataProperties(property, false).getFlattened());
-        extProps.remove(factory.getOWLTopDataProperty());
-        extProps.remove(factory.getOWLBottomDataProperty());
-        return extProps;
-    }
-	
-	
-	private Set<OWLObjectPropertyExpression> addInverseProperties(
-			OWLObjectPropertyExpression property, OWLReasoner reasoner) {
-		Set<OWLObjectPropertyExpression> extProps = new HashSet<>();
-		extProps.addAll(reasoner.getInverseObjectProperties(property).getEntities());		
-		extProps.remove(factory.getOWLTopObjectProperty());
-		extProps.remove(factory.getOWLBottomObjectProperty());
-		return extProps;
-	}
-	
-	
-		
-	private Set<OWLClass> getDataPropertyDomains(
-			OWLDataProperty property, OWLReasoner reasoner) {
-		return reasoner.getDataPropertyDomains(property, false).getFlattened();
-	}
-	
-	
-	
-	private Set<OWLClass> getPropertyDomains(
-			OWLObjectPropertyExpression property, OWLReasoner reasoner) {
-		return reasoner.getObjectPropertyDomains(property, false).getFlattened();
-	}
-	
-	
-	private Set<OWLClass> getPropertyRanges(
-			OWLObjectPropertyExpression property, OWLReasoner reasoner) {
-		return reasoner.getObjectPropertyRanges(property, false).getFlattened();
-	}
 
-	
-	
+
 	public void removePropertyDomains() {
 		Set<OWLAxiom> domainAxioms = new HashSet<>();
 		for (OWLAxiom ax : getTBoxAxioms()) {
@@ -0,0 +1,277 @@
+package io.dlminer.ont;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLogicalAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * The class is an indexed view of an ontology.
+ * It is built by a single pass over the logical axioms and kept
+ * up to date by the owning handler on every change, so components
+ * holding it never read stale ABox or TBox views.
+ * <p>
+ * The index is safe for concurrent reads: changes are serialised and
+ * all collections are concurrent, so returned views never throw
+ * ConcurrentModificationException. A view read during a change
+ * reflects the change for some maps and not yet for others.
+ */
+public class OntologyIndex {
+
+	private final Set<OWLNamedIndividual> individuals;
+
+	// per individual
+	private final Map<OWLNamedIndividual, Set<OWLClassAssertionAxiom>> indClassAssertionMap;
+	private final Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> indPropertyAssertionMap;
+	private final Map<OWLNamedIndividual, Set<OWLDataPropertyAssertionAxiom>> indDataPropertyAssertionMap;
+
+	// per class and property
+	private final Map<OWLClassExpression, Set<OWLNamedIndividual>> classInstanceMap;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> propertyAssertionMap;
+	private final Set<OWLClassAssertionAxiom> classAssertions;
+	private final Set<OWLObjectPropertyAssertionAxiom> propertyAssertions;
+
+	// per entity in the signature (individuals excluded)
+	private final Map<OWLEntity, Set<OWLLogicalAxiom>> entityAxiomMap;
+
+
+
+	private OntologyIndex(OWLOntology ontology) {
+		individuals = newSet();
+		individuals.addAll(ontology.getIndividualsInSignature());
+		indClassAssertionMap = new ConcurrentHashMap<>();
+		indPropertyAssertionMap = new ConcurrentHashMap<>();
+		indDataPropertyAssertionMap = new ConcurrentHashMap<>();
+		classInstanceMap = new ConcurrentHashMap<>();
+		propertyAssertionMap = new ConcurrentHashMap<>();
+		classAssertions = newSet();
+		propertyAssertions = newSet();
+		entityAxiomMap = new ConcurrentHashMap<>();
+		for (OWLLogicalAxiom axiom : ontology.getLogicalAxioms()) {
+			index(axiom);
+		}
+	}
+
+
+
+	public static OntologyIndex build(OWLOntology ontology) {
+		return new OntologyIndex(ontology);
+	}
+
+
+
+	/**
+	 * @param axiom the axiom that has just been added to the ontology
+	 */
+	synchronized void add(OWLAxiom axiom) {
+		individuals.addAll(axiom.getIndividualsInSignature());
+		if (axiom.isLogicalAxiom()) {
+			index((OWLLogicalAxiom) axiom);
+		}
+	}
+
+
+
+	/**
+	 * @param axiom the axiom that has just been removed from the ontology
+	 * @param ontology the ontology after the removal
+	 */
+	synchronized void remove(OWLAxiom axiom, OWLOntology ontology) {
+		for (OWLNamedIndividual ind : axiom.getIndividualsInSignature()) {
+			if (!ontology.containsIndividualInSignature(ind.getIRI())) {
+				individuals.remove(ind);
+			}
+		}
+		if (!axiom.isLogicalAxiom()) {
+			return;
+		}
+		OWLLogicalAxiom logAxiom = (OWLLogicalAxiom) axiom;
+		for (OWLEntity entity : logAxiom.getSignature()) {
+			if (!entity.isOWLNamedIndividual()) {
+				remove(entityAxiomMap, entity, logAxiom);
+			}
+		}
+		if (logAxiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+			OWLClassAssertionAxiom fact = (OWLClassAssertionAxiom) logAxiom;
+			classAssertions.remove(fact);
+			if (fact.getIndividual().isNamed()) {
+				OWLNamedIndividual ind = fact.getIndividual().asOWLNamedIndividual();
+				remove(indClassAssertionMap, ind, fact);
+				// the same fact may still be asserted with other annotations
+				boolean asserted = false;
+				for (OWLClassAssertionAxiom other : get(indClassAssertionMap, ind)) {
+					if (other.getClassExpression().equals(fact.getClassExpression())) {
+						asserted = true;
+						break;
+					}
+				}
+				if (!asserted) {
+					remove(classInstanceMap, fact.getClassExpression(), ind);
+				}
+			}
+		} else if (logAxiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
+			OWLObjectPropertyAssertionAxiom fact = (OWLObjectPropertyAssertionAxiom) logAxiom;
+			propertyAssertions.remove(fact);
+			if (fact.getSubject().isNamed() && fact.getObject().isNamed()) {
+				remove(indPropertyAssertionMap, fact.getSubject().asOWLNamedIndividual(), fact);
+				remove(propertyAssertionMap, fact.getProperty(), fact);
+			}
+		} else if (logAxiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION)) {
+			OWLDataPropertyAssertionAxiom fact = (OWLDataPropertyAssertionAxiom) logAxiom;
+			if (fact.getSubject().isNamed()) {
+				remove(indDataPropertyAssertionMap, fact.getSubject().asOWLNamedIndividual(), fact);
+			}
+		}
+	}
+
+
+
+	private void index(OWLLogicalAxiom axiom) {
+		for (OWLEntity entity : axiom.getSignature()) {
+			if (!entity.isOWLNamedIndividual()) {
+				add(entityAxiomMap, entity, axiom);
+			}
+		}
+		if (!AxiomType.ABoxAxiomTypes.contains(axiom.getAxiomType())) {
+			return;
+		}
+		if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+			OWLClassAssertionAxiom fact = (OWLClassAssertionAxiom) axiom;
+			classAssertions.add(fact);
+			if (fact.getIndividual().isNamed()) {
+				OWLNamedIndividual ind = fact.getIndividual().asOWLNamedIndividual();
+				add(indClassAssertionMap, ind, fact);
+				add(classInstanceMap, fact.getClassExpression(), ind);
+			}
+		} else if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
+			OWLObjectPropertyAssertionAxiom fact = (OWLObjectPropertyAssertionAxiom) axiom;
+			propertyAssertions.add(fact);
+			if (fact.getSubject().isNamed() && fact.getObject().isNamed()) {
+				add(indPropertyAssertionMap, fact.getSubject().asOWLNamedIndividual(), fact);
+				add(propertyAssertionMap, fact.getProperty(), fact);
+			}
+		} else if (axiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION)) {
+			OWLDataPropertyAssertionAxiom fact = (OWLDataPropertyAssertionAxiom) axiom;
+			if (fact.getSubject().isNamed()) {
+				add(indDataPropertyAssertionMap, fact.getSubject().asOWLNamedIndividual(), fact);
+			}
+		}
+	}
+
+
+
+	private static <V> Set<V> newSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<V, Boolean>());
+	}
+
+
+
+	private static <K, V> void add(Map<K, Set<V>> map, K key, V value) {
+		Set<V> values = map.get(key);
+		if (values == null) {
+			values = newSet();
+			map.put(key, values);
+		}
+		values.add(value);
+	}
+
+
+
+	private static <K, V> void remove(Map<K, Set<V>> map, K key, V value) {
+		Set<V> values = map.get(key);
+		if (values == null) {
+			return;
+		}
+		values.remove(value);
+		if (values.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+
+
+	private static <K, V> Set<V> get(Map<K, Set<V>> map, K key) {
+		Set<V> values = map.get(key);
+		if (values == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(values);
+	}
+
+
+
+	public Set<OWLNamedIndividual> getIndividuals() {
+		return Collections.unmodifiableSet(individuals);
+	}
+
+	public int getIndividualNumber() {
+		return individuals.size();
+	}
+
+	public Map<OWLNamedIndividual, Set<OWLClassAssertionAxiom>> getIndClassAssertionMap() {
+		return Collections.unmodifiableMap(indClassAssertionMap);
+	}
+
+	public Map<OWLNamedIndividual, Set<OWLObjectPropertyAssertionAxiom>> getIndPropertyAssertionMap() {
+		return Collections.unmodifiableMap(indPropertyAssertionMap);
+	}
+
+	public Map<OWLNamedIndividual, Set<OWLDataPropertyAssertionAxiom>> getIndDataPropertyAssertionMap() {
+		return Collections.unmodifiableMap(indDataPropertyAssertionMap);
+	}
+
+	public Set<OWLClassAssertionAxiom> getClassAssertions(OWLNamedIndividual ind) {
+		return get(indClassAssertionMap, ind);
+	}
+
+	public Set<OWLObjectPropertyAssertionAxiom> getPropertyAssertions(OWLNamedIndividual ind) {
+		return get(indPropertyAssertionMap, ind);
+	}
+
+	public Map<OWLClassExpression, Set<OWLNamedIndividual>> getClassInstanceMap() {
+		return Collections.unmodifiableMap(classInstanceMap);
+	}
+
+	public Set<OWLNamedIndividual> getInstances(OWLClassExpression expr) {
+		return get(classInstanceMap, expr);
+	}
+
+	public Set<OWLObjectPropertyAssertionAxiom> getPropertyAssertions(OWLObjectPropertyExpression prop) {
+		return get(propertyAssertionMap, prop);
+	}
+
+	public Set<OWLClassAssertionAxiom> getClassAssertions() {
+		return Collections.unmodifiableSet(classAssertions);
+	}
+
+	public Set<OWLObjectPropertyAssertionAxiom> getPropertyAssertions() {
+		return Collections.unmodifiableSet(propertyAssertions);
+	}
+
+	public Set<OWLLogicalAxiom> getLogicalAxioms(OWLEntity entity) {
+		return get(entityAxiomMap, entity);
+	}
+
+	public Set<OWLLogicalAxiom> getLogicalAxioms(Set<? extends OWLEntity> entities) {
+		Set<OWLLogicalAxiom> axioms = new HashSet<>();
+		for (OWLEntity entity : entities) {
+			axioms.addAll(getLogicalAxioms(entity));
+		}
+		return axioms;
+	}
+
+
+}
@@ -1,5 +1,8 @@
 package io.dlminer.ont;
 
+import io.dlminer.telemetry.FlightEvents;
+import io.dlminer.telemetry.Telemetry;
+
 import org.semanticweb.HermiT.Reasoner;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
@@ -103,7 +106,11 @@ public abstract class ReasonerLoader {
 		else {
 			throw new Exception("Unknown reasoner: " + reasonerName + ". " +
 					INVALID_REASONER_ERR); 
-		}		
+		}
+		// record calls if profiling or recording events
+		if (Telemetry.isReasonerProfiling() || FlightEvents.isReasonerEvents()) {
+			reasoner = InstrumentedReasoner.wrap(reasoner);
+		}
 		return reasoner;
 	}
 	
@@ -0,0 +1,466 @@
+package io.dlminer.ont;
+
+import io.dlminer.print.Out;
+import io.dlminer.refine.ALCOperator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The class materialises the ABox without collecting all inferred
+ * assertions in memory. Assertions are produced per target class
+ * and property, deduplicated against told assertions by bitmaps
+ * over interned individuals, and flushed in bounded batches to a sink,
+ * which is not closed by the materialiser.
+ */
+public class StreamingMaterialiser {
+
+	private OntologyHandler handler;
+	private OWLDataFactory factory;
+	private MaterialisationConfig config;
+	private AssertionSink sink;
+
+	// interned individuals
+	private Map<OWLNamedIndividual, Integer> indIdMap;
+	private List<OWLNamedIndividual> inds;
+
+	// told facts
+	private Map<OWLClassExpression, BitSet> classInstanceMap;
+	private Map<OWLObjectPropertyExpression, Map<Integer, BitSet>> propertyPairMap;
+	private Map<OWLObjectPropertyExpression, BitSet> propertySubjectMap;
+	private Map<OWLObjectPropertyExpression, BitSet> propertyObjectMap;
+	private Map<OWLDataProperty, BitSet> dataPropertySubjectMap;
+
+	// batching
+	private List<OWLAxiom> batch;
+	private int batchSize;
+	private long produced;
+	private long lastReport;
+
+
+
+	public StreamingMaterialiser(OntologyHandler handler,
+			MaterialisationConfig config, AssertionSink sink) {
+		this.handler = handler;
+		this.factory = handler.getDataFactory();
+		this.config = config;
+		this.sink = sink;
+	}
+
+
+
+	private void init() {
+		indIdMap = new HashMap<>();
+		inds = new ArrayList<>();
+		classInstanceMap = new HashMap<>();
+		propertyPairMap = new HashMap<>();
+		propertySubjectMap = new HashMap<>();
+		propertyObjectMap = new HashMap<>();
+		dataPropertySubjectMap = new HashMap<>();
+		batchSize = Math.max(1, config.batchSize);
+		batch = new ArrayList<>(batchSize);
+		produced = 0;
+		lastReport = 0;
+		indexTold();
+	}
+
+
+
+	private int intern(OWLNamedIndividual ind) {
+		Integer id = indIdMap.get(ind);
+		if (id == null) {
+			id = inds.size();
+			indIdMap.put(ind, id);
+			inds.add(ind);
+		}
+		return id;
+	}
+
+
+
+	private static <K> BitSet getBits(Map<K, BitSet> map, K key) {
+		BitSet bits = map.get(key);
+		if (bits == null) {
+			bits = new BitSet();
+			map.put(key, bits);
+		}
+		return bits;
+	}
+
+
+
+	// a single pass over the ABox
+	private void indexTold() {
+		for (OWLAxiom axiom : handler.getABoxAxioms()) {
+			if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+				OWLClassAssertionAxiom fact = (OWLClassAssertionAxiom) axiom;
+				if (fact.getIndividual().isNamed()) {
+					int id = intern(fact.getIndividual().asOWLNamedIndividual());
+					getBits(classInstanceMap, fact.getClassExpression()).set(id);
+				}
+			} else if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
+				OWLObjectPropertyAssertionAxiom fact = (OWLObjectPropertyAssertionAxiom) axiom;
+				if (fact.getSubject().isNamed() && fact.getObject().isNamed()) {
+					OWLObjectPropertyExpression prop = fact.getProperty();
+					int subj = intern(fact.getSubject().asOWLNamedIndividual());
+					int obj = intern(fact.getObject().asOWLNamedIndividual());
+					Map<Integer, BitSet> pairs = propertyPairMap.get(prop);
+					if (pairs == null) {
+						pairs = new HashMap<>();
+						propertyPairMap.put(prop, pairs);
+					}
+					getBits(pairs, subj).set(obj);
+					getBits(propertySubjectMap, prop).set(subj);
+					getBits(propertyObjectMap, prop).set(obj);
+				}
+			} else if (axiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION)) {
+				OWLDataPropertyAssertionAxiom fact = (OWLDataPropertyAssertionAxiom) axiom;
+				OWLDataPropertyExpression propExpr = fact.getProperty();
+				if (fact.getSubject().isNamed() && !propExpr.isAnonymous()) {
+					int subj = intern(fact.getSubject().asOWLNamedIndividual());
+					getBits(dataPropertySubjectMap, propExpr.asOWLDataProperty()).set(subj);
+				}
+			}
+		}
+	}
+
+
+
+	/**
+	 * Materialises super classes, disjoint classes, super properties,
+	 * inverse properties, domains and ranges using the reasoner.
+	 * @param reasoner the ontology reasoner
+	 * @param disjClassMap the map from classes to their disjoint classes
+	 * @return the number of produced assertions
+	 * @throws Exception
+	 */
+	public long materialise(OWLReasoner reasoner,
+			Map<OWLClass, Set<OWLClass>> disjClassMap) throws Exception {
+		init();
+		try {
+			materialiseInferred(reasoner, disjClassMap);
+			flush();
+		} finally {
+			release();
+		}
+		return produced;
+	}
+
+
+
+	private void materialiseInferred(OWLReasoner reasoner,
+			Map<OWLClass, Set<OWLClass>> disjClassMap) throws Exception {
+		Map<OWLClassExpression, List<BitSet>> classSourceMap = new HashMap<>();
+		Map<OWLClassExpression, List<BitSet>> negSourceMap = new HashMap<>();
+		boolean useDisjointness = disjClassMap != null && !disjClassMap.isEmpty();
+		// super classes and disjoint classes of told class expressions
+		for (OWLClassExpression expr : classInstanceMap.keySet()) {
+			BitSet told = classInstanceMap.get(expr);
+			Set<OWLClass> superCls = getSuperClasses(expr, reasoner);
+			for (OWLClass cl : superCls) {
+				addSource(classSourceMap, cl, told);
+			}
+			if (useDisjointness) {
+				Set<OWLClass> disjCls = new HashSet<>();
+				for (OWLClass cl : superCls) {
+					Set<OWLClass> clDisjs = disjClassMap.get(cl);
+					if (clDisjs != null) {
+						disjCls.addAll(clDisjs);
+					}
+				}
+				disjCls.remove(factory.getOWLThing());
+				disjCls.remove(factory.getOWLNothing());
+				for (OWLClass cl : disjCls) {
+					addSource(negSourceMap, factory.getOWLObjectComplementOf(cl), told);
+				}
+			}
+		}
+		// domains and ranges
+		for (OWLObjectPropertyExpression prop : propertySubjectMap.keySet()) {
+			for (OWLClass cl : reasoner.getObjectPropertyDomains(prop, false).getFlattened()) {
+				if (!cl.isOWLThing()) {
+					addSource(classSourceMap, cl, propertySubjectMap.get(prop));
+				}
+			}
+			for (OWLClass cl : reasoner.getObjectPropertyRanges(prop, false).getFlattened()) {
+				if (!cl.isOWLThing()) {
+					addSource(classSourceMap, cl, propertyObjectMap.get(prop));
+				}
+			}
+		}
+		for (OWLDataProperty prop : dataPropertySubjectMap.keySet()) {
+			for (OWLClass cl : reasoner.getDataPropertyDomains(prop, false).getFlattened()) {
+				if (!cl.isOWLThing()) {
+					addSource(classSourceMap, cl, dataPropertySubjectMap.get(prop));
+				}
+			}
+		}
+		materialiseClasses(classSourceMap);
+		materialiseClasses(negSourceMap);
+		// super properties and inverse properties
+		Map<OWLObjectPropertyExpression, List<PairSource>> propSourceMap = new HashMap<>();
+		for (OWLObjectPropertyExpression prop : propertyPairMap.keySet()) {
+			Map<Integer, BitSet> pairs = propertyPairMap.get(prop);
+			Set<OWLObjectPropertyExpression> superProps = new HashSet<>();
+			superProps.addAll(reasoner.getEquivalentObjectProperties(prop).getEntities());
+			superProps.addAll(reasoner.getSuperObjectProperties(prop, false).getFlattened());
+			for (OWLObjectPropertyExpression sup : superProps) {
+				addPairSource(propSourceMap, sup, pairs, false);
+			}
+			for (OWLObjectPropertyExpression inv :
+				reasoner.getInverseObjectProperties(prop).getEntities()) {
+				addPairSource(propSourceMap, inv, pairs, true);
+			}
+		}
+		propSourceMap.remove(factory.getOWLTopObjectProperty());
+		propSourceMap.remove(factory.getOWLBottomObjectProperty());
+		materialiseProperties(propSourceMap);
+	}
+
+
+
+	/**
+	 * Materialises atomic class instances, super properties and
+	 * inverse properties precomputed by the refinement operator.
+	 * @param operator the refinement operator
+	 * @return the number of produced assertions
+	 * @throws Exception
+	 */
+	public long materialise(ALCOperator operator) throws Exception {
+		init();
+		try {
+			materialisePrecomputed(operator);
+			flush();
+		} finally {
+			release();
+		}
+		return produced;
+	}
+
+
+
+	private void materialisePrecomputed(ALCOperator operator) throws Exception {
+		// atomic class instances
+		Map<OWLClassExpression, Set<OWLNamedIndividual>> clInstMap = operator.getClassInstanceMap();
+		int count = 0;
+		for (OWLClassExpression cl : clInstMap.keySet()) {
+			Set<OWLNamedIndividual> insts = clInstMap.get(cl);
+			count++;
+			if (insts == null) {
+				continue;
+			}
+			BitSet told = classInstanceMap.get(cl);
+			for (OWLNamedIndividual inst : insts) {
+				if (told == null || !told.get(intern(inst))) {
+					emit(factory.getOWLClassAssertionAxiom(cl, inst));
+				}
+			}
+			report("classes", count, clInstMap.size());
+		}
+		// super properties and inverse properties
+		Map<OWLObjectPropertyExpression, List<PairSource>> propSourceMap = new HashMap<>();
+		for (OWLObjectPropertyExpression prop : propertyPairMap.keySet()) {
+			Map<Integer, BitSet> pairs = propertyPairMap.get(prop);
+			Set<OWLObjectPropertyExpression> superProps = new HashSet<>();
+			Set<OWLObjectPropertyExpression> eqProps = operator.getEquivalentObjectProperties(prop);
+			if (eqProps != null) {
+				superProps.addAll(eqProps);
+			}
+			Set<OWLObjectPropertyExpression> supProps = operator.getSuperObjectProperties(prop);
+			if (supProps != null) {
+				superProps.addAll(supProps);
+			}
+			for (OWLObjectPropertyExpression sup : superProps) {
+				addPairSource(propSourceMap, sup, pairs, false);
+			}
+			Set<OWLObjectPropertyExpression> invProps = operator.getInverseObjectProperties(prop);
+			if (invProps != null) {
+				for (OWLObjectPropertyExpression inv : invProps) {
+					addPairSource(propSourceMap, inv, pairs, true);
+				}
+			}
+		}
+		materialiseProperties(propSourceMap);
+	}
+
+
+
+	private Set<OWLClass> getSuperClasses(OWLClassExpression expr, OWLReasoner reasoner) {
+		Set<OWLClass> superCls = new HashSet<>();
+		superCls.addAll(reasoner.getEquivalentClasses(expr).getEntities());
+		superCls.addAll(reasoner.getSuperClasses(expr, false).getFlattened());
+		superCls.remove(factory.getOWLThing());
+		superCls.remove(factory.getOWLNothing());
+		return superCls;
+	}
+
+
+
+	private static void addSource(Map<OWLClassExpression, List<BitSet>> sourceMap,
+			OWLClassExpression target, BitSet source) {
+		List<BitSet> sources = sourceMap.get(target);
+		if (sources == null) {
+			sources = new LinkedList<>();
+			sourceMap.put(target, sources);
+		}
+		sources.add(source);
+	}
+
+
+
+	private static void addPairSource(Map<OWLObjectPropertyExpression, List<PairSource>> sourceMap,
+			OWLObjectPropertyExpression target, Map<Integer, BitSet> pairs, boolean inverted) {
+		List<PairSource> sources = sourceMap.get(target);
+		if (sources == null) {
+			sources = new LinkedList<>();
+			sourceMap.put(target, sources);
+		}
+		sources.add(new PairSource(pairs, inverted));
+	}
+
+
+
+	private void materialiseClasses(Map<OWLClassExpression, List<BitSet>> sourceMap)
+			throws Exception {
+		int count = 0;
+		for (OWLClassExpression target : sourceMap.keySet()) {
+			count++;
+			BitSet bits = new BitSet(inds.size());
+			for (BitSet source : sourceMap.get(target)) {
+				bits.or(source);
+			}
+			BitSet told = classInstanceMap.get(target);
+			if (told != null) {
+				bits.andNot(told);
+			}
+			for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i+1)) {
+				emit(factory.getOWLClassAssertionAxiom(target, inds.get(i)));
+			}
+			report("classes", count, sourceMap.size());
+		}
+	}
+
+
+
+	private void materialiseProperties(Map<OWLObjectPropertyExpression, List<PairSource>> sourceMap)
+			throws Exception {
+		int count = 0;
+		for (OWLObjectPropertyExpression target : sourceMap.keySet()) {
+			count++;
+			// only one target property is expanded at a time
+			Map<Integer, BitSet> result = new HashMap<>();
+			for (PairSource source : sourceMap.get(target)) {
+				for (Integer subj : source.pairs.keySet()) {
+					BitSet objs = source.pairs.get(subj);
+					if (!source.inverted) {
+						getBits(result, subj).or(objs);
+					} else {
+						for (int obj = objs.nextSetBit(0); obj >= 0; obj = objs.nextSetBit(obj+1)) {
+							getBits(result, obj).set(subj);
+						}
+					}
+				}
+			}
+			Map<Integer, BitSet> told = propertyPairMap.get(target);
+			for (Integer subj : result.keySet()) {
+				BitSet objs = result.get(subj);
+				if (told != null && told.containsKey(subj)) {
+					objs.andNot(told.get(subj));
+				}
+				for (int obj = objs.nextSetBit(0); obj >= 0; obj = objs.nextSetBit(obj+1)) {
+					emit(factory.getOWLObjectPropertyAssertionAxiom(
+							target, inds.get(subj), inds.get(obj)));
+				}
+			}
+			report("properties", count, sourceMap.size());
+		}
+	}
+
+
+
+	private void emit(OWLAxiom assertion) throws Exception {
+		batch.add(assertion);
+		produced++;
+		if (batch.size() >= batchSize) {
+			flush();
+		}
+	}
+
+
+
+	private void flush() throws Exception {
+		if (batch.isEmpty()) {
+			return;
+		}
+		sink.accept(batch);
+		batch = new ArrayList<>(batchSize);
+		// shrink batches under memory pressure
+		if (config.memoryCeiling != null && batchSize > config.minBatchSize) {
+			Runtime runtime = Runtime.getRuntime();
+			long used = runtime.totalMemory() - runtime.freeMemory();
+			if (used > config.memoryCeiling) {
+				batchSize = Math.max(config.minBatchSize, batchSize / 2);
+				Out.p("Memory ceiling is exceeded: batch size is reduced to " + batchSize);
+			}
+		}
+	}
+
+
+
+	private void report(String what, int done, int total) {
+		if (produced - lastReport >= config.progressStep || done == total) {
+			lastReport = produced;
+			Out.p(done + " / " + total + " " + what + " materialised, "
+					+ produced + " assertions produced");
+		}
+	}
+
+
+
+	// the indexes are released also if materialisation fails
+	private void release() {
+		batch = null;
+		indIdMap = null;
+		inds = null;
+		classInstanceMap = null;
+		propertyPairMap = null;
+		propertySubjectMap = null;
+		propertyObjectMap = null;
+		dataPropertySubjectMap = null;
+	}
+
+
+
+	private static class PairSource {
+
+		private Map<Integer, BitSet> pairs;
+		private boolean inverted;
+
+		private PairSource(Map<Integer, BitSet> pairs, boolean inverted) {
+			this.pairs = pairs;
+			this.inverted = inverted;
+		}
+	}
+
+
+}
@@ -0,0 +1,347 @@
+package io.dlminer.print;
+
+import io.dlminer.learn.Hypothesis;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * The class saves hypotheses as documents, each containing the axioms
+ * of one hypothesis. Documents are rendered concurrently, each thread
+ * reusing its own ontology manager, and are written by a small pool of
+ * I/O threads. Both pools have bounded queues: when a queue is full,
+ * the submitting thread does the work itself, which bounds the number
+ * of rendered documents held in memory.
+ * Documents are either saved to separate files, as in
+ * {@link HypothesisWriter#saveHypothesesToSeparateFiles(Collection, File)},
+ * or appended to a single archive with an index of offsets.
+ */
+public class BatchedHypothesisWriter {
+
+	public static final String INDEX_EXTENSION = ".idx";
+
+	public static final int DEF_IO_THREADS = 2;
+
+	private static final int QUEUE_SIZE_PER_THREAD = 4;
+
+	private OWLDocumentFormat format;
+	private IRI iri;
+	private int threadsNumber;
+	private int ioThreadsNumber;
+
+	// one serialiser per thread
+	private ThreadLocal<Serialiser> serialisers;
+
+
+
+	public BatchedHypothesisWriter(OWLDocumentFormat format, IRI iri,
+			int threadsNumber, int ioThreadsNumber) {
+		this.format = (format == null) ? new OWLXMLDocumentFormat() : format;
+		this.iri = iri;
+		this.threadsNumber = Math.max(1, threadsNumber);
+		this.ioThreadsNumber = Math.max(1, ioThreadsNumber);
+		serialisers = new ThreadLocal<Serialiser>() {
+			@Override
+			protected Serialiser initialValue() {
+				return new Serialiser();
+			}
+		};
+	}
+
+
+	public BatchedHypothesisWriter(OWLDocumentFormat format, IRI iri, int threadsNumber) {
+		this(format, iri, threadsNumber, DEF_IO_THREADS);
+	}
+
+
+
+	/**
+	 * The ontology manager and the format are not thread-safe,
+	 * so each thread renders with its own copies.
+	 */
+	private class Serialiser {
+
+		private OWLOntologyManager manager;
+		private OWLOntology ontology;
+		private OWLDocumentFormat threadFormat;
+		private ByteArrayOutputStream buffer;
+
+		Serialiser() {
+			manager = OWLManager.createOWLOntologyManager();
+			try {
+				ontology = (iri != null) ? manager.createOntology(iri) : manager.createOntology();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+			threadFormat = copyFormat(format);
+			buffer = new ByteArrayOutputStream(1 << 12);
+		}
+
+		byte[] render(Hypothesis h) throws Exception {
+			manager.removeAxioms(ontology, ontology.getAxioms());
+			manager.addAxioms(ontology, h.axioms);
+			buffer.reset();
+			manager.saveOntology(ontology, threadFormat, buffer);
+			return buffer.toByteArray();
+		}
+	}
+
+
+
+	private static OWLDocumentFormat copyFormat(OWLDocumentFormat format) {
+		OWLDocumentFormat copy = null;
+		try {
+			copy = format.getClass().getDeclaredConstructor().newInstance();
+		} catch (Exception e) {
+			// formats without the default constructor are shared
+			return format;
+		}
+		if (format instanceof PrefixDocumentFormat && copy instanceof PrefixDocumentFormat) {
+			((PrefixDocumentFormat) copy).copyPrefixesFrom((PrefixDocumentFormat) format);
+		}
+		return copy;
+	}
+
+
+
+	private ThreadPoolExecutor createExecutor(int threads) {
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(threads * QUEUE_SIZE_PER_THREAD),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+
+
+	/**
+	 * Saves each hypothesis to the file named by its id.
+	 * Once a file cannot be written, the remaining files are skipped.
+	 * @param hypotheses hypotheses to save
+	 * @param hypothesesDirectory the output directory
+	 * @return the number of saved files
+	 * @throws IOException the first error of writing a file
+	 */
+	public int saveHypothesesToSeparateFiles(Collection<Hypothesis> hypotheses,
+			final File hypothesesDirectory) throws IOException {
+		if (!hypothesesDirectory.exists()) {
+			hypothesesDirectory.mkdirs();
+		}
+		final ThreadPoolExecutor ioExecutor = createExecutor(ioThreadsNumber);
+		ThreadPoolExecutor renderExecutor = createExecutor(threadsNumber);
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicReference<IOException> error = new AtomicReference<>();
+		try {
+			for (final Hypothesis h : hypotheses) {
+				if (error.get() != null) {
+					break;
+				}
+				renderExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						if (error.get() != null) {
+							return;
+						}
+						final byte[] document = render(h);
+						if (document == null) {
+							return;
+						}
+						final File file = new File(hypothesesDirectory, h.id + ".owl");
+						ioExecutor.execute(new Runnable() {
+							@Override
+							public void run() {
+								if (error.get() != null) {
+									return;
+								}
+								try {
+									writeFile(file, document);
+									count.incrementAndGet();
+								} catch (IOException e) {
+									error.compareAndSet(null, e);
+								}
+							}
+						});
+					}
+				});
+			}
+		} finally {
+			// rendering submits to the I/O pool, so it is shut down first
+			awaitTermination(renderExecutor);
+			awaitTermination(ioExecutor);
+		}
+		if (error.get() != null) {
+			throw error.get();
+		}
+		Out.p(count.get() + " hypotheses are saved to " + hypothesesDirectory);
+		return count.get();
+	}
+
+
+
+	/**
+	 * Appends documents of hypotheses to a single archive in the given order
+	 * and writes the index to the file with the extension {@value #INDEX_EXTENSION}.
+	 * Each index line contains the id, the offset and the length in bytes.
+	 * @param hypotheses hypotheses to save
+	 * @param archive the archive file
+	 * @return the number of saved hypotheses
+	 */
+	public int saveHypothesesToArchive(Collection<Hypothesis> hypotheses, File archive) {
+		File parent = archive.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		// documents are rendered in batches to keep the order
+		int batchSize = threadsNumber * QUEUE_SIZE_PER_THREAD;
+		ThreadPoolExecutor renderExecutor = createExecutor(threadsNumber);
+		int count = 0;
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(archive), 1 << 16);
+				Writer index = new BufferedWriter(new OutputStreamWriter(
+						new FileOutputStream(getIndexFile(archive)), StandardCharsets.UTF_8))) {
+			long offset = 0;
+			List<Hypothesis> batch = new ArrayList<>(batchSize);
+			List<Future<byte[]>> futures = new ArrayList<>(batchSize);
+			int i = 0;
+			for (final Hypothesis h : hypotheses) {
+				i++;
+				batch.add(h);
+				futures.add(renderExecutor.submit(new Callable<byte[]>() {
+					@Override
+					public byte[] call() throws Exception {
+						return render(h);
+					}
+				}));
+				if (batch.size() < batchSize && i < hypotheses.size()) {
+					continue;
+				}
+				for (int j = 0; j < batch.size(); j++) {
+					byte[] document = futures.get(j).get();
+					if (document == null) {
+						continue;
+					}
+					out.write(document);
+					index.write(batch.get(j).id + "\t" + offset + "\t" + document.length + "\n");
+					offset += document.length;
+					count++;
+				}
+				batch.clear();
+				futures.clear();
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		} finally {
+			awaitTermination(renderExecutor);
+		}
+		Out.p(count + " hypotheses are saved to " + archive);
+		return count;
+	}
+
+
+
+	public static File getIndexFile(File archive) {
+		return new File(archive.getPath() + INDEX_EXTENSION);
+	}
+
+
+
+	/**
+	 * @param archive the archive file
+	 * @return the mapping of hypothesis ids to offsets and lengths
+	 * @throws IOException if the index cannot be read
+	 */
+	public static Map<String, long[]> readIndex(File archive) throws IOException {
+		Map<String, long[]> entries = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(getIndexFile(archive)), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] parts = line.split("\t");
+				if (parts.length == 3) {
+					entries.put(parts[0], new long[]{
+							Long.parseLong(parts[1]), Long.parseLong(parts[2])});
+				}
+			}
+		}
+		return entries;
+	}
+
+
+
+	/**
+	 * @param archive the archive file
+	 * @param entry the offset and the length of a document
+	 * @return the document
+	 * @throws IOException if the archive cannot be read
+	 */
+	public static byte[] readDocument(File archive, long[] entry) throws IOException {
+		byte[] document = new byte[(int) entry[1]];
+		try (RandomAccessFile file = new RandomAccessFile(archive, "r")) {
+			file.seek(entry[0]);
+			file.readFully(document);
+		}
+		return document;
+	}
+
+
+
+	private byte[] render(Hypothesis h) {
+		try {
+			return serialisers.get().render(h);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+
+	private static void writeFile(File file, byte[] document) throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(document);
+		}
+	}
+
+
+
+	private static void awaitTermination(ExecutorService executor) {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package io.dlminer.print;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class reads CSV files row by row, so a file of any size
+ * can be processed in constant memory. Rows are split by
+ * {@link CSV#COMMA_DELIMITER} exactly as by {@link String#split(String)}:
+ * trailing empty cells are dropped.
+ */
+public class CSVStreamReader implements Closeable {
+
+	private static final char DELIMITER = CSV.COMMA_DELIMITER.charAt(0);
+
+	private BufferedReader reader;
+	private String[] header;
+	private List<String> cells;
+	private long rowsNumber;
+
+
+
+	public CSVStreamReader(File file, boolean hasHeader) throws IOException {
+		reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file), StandardCharsets.UTF_8), 1 << 16);
+		cells = new ArrayList<>();
+		if (hasHeader) {
+			String line = reader.readLine();
+			header = (line == null) ? null : split(line);
+		}
+	}
+
+
+
+	/**
+	 * @return column names or null if the file has no header
+	 */
+	public String[] getHeader() {
+		return header;
+	}
+
+
+
+	/**
+	 * @return the next row or null at the end of the file
+	 * @throws IOException if reading fails
+	 */
+	public String[] next() throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		rowsNumber++;
+		return split(line);
+	}
+
+
+
+	private String[] split(String line) {
+		cells.clear();
+		int start = 0;
+		int end;
+		while ((end = line.indexOf(DELIMITER, start)) >= 0) {
+			cells.add(line.substring(start, end));
+			start = end + 1;
+		}
+		cells.add(line.substring(start));
+		// drop trailing empty cells, an empty line is a single cell
+		int size = cells.size();
+		while (!line.isEmpty() && size > 0 && cells.get(size - 1).isEmpty()) {
+			size--;
+		}
+		return cells.subList(0, size).toArray(new String[size]);
+	}
+
+
+
+	public long getRowsNumber() {
+		return rowsNumber;
+	}
+
+
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+
+
+	/**
+	 * Parses a cell written by {@link CSVStreamWriter}.
+	 * @param cell a cell
+	 * @return the value or NaN if it is null or empty
+	 */
+	public static double parseDouble(String cell) {
+		if (cell == null || cell.isEmpty() || cell.equals(CSV.NULL_VALUE)
+				|| cell.equals(CSV.EMPTY_VALUE)) {
+			return Double.NaN;
+		}
+		return Double.parseDouble(cell);
+	}
+
+}
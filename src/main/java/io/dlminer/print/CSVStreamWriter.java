@@ -0,0 +1,255 @@
+package io.dlminer.print;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.HypothesisTable;
+import io.dlminer.learn.Measure;
+import io.dlminer.ont.AxiomMetric;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * The class writes CSV rows cell by cell through a buffered writer,
+ * so rows are never collected in memory. The format is the one
+ * of {@link CSVWriter}: each cell of a row is followed by the delimiter.
+ * Integral doubles are printed without allocating strings and
+ * exactly as by {@link Double#toString(double)}.
+ */
+public class CSVStreamWriter implements Closeable {
+
+	public static final String[] HYPOTHESIS_COLUMNS = new String[] {
+		"ontology", "id",
+		// cheap measures
+		"support", "assumption", "precision", "recall", "lift", "leverage",
+		"added_value", "jaccard", "certainty_factor", "klosgen", "conviction",
+		"piatetsky-shapiro", "cosine", "information_gain", "sebag-schoenauer",
+		"least_contradiction", "odd_multiplier", "linear_correlation", "j-measure",
+		"novelty_approx", "dissimilarity_approx",
+		// costly measures
+		"fitness", "braveness", "novelty", "dissimilarity", "strength_rank", "dom_rank",
+		// comparison
+		"fitness_sum", "braveness_sum", "novelty_sum",
+		// contrapositive measures
+		"main_support", "main_assumption", "main_contradiction", "main_precision",
+		"main_lift", "main_conviction_neg", "main_conviction_que",
+		"conviction_neg", "conviction_que",
+		// performance
+		"fitness_time", "braveness_time", "novelty_time", "dissim_time",
+		"strength_time", "basic_time", "main_time", "consist_time",
+		"inform_time", "clean_time",
+		// axiom metrics
+		"length", "depth", "axiom_num", "role_axiom_num", "signature",
+		"conj_num", "disj_num", "neg_num", "exist_num", "univ_num"
+	};
+
+	public static final String HYPOTHESIS_HEADER = renderHeader(HYPOTHESIS_COLUMNS);
+
+	// integral doubles below this bound are printed without exponent
+	private static final double MAX_PLAIN_DOUBLE = 1e7;
+
+	private static final Measure[] MEASURES = Measure.values();
+
+	private Writer writer;
+
+	// digits of numbers
+	private char[] digits;
+
+	private long rowsNumber;
+
+
+
+	public CSVStreamWriter(File file, boolean append) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(file, append), StandardCharsets.UTF_8), 1 << 16);
+		digits = new char[20];
+	}
+
+
+
+	/**
+	 * @param writer the writer to write rows to, it is closed by {@link #close()}
+	 */
+	public CSVStreamWriter(Writer writer) {
+		this.writer = writer;
+		digits = new char[20];
+	}
+
+
+
+	/**
+	 * @param columns column names
+	 * @return the header without the trailing delimiter
+	 */
+	public static String renderHeader(String[] columns) {
+		StringBuilder header = new StringBuilder();
+		for (int i = 0; i < columns.length; i++) {
+			if (i > 0) {
+				header.append(CSV.COMMA_DELIMITER);
+			}
+			header.append(columns[i]);
+		}
+		return header.toString();
+	}
+
+
+
+	public void writeHeader(String header) throws IOException {
+		writer.write(header);
+		writer.write(CSV.NEW_LINE_SEPARATOR);
+	}
+
+
+
+	public CSVStreamWriter cell(String value) throws IOException {
+		writer.write(value == null ? CSV.NULL_VALUE : value);
+		writer.write(CSV.COMMA_DELIMITER);
+		return this;
+	}
+
+
+
+	public CSVStreamWriter cell(long value) throws IOException {
+		writeLong(value);
+		writer.write(CSV.COMMA_DELIMITER);
+		return this;
+	}
+
+
+
+	public CSVStreamWriter cell(double value) throws IOException {
+		writeDouble(value);
+		writer.write(CSV.COMMA_DELIMITER);
+		return this;
+	}
+
+
+
+	/**
+	 * Writes {@link CSV#NULL_VALUE} for null.
+	 */
+	public CSVStreamWriter cell(Double value) throws IOException {
+		if (value == null) {
+			return cell((String) null);
+		}
+		return cell(value.doubleValue());
+	}
+
+
+
+	public void endRow() throws IOException {
+		writer.write(CSV.NEW_LINE_SEPARATOR);
+		rowsNumber++;
+	}
+
+
+
+	public void writeRow(String[] entry) throws IOException {
+		for (String value : entry) {
+			cell(value);
+		}
+		endRow();
+	}
+
+
+
+	public void writeHypotheses(Collection<Hypothesis> hypotheses, String ontName) throws IOException {
+		for (Hypothesis h : hypotheses) {
+			writeHypothesis(h, ontName);
+		}
+	}
+
+
+
+	/**
+	 * Writes the row of the hypothesis under {@link #HYPOTHESIS_HEADER};
+	 * {@link CSVWriter} writes hypotheses by this method as well.
+	 */
+	public void writeHypothesis(Hypothesis h, String ontName) throws IOException {
+		cell(ontName);
+		cell(h.id);
+		// measures from support to the cleaning time
+		for (int i = 0; i <= Measure.CLEAN_TIME.ordinal(); i++) {
+			double value = h.getValue(MEASURES[i]);
+			if (HypothesisTable.isSet(value)) {
+				cell(value);
+			} else {
+				cell((String) null);
+			}
+		}
+		// metrics
+		cell(h.length);
+		cell(h.depth);
+		cell(h.axioms.size());
+		cell(h.countRoleAxioms());
+		cell(h.getSignatureSize());
+		cell(AxiomMetric.countConjunctions(h.axioms));
+		cell(AxiomMetric.countDisjunctions(h.axioms));
+		cell(AxiomMetric.countNegations(h.axioms));
+		cell(AxiomMetric.countExistentials(h.axioms));
+		cell(AxiomMetric.countUniversals(h.axioms));
+		endRow();
+	}
+
+
+
+	private void writeDouble(double value) throws IOException {
+		// -0.0, fractions, large numbers and special values
+		if (value != Math.rint(value) || Math.abs(value) >= MAX_PLAIN_DOUBLE
+				|| (value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+			writer.write(Double.toString(value));
+			return;
+		}
+		writeLong((long) value);
+		writer.write(".0");
+	}
+
+
+
+	private void writeLong(long value) throws IOException {
+		if (value == Long.MIN_VALUE) {
+			writer.write(Long.toString(value));
+			return;
+		}
+		if (value < 0) {
+			writer.write('-');
+			value = -value;
+		}
+		int pos = digits.length;
+		do {
+			digits[--pos] = (char) ('0' + value % 10);
+			value /= 10;
+		} while (value > 0);
+		writer.write(digits, pos, digits.length - pos);
+	}
+
+
+
+	public long getRowsNumber() {
+		return rowsNumber;
+	}
+
+
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+}
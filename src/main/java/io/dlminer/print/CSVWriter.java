@@ -14,7 +14,6 @@ import io.dlminer.exp.GSOutput;
 import org.semanticweb.owlapi.model.OWLOntology;
 import io.dlminer.learn.Hypothesis;
 import io.dlminer.main.DLMinerStats;
-import io.dlminer.ont.AxiomMetric;
 import io.dlminer.ont.OntologyAnalyser;
 import io.dlminer.ont.OntologyHandler;
 
@@ -97,166 +96,20 @@ public class CSVWriter {
 		
 	public void saveHypothesesToCSV(Collection<Hypothesis> hypotheses, 
 			String ontName) {				
-		List<String[]> entries = new ArrayList<>();
-		// save to csv all hypotheses
-		for (Hypothesis h : hypotheses) {
-			
-			String[] entry = new String[61];
-			
-			entry[0] = ontName;			
-			entry[1] = h.id;			
-			
-			// cheap measures
-			entry[2] = Double.toString(h.support);
-			entry[3] = Double.toString(h.assumption);
-			entry[4] = Double.toString(h.precision);
-			entry[5] = Double.toString(h.recall);
-			entry[6] = Double.toString(h.lift);
-			entry[7] = Double.toString(h.leverage);
-			entry[8] = Double.toString(h.addedValue);
-			entry[9] = Double.toString(h.jaccard);
-			entry[10] = Double.toString(h.certaintyFactor);
-			entry[11] = Double.toString(h.klosgen);
-			entry[12] = Double.toString(h.conviction);			
-			entry[13] = Double.toString(h.shapiro);
-			entry[14] = Double.toString(h.cosine);
-			entry[15] = Double.toString(h.informGain);
-			entry[16] = Double.toString(h.sebag);
-			entry[17] = Double.toString(h.contradiction);
-			entry[18] = Double.toString(h.oddMultiplier);
-			entry[19] = Double.toString(h.linearCorrelation);
-			entry[20] = Double.toString(h.jmeasure);
-			entry[21] = h.noveltyApprox == null ? CSV.NULL_VALUE : Double.toString(h.noveltyApprox);					
-			entry[22] = h.dissimilarityApprox == null ? CSV.NULL_VALUE : Double.toString(h.dissimilarityApprox);
-			
-			// costly measures
-			entry[23] = h.fitness == null ? CSV.NULL_VALUE : Double.toString(h.fitness);
-			entry[24] = h.braveness == null ? CSV.NULL_VALUE : Double.toString(h.braveness);
-			entry[25] = h.novelty == null ? CSV.NULL_VALUE : Double.toString(h.novelty);
-			entry[26] = h.dissimilarity == null ? CSV.NULL_VALUE : Double.toString(h.dissimilarity);
-			entry[27] = h.strength == null ? CSV.NULL_VALUE : Double.toString(h.strength);
-			entry[28] = h.rank == null ? CSV.NULL_VALUE : Double.toString(h.rank);
-			
-			// comparison
-			entry[29] = h.fitnessSum == null ? CSV.NULL_VALUE : Double.toString(h.fitnessSum);
-			entry[30] = h.bravenessSum == null ? CSV.NULL_VALUE : Double.toString(h.bravenessSum);
-			entry[31] = h.noveltySum == null ? CSV.NULL_VALUE : Double.toString(h.noveltySum);					
-		
-			// contrapositive measures
-			entry[32] = h.mainSupport == null ? CSV.NULL_VALUE : Double.toString(h.mainSupport);
-			entry[33] = h.mainAssumption == null ? CSV.NULL_VALUE : Double.toString(h.mainAssumption);
-			entry[34] = h.mainContradiction == null ? CSV.NULL_VALUE : Double.toString(h.mainContradiction);
-			entry[35] = h.mainPrecision == null ? CSV.NULL_VALUE : Double.toString(h.mainPrecision);
-			entry[36] = h.mainLift == null ? CSV.NULL_VALUE : Double.toString(h.mainLift);
-			entry[37] = h.mainConvictionNeg == null ? CSV.NULL_VALUE : Double.toString(h.mainConvictionNeg);
-			entry[38] = h.mainConvictionQue == null ? CSV.NULL_VALUE : Double.toString(h.mainConvictionQue);
-			entry[39] = h.convictionNeg == null ? CSV.NULL_VALUE : Double.toString(h.convictionNeg);
-			entry[40] = h.convictionQue == null ? CSV.NULL_VALUE : Double.toString(h.convictionQue);
-			
-			// performance
-			entry[41] = h.fitnessTime == null ? CSV.NULL_VALUE : Double.toString(h.fitnessTime);
-			entry[42] = h.bravenessTime == null ? CSV.NULL_VALUE : Double.toString(h.bravenessTime);
-			entry[43] = h.noveltyTime == null ? CSV.NULL_VALUE : Double.toString(h.noveltyTime);
-			entry[44] = h.dissimTime == null ? CSV.NULL_VALUE : Double.toString(h.dissimTime);
-			entry[45] = h.strengthTime == null ? CSV.NULL_VALUE : Double.toString(h.strengthTime);
-			entry[46] = h.basicTime == null ? CSV.NULL_VALUE : Double.toString(h.basicTime);
-			entry[47] = h.mainTime == null ? CSV.NULL_VALUE : Double.toString(h.mainTime);
-			entry[48] = h.consistTime == null ? CSV.NULL_VALUE : Double.toString(h.consistTime);
-			entry[49] = h.informTime == null ? CSV.NULL_VALUE : Double.toString(h.informTime);
-			entry[50] = h.cleanTime == null ? CSV.NULL_VALUE : Double.toString(h.cleanTime);
-			
-			// metrics
-			entry[51] = Integer.toString(h.length);
-			entry[52] = Integer.toString(h.depth);
-			entry[53] = Integer.toString(h.axioms.size());
-			entry[54] = Integer.toString(h.countRoleAxioms());
-			entry[55] = Integer.toString(h.signature.size());			
-			entry[56] = Integer.toString(AxiomMetric.countConjunctions(h.axioms));
-			entry[57] = Integer.toString(AxiomMetric.countDisjunctions(h.axioms));
-			entry[58] = Integer.toString(AxiomMetric.countNegations(h.axioms));
-			entry[59] = Integer.toString(AxiomMetric.countExistentials(h.axioms));
-			entry[60] = Integer.toString(AxiomMetric.countUniversals(h.axioms));
-			
-			entries.add(entry);
+		// rows are written in the same way as by the stream writer
+		try {
+			new CSVStreamWriter(fileWriter).writeHypotheses(hypotheses, ontName);
+		} catch (Exception e) {			
+			e.printStackTrace();
+			close();	
 		}
-		append(entries);
 	}
 
 
 	public void createHypothesisHeader() {
-		// default file header
-		String fileHeader = 			
-				"ontology" + CSV.COMMA_DELIMITER + 				
-				"id" + CSV.COMMA_DELIMITER + 				
-				// cheap measures				
-				"support"  + CSV.COMMA_DELIMITER + 
-				"assumption"  + CSV.COMMA_DELIMITER + 
-				"precision"  + CSV.COMMA_DELIMITER + 
-				"recall"  + CSV.COMMA_DELIMITER + 
-				"lift"  + CSV.COMMA_DELIMITER + 
-				"leverage"  + CSV.COMMA_DELIMITER + 
-				"added_value"  + CSV.COMMA_DELIMITER + 
-				"jaccard"  + CSV.COMMA_DELIMITER + 
-				"certainty_factor"  + CSV.COMMA_DELIMITER + 
-				"klosgen"  + CSV.COMMA_DELIMITER + 
-				"conviction"  + CSV.COMMA_DELIMITER + 				
-				"piatetsky-shapiro"  + CSV.COMMA_DELIMITER + 				
-				"cosine"  + CSV.COMMA_DELIMITER + 				
-				"information_gain"  + CSV.COMMA_DELIMITER + 
-				"sebag-schoenauer"  + CSV.COMMA_DELIMITER + 
-				"least_contradiction"  + CSV.COMMA_DELIMITER + 
-				"odd_multiplier"  + CSV.COMMA_DELIMITER + 
-				"linear_correlation"  + CSV.COMMA_DELIMITER + 
-				"j-measure"  + CSV.COMMA_DELIMITER +
-				"novelty_approx" + CSV.COMMA_DELIMITER + 
-				"dissimilarity_approx" + CSV.COMMA_DELIMITER + 
-				// costly measures
-				"fitness"  + CSV.COMMA_DELIMITER + 
-				"braveness" + CSV.COMMA_DELIMITER +
-				"novelty" + CSV.COMMA_DELIMITER +
-				"dissimilarity" + CSV.COMMA_DELIMITER +
-				"strength_rank" + CSV.COMMA_DELIMITER +
-				"dom_rank" + CSV.COMMA_DELIMITER +
-				// comparison				
-				"fitness_sum" + CSV.COMMA_DELIMITER + 
-				"braveness_sum" + CSV.COMMA_DELIMITER + 
-				"novelty_sum" + CSV.COMMA_DELIMITER + 
-				// contrapositive measures
-				"main_support" + CSV.COMMA_DELIMITER + 
-				"main_assumption" + CSV.COMMA_DELIMITER + 
-				"main_contradiction" + CSV.COMMA_DELIMITER + 
-				"main_precision" + CSV.COMMA_DELIMITER + 
-				"main_lift" + CSV.COMMA_DELIMITER + 
-				"main_conviction_neg" + CSV.COMMA_DELIMITER + 
-				"main_conviction_que" + CSV.COMMA_DELIMITER + 
-				"conviction_neg"  + CSV.COMMA_DELIMITER + 
-				"conviction_que"  + CSV.COMMA_DELIMITER + 
-				// performance
-				"fitness_time" + CSV.COMMA_DELIMITER + 
-				"braveness_time" + CSV.COMMA_DELIMITER + 
-				"novelty_time" + CSV.COMMA_DELIMITER + 
-				"dissim_time" + CSV.COMMA_DELIMITER + 
-				"strength_time" + CSV.COMMA_DELIMITER + 
-				"basic_time" + CSV.COMMA_DELIMITER + 
-				"main_time" + CSV.COMMA_DELIMITER + 
-				"consist_time" + CSV.COMMA_DELIMITER + 
-				"inform_time" + CSV.COMMA_DELIMITER + 
-				"clean_time" + CSV.COMMA_DELIMITER + 
-				// axiom metrics				
-				"length" + CSV.COMMA_DELIMITER + 
-				"depth" + CSV.COMMA_DELIMITER + 
-				"axiom_num" + CSV.COMMA_DELIMITER +
-				"role_axiom_num" + CSV.COMMA_DELIMITER + 
-				"signature" + CSV.COMMA_DELIMITER +				
-				"conj_num" + CSV.COMMA_DELIMITER + 
-				"disj_num" + CSV.COMMA_DELIMITER + 
-				"neg_num" + CSV.COMMA_DELIMITER + 
-				"exist_num" + CSV.COMMA_DELIMITER + 
-				"univ_num"
-				;		
 		try {
 			// Write the CSV file header
-			fileWriter.append(fileHeader);
+			fileWriter.append(CSVStreamWriter.HYPOTHESIS_HEADER);
 			// Add a new line separator after the header
 			fileWriter.append(CSV.NEW_LINE_SEPARATOR);
 		} catch (IOException e) {
@@ -516,26 +369,16 @@ public class CSVWriter {
 		
 	public static void saveHypothesesToCSV(Collection<Hypothesis> hypotheses, 
 			File csvFile, String ontName) {
-		// create a new file		
-		CSVWriter csvWriter = null;
-		if (!csvFile.exists()) {			
-			try {
-				// create a new file
-				csvFile.createNewFile();	
-				csvWriter = new CSVWriter(csvFile, false);
-				csvWriter.createHypothesisHeader();
-				csvWriter.saveHypothesesToCSV(hypotheses, ontName);
-				csvWriter.close();
-			} catch (Exception e) {			
-				e.printStackTrace();
+		// add lines without erasing contents
+		boolean exists = csvFile.exists();
+		try (CSVStreamWriter csvWriter = new CSVStreamWriter(csvFile, exists)) {
+			if (!exists) {
+				csvWriter.writeHeader(CSVStreamWriter.HYPOTHESIS_HEADER);
 			}
-		} else {
-			// add lines without erasing contents
-			csvWriter = new CSVWriter(csvFile, true);		
-			csvWriter.saveHypothesesToCSV(hypotheses, ontName);
-			csvWriter.close();
+			csvWriter.writeHypotheses(hypotheses, ontName);
+		} catch (Exception e) {			
+			e.printStackTrace();
 		}
-		
 	}
 	
 	
@@ -0,0 +1,19 @@
+package io.dlminer.print;
+
+/**
+ * Formats of the streaming hypothesis export.
+ */
+public enum HypothesisStreamFormat {
+
+	/**
+	 * an ontology document in the OWL functional syntax
+	 */
+	FUNCTIONAL,
+
+	/**
+	 * one hypothesis per line: the id, the measures and the axioms
+	 * in the functional-style syntax with full IRIs, separated by tabs
+	 */
+	LINES
+
+}
@@ -0,0 +1,323 @@
+package io.dlminer.print;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.HypothesisSink;
+import io.dlminer.learn.Measure;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxObjectRenderer;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * The class writes hypotheses to a file one by one, so the memory
+ * it needs does not depend on the number of hypotheses. Hypotheses
+ * are written with their quality values either as an ontology document
+ * in the functional syntax or as lines, optionally compressed by gzip.
+ * Entities are declared once when they first occur. As a sink, the writer
+ * receives hypotheses from mining threads while the run goes on.
+ */
+public class HypothesisStreamWriter implements Closeable, HypothesisSink {
+
+	public static final String QUALITY_IRI = "http://www.dlminer.io";
+
+	private static final OWLDataFactory factory = new OWLDataFactoryImpl();
+
+	// annotation properties of quality values are created once
+	private static final Map<Measure, OWLAnnotationProperty> qualityProperties =
+			createQualityProperties();
+
+	private Writer writer;
+	private HypothesisStreamFormat format;
+	private IRI iri;
+	private boolean annotate;
+
+	private FunctionalSyntaxObjectRenderer renderer;
+	private Set<OWLEntity> declaredEntities;
+	private boolean isHeaderWritten;
+	private int count;
+	// the first error of writing as a sink, thrown on close
+	private IOException sinkError;
+
+
+
+	/**
+	 * @param file the output file
+	 * @param iri the IRI of the output ontology
+	 * @param format the output format
+	 * @param compress whether the output is compressed by gzip
+	 * @param annotate whether axioms are annotated by quality values
+	 * @throws IOException if the file cannot be opened
+	 */
+	public HypothesisStreamWriter(File file, IRI iri, HypothesisStreamFormat format,
+			boolean compress, boolean annotate) throws IOException {
+		this(openFile(file, compress), iri, format, annotate);
+	}
+
+
+
+	/**
+	 * @param stream the output stream, which is closed by the writer
+	 * @param iri the IRI of the output ontology
+	 * @param format the output format
+	 * @param annotate whether axioms are annotated by quality values
+	 * @throws IOException if the renderer cannot be created
+	 */
+	public HypothesisStreamWriter(OutputStream stream, IRI iri, HypothesisStreamFormat format,
+			boolean annotate) throws IOException {
+		writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+		this.iri = iri;
+		this.format = format;
+		this.annotate = annotate;
+		declaredEntities = new HashSet<>();
+		if (format.equals(HypothesisStreamFormat.FUNCTIONAL)) {
+			initRenderer();
+		}
+	}
+
+
+
+	private static OutputStream openFile(File file, boolean compress) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		OutputStream stream = new FileOutputStream(file);
+		if (compress) {
+			stream = new GZIPOutputStream(stream, 1 << 16);
+		}
+		return stream;
+	}
+
+
+
+	private void initRenderer() throws IOException {
+		OWLOntology ontology = null;
+		try {
+			ontology = OWLManager.createOWLOntologyManager().createOntology(iri);
+		} catch (OWLOntologyCreationException e) {
+			throw new IOException(e);
+		}
+		renderer = new FunctionalSyntaxObjectRenderer(ontology, writer);
+		renderer.setPrefixManager(new DefaultPrefixManager());
+	}
+
+
+
+	/**
+	 * Writes the ontology header. It is written without annotations
+	 * before the first hypothesis unless called beforehand.
+	 * @param annotations annotations of the output ontology
+	 * @throws IOException if writing fails
+	 */
+	public void writeHeader(Collection<OWLAnnotation> annotations) throws IOException {
+		if (isHeaderWritten) {
+			return;
+		}
+		isHeaderWritten = true;
+		if (!format.equals(HypothesisStreamFormat.FUNCTIONAL)) {
+			return;
+		}
+		DefaultPrefixManager prefixes = new DefaultPrefixManager();
+		for (Map.Entry<String, String> entry : prefixes.getPrefixName2PrefixMap().entrySet()) {
+			writer.write("Prefix(" + entry.getKey() + "=<" + entry.getValue() + ">)\n");
+		}
+		writer.write("\n\nOntology(<" + iri + ">\n");
+		if (annotations != null) {
+			for (OWLAnnotation annotation : annotations) {
+				annotation.accept(renderer);
+				writer.write('\n');
+			}
+		}
+		writer.write('\n');
+	}
+
+
+
+	public void write(Hypothesis h) throws IOException {
+		writeHeader(null);
+		Set<OWLAnnotation> annots = annotate ? getQualityAnnotations(h) : null;
+		if (format.equals(HypothesisStreamFormat.FUNCTIONAL)) {
+			writeFunctional(h, annots);
+		} else {
+			writeLine(h, annots);
+		}
+		count++;
+	}
+
+
+
+	@Override
+	public synchronized void accept(Hypothesis hypothesis) {
+		if (sinkError != null) {
+			return;
+		}
+		try {
+			write(hypothesis);
+		} catch (IOException e) {
+			sinkError = e;
+		}
+	}
+
+
+
+	public void write(Collection<Hypothesis> hypotheses, int number) throws IOException {
+		for (Hypothesis h : hypotheses) {
+			if (count >= number) {
+				break;
+			}
+			write(h);
+		}
+	}
+
+
+
+	private void writeFunctional(Hypothesis h, Set<OWLAnnotation> annots) throws IOException {
+		for (OWLAxiom ax : h.axioms) {
+			for (OWLEntity entity : ax.getSignature()) {
+				if (!entity.isBuiltIn() && declaredEntities.add(entity)) {
+					factory.getOWLDeclarationAxiom(entity).accept(renderer);
+					writer.write('\n');
+				}
+			}
+		}
+		for (OWLAxiom ax : h.axioms) {
+			OWLAxiom annAx = (annots == null) ? ax : ax.getAnnotatedAxiom(annots);
+			annAx.accept(renderer);
+			writer.write('\n');
+		}
+	}
+
+
+
+	private void writeLine(Hypothesis h, Set<OWLAnnotation> annots) throws IOException {
+		writer.write(h.id == null ? CSV.NULL_VALUE : h.id);
+		writer.write('\t');
+		boolean isFirst = true;
+		if (annots != null) {
+			for (Measure measure : qualityProperties.keySet()) {
+				Double value = measure.get(h);
+				if (value == null) {
+					continue;
+				}
+				if (!isFirst) {
+					writer.write(' ');
+				}
+				isFirst = false;
+				writer.write(qualityProperties.get(measure).getIRI().getShortForm());
+				writer.write('=');
+				writer.write(Double.toString(value));
+			}
+		}
+		for (OWLAxiom ax : h.axioms) {
+			writer.write('\t');
+			writer.write(ax.getAxiomWithoutAnnotations().toString());
+		}
+		writer.write('\n');
+	}
+
+
+
+	/**
+	 * Passes the hypotheses written so far to the output stream.
+	 * @throws IOException if writing fails
+	 */
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+
+
+	public int getCount() {
+		return count;
+	}
+
+
+
+	@Override
+	public void close() throws IOException {
+		if (sinkError != null) {
+			writer.close();
+			throw sinkError;
+		}
+		try {
+			writeHeader(null);
+			if (format.equals(HypothesisStreamFormat.FUNCTIONAL)) {
+				writer.write(")\n");
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+
+
+	private static Map<Measure, OWLAnnotationProperty> createQualityProperties() {
+		Map<Measure, OWLAnnotationProperty> map = new LinkedHashMap<>();
+		// logical measures
+		map.put(Measure.NOVELTY, createQualityProperty("novelty"));
+		map.put(Measure.DISSIMILARITY, createQualityProperty("dissimilarity"));
+		// statistical measures
+		map.put(Measure.ASSUMPTION, createQualityProperty("assumption"));
+		map.put(Measure.BRAVENESS, createQualityProperty("braveness"));
+		map.put(Measure.FITNESS, createQualityProperty("fitness"));
+		map.put(Measure.SUPPORT, createQualityProperty("support"));
+		map.put(Measure.MAIN_CONTRADICTION, createQualityProperty("contradiction"));
+		map.put(Measure.PRECISION, createQualityProperty("precision"));
+		map.put(Measure.LIFT, createQualityProperty("lift"));
+		map.put(Measure.CONVICTION_NEG, createQualityProperty("conviction_neg"));
+		map.put(Measure.CONVICTION_QUE, createQualityProperty("conviction_que"));
+		return map;
+	}
+
+
+
+	private static OWLAnnotationProperty createQualityProperty(String name) {
+		return factory.getOWLAnnotationProperty(
+				IRI.create(QUALITY_IRI + Out.IRI_SEPARATOR + name));
+	}
+
+
+
+	/**
+	 * @param h a hypothesis
+	 * @return annotations with the quality values which are set
+	 */
+	public static Set<OWLAnnotation> getQualityAnnotations(Hypothesis h) {
+		Set<OWLAnnotation> annots = new HashSet<>();
+		for (Measure measure : qualityProperties.keySet()) {
+			Double value = measure.get(h);
+			if (value != null) {
+				annots.add(factory.getOWLAnnotation(qualityProperties.get(measure),
+						factory.getOWLLiteral(value)));
+			}
+		}
+		return annots;
+	}
+
+}
@@ -30,6 +30,8 @@ import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.HypothesisEvaluator;
+import io.dlminer.learn.Measure;
 import io.dlminer.ont.OntologyHandler;
 import io.dlminer.sort.SortingOrder;
 import io.dlminer.sort.StringLengthComparator;
@@ -58,8 +60,8 @@ public abstract class Out {
 		int[] counts = new int[means.length];
 		// get means
 		for (Hypothesis hypo : pareto) {
-			means[hypo.braveness.intValue()] += hypo.fitness;
-			counts[hypo.braveness.intValue()]++;
+			means[hypo.get(Measure.BRAVENESS).intValue()] += hypo.get(Measure.FITNESS);
+			counts[hypo.get(Measure.BRAVENESS).intValue()]++;
 		}
 		// normalise means
 		for (int i=0; i<means.length; i++) {
@@ -70,8 +72,8 @@ public abstract class Out {
 
 		// get deviations
 		for (Hypothesis hypo : pareto) {
-			devs[hypo.braveness.intValue()] += 
-					(hypo.fitness-means[hypo.braveness.intValue()])*(hypo.fitness-means[hypo.braveness.intValue()]);
+			devs[hypo.get(Measure.BRAVENESS).intValue()] += 
+					(hypo.get(Measure.FITNESS)-means[hypo.get(Measure.BRAVENESS).intValue()])*(hypo.get(Measure.FITNESS)-means[hypo.get(Measure.BRAVENESS).intValue()]);
 		}
 		// normalise deviations
 		for (int i=0; i<means.length; i++) {
@@ -304,10 +306,11 @@ public abstract class Out {
 	
 	public static void printQualityValues(Collection<Hypothesis> hypotheses) {
 		Out.p("\nPrinting scaled quality values:");
+		double[] maxima = HypothesisEvaluator.getObjectiveMaxima(hypotheses);
 		for (Hypothesis h : hypotheses) {
 			String measStr = "";
-			for (int i=0; i<h.scaledMeasures.length; i++) {
-				measStr += h.scaledMeasures[i] + "\t";
+			for (int i=0; i<maxima.length; i++) {
+				measStr += h.getScaledObjective(i, maxima[i]) + "\t";
 			}
 			Out.p(measStr);
 		}
@@ -20,23 +20,23 @@ import io.dlminer.graph.OnlyEdge;
 import io.dlminer.graph.SomeEdge;
 
 import io.dlminer.main.DLMinerOutputI;
-import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
-import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataProperty;
-import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectComplementOf;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
-import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
 import io.dlminer.ont.LengthMetric;
+import io.dlminer.ont.OntologyIndex;
 import io.dlminer.print.Out;
+import io.dlminer.telemetry.Counter;
+import io.dlminer.telemetry.Histogram;
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
 import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
 
 
@@ -54,19 +54,38 @@ public class ALCOperator extends RefinementOperator {
 	// record times of instance checking
 	private Map<OWLClassExpression, Double> classTimeMap;
 
+	// told facts
+	private OntologyIndex index;
+
 	// data properties
     private Map<OWLDataProperty, List<Double>> dataPropertyThresholdsMap;
     private Map<OWLDataProperty, Map<Double, Set<OWLNamedIndividual>>> dataPropertyInstancesMap;
     private Map<OWLDataProperty, Integer> dataPropertyStepMap;
 
+	// telemetry
+	private Histogram refinementTime = Telemetry.histogram(MetricNames.REFINEMENT);
+	private Counter refinements = Telemetry.counter(MetricNames.REFINEMENTS);
+
+	// prunes of the current refinement, if profiled
+	private SearchSpaceProfile profile;
+	private SearchSpaceProfile.Cell profileCell;
+
 
 	public ALCOperator(OWLReasoner reasoner, Set<OWLClass> classes, Set<OWLObjectProperty> properties,
                        Set<OWLDataProperty> dataProperties, OperatorConfig config) {
+		this(reasoner, classes, properties, dataProperties, config,
+				OntologyIndex.build(reasoner.getRootOntology()));
+	}
+
+
+	public ALCOperator(OWLReasoner reasoner, Set<OWLClass> classes, Set<OWLObjectProperty> properties,
+                       Set<OWLDataProperty> dataProperties, OperatorConfig config, OntologyIndex index) {
 		this.reasoner = reasoner;	
 		this.classes = classes;
 		this.properties = properties;
         this.dataProperties = dataProperties;
         this.config = config;
+        this.index = index;
 		init();
 	}
 	
@@ -104,7 +123,7 @@ public class ALCOperator extends RefinementOperator {
         dataPropertyThresholdsMap = new HashMap<>();
         dataPropertyInstancesMap = new HashMap<>();
         dataPropertyStepMap = new HashMap<>();
-	    Set<OWLNamedIndividual> inds = reasoner.getRootOntology().getIndividualsInSignature();
+	    Set<OWLNamedIndividual> inds = index.getIndividuals();
 	    for (OWLDataProperty prop : dataProperties) {
             Set<Double> thrSet = new HashSet<>();
             Map<Double, Set<OWLNamedIndividual>> instMap = new HashMap<>();
@@ -170,32 +189,19 @@ public class ALCOperator extends RefinementOperator {
             }
         }
 
-        // owl:Thing
-        OWLOntology ontology = reasoner.getRootOntology();
-//        OWLClass thing = factory.getOWLThing();
-//        if (!classInstanceMap.containsKey(thing)) {
-//            classInstanceMap.put(thing, ontology.getIndividualsInSignature());
-//        }
         // simple told assertions (positive and negative)
-		Set<OWLAxiom> aboxAxioms = ontology.getABoxAxioms(Imports.INCLUDED);
-		for (OWLAxiom ax : aboxAxioms) {
-			if (ax instanceof OWLClassAssertionAxiom) {
-				OWLClassAssertionAxiom axiom = (OWLClassAssertionAxiom) ax;
-				OWLClassExpression expr = axiom.getClassExpression();
-                if (!expr.isAnonymous()
-                        || (config.useNegation && expr instanceof OWLObjectComplementOf
-                            && !((OWLObjectComplementOf) expr).getOperand().isAnonymous())) {
-                    Set<OWLNamedIndividual> instances = classInstanceMap.get(expr);
-                    if (instances == null) {
-                        instances = new HashSet<>();
-                        classInstanceMap.put(expr, instances);
-                    }
-                    OWLIndividual ind = axiom.getIndividual();
-                    if (ind != null && ind.isNamed()) {
-                        instances.add(ind.asOWLNamedIndividual());
-                    }
+		Map<OWLClassExpression, Set<OWLNamedIndividual>> toldInstanceMap = index.getClassInstanceMap();
+		for (OWLClassExpression expr : toldInstanceMap.keySet()) {
+            if (!expr.isAnonymous()
+                    || (config.useNegation && expr instanceof OWLObjectComplementOf
+                        && !((OWLObjectComplementOf) expr).getOperand().isAnonymous())) {
+                Set<OWLNamedIndividual> instances = classInstanceMap.get(expr);
+                if (instances == null) {
+                    instances = new HashSet<>();
+                    classInstanceMap.put(expr, instances);
                 }
-			}			
+                instances.addAll(toldInstanceMap.get(expr));
+            }
 		}
 
 		// disjoint classes
@@ -320,12 +326,16 @@ public class ALCOperator extends RefinementOperator {
 		if (current.length() > config.maxLength || current.depth() > config.maxDepth) {
 			return extensions;
 		}
+		long start = refinementTime.start();
+		profileCell = (profile == null) ? null : profile.getCell(current.depth(), current.length());
 		// traverse
 		List<CNode> cnodes = current.traverse();
 		for (CNode cnode : cnodes) {
 			ALCNode node = (ALCNode) cnode;
 			extensions.addAll(refineNode(node, current));			
 		}
+		refinementTime.stop(start);
+		refinements.add(extensions.size());
 		return extensions;
 	}
 	
@@ -346,6 +356,8 @@ public class ALCOperator extends RefinementOperator {
             for (OWLObjectPropertyExpression propExp : propertyExpressions) {
                 if (!config.checkRedundancy || !isRedundantExistential(propExp, node)) {
                     extensions.add(getExistential(node, current, propExp));
+                } else {
+                    countPrune(true);
                 }
             }
             // universal restrictions
@@ -365,9 +377,13 @@ public class ALCOperator extends RefinementOperator {
                     if (hasThresholds(prop)) {
                         if (!config.checkRedundancy || !isRedundantDataRestriction(node, prop, true)) {
                             extensions.add(getDataRestriction(node, current, prop, true));
+                        } else {
+                            countPrune(false);
                         }
                         if (!config.checkRedundancy || !isRedundantDataRestriction(node, prop, false)) {
                             extensions.add(getDataRestriction(node, current, prop, false));
+                        } else {
+                            countPrune(false);
                         }
                     }
                 }
@@ -544,6 +560,7 @@ public class ALCOperator extends RefinementOperator {
 			// check redundancy
 			if (config.checkRedundancy &&
                     isRedundantConjunctionForAddition(expr, node)) {
+				countPrune(expr, node);
 				continue;
 			}			
 			// add to extension
@@ -692,6 +709,7 @@ public class ALCOperator extends RefinementOperator {
 					// check redundancy
 					if (config.checkRedundancy
                             && isRedundantConjunctionForSpecialisation(sub, node)) {
+						countPrune(sub, node);
 						continue;
 					}								
 					// add to extensions
@@ -733,6 +751,30 @@ public class ALCOperator extends RefinementOperator {
 	
 	
 	
+	private void countPrune(boolean isDisjoint) {
+		if (profileCell == null) {
+			return;
+		}
+		if (isDisjoint) {
+			profileCell.disjointnessPrunes++;
+		} else {
+			profileCell.redundancyPrunes++;
+		}
+	}
+
+
+
+	// redundant conjunctions are attributed to disjointness if possible
+	private void countPrune(OWLClassExpression expr, ALCNode node) {
+		if (profileCell != null) {
+			countPrune(isDisjointWithClassExpressions(expr, node.clabels)
+					|| isDisjointWithPropertyDomains(expr, node)
+					|| isDisjointWithPropertyRanges(expr, node));
+		}
+	}
+
+
+
 	private boolean isRedundantConjunctionForAddition(OWLClassExpression expr, ALCNode node) {
 		return isRedundantWithClassExpressions(expr, node.clabels)				
 				|| isRedundantConjunctionForSpecialisation(expr, node);
@@ -1017,6 +1059,16 @@ public class ALCOperator extends RefinementOperator {
 
 
 
+	/**
+	 * @param profile the profile receiving prunes of refinements or null
+	 */
+	public void setSearchSpaceProfile(SearchSpaceProfile profile) {
+		this.profile = profile;
+		profileCell = null;
+	}
+
+
+
 	public Set<ALCNode> getAtomicNodes() {
 		Set<ALCNode> extensions = new HashSet<>();		
 		for (OWLClass cl : classes) {
@@ -344,4 +344,13 @@ public abstract class RefinementOperator implements Operator {
     public OWLReasoner getReasoner() {
         return reasoner;
     }
+
+
+    /**
+     * @param config the parameters of the next refinements, which may only
+     * differ from the current ones in parameters that are not precomputed
+     */
+    public void setConfig(OperatorConfig config) {
+        this.config = config;
+    }
 }
@@ -0,0 +1,230 @@
+package io.dlminer.refine;
+
+import io.dlminer.telemetry.MetricNames;
+import io.dlminer.telemetry.Telemetry;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Where the refinement search spends its budget: refinements generated,
+ * duplicates, prunes by reason and evaluation time per depth and length
+ * of the refined concept. The operator records concepts it does not generate
+ * because of redundancy or disjointness; the search records what happens
+ * to generated ones.
+ */
+public class SearchSpaceProfile {
+
+	/**
+	 * Statistics of refining concepts of a given depth and length.
+	 */
+	public static class Cell {
+
+		/** concepts refined */
+		public long refined;
+
+		/** refinements generated by the operator */
+		public long generated;
+
+		/** refinements dropped by the operator as redundant */
+		public long redundancyPrunes;
+
+		/** refinements dropped by the operator due to disjointness */
+		public long disjointnessPrunes;
+
+		/** generated refinements which were processed before */
+		public long duplicates;
+
+		/** generated refinements beyond maxLength, maxDepth or the prediction classes */
+		public long boundPrunes;
+
+		/** evaluated refinements below minSupport */
+		public long supportPrunes;
+
+		/** frequent refinements which are redundant concepts */
+		public long redundantConcepts;
+
+		/** frequent refinements */
+		public long frequent;
+
+		/** refinements not evaluated because the beam was full */
+		public long beamPrunes;
+
+		/** refinements not evaluated because the maximal number of concepts was reached */
+		public long limitPrunes;
+
+		/** time of evaluating refinements */
+		public long evaluationNanos;
+
+
+		public long getEvaluated() {
+			return supportPrunes + redundantConcepts + frequent;
+		}
+	}
+
+
+	private static final String ROW_FORMAT =
+			"%5s %6s %8s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s %10s";
+
+	// depth -> length -> cell
+	private Map<Integer, Map<Integer, Cell>> cells;
+
+
+
+	public SearchSpaceProfile() {
+		cells = new TreeMap<>();
+	}
+
+
+
+	public Cell getCell(int depth, int length) {
+		Map<Integer, Cell> lengthCells = cells.get(depth);
+		if (lengthCells == null) {
+			lengthCells = new TreeMap<>();
+			cells.put(depth, lengthCells);
+		}
+		Cell cell = lengthCells.get(length);
+		if (cell == null) {
+			cell = new Cell();
+			lengthCells.put(length, cell);
+		}
+		return cell;
+	}
+
+
+
+	public Map<Integer, Map<Integer, Cell>> getCells() {
+		return cells;
+	}
+
+
+
+	public Cell getTotal() {
+		Cell total = new Cell();
+		for (Map<Integer, Cell> lengthCells : cells.values()) {
+			for (Cell cell : lengthCells.values()) {
+				add(total, cell);
+			}
+		}
+		return total;
+	}
+
+
+
+	private static void add(Cell total, Cell cell) {
+		total.refined += cell.refined;
+		total.generated += cell.generated;
+		total.redundancyPrunes += cell.redundancyPrunes;
+		total.disjointnessPrunes += cell.disjointnessPrunes;
+		total.duplicates += cell.duplicates;
+		total.boundPrunes += cell.boundPrunes;
+		total.supportPrunes += cell.supportPrunes;
+		total.redundantConcepts += cell.redundantConcepts;
+		total.frequent += cell.frequent;
+		total.beamPrunes += cell.beamPrunes;
+		total.limitPrunes += cell.limitPrunes;
+		total.evaluationNanos += cell.evaluationNanos;
+	}
+
+
+
+	/**
+	 * Adds the totals to counters of {@link Telemetry}.
+	 */
+	public void record() {
+		Cell total = getTotal();
+		count("generated", total.generated);
+		count("duplicates", total.duplicates);
+		count("evaluated", total.getEvaluated());
+		count("frequent", total.frequent);
+		count("pruned.redundancy", total.redundancyPrunes + total.redundantConcepts);
+		count("pruned.disjointness", total.disjointnessPrunes);
+		count("pruned.bounds", total.boundPrunes);
+		count("pruned.support", total.supportPrunes);
+		count("pruned.beam", total.beamPrunes);
+		count("pruned.limit", total.limitPrunes);
+	}
+
+
+	private static void count(String name, long value) {
+		Telemetry.counter(MetricNames.SEARCH_PREFIX + name).add(value);
+	}
+
+
+
+	/**
+	 * @return the table of cells followed by the explanation of the budget
+	 */
+	public String getSummary() {
+		StringBuilder summary = new StringBuilder("Search space by the depth and length of refined concepts:\n");
+		summary.append(String.format(ROW_FORMAT, "depth", "length", "refined", "generated",
+				"redundant", "disjoint", "duplicate", "bounds", "support", "frequent",
+				"beam", "limit", "red.conc", "eval.ms")).append("\n");
+		for (Map.Entry<Integer, Map<Integer, Cell>> depthEntry : cells.entrySet()) {
+			for (Map.Entry<Integer, Cell> lengthEntry : depthEntry.getValue().entrySet()) {
+				appendRow(summary, String.valueOf(depthEntry.getKey()),
+						String.valueOf(lengthEntry.getKey()), lengthEntry.getValue());
+			}
+		}
+		Cell total = getTotal();
+		appendRow(summary, "all", "all", total);
+		summary.append(explain(total));
+		return summary.toString();
+	}
+
+
+
+	private static void appendRow(StringBuilder summary, String depth, String length, Cell cell) {
+		summary.append(String.format(ROW_FORMAT, depth, length, cell.refined, cell.generated,
+				cell.redundancyPrunes, cell.disjointnessPrunes, cell.duplicates, cell.boundPrunes,
+				cell.supportPrunes, cell.frequent, cell.beamPrunes, cell.limitPrunes,
+				cell.redundantConcepts, Math.round(cell.evaluationNanos / 1e6))).append("\n");
+	}
+
+
+
+	private String explain(Cell total) {
+		long candidates = total.generated + total.redundancyPrunes + total.disjointnessPrunes;
+		if (candidates == 0) {
+			return "No refinements were generated";
+		}
+		String explanation = candidates + " refinements were considered: "
+				+ percent(total.redundancyPrunes + total.disjointnessPrunes, candidates)
+				+ " dropped by the operator (redundancy, disjointness), "
+				+ percent(total.duplicates, candidates) + " duplicates, "
+				+ percent(total.boundPrunes, candidates) + " beyond bounds, "
+				+ percent(total.beamPrunes + total.limitPrunes, candidates)
+				+ " cut by the beam or the concept limit, "
+				+ percent(total.getEvaluated(), candidates) + " evaluated";
+		if (total.getEvaluated() > 0) {
+			explanation += "; of evaluated, " + percent(total.supportPrunes, total.getEvaluated())
+					+ " were below minSupport";
+		}
+		// the cell which took most evaluation time
+		int maxDepth = -1;
+		int maxLength = -1;
+		long maxNanos = 0;
+		for (Map.Entry<Integer, Map<Integer, Cell>> depthEntry : cells.entrySet()) {
+			for (Map.Entry<Integer, Cell> lengthEntry : depthEntry.getValue().entrySet()) {
+				if (lengthEntry.getValue().evaluationNanos > maxNanos) {
+					maxNanos = lengthEntry.getValue().evaluationNanos;
+					maxDepth = depthEntry.getKey();
+					maxLength = lengthEntry.getKey();
+				}
+			}
+		}
+		if (maxNanos > 0) {
+			explanation += "; " + percent(maxNanos, total.evaluationNanos)
+					+ " of evaluation time went to refinements of concepts of depth "
+					+ maxDepth + " and length " + maxLength;
+		}
+		return explanation;
+	}
+
+
+
+	private static String percent(long part, long whole) {
+		return Math.round(100.0 * part / whole) + "%";
+	}
+
+}
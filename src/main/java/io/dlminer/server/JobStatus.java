@@ -0,0 +1,22 @@
+package io.dlminer.server;
+
+/**
+ * The state of a mining job, see {@link MiningJob}.
+ */
+public enum JobStatus {
+
+	QUEUED,
+	RUNNING,
+	DONE,
+	FAILED,
+	CANCELLED;
+
+
+	/**
+	 * @return true if the job will not change anymore
+	 */
+	public boolean isFinal() {
+		return this == DONE || this == FAILED || this == CANCELLED;
+	}
+
+}
@@ -0,0 +1,260 @@
+package io.dlminer.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.DLMinerInput;
+import io.dlminer.main.DLMinerListener;
+import io.dlminer.main.DLMinerStats;
+import io.dlminer.main.HypothesisStream;
+import io.dlminer.main.MiningWorkspace;
+import io.dlminer.print.Out;
+
+/**
+ * A run of DL-Miner over a preprocessed ontology of the server.
+ * Jobs run one after another, even over different ontologies, because
+ * telemetry and its current phase are process-wide. Hypotheses are
+ * collected as they become final, so that they can be read while
+ * the job runs, and the phase and progress of the run are recorded.
+ */
+public class MiningJob implements Runnable, DLMinerListener {
+
+	// runs do not overlap as they would mix their metrics
+	private static final Object RUN_LOCK = new Object();
+
+	private String id;
+	private String ontologyName;
+	private MiningWorkspace workspace;
+	private DLMiner miner;
+
+	private volatile JobStatus status;
+	private volatile Throwable error;
+
+	// progress of the current phase
+	private volatile String phase;
+	private volatile long done;
+	private volatile long total;
+	private volatile double eta;
+
+	// hypotheses in the order they are mined, guarded by this
+	private List<Hypothesis> hypotheses;
+
+
+
+	/**
+	 * @param id the identifier of the job
+	 * @param ontologyName the name of the ontology on the server
+	 * @param workspace the preprocessed ontology
+	 * @param input the parameters of the run
+	 */
+	public MiningJob(String id, String ontologyName, MiningWorkspace workspace, DLMinerInput input) {
+		this.id = id;
+		this.ontologyName = ontologyName;
+		this.workspace = workspace;
+		miner = new DLMiner(input);
+		miner.addListener(this);
+		hypotheses = new ArrayList<>();
+		status = JobStatus.QUEUED;
+		total = -1;
+		eta = -1;
+	}
+
+
+
+	@Override
+	public void run() {
+		synchronized (RUN_LOCK) {
+			runAlone();
+		}
+	}
+
+
+
+	private void runAlone() {
+		if (miner.isCancelled()) {
+			finish(JobStatus.CANCELLED);
+			return;
+		}
+		status = JobStatus.RUNNING;
+		Out.p("\nJob " + id + " has started on " + ontologyName);
+		HypothesisStream stream = null;
+		try {
+			miner.init(workspace);
+			// the stream ends once the run has finished
+			stream = miner.stream();
+			while (stream.hasNext()) {
+				add(stream.next());
+			}
+			finish(miner.isCancelled() ? JobStatus.CANCELLED : JobStatus.DONE);
+		} catch (Throwable e) {
+			Out.p(e);
+			error = e;
+			finish(miner.isCancelled() ? JobStatus.CANCELLED : JobStatus.FAILED);
+		} finally {
+			if (stream != null) {
+				stream.close();
+			}
+		}
+		Out.p("\nJob " + id + " has finished as " + status);
+	}
+
+
+
+	private synchronized void add(Hypothesis h) {
+		hypotheses.add(h);
+		notifyAll();
+	}
+
+
+
+	private synchronized void finish(JobStatus finalStatus) {
+		status = finalStatus;
+		notifyAll();
+	}
+
+
+
+	/**
+	 * Cancels the job: a queued job does not start and a running one
+	 * returns the hypotheses mined so far.
+	 */
+	public void cancel() {
+		miner.cancel();
+	}
+
+
+
+	/**
+	 * Waits until the job finishes.
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 */
+	public synchronized void await() throws InterruptedException {
+		while (!status.isFinal()) {
+			wait();
+		}
+	}
+
+
+
+	/**
+	 * Waits until hypotheses after the given number are mined or the job finishes.
+	 * @param from the number of hypotheses which are already read
+	 * @return the following hypotheses, empty if the job has finished without them
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 */
+	public synchronized List<Hypothesis> awaitHypotheses(int from) throws InterruptedException {
+		while (hypotheses.size() <= from && !status.isFinal()) {
+			wait();
+		}
+		if (hypotheses.size() <= from) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(hypotheses.subList(from, hypotheses.size()));
+	}
+
+
+
+	/**
+	 * @return the hypotheses mined so far
+	 */
+	public synchronized List<Hypothesis> getHypotheses() {
+		return new ArrayList<>(hypotheses);
+	}
+
+
+
+	public synchronized int getHypothesesNumber() {
+		return hypotheses.size();
+	}
+
+
+
+	@Override
+	public void phaseStarted(String phase) {
+		this.phase = phase;
+		done = 0;
+		total = -1;
+		eta = -1;
+	}
+
+
+
+	@Override
+	public void progress(String phase, long done, long total, double eta) {
+		this.phase = phase;
+		this.done = done;
+		this.total = total;
+		this.eta = eta;
+	}
+
+
+
+	@Override
+	public void phaseFinished(String phase, double seconds) {}
+
+
+
+	public String getId() {
+		return id;
+	}
+
+
+
+	public String getOntologyName() {
+		return ontologyName;
+	}
+
+
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+
+
+	/**
+	 * @return the error which has stopped the job or null
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+
+
+	/**
+	 * @return the current phase or null if the job has not started
+	 */
+	public String getPhase() {
+		return phase;
+	}
+
+
+
+	public long getDone() {
+		return done;
+	}
+
+
+
+	public long getTotal() {
+		return total;
+	}
+
+
+
+	public double getEta() {
+		return eta;
+	}
+
+
+
+	/**
+	 * @return the statistics of the run, complete once the job is done
+	 */
+	public DLMinerStats getStats() {
+		return miner.getStats();
+	}
+
+}
@@ -0,0 +1,725 @@
+package io.dlminer.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.semanticweb.owlapi.model.IRI;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.main.DLMinerInput;
+import io.dlminer.main.DLMinerOutputI;
+import io.dlminer.main.DLMinerStats;
+import io.dlminer.main.DaemonThreadFactory;
+import io.dlminer.main.MiningWorkspace;
+import io.dlminer.print.HypothesisStreamFormat;
+import io.dlminer.print.HypothesisStreamWriter;
+import io.dlminer.print.Out;
+
+/**
+ * A long-running local server which keeps preprocessed ontologies warm,
+ * see {@link MiningWorkspace}, and runs mining jobs over them. It listens
+ * on the loopback interface only and answers in plain text, a key=value
+ * pair per line:
+ * <pre>
+ * GET    /ontologies                     ontologies with their numbers of unfinished jobs
+ * POST   /ontologies/{name}?file=path    loads and preprocesses an ontology
+ * DELETE /ontologies/{name}              unloads an ontology once its jobs finish
+ * POST   /jobs?ontology=name&amp;...       submits a job, see {@link #createInput(String, Map)}
+ * GET    /jobs                           jobs with their states
+ * GET    /jobs/{id}                      the state, phase and progress of a job
+ * POST   /jobs/{id}/cancel               cancels a job
+ * DELETE /jobs/{id}                      cancels and forgets a job
+ * GET    /jobs/{id}/hypotheses?from=n    streams hypotheses from the n-th one until the job ends
+ * </pre>
+ * Jobs over an ontology share its reasoner and caches. Jobs run one after
+ * another because telemetry is process-wide, see {@link MiningJob}. Finished
+ * jobs are forgotten once there are more than {@link #MAX_FINISHED_JOBS} of them.
+ * All operations are also available in-process.
+ */
+public class MiningServer {
+
+	public static final int DEF_PORT = 8347;
+
+	// seconds to wait for cancelled jobs once the server stops
+	public static final int STOP_TIMEOUT = 60;
+
+	// finished jobs which are kept for reading their results
+	public static final int MAX_FINISHED_JOBS = 100;
+
+	public static final String ONTOLOGY_PARAMETER = "ontology";
+	public static final String FILE_PARAMETER = "file";
+	public static final String FROM_PARAMETER = "from";
+	public static final String FORMAT_PARAMETER = "format";
+
+	private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+
+	private int port;
+	private HttpServer httpServer;
+	private ExecutorService requestExecutor;
+
+	private Map<String, WarmOntology> ontologies;
+	// jobs in the order of submission
+	private Map<String, MiningJob> jobs;
+	private AtomicLong jobCount;
+
+
+
+	public MiningServer() {
+		this(DEF_PORT);
+	}
+
+
+
+	/**
+	 * @param port the port on the loopback interface or 0 for any free port
+	 */
+	public MiningServer(int port) {
+		this.port = port;
+		ontologies = new ConcurrentHashMap<>();
+		jobs = new LinkedHashMap<>();
+		jobCount = new AtomicLong();
+	}
+
+
+
+	public void start() throws IOException {
+		httpServer = HttpServer.create(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		httpServer.createContext("/ontologies", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handleOntologies(exchange);
+			}
+		});
+		httpServer.createContext("/jobs", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handleJobs(exchange);
+			}
+		});
+		// streaming requests hold their threads until jobs end
+		requestExecutor = Executors.newCachedThreadPool(new DaemonThreadFactory("dlminer-http"));
+		httpServer.setExecutor(requestExecutor);
+		httpServer.start();
+		port = httpServer.getAddress().getPort();
+	}
+
+
+
+	/**
+	 * Cancels all jobs, waits for them to finish and disposes the ontologies.
+	 */
+	public void stop() {
+		for (MiningJob job : getJobs()) {
+			job.cancel();
+		}
+		List<ExecutorService> executors = new ArrayList<>();
+		for (String name : new ArrayList<>(ontologies.keySet())) {
+			WarmOntology ontology = unload(name);
+			if (ontology != null) {
+				executors.add(ontology.executor);
+			}
+		}
+		try {
+			for (ExecutorService executor : executors) {
+				executor.awaitTermination(STOP_TIMEOUT, TimeUnit.SECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (httpServer != null) {
+			httpServer.stop(0);
+			requestExecutor.shutdownNow();
+			httpServer = null;
+		}
+	}
+
+
+
+	/**
+	 * @return the port which the server listens on
+	 */
+	public int getPort() {
+		return port;
+	}
+
+
+
+	/**
+	 * @return the base URI of the server
+	 */
+	public URI getURI() {
+		return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port + "/");
+	}
+
+
+
+	// ====================== ontologies ======================
+
+	/**
+	 * Parses the ontology and processes it by the reasoner before it is
+	 * available for jobs.
+	 * @param name the name of the ontology on the server
+	 * @param input the ontology and the parameters of the reasoner
+	 * @throws Exception if the ontology cannot be preprocessed
+	 */
+	public void addOntology(String name, DLMinerInput input) throws Exception {
+		if (ontologies.containsKey(name)) {
+			throw new IllegalArgumentException(name + DLMinerOutputI.DUPLICATE_ONTOLOGY_ERROR);
+		}
+		Out.p("\nPreprocessing the ontology " + name);
+		MiningWorkspace workspace = new MiningWorkspace(input);
+		workspace.init();
+		WarmOntology ontology = new WarmOntology(workspace,
+				Executors.newSingleThreadExecutor(new DaemonThreadFactory("dlminer-" + name)));
+		if (ontologies.putIfAbsent(name, ontology) != null) {
+			ontology.executor.shutdown();
+			workspace.dispose();
+			throw new IllegalArgumentException(name + DLMinerOutputI.DUPLICATE_ONTOLOGY_ERROR);
+		}
+	}
+
+
+
+	/**
+	 * Cancels the jobs over the ontology and disposes it once they finish.
+	 * @param name the name of the ontology
+	 * @return false if the ontology is not loaded
+	 */
+	public boolean removeOntology(String name) {
+		for (MiningJob job : getJobs()) {
+			if (job.getOntologyName().equals(name)) {
+				job.cancel();
+			}
+		}
+		return unload(name) != null;
+	}
+
+
+
+	private WarmOntology unload(String name) {
+		WarmOntology ontology = ontologies.remove(name);
+		if (ontology == null) {
+			return null;
+		}
+		final MiningWorkspace workspace = ontology.workspace;
+		ontology.executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				workspace.dispose();
+			}
+		});
+		ontology.executor.shutdown();
+		return ontology;
+	}
+
+
+
+	public Set<String> getOntologyNames() {
+		return new TreeSet<>(ontologies.keySet());
+	}
+
+
+
+	/**
+	 * @param name the name of the ontology
+	 * @return the preprocessed ontology or null if it is not loaded
+	 */
+	public MiningWorkspace getWorkspace(String name) {
+		WarmOntology ontology = ontologies.get(name);
+		return (ontology == null) ? null : ontology.workspace;
+	}
+
+
+
+	// ====================== jobs ======================
+
+	/**
+	 * @param ontologyName the name of a loaded ontology
+	 * @param input the parameters of the run, its ontology is ignored
+	 * @return the queued job
+	 */
+	public MiningJob submit(String ontologyName, DLMinerInput input) {
+		WarmOntology ontology = getOntology(ontologyName);
+		String id = Long.toString(jobCount.incrementAndGet());
+		MiningJob job = new MiningJob(id, ontologyName, ontology.workspace, input);
+		synchronized (jobs) {
+			jobs.put(id, job);
+			evictFinishedJobs();
+		}
+		try {
+			ontology.executor.execute(job);
+		} catch (RejectedExecutionException e) {
+			// the ontology has been unloaded meanwhile
+			synchronized (jobs) {
+				jobs.remove(id);
+			}
+			throw new IllegalArgumentException(ontologyName + DLMinerOutputI.UNKNOWN_ONTOLOGY_ERROR);
+		}
+		return job;
+	}
+
+
+
+	// the oldest finished jobs go first, guarded by jobs
+	private void evictFinishedJobs() {
+		int finished = 0;
+		for (MiningJob job : jobs.values()) {
+			if (job.getStatus().isFinal()) {
+				finished++;
+			}
+		}
+		Iterator<MiningJob> iterator = jobs.values().iterator();
+		while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+			if (iterator.next().getStatus().isFinal()) {
+				iterator.remove();
+				finished--;
+			}
+		}
+	}
+
+
+
+	/**
+	 * @param parameters the parameters of the run, see {@link #createInput(String, Map)}
+	 * @return the queued job
+	 */
+	public MiningJob submit(Map<String, String> parameters) {
+		String ontologyName = parameters.get(ONTOLOGY_PARAMETER);
+		if (ontologyName == null) {
+			throw new IllegalArgumentException(ONTOLOGY_PARAMETER + DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+		}
+		return submit(ontologyName, createInput(ontologyName, parameters));
+	}
+
+
+
+	/**
+	 * Creates the input of a job with default values except for the given ones.
+	 * Parameters are named as public fields of
+	 * {@link io.dlminer.refine.OperatorConfig} and {@link io.dlminer.learn.AxiomConfig}
+	 * of numeric, boolean or enumeration types, e.g. maxLength or useCleaning,
+	 * or as maxHypothesesNumber, timeBudget and useComplexMeasures.
+	 * @param ontologyName the name of a loaded ontology
+	 * @param parameters the names and values of parameters
+	 * @return the input of the job
+	 */
+	public DLMinerInput createInput(String ontologyName, Map<String, String> parameters) {
+		WarmOntology ontology = getOntology(ontologyName);
+		DLMinerInput input = new DLMinerInput(ontology.workspace.getHandler().getOntology());
+		for (Map.Entry<String, String> entry : parameters.entrySet()) {
+			String name = entry.getKey();
+			String value = entry.getValue();
+			if (ONTOLOGY_PARAMETER.equals(name)) {
+				continue;
+			}
+			try {
+				if (name.equals("maxHypothesesNumber")) {
+					input.setMaxHypothesesNumber(Integer.valueOf(value));
+				} else if (name.equals("timeBudget")) {
+					input.setTimeBudget(Integer.valueOf(value));
+				} else if (name.equals("useComplexMeasures")) {
+					input.setUseComplexMeasures(parseBoolean(name, value));
+				} else if (!setField(input.getOperatorConfig(), name, value)
+						&& !setField(input.getAxiomConfig(), name, value)) {
+					throw new IllegalArgumentException(name + DLMinerOutputI.UNKNOWN_PARAMETER_ERROR);
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(name + "=" + value
+						+ DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+			}
+		}
+		return input;
+	}
+
+
+
+	// returns false if there is no such field
+	private static boolean setField(Object config, String name, String value) {
+		Field field = null;
+		try {
+			field = config.getClass().getField(name);
+		} catch (NoSuchFieldException e) {
+			return false;
+		}
+		Class<?> type = field.getType();
+		Object parsed = null;
+		if (type == int.class || type == Integer.class) {
+			parsed = Integer.valueOf(value);
+		} else if (type == double.class || type == Double.class) {
+			parsed = Double.valueOf(value);
+		} else if (type == boolean.class || type == Boolean.class) {
+			parsed = parseBoolean(name, value);
+		} else if (type.isEnum()) {
+			parsed = parseEnum(type, name, value);
+		} else {
+			throw new IllegalArgumentException(name + DLMinerOutputI.UNKNOWN_PARAMETER_ERROR);
+		}
+		try {
+			field.set(config, parsed);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(name + DLMinerOutputI.UNKNOWN_PARAMETER_ERROR);
+		}
+		return true;
+	}
+
+
+
+	private static boolean parseBoolean(String name, String value) {
+		if (value.equalsIgnoreCase("true")) {
+			return true;
+		}
+		if (value.equalsIgnoreCase("false")) {
+			return false;
+		}
+		throw new IllegalArgumentException(name + "=" + value + DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+	}
+
+
+
+	private static Object parseEnum(Class<?> type, String name, String value) {
+		for (Object constant : type.getEnumConstants()) {
+			if (((Enum<?>) constant).name().equalsIgnoreCase(value)
+					|| constant.toString().equalsIgnoreCase(value)) {
+				return constant;
+			}
+		}
+		throw new IllegalArgumentException(name + "=" + value + DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+	}
+
+
+
+	private WarmOntology getOntology(String name) {
+		WarmOntology ontology = ontologies.get(name);
+		if (ontology == null) {
+			throw new IllegalArgumentException(name + DLMinerOutputI.UNKNOWN_ONTOLOGY_ERROR);
+		}
+		return ontology;
+	}
+
+
+
+	/**
+	 * @param id the identifier of the job
+	 * @return the job or null if there is no such job
+	 */
+	public MiningJob getJob(String id) {
+		synchronized (jobs) {
+			return jobs.get(id);
+		}
+	}
+
+
+
+	public List<MiningJob> getJobs() {
+		synchronized (jobs) {
+			return new ArrayList<>(jobs.values());
+		}
+	}
+
+
+
+	/**
+	 * Cancels the job and forgets it.
+	 * @param id the identifier of the job
+	 * @return false if there is no such job
+	 */
+	public boolean removeJob(String id) {
+		MiningJob job = null;
+		synchronized (jobs) {
+			job = jobs.remove(id);
+		}
+		if (job == null) {
+			return false;
+		}
+		job.cancel();
+		return true;
+	}
+
+
+
+	// ====================== HTTP ======================
+
+	private void handleOntologies(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String[] path = getPath(exchange);
+			if (path.length == 1 && method.equals("GET")) {
+				StringBuilder text = new StringBuilder();
+				for (String name : getOntologyNames()) {
+					int unfinished = 0;
+					for (MiningJob job : getJobs()) {
+						if (job.getOntologyName().equals(name) && !job.getStatus().isFinal()) {
+							unfinished++;
+						}
+					}
+					text.append(name).append('=').append(unfinished).append('\n');
+				}
+				send(exchange, 200, text.toString());
+			} else if (path.length == 2 && method.equals("POST")) {
+				String file = getParameters(exchange).get(FILE_PARAMETER);
+				if (file == null) {
+					throw new IllegalArgumentException(FILE_PARAMETER + DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+				}
+				addOntology(path[1], new DLMinerInput(file));
+				send(exchange, 201, ONTOLOGY_PARAMETER + "=" + path[1] + "\n");
+			} else if (path.length == 2 && method.equals("DELETE")) {
+				if (removeOntology(path[1])) {
+					send(exchange, 200, ONTOLOGY_PARAMETER + "=" + path[1] + "\n");
+				} else {
+					send(exchange, 404, path[1] + DLMinerOutputI.UNKNOWN_ONTOLOGY_ERROR + "\n");
+				}
+			} else {
+				send(exchange, 404, exchange.getRequestURI().getPath() + "\n");
+			}
+		} catch (IllegalArgumentException e) {
+			send(exchange, 400, e.getMessage() + "\n");
+		} catch (Exception e) {
+			Out.p(e);
+			send(exchange, 500, e + "\n");
+		}
+	}
+
+
+
+	private void handleJobs(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String[] path = getPath(exchange);
+			if (path.length == 1 && method.equals("POST")) {
+				MiningJob job = submit(getParameters(exchange));
+				send(exchange, 202, "id=" + job.getId() + "\n");
+				return;
+			}
+			if (path.length == 1 && method.equals("GET")) {
+				StringBuilder text = new StringBuilder();
+				for (MiningJob job : getJobs()) {
+					text.append(job.getId()).append('=').append(job.getStatus()).append('\n');
+				}
+				send(exchange, 200, text.toString());
+				return;
+			}
+			MiningJob job = (path.length > 1) ? getJob(path[1]) : null;
+			if (job == null) {
+				send(exchange, 404, exchange.getRequestURI().getPath()
+						+ DLMinerOutputI.UNKNOWN_JOB_ERROR + "\n");
+			} else if (path.length == 2 && method.equals("GET")) {
+				send(exchange, 200, describe(job));
+			} else if (path.length == 2 && method.equals("DELETE")) {
+				removeJob(job.getId());
+				send(exchange, 200, describe(job));
+			} else if (path.length == 3 && path[2].equals("cancel") && method.equals("POST")) {
+				job.cancel();
+				send(exchange, 200, describe(job));
+			} else if (path.length == 3 && path[2].equals("hypotheses") && method.equals("GET")) {
+				streamHypotheses(exchange, job);
+			} else {
+				send(exchange, 404, exchange.getRequestURI().getPath() + "\n");
+			}
+		} catch (IllegalArgumentException e) {
+			send(exchange, 400, e.getMessage() + "\n");
+		} catch (Exception e) {
+			Out.p(e);
+			send(exchange, 500, e + "\n");
+		}
+	}
+
+
+
+	private static String describe(MiningJob job) {
+		StringBuilder text = new StringBuilder();
+		text.append("id=").append(job.getId()).append('\n');
+		text.append(ONTOLOGY_PARAMETER).append('=').append(job.getOntologyName()).append('\n');
+		text.append("status=").append(job.getStatus()).append('\n');
+		if (job.getPhase() != null) {
+			text.append("phase=").append(job.getPhase()).append('\n');
+			text.append("done=").append(job.getDone()).append('\n');
+			text.append("total=").append(job.getTotal()).append('\n');
+			text.append("eta=").append(Out.fn(job.getEta())).append('\n');
+		}
+		text.append("hypotheses=").append(job.getHypothesesNumber()).append('\n');
+		DLMinerStats stats = job.getStats();
+		if (job.getStatus().isFinal() && stats != null && stats.getConceptsNumber() != null) {
+			text.append("concepts=").append(stats.getConceptsNumber()).append('\n');
+			text.append("roles=").append(stats.getRolesNumber()).append('\n');
+		}
+		if (job.getError() != null) {
+			text.append("error=").append(job.getError()).append('\n');
+		}
+		return text.toString();
+	}
+
+
+
+	// hypotheses are written as they are mined, the response ends with the job
+	private static void streamHypotheses(HttpExchange exchange, MiningJob job) throws IOException {
+		Map<String, String> parameters = getParameters(exchange);
+		int from = 0;
+		HypothesisStreamFormat format = HypothesisStreamFormat.LINES;
+		try {
+			if (parameters.containsKey(FROM_PARAMETER)) {
+				from = Integer.parseInt(parameters.get(FROM_PARAMETER));
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(FROM_PARAMETER + DLMinerOutputI.WRONG_PARAMETER_VALUE_ERROR);
+		}
+		if (parameters.containsKey(FORMAT_PARAMETER)) {
+			format = (HypothesisStreamFormat) parseEnum(HypothesisStreamFormat.class,
+					FORMAT_PARAMETER, parameters.get(FORMAT_PARAMETER));
+		}
+		exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+		exchange.sendResponseHeaders(200, 0);
+		HypothesisStreamWriter writer = new HypothesisStreamWriter(exchange.getResponseBody(),
+				IRI.create(HypothesisStreamWriter.QUALITY_IRI), format, true);
+		try {
+			while (true) {
+				List<Hypothesis> hypotheses = job.awaitHypotheses(from);
+				if (hypotheses.isEmpty()) {
+					break;
+				}
+				for (Hypothesis h : hypotheses) {
+					writer.write(h);
+				}
+				writer.flush();
+				from += hypotheses.size();
+			}
+			writer.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			// the client has closed the connection
+			Out.p(e);
+		} finally {
+			exchange.close();
+		}
+	}
+
+
+
+	private static String[] getPath(HttpExchange exchange) {
+		String path = exchange.getRequestURI().getPath();
+		List<String> parts = new ArrayList<>();
+		for (String part : path.split("/")) {
+			if (!part.isEmpty()) {
+				parts.add(part);
+			}
+		}
+		return parts.toArray(new String[parts.size()]);
+	}
+
+
+
+	// parameters of the query and of a form in the body
+	private static Map<String, String> getParameters(HttpExchange exchange) throws IOException {
+		Map<String, String> parameters = new LinkedHashMap<>();
+		parseParameters(exchange.getRequestURI().getRawQuery(), parameters);
+		String type = exchange.getRequestHeaders().getFirst("Content-Type");
+		if (type != null && type.startsWith("application/x-www-form-urlencoded")) {
+			parseParameters(read(exchange.getRequestBody()), parameters);
+		}
+		return parameters;
+	}
+
+
+
+	private static void parseParameters(String text, Map<String, String> parameters) throws IOException {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		for (String pair : text.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int index = pair.indexOf('=');
+			String name = (index < 0) ? pair : pair.substring(0, index);
+			String value = (index < 0) ? "" : pair.substring(index + 1);
+			parameters.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+		}
+	}
+
+
+
+	private static String read(InputStream stream) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1 << 12];
+		int n;
+		while ((n = stream.read(buffer)) > 0) {
+			bytes.write(buffer, 0, n);
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+
+
+	private static void send(HttpExchange exchange, int code, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+		exchange.sendResponseHeaders(code, bytes.length);
+		OutputStream stream = exchange.getResponseBody();
+		try {
+			stream.write(bytes);
+		} finally {
+			stream.close();
+		}
+	}
+
+
+
+	/**
+	 * Starts the server on the given port, 0 for any free port,
+	 * with ontologies given as name=file.
+	 * @param args the port and the ontologies
+	 * @throws Exception if an ontology cannot be preprocessed
+	 */
+	public static void main(String[] args) throws Exception {
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEF_PORT;
+		MiningServer server = new MiningServer(port);
+		for (int i = 1; i < args.length; i++) {
+			String[] pair = args[i].split("=", 2);
+			server.addOntology(pair[0], new DLMinerInput(pair[1]));
+		}
+		server.start();
+		Out.p("\nThe mining server is listening on " + server.getURI());
+	}
+
+
+
+	// a preprocessed ontology with the thread which runs its jobs
+	private static class WarmOntology {
+
+		private MiningWorkspace workspace;
+		private ExecutorService executor;
+
+		WarmOntology(MiningWorkspace workspace, ExecutorService executor) {
+			this.workspace = workspace;
+			this.executor = executor;
+		}
+	}
+
+}
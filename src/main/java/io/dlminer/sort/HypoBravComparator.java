@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 public class HypoBravComparator extends HypoComparator {	
 	
@@ -12,8 +13,8 @@ public class HypoBravComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return h1.braveness.compareTo(h2.braveness);
+			return Double.compare(h1.getValue(Measure.BRAVENESS), h2.getValue(Measure.BRAVENESS));
 		}
-		return - h1.braveness.compareTo(h2.braveness);		
+		return - Double.compare(h1.getValue(Measure.BRAVENESS), h2.getValue(Measure.BRAVENESS));		
 	}
 }
@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 
 
@@ -13,8 +14,8 @@ public class HypoBravLowComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return h1.assumption.compareTo(h2.assumption);
+			return Double.compare(h1.getValue(Measure.ASSUMPTION), h2.getValue(Measure.ASSUMPTION));
 		}
-		return - h1.assumption.compareTo(h2.assumption);		
+		return - Double.compare(h1.getValue(Measure.ASSUMPTION), h2.getValue(Measure.ASSUMPTION));		
 	}
 }
\ No newline at end of file
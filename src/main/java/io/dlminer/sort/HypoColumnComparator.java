@@ -0,0 +1,27 @@
+package io.dlminer.sort;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
+
+/**
+ * Compares hypotheses by a column of their hypothesis table
+ * without boxing values.
+ */
+public class HypoColumnComparator extends HypoComparator {
+
+	private Measure measure;
+
+	public HypoColumnComparator(Measure measure, SortingOrder order) {
+		this.measure = measure;
+		this.order = order;
+	}
+
+	@Override
+	public int compare(Hypothesis h1, Hypothesis h2) {
+		int cmp = Double.compare(h1.getValue(measure), h2.getValue(measure));
+		if (order.equals(SortingOrder.ASC)) {
+			return cmp;
+		}
+		return - cmp;
+	}
+}
@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 import java.util.Comparator;
 
@@ -26,14 +27,14 @@ public class HypoDominanceComparator implements Comparator<Hypothesis> {
 	public static boolean dominates(Hypothesis h1, Hypothesis h2) {
 //		if (h1.signature.equals(h2.signature)) {
 			// at least one measure is worse
-			for (int i=0; i<h1.measures.length; i++) {
-				if (h1.measures[i] < h2.measures[i]) {
+			for (int i=0; i<Hypothesis.OBJECTIVES.length; i++) {
+				if (h1.getObjective(i) < h2.getObjective(i)) {
 					return false;
 				}
 			}
 			// at least one measure is better
-			for (int i=0; i<h1.measures.length; i++) {
-				if (h1.measures[i] > h2.measures[i]) {
+			for (int i=0; i<Hypothesis.OBJECTIVES.length; i++) {
+				if (h1.getObjective(i) > h2.getObjective(i)) {
 					return true;
 				}
 			}
@@ -46,13 +47,13 @@ public class HypoDominanceComparator implements Comparator<Hypothesis> {
 		if (h1.signature.equals(h2.signature)) {
 			int cfit;
 			int cbra;
-			if (h1.fitness != null && h1.braveness != null
-					&& h2.fitness != null && h2.braveness != null) {
-				cfit = h1.fitness.compareTo(h2.fitness);
-				cbra = h1.braveness.compareTo(h2.braveness);					
+			if (h1.get(Measure.FITNESS) != null && h1.get(Measure.BRAVENESS) != null
+					&& h2.get(Measure.FITNESS) != null && h2.get(Measure.BRAVENESS) != null) {
+				cfit = h1.get(Measure.FITNESS).compareTo(h2.get(Measure.FITNESS));
+				cbra = h1.get(Measure.BRAVENESS).compareTo(h2.get(Measure.BRAVENESS));					
 			} else {
-				cfit = h1.support.compareTo(h2.support);
-				cbra = h1.assumption.compareTo(h2.assumption);							
+				cfit = h1.get(Measure.SUPPORT).compareTo(h2.get(Measure.SUPPORT));
+				cbra = h1.get(Measure.ASSUMPTION).compareTo(h2.get(Measure.ASSUMPTION));							
 			}
 			// h1 dominates or equals
 			if ((cfit >= 0 && cbra <= 0)) {
@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 
 public class HypoFitBravComparator extends HypoComparator {
@@ -15,11 +16,11 @@ public class HypoFitBravComparator extends HypoComparator {
 
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
-		Double val1 = (double) (h1.fitness - cost*h1.braveness);
-		Double val2 = (double) (h2.fitness - cost*h2.braveness);
+		double val1 = h1.getValue(Measure.FITNESS) - cost*h1.getValue(Measure.BRAVENESS);
+		double val2 = h2.getValue(Measure.FITNESS) - cost*h2.getValue(Measure.BRAVENESS);
 		if (order.equals(SortingOrder.ASC)) {
-			return val1.compareTo(val2);
+			return Double.compare(val1, val2);
 		}
-		return - val1.compareTo(val2);		
+		return - Double.compare(val1, val2);		
 	}
 }
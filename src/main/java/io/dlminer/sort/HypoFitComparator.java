@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 public class HypoFitComparator extends HypoComparator {
 	
@@ -11,8 +12,8 @@ public class HypoFitComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return h1.fitness.compareTo(h2.fitness);
+			return Double.compare(h1.getValue(Measure.FITNESS), h2.getValue(Measure.FITNESS));
 		}
-		return - h1.fitness.compareTo(h2.fitness);		
+		return - Double.compare(h1.getValue(Measure.FITNESS), h2.getValue(Measure.FITNESS));		
 	}
 }
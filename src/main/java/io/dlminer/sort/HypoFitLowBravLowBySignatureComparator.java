@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 public class HypoFitLowBravLowBySignatureComparator extends HypoComparator {
 	
@@ -13,11 +14,11 @@ public class HypoFitLowBravLowBySignatureComparator extends HypoComparator {
 
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
-		Double val1 = (double) (h1.support - cost*h1.assumption) / h1.signature.size();
-		Double val2 = (double) (h2.support - cost*h2.assumption) / h2.signature.size();
+		double val1 = (h1.getValue(Measure.SUPPORT) - cost*h1.getValue(Measure.ASSUMPTION)) / h1.getSignatureSize();
+		double val2 = (h2.getValue(Measure.SUPPORT) - cost*h2.getValue(Measure.ASSUMPTION)) / h2.getSignatureSize();
 		if (order.equals(SortingOrder.ASC)) {
-			return val1.compareTo(val2);
+			return Double.compare(val1, val2);
 		} 
-		return - val1.compareTo(val2);		
+		return - Double.compare(val1, val2);		
 	}
 }
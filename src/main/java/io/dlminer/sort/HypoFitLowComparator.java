@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 
 
@@ -13,9 +14,9 @@ public class HypoFitLowComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return h1.support.compareTo(h2.support);
+			return Double.compare(h1.getValue(Measure.SUPPORT), h2.getValue(Measure.SUPPORT));
 		}
-		return - h1.support.compareTo(h2.support);		
+		return - Double.compare(h1.getValue(Measure.SUPPORT), h2.getValue(Measure.SUPPORT));		
 		
 	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 
 public class HypoInterestComparator extends HypoComparator {
@@ -12,8 +13,8 @@ public class HypoInterestComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return Double.compare(h1.novelty, h2.novelty);
+			return Double.compare(h1.getValue(Measure.NOVELTY), h2.getValue(Measure.NOVELTY));
 		} 
-		return - Double.compare(h1.novelty, h2.novelty);		
+		return - Double.compare(h1.getValue(Measure.NOVELTY), h2.getValue(Measure.NOVELTY));		
 	}
 }
\ No newline at end of file
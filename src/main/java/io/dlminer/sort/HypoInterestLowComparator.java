@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 
 public class HypoInterestLowComparator extends HypoComparator {
@@ -12,8 +13,8 @@ public class HypoInterestLowComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return Double.compare(h1.noveltyApprox, h2.noveltyApprox);
+			return Double.compare(h1.getValue(Measure.NOVELTY_APPROX), h2.getValue(Measure.NOVELTY_APPROX));
 		} 
-		return - Double.compare(h1.noveltyApprox, h2.noveltyApprox);		
+		return - Double.compare(h1.getValue(Measure.NOVELTY_APPROX), h2.getValue(Measure.NOVELTY_APPROX));		
 	}
 }
@@ -1,6 +1,7 @@
 package io.dlminer.sort;
 
 import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
 
 public class HypoLiftComparator extends HypoComparator {
 	
@@ -11,9 +12,9 @@ public class HypoLiftComparator extends HypoComparator {
 	@Override
 	public int compare(Hypothesis h1, Hypothesis h2) {
 		if (order.equals(SortingOrder.ASC)) {
-			return h1.lift.compareTo(h2.lift);
+			return Double.compare(h1.getValue(Measure.LIFT), h2.getValue(Measure.LIFT));
 		} 
-		return - h1.lift.compareTo(h2.lift);		
+		return - Double.compare(h1.getValue(Measure.LIFT), h2.getValue(Measure.LIFT));		
 	}
 }
 
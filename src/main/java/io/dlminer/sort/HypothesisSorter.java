@@ -3,14 +3,14 @@ package io.dlminer.sort;
 import io.dlminer.graph.Graph;
 import io.dlminer.learn.Hypothesis;
 import io.dlminer.learn.HypothesisEntry;
-import io.dlminer.ont.OntologyHandler;
-import io.dlminer.ont.ReasonerLoader;
-import io.dlminer.ont.ReasonerName;
+import io.dlminer.learn.HypothesisTable;
+import io.dlminer.learn.Measure;
 import io.dlminer.print.Out;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -18,10 +18,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.IRI;
-import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
-import org.semanticweb.owlapi.reasoner.InferenceType;
-import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
 
 public class HypothesisSorter {
@@ -37,18 +34,13 @@ public class HypothesisSorter {
 	private List<Hypothesis> hypothesesByInterest;
 	
 	private Graph<Hypothesis> strengthGraph;
-	private Map<OWLAxiom, Hypothesis> axiomHypothesisMap;
+	private StrengthGraphBuilder strengthGraphBuilder;
 	
 	private Map<Hypothesis, Set<String>> hypothesisToEntitiesMap;
 	
 	private Map<String, Hypothesis> idToHypothesisMap;
 	
-		
-	
-	// internal reasoner and handler
-	private OWLReasoner reasoner;
-	private OntologyHandler handler;
-	private boolean isReasonerError;
+	private NavigationIndex navigationIndex;
 	
 
 	
@@ -62,13 +54,14 @@ public class HypothesisSorter {
 		hypotheses = new ArrayList<>(hypothesisIdToEntryMap.size());
 		hypothesisToEntitiesMap = new HashMap<>();
 		idToHypothesisMap = new HashMap<>();
+		HypothesisTable table = new HypothesisTable();
 		for (String id : hypothesisIdToEntryMap.keySet()) {
-			Hypothesis hypothesis = new Hypothesis();
+			Hypothesis hypothesis = new Hypothesis(table);
 			hypothesis.id = id;
 			HypothesisEntry entry = hypothesisIdToEntryMap.get(id);
-			hypothesis.support = (double) entry.getFitness();
-			hypothesis.assumption = (double) entry.getBraveness();
-			hypothesis.noveltyApprox = (double) entry.getInterest();
+			hypothesis.set(Measure.SUPPORT, (double) entry.getFitness());
+			hypothesis.set(Measure.ASSUMPTION, (double) entry.getBraveness());
+			hypothesis.set(Measure.NOVELTY_APPROX, (double) entry.getInterest());
 			hypothesis.length = entry.getLength();
 			hypotheses.add(hypothesis);
 			hypothesisToEntitiesMap.put(hypothesis, entry.getEntities());
@@ -88,25 +81,8 @@ public class HypothesisSorter {
 
 
 
-	private void initReasoner() {
-		// create a handler		
-		handler = new OntologyHandler();		
-		// init a reasoner
-		reasoner = null; 
-		try {
-			// Hermit is required because Pellet is not updated once axioms are added
-			reasoner = ReasonerLoader.initReasoner(ReasonerName.HERMIT, 
-					handler.getOntology());
-			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, 
-					InferenceType.OBJECT_PROPERTY_HIERARCHY);
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-	}
-
-	
-	
 	public void sort() {
+		navigationIndex = null;
 		initLists();			
 		Collections.sort(hypothesesByLength, new HypoLengthComparator(SortingOrder.ASC));
 		Collections.sort(hypothesesByFitness, new HypoFitLowComparator(SortingOrder.DESC));
@@ -147,6 +123,16 @@ public class HypothesisSorter {
 	}
 	
 	
+	// quality is calculated by HypothesisEvaluator.initMeasures(),
+	// the sort is stable, so ties keep their order
+	public static List<Hypothesis> sortByQuality(Collection<Hypothesis> hypotheses) {
+		List<Hypothesis> sortedHypotheses = new ArrayList<>(hypotheses);
+		Collections.sort(sortedHypotheses,
+				new HypoColumnComparator(Measure.QUALITY, SortingOrder.DESC));
+		return sortedHypotheses;
+	}
+	
+	
 	public static List<Hypothesis> sortByLift(Collection<Hypothesis> hypotheses) {
 		List<Hypothesis> sortedHypotheses = new ArrayList<>(hypotheses);
 		Collections.sort(sortedHypotheses, new HypoLiftComparator(SortingOrder.DESC));
@@ -156,154 +142,16 @@ public class HypothesisSorter {
 
 	
 	public void orderByStrength() {		
-		initReasoner();
-		mapAxiomsToHypotheses();
-		buildStrengthGraph();
-	}
-	
-	
-	
-	private void mapAxiomsToHypotheses() {
-		// map axioms to their hypotheses
-		axiomHypothesisMap = new HashMap<>();
-		for (Hypothesis h : hypotheses) {
-			if (h.axioms.size() == 1) {
-				OWLAxiom ax = h.getFirstAxiom();
-				if (ax != null) {			
-					axiomHypothesisMap.put(ax, h);
-				}
-			}
-		}
-	}
-	
-		
-	
-	private void buildStrengthGraph() {
-		// parents are stronger than children
-		strengthGraph = new Graph<>(hypotheses);
-		// find the maximal size
-		int maxSize = 0;
-		for (Hypothesis h : hypotheses) {
-			if (h.axioms.size() > maxSize) {
-				maxSize = h.axioms.size();
-			}
-		}
-		// first order axioms, then all other hypotheses (optimisation)
-		for (int size=1; size<=maxSize; size++) {
-			orderHypothesesOfSize(size);
-		}
-	}
-	
-	
-	
-	private void orderHypothesesOfSize(int size) {
-		Out.p("\nOrdering hypotheses of size = " + size);
-		int count = 0;
-		for (Hypothesis h1 : hypotheses) {			
-			count++;
-			// debug
-			if (count % 100 == 0) {
-				Out.p(count + " / " + hypotheses.size() + " hypotheses ordered by strength");
-			}
-			if (h1.axioms.size() > size) {
-				continue;
-			}
-			double start = System.nanoTime();
-			for (Hypothesis h2 : hypotheses) {
-				if (h2.axioms.size() > size) {
-					continue;
-				}
-				// already processed
-				if (h1.axioms.size() < size && h2.axioms.size() < size) {
-					continue;
-				}
-				if (!h1.equals(h2) 
-						&& isComparableTo(h1, h2)
-						&& !strengthGraph.hasDescendant(h1, h2)) {
-					if (isStrongerThan(h1, h2)) {						
-						strengthGraph.addChild(h1, h2);
-						strengthGraph.removeChildFromAncestors(h1, h2);
-					}
-				}
-			}
-			double time = (System.nanoTime() - start)/1e9;
-			// strength comparison time
-			h1.strengthTime = (h1.strengthTime == null) ? time : h1.strengthTime + time;						
-		}
-	}
-	
-	
-	
-	private boolean isComparableTo(Hypothesis h1, Hypothesis h2) {
-		if (!h1.hasSignatureOverlapAtLeast(h2, 2)) {
-			return false;
-		}
-		if (!h1.containsRoleAxioms() && h2.containsRoleAxioms()) {
-			return false;
-		}
-		return true;
-	}
-	
-	
-	
-	private boolean isStrongerThan(Hypothesis h1, Hypothesis h2) {
-		if (h1.axioms.containsAll(h2.axioms)) {
-			return true;
-		}
-		if (hasStrongerOrEqualAxioms(h1, h2)) {
-			return true;
-		}
-		return isEntailed(h1, h2);
-	}
-	
-	
-	private boolean isEntailed(Hypothesis h1, Hypothesis h2) {
-		if (!handler.containsAxioms(h1.axioms)) {
-			isReasonerError = false;
-			handler.removeAxioms();			
-			handler.addAxioms(h1.axioms);
-			try {
-				reasoner.flush();
-			} catch (Exception e) {
-				// usually irregular roles
-				isReasonerError = true;
-			}			
-		}
-		if (isReasonerError || !reasoner.isConsistent()) {
-			return false;
-		}
-		return reasoner.isEntailed(h2.axioms);
-	}
-	
-	
-	
-	private boolean hasStrongerOrEqualAxioms(Hypothesis h1, Hypothesis h2) {
-		for (OWLAxiom ax2 : h2.axioms) {
-			Hypothesis hax2 = axiomHypothesisMap.get(ax2);
-			boolean found = false;
-			for (OWLAxiom ax1 : h1.axioms) {
-				if (ax1.equals(ax2)) {
-					found = true;
-					break;
-				}
-				Hypothesis hax1 = axiomHypothesisMap.get(ax1);
-				if (strengthGraph.hasDescendant(hax1, hax2)) {
-					found = true;
-					break;
-				}
-			}
-			if (!found) {
-				return false;
-			}
-		}
-		return true;
+		strengthGraphBuilder = new StrengthGraphBuilder(new ArrayList<>(hypotheses));
+		strengthGraphBuilder.build();
+		strengthGraph = strengthGraphBuilder.getGraph();
 	}
 		
 		
 	
 	public void setStrengthRanks() {
 		for (Hypothesis h : strengthGraph.getLabels()) {
-			h.strength = (double) strengthGraph.countAncestors(h);
+			h.set(Measure.STRENGTH, (double) strengthGraphBuilder.countAncestors(h));
 		}
 	}
 	
@@ -315,10 +163,11 @@ public class HypothesisSorter {
 				&& !hypothesisToEntitiesMap.isEmpty()) {
 			return;
 		}
+		navigationIndex = null;
 		hypothesisToEntitiesMap = new HashMap<>();
 		for (Hypothesis hypo : hypotheses) {
 			Set<String> keywords = new HashSet<>();
-			for (OWLEntity ent : hypo.signature) {				
+			for (OWLEntity ent : hypo.getSignature()) {				
 				keywords.add(getKeyword(ent));
 			}
 			hypothesisToEntitiesMap.put(hypo, keywords);
@@ -373,115 +222,50 @@ public class HypothesisSorter {
 			ordering = hypothesesByLength;
 			break;			
 		}		
-		return nextByNumericObjective(hypothesis, ordering, navigation, entities);
+		return nextByNumericObjective(hypothesis, objective, ordering, navigation, entities);
 	}
 	
 	
 
 	private Hypothesis nextByNumericObjective(Hypothesis hypothesis, 
-			List<Hypothesis> ordering, Navigation navigation, String... entities) {	
+			SortingObjective objective, List<Hypothesis> ordering,
+			Navigation navigation, String... entities) {	
 		if (ordering == null || ordering.isEmpty()) {
 			return hypothesis;
 		}
+		NavigationIndex index = getNavigationIndex();
 		switch (navigation) {
 		case BEST:
-			return getMinByNumericObjective(ordering, entities);
+			return index.getMin(objective, entities);
 		case WORST:
-			return getMaxByNumericObjective(ordering, entities);
+			return index.getMax(objective, entities);
 		case WORSE:
-			return getHigherByNumericObjective(hypothesis, ordering, entities);
-		case BETTER:
-			return getLowerByNumericObjective(hypothesis, ordering, entities);		
-		}
-		return hypothesis;		
-	}
-	
-	
-	private Hypothesis getMinByNumericObjective(List<Hypothesis> ordering, String... entities) {
-		if (entities == null || entities.length == 0) {
-			return ordering.get(0);
-		}
-		for (Hypothesis hypo : ordering) {
-			Set<String> keywords = hypothesisToEntitiesMap.get(hypo);
-			for (String entity : entities) {
-				if (keywords.contains(entity)) {
-					return hypo;
-				}
-			}
-		}
-		return ordering.get(0);
-	}
-	
-	
-	private Hypothesis getMaxByNumericObjective(List<Hypothesis> ordering, String... entities) {
-		int last = ordering.size() - 1;
-		if (entities == null || entities.length == 0) {
-			return ordering.get(last);
-		}
-		for (int i=last; i>=0; i--) {
-			Hypothesis hypo = ordering.get(i);
-			Set<String> keywords = hypothesisToEntitiesMap.get(hypo);
-			for (String entity : entities) {
-				if (keywords.contains(entity)) {
-					return hypo;
-				}
+			if (hypothesis == null) {
+				return index.getMax(objective, entities);
 			}
-		}
-		return ordering.get(last);
-	}
-	
-	
-	private Hypothesis getHigherByNumericObjective(Hypothesis hypothesis, 
-			List<Hypothesis> ordering, String... entities) {
-		if (hypothesis == null) {
-			return getMaxByNumericObjective(ordering, entities);
-		}
-		int position = ordering.indexOf(hypothesis);
-		int last = ordering.size() - 1;
-		// the end of the list
-		if (position < 0 || position == last) {
-			return hypothesis;
-		}
-		if (entities == null || entities.length == 0) {			
-			return ordering.get(position + 1);
-		}
-		for (int i=position+1; i<=last; i++) {
-			Hypothesis hypo = ordering.get(i);
-			Set<String> keywords = hypothesisToEntitiesMap.get(hypo);
-			for (String entity : entities) {
-				if (keywords.contains(entity)) {
-					return hypo;
-				}
+			return index.getHigher(objective, hypothesis, entities);
+		case BETTER:
+			if (hypothesis == null) {
+				return index.getMin(objective, entities);
 			}
+			return index.getLower(objective, hypothesis, entities);
 		}
-		return hypothesis;
+		return hypothesis;		
 	}
 	
 	
 	
-	private Hypothesis getLowerByNumericObjective(Hypothesis hypothesis, 
-			List<Hypothesis> ordering, String... entities) {
-		if (hypothesis == null) {
-			return getMinByNumericObjective(ordering, entities);
+	// built on demand since entities can be indexed after sorting
+	private NavigationIndex getNavigationIndex() {
+		if (navigationIndex == null) {
+			Map<SortingObjective, List<Hypothesis>> orderings = new EnumMap<>(SortingObjective.class);
+			orderings.put(SortingObjective.FITNESS, hypothesesByFitness);
+			orderings.put(SortingObjective.BRAVENESS, hypothesesByBraveness);
+			orderings.put(SortingObjective.INTEREST, hypothesesByInterest);
+			orderings.put(SortingObjective.LENGTH, hypothesesByLength);
+			navigationIndex = new NavigationIndex(orderings, hypothesisToEntitiesMap);
 		}
-		int position = ordering.indexOf(hypothesis);		
-		// the beginning of the list
-		if (position <= 0) {
-			return hypothesis;
-		}
-		if (entities == null || entities.length == 0) {			
-			return ordering.get(position - 1);
-		}
-		for (int i=position-1; i>=0; i--) {
-			Hypothesis hypo = ordering.get(i);
-			Set<String> keywords = hypothesisToEntitiesMap.get(hypo);
-			for (String entity : entities) {
-				if (keywords.contains(entity)) {
-					return hypo;
-				}
-			}
-		}
-		return hypothesis;
+		return navigationIndex;
 	}
 	
 	
@@ -571,12 +355,12 @@ public class HypothesisSorter {
 			hypothesis = idToHypothesisMap.get(id);
 			Out.p(i + ": (" + navigation + ", " + objective + ", " + entity + ") = \n\t["
 					+ "id=" + hypothesis.id 
-					+ ", fit=" + hypothesis.support
-					+ ", bra=" + hypothesis.assumption
+					+ ", fit=" + hypothesis.get(Measure.SUPPORT)
+					+ ", bra=" + hypothesis.get(Measure.ASSUMPTION)
 					+ ", size=" + hypothesis.length
-					+ ", inter=" + hypothesis.noveltyApprox
-//					+ ", stren=" + hypothesis.strength 
-					+ ", sig=" + hypothesis.signature + "]");
+					+ ", inter=" + hypothesis.get(Measure.NOVELTY_APPROX)
+//					+ ", stren=" + hypothesis.get(Measure.STRENGTH) 
+					+ ", sig=" + hypothesis.getSignature() + "]");
 		}
 		
 		
@@ -0,0 +1,188 @@
+package io.dlminer.sort;
+
+import io.dlminer.learn.Hypothesis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class answers navigation queries over sorted hypotheses in O(log n).
+ * For each objective it keeps positions of hypotheses in the ordering
+ * and, for each entity, the sorted positions of hypotheses containing it.
+ */
+public class NavigationIndex {
+
+	private Map<SortingObjective, List<Hypothesis>> orderings;
+	private Map<SortingObjective, Map<Hypothesis, Integer>> positions;
+	private Map<SortingObjective, Map<String, int[]>> postings;
+
+
+
+	public NavigationIndex(Map<SortingObjective, List<Hypothesis>> orderings,
+			Map<Hypothesis, Set<String>> hypothesisToEntitiesMap) {
+		this.orderings = orderings;
+		positions = new EnumMap<>(SortingObjective.class);
+		postings = new EnumMap<>(SortingObjective.class);
+		for (SortingObjective objective : orderings.keySet()) {
+			List<Hypothesis> ordering = orderings.get(objective);
+			Map<Hypothesis, Integer> posMap = new HashMap<>();
+			Map<String, List<Integer>> entityPosMap = new HashMap<>();
+			for (int i = 0; i < ordering.size(); i++) {
+				Hypothesis hypo = ordering.get(i);
+				// the first occurrence as for indexOf()
+				if (!posMap.containsKey(hypo)) {
+					posMap.put(hypo, i);
+				}
+				Set<String> keywords = (hypothesisToEntitiesMap == null) ?
+						null : hypothesisToEntitiesMap.get(hypo);
+				if (keywords == null) {
+					continue;
+				}
+				for (String keyword : keywords) {
+					List<Integer> list = entityPosMap.get(keyword);
+					if (list == null) {
+						list = new ArrayList<>();
+						entityPosMap.put(keyword, list);
+					}
+					list.add(i);
+				}
+			}
+			// positions are added in the ascending order
+			Map<String, int[]> entityPostings = new HashMap<>();
+			for (String keyword : entityPosMap.keySet()) {
+				List<Integer> list = entityPosMap.get(keyword);
+				int[] array = new int[list.size()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = list.get(i);
+				}
+				entityPostings.put(keyword, array);
+			}
+			positions.put(objective, posMap);
+			postings.put(objective, entityPostings);
+		}
+	}
+
+
+
+	/**
+	 * @return the position of the hypothesis or -1 if it is absent
+	 */
+	public int getPosition(SortingObjective objective, Hypothesis hypothesis) {
+		Map<Hypothesis, Integer> posMap = positions.get(objective);
+		if (posMap == null) {
+			return -1;
+		}
+		Integer position = posMap.get(hypothesis);
+		return position == null ? -1 : position;
+	}
+
+
+
+	public Hypothesis getMin(SortingObjective objective, String... entities) {
+		List<Hypothesis> ordering = orderings.get(objective);
+		int best = -1;
+		for (int[] array : getPostings(objective, entities)) {
+			if (best < 0 || array[0] < best) {
+				best = array[0];
+			}
+		}
+		return ordering.get(best < 0 ? 0 : best);
+	}
+
+
+
+	public Hypothesis getMax(SortingObjective objective, String... entities) {
+		List<Hypothesis> ordering = orderings.get(objective);
+		int best = -1;
+		for (int[] array : getPostings(objective, entities)) {
+			best = Math.max(best, array[array.length - 1]);
+		}
+		return ordering.get(best < 0 ? ordering.size() - 1 : best);
+	}
+
+
+
+	/**
+	 * @return the closest hypothesis after the given one which contains
+	 * any of entities or the given one if there is none
+	 */
+	public Hypothesis getHigher(SortingObjective objective,
+			Hypothesis hypothesis, String... entities) {
+		List<Hypothesis> ordering = orderings.get(objective);
+		int position = getPosition(objective, hypothesis);
+		int last = ordering.size() - 1;
+		// the end of the list
+		if (position < 0 || position == last) {
+			return hypothesis;
+		}
+		if (entities == null || entities.length == 0) {
+			return ordering.get(position + 1);
+		}
+		int best = -1;
+		for (int[] array : getPostings(objective, entities)) {
+			int index = lowerBound(array, position + 1);
+			if (index < array.length && (best < 0 || array[index] < best)) {
+				best = array[index];
+			}
+		}
+		return best < 0 ? hypothesis : ordering.get(best);
+	}
+
+
+
+	/**
+	 * @return the closest hypothesis before the given one which contains
+	 * any of entities or the given one if there is none
+	 */
+	public Hypothesis getLower(SortingObjective objective,
+			Hypothesis hypothesis, String... entities) {
+		List<Hypothesis> ordering = orderings.get(objective);
+		int position = getPosition(objective, hypothesis);
+		// the beginning of the list
+		if (position <= 0) {
+			return hypothesis;
+		}
+		if (entities == null || entities.length == 0) {
+			return ordering.get(position - 1);
+		}
+		int best = -1;
+		for (int[] array : getPostings(objective, entities)) {
+			int index = lowerBound(array, position) - 1;
+			if (index >= 0) {
+				best = Math.max(best, array[index]);
+			}
+		}
+		return best < 0 ? hypothesis : ordering.get(best);
+	}
+
+
+
+	private List<int[]> getPostings(SortingObjective objective, String... entities) {
+		List<int[]> arrays = new ArrayList<>();
+		if (entities == null) {
+			return arrays;
+		}
+		Map<String, int[]> entityPostings = postings.get(objective);
+		for (String entity : entities) {
+			int[] array = entityPostings.get(entity);
+			if (array != null && array.length > 0) {
+				arrays.add(array);
+			}
+		}
+		return arrays;
+	}
+
+
+
+	// the index of the first element that is not less than the key
+	private static int lowerBound(int[] array, int key) {
+		int index = Arrays.binarySearch(array, key);
+		return index >= 0 ? index : -index - 1;
+	}
+
+}
@@ -0,0 +1,362 @@
+package io.dlminer.sort;
+
+import io.dlminer.graph.Graph;
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
+import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.ReasonerLoader;
+import io.dlminer.ont.ReasonerName;
+import io.dlminer.print.Out;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * The class orders hypotheses by strength: h1 is stronger than h2
+ * if h1 entails h2. Only pairs sharing at least two entities are compared,
+ * which are found by an inverted index from entities to hypotheses.
+ * The reachability of the order is kept as bitset closures that are
+ * updated with each new edge, so pairs implied by transitivity
+ * are not checked by the reasoner and ancestors are counted in O(1).
+ * Bitsets are only created for hypotheses that have edges and grow
+ * with their highest index, so memory follows the size of the order.
+ * The resulting graph is the transitive reduction of the order,
+ * except that edges between equivalent hypotheses are kept.
+ */
+public class StrengthGraphBuilder {
+
+	private List<Hypothesis> hypotheses;
+	private Map<Hypothesis, Integer> indexMap;
+	private Map<OWLAxiom, Integer> axiomIndexMap;
+	private Map<OWLEntity, List<Integer>> entityIndex;
+
+	// closures excluding the node itself unless it is on a cycle,
+	// null if empty
+	private BitSet[] descendants;
+	private BitSet[] ancestors;
+	// direct edges
+	private BitSet[] children;
+
+	// internal reasoner and handler
+	private OWLReasoner reasoner;
+	private OntologyHandler handler;
+	private int loaded;
+	private boolean isReasonerError;
+
+	private long entailmentChecks;
+
+	private static final BitSet EMPTY = new BitSet(0);
+
+
+
+	public StrengthGraphBuilder(List<Hypothesis> hypotheses) {
+		this.hypotheses = hypotheses;
+		int n = hypotheses.size();
+		indexMap = new HashMap<>();
+		axiomIndexMap = new HashMap<>();
+		entityIndex = new HashMap<>();
+		descendants = new BitSet[n];
+		ancestors = new BitSet[n];
+		children = new BitSet[n];
+		for (int i = 0; i < n; i++) {
+			Hypothesis h = hypotheses.get(i);
+			indexMap.put(h, i);
+			if (h.axioms.size() == 1) {
+				OWLAxiom ax = h.getFirstAxiom();
+				if (ax != null) {
+					axiomIndexMap.put(ax, i);
+				}
+			}
+			Set<OWLEntity> signature = h.getSignature();
+			if (signature != null) {
+				for (OWLEntity entity : signature) {
+					List<Integer> postings = entityIndex.get(entity);
+					if (postings == null) {
+						postings = new ArrayList<>();
+						entityIndex.put(entity, postings);
+					}
+					postings.add(i);
+				}
+			}
+		}
+		loaded = -1;
+	}
+
+
+
+	private void initReasoner() {
+		handler = new OntologyHandler();
+		reasoner = null;
+		try {
+			// Hermit is required because Pellet is not updated once axioms are added
+			reasoner = ReasonerLoader.initReasoner(ReasonerName.HERMIT,
+					handler.getOntology());
+			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+					InferenceType.OBJECT_PROPERTY_HIERARCHY);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+
+
+	public void build() {
+		initReasoner();
+		int maxSize = 0;
+		for (Hypothesis h : hypotheses) {
+			if (h.axioms.size() > maxSize) {
+				maxSize = h.axioms.size();
+			}
+		}
+		// first order axioms, then all other hypotheses (optimisation)
+		for (int size=1; size<=maxSize; size++) {
+			orderHypothesesOfSize(size);
+		}
+		reduce();
+		Out.p(entailmentChecks + " entailment checks for strength");
+		if (reasoner != null) {
+			reasoner.dispose();
+		}
+	}
+
+
+
+	private void orderHypothesesOfSize(int size) {
+		Out.p("\nOrdering hypotheses of size = " + size);
+		for (int i = 0; i < hypotheses.size(); i++) {
+			Hypothesis h1 = hypotheses.get(i);
+			// debug
+			if ((i + 1) % 100 == 0) {
+				Out.p((i + 1) + " / " + hypotheses.size() + " hypotheses ordered by strength");
+			}
+			if (h1.axioms.size() > size) {
+				continue;
+			}
+			double start = System.nanoTime();
+			BitSet candidates = getCandidates(i);
+			for (int j = candidates.nextSetBit(0); j >= 0; j = candidates.nextSetBit(j + 1)) {
+				Hypothesis h2 = hypotheses.get(j);
+				if (h2.axioms.size() > size) {
+					continue;
+				}
+				// already processed
+				if (h1.axioms.size() < size && h2.axioms.size() < size) {
+					continue;
+				}
+				// implied by transitivity
+				if (get(descendants, i).get(j)) {
+					continue;
+				}
+				if (!h1.containsRoleAxioms() && h2.containsRoleAxioms()) {
+					continue;
+				}
+				if (isStrongerThan(i, j)) {
+					addEdge(i, j);
+				}
+			}
+			double time = (System.nanoTime() - start)/1e9;
+			// strength comparison time
+			h1.set(Measure.STRENGTH_TIME, h1.isSet(Measure.STRENGTH_TIME) ?
+					h1.getValue(Measure.STRENGTH_TIME) + time : time);
+		}
+	}
+
+
+
+	// hypotheses sharing at least two entities with the given one
+	private BitSet getCandidates(int i) {
+		BitSet candidates = new BitSet();
+		Hypothesis h = hypotheses.get(i);
+		Set<OWLEntity> signature = h.getSignature();
+		if (signature == null) {
+			return candidates;
+		}
+		BitSet seen = new BitSet();
+		for (OWLEntity entity : signature) {
+			for (Integer j : entityIndex.get(entity)) {
+				if (seen.get(j)) {
+					candidates.set(j);
+				} else {
+					seen.set(j);
+				}
+			}
+		}
+		candidates.clear(i);
+		return candidates;
+	}
+
+
+
+	private boolean isStrongerThan(int i, int j) {
+		Hypothesis h1 = hypotheses.get(i);
+		Hypothesis h2 = hypotheses.get(j);
+		if (h1.axioms.containsAll(h2.axioms)) {
+			return true;
+		}
+		if (hasStrongerOrEqualAxioms(h1, h2)) {
+			return true;
+		}
+		return isEntailed(i, h2);
+	}
+
+
+
+	private boolean hasStrongerOrEqualAxioms(Hypothesis h1, Hypothesis h2) {
+		for (OWLAxiom ax2 : h2.axioms) {
+			Integer hax2 = axiomIndexMap.get(ax2);
+			boolean found = false;
+			for (OWLAxiom ax1 : h1.axioms) {
+				if (ax1.equals(ax2)) {
+					found = true;
+					break;
+				}
+				Integer hax1 = axiomIndexMap.get(ax1);
+				if (hax1 != null && hax2 != null && get(descendants, hax1).get(hax2)) {
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+
+	// the reasoner keeps the axioms of the last compared stronger hypothesis
+	private boolean isEntailed(int i, Hypothesis h2) {
+		if (reasoner == null) {
+			return false;
+		}
+		entailmentChecks++;
+		if (loaded != i) {
+			isReasonerError = false;
+			handler.removeAxioms();
+			handler.addAxioms(hypotheses.get(i).axioms);
+			loaded = i;
+			try {
+				reasoner.flush();
+			} catch (Exception e) {
+				// usually irregular roles
+				isReasonerError = true;
+			}
+		}
+		if (isReasonerError || !reasoner.isConsistent()) {
+			return false;
+		}
+		return reasoner.isEntailed(h2.axioms);
+	}
+
+
+
+	private void addEdge(int i, int j) {
+		create(children, i).set(j);
+		BitSet newDesc = (BitSet) get(descendants, j).clone();
+		newDesc.set(j);
+		BitSet newAnc = (BitSet) get(ancestors, i).clone();
+		newAnc.set(i);
+		for (int a = newAnc.nextSetBit(0); a >= 0; a = newAnc.nextSetBit(a + 1)) {
+			create(descendants, a).or(newDesc);
+		}
+		for (int d = newDesc.nextSetBit(0); d >= 0; d = newDesc.nextSetBit(d + 1)) {
+			create(ancestors, d).or(newAnc);
+		}
+	}
+
+
+
+	private static BitSet get(BitSet[] sets, int i) {
+		return (sets[i] == null) ? EMPTY : sets[i];
+	}
+
+
+
+	private static BitSet create(BitSet[] sets, int i) {
+		if (sets[i] == null) {
+			sets[i] = new BitSet();
+		}
+		return sets[i];
+	}
+
+
+
+	// drop an edge if the child is reachable via another child
+	// which is equivalent neither to the parent nor to the child,
+	// otherwise equivalent hypotheses could drop each other's edges
+	private void reduce() {
+		for (int i = 0; i < children.length; i++) {
+			if (children[i] == null) {
+				continue;
+			}
+			BitSet redundant = new BitSet();
+			for (int j = children[i].nextSetBit(0); j >= 0; j = children[i].nextSetBit(j + 1)) {
+				for (int k = children[i].nextSetBit(0); k >= 0; k = children[i].nextSetBit(k + 1)) {
+					if (k != j && k != i && get(descendants, k).get(j) && !get(descendants, j).get(k)
+							&& !get(descendants, k).get(i)) {
+						redundant.set(j);
+						break;
+					}
+				}
+			}
+			children[i].andNot(redundant);
+		}
+	}
+
+
+
+	public Graph<Hypothesis> getGraph() {
+		Graph<Hypothesis> graph = new Graph<>(hypotheses);
+		for (int i = 0; i < children.length; i++) {
+			BitSet iChildren = get(children, i);
+			for (int j = iChildren.nextSetBit(0); j >= 0; j = iChildren.nextSetBit(j + 1)) {
+				graph.addChild(hypotheses.get(i), hypotheses.get(j));
+			}
+		}
+		return graph;
+	}
+
+
+
+	public boolean isStrongerOrEqual(Hypothesis h1, Hypothesis h2) {
+		Integer i = indexMap.get(h1);
+		Integer j = indexMap.get(h2);
+		if (i == null || j == null) {
+			return false;
+		}
+		return i.equals(j) || get(descendants, i).get(j);
+	}
+
+
+
+	public int countAncestors(Hypothesis h) {
+		Integer i = indexMap.get(h);
+		if (i == null) {
+			return -1;
+		}
+		BitSet iAncestors = get(ancestors, i);
+		return iAncestors.cardinality() - (iAncestors.get(i) ? 1 : 0);
+	}
+
+
+
+	public int countDescendants(Hypothesis h) {
+		Integer i = indexMap.get(h);
+		if (i == null) {
+			return -1;
+		}
+		BitSet iDescendants = get(descendants, i);
+		return iDescendants.cardinality() - (iDescendants.get(i) ? 1 : 0);
+	}
+
+}
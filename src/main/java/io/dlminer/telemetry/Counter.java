@@ -0,0 +1,42 @@
+package io.dlminer.telemetry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonic counter which can be incremented concurrently.
+ */
+public class Counter {
+
+	/**
+	 * The counter returned when telemetry is disabled
+	 */
+	public static final Counter NOOP = new Counter() {
+		@Override
+		public void inc() {
+			// disabled
+		}
+		@Override
+		public void add(long n) {
+			// disabled
+		}
+	};
+
+	private LongAdder value = new LongAdder();
+
+
+
+	public void inc() {
+		value.increment();
+	}
+
+
+	public void add(long n) {
+		value.add(n);
+	}
+
+
+	public long get() {
+		return value.sum();
+	}
+
+}
@@ -0,0 +1,32 @@
+package io.dlminer.telemetry;
+
+/**
+ * The destination of events of mining phases and hot operations.
+ * An operation is recorded by {@code Object e = begin...(); ... end...(e, ...);},
+ * where the returned object is opaque and may be null.
+ */
+public interface EventRecorder {
+
+	/**
+	 * Ends the current phase, if any, and begins the next one.
+	 * @param phase the name of the phase or null to end the current phase
+	 */
+	void beginPhase(String phase);
+
+	Object beginIteration();
+
+	void endIteration(Object event, int conceptLength, int refinements, int candidates);
+
+	Object beginInstanceChecks();
+
+	void endInstanceChecks(Object event, int checks, int frequent);
+
+	Object beginReasonerCall();
+
+	void endReasonerCall(Object event, String method, String phase, boolean isTimeout);
+
+	Object beginCleaning();
+
+	void endCleaning(Object event, int axiomsBefore, int axiomsAfter);
+
+}
@@ -0,0 +1,107 @@
+package io.dlminer.telemetry;
+
+/**
+ * The access point to Java Flight Recorder events of DL-Miner.
+ * The events are in {@link io.dlminer.telemetry.jfr} and are loaded only
+ * if the JVM has the jdk.jfr module, otherwise all calls are no-ops.
+ * Events are switched by JFR settings, e.g. in a .jfc file,
+ * so no code changes are needed; when recording is off,
+ * an operation costs a check of the event state.
+ * <p>
+ * Reasoner calls are recorded by {@link io.dlminer.ont.InstrumentedReasoner},
+ * hence reasoners are wrapped only if the system property
+ * {@value #REASONER_EVENTS_PROPERTY} is true.
+ */
+public class FlightEvents {
+
+	public static final String REASONER_EVENTS_PROPERTY = "dlminer.jfr.reasoner";
+
+	private static final String JFR_CLASS = "jdk.jfr.FlightRecorder";
+
+	private static final String RECORDER_CLASS = "io.dlminer.telemetry.jfr.JfrEventRecorder";
+
+	private static final EventRecorder recorder = createRecorder();
+
+	private static final boolean reasonerEvents = isAvailable()
+			&& Boolean.getBoolean(REASONER_EVENTS_PROPERTY);
+
+
+
+	private static EventRecorder createRecorder() {
+		try {
+			Class.forName(JFR_CLASS);
+			return (EventRecorder) Class.forName(RECORDER_CLASS).getDeclaredConstructor().newInstance();
+		} catch (Throwable e) {
+			// JFR is not available
+			return null;
+		}
+	}
+
+
+
+	public static boolean isAvailable() {
+		return recorder != null;
+	}
+
+
+	public static boolean isReasonerEvents() {
+		return reasonerEvents;
+	}
+
+
+
+	public static void beginPhase(String phase) {
+		if (recorder != null) {
+			recorder.beginPhase(phase);
+		}
+	}
+
+
+	public static Object beginIteration() {
+		return recorder == null ? null : recorder.beginIteration();
+	}
+
+
+	public static void endIteration(Object event, int conceptLength, int refinements, int candidates) {
+		if (event != null) {
+			recorder.endIteration(event, conceptLength, refinements, candidates);
+		}
+	}
+
+
+	public static Object beginInstanceChecks() {
+		return recorder == null ? null : recorder.beginInstanceChecks();
+	}
+
+
+	public static void endInstanceChecks(Object event, int checks, int frequent) {
+		if (event != null) {
+			recorder.endInstanceChecks(event, checks, frequent);
+		}
+	}
+
+
+	public static Object beginReasonerCall() {
+		return recorder == null ? null : recorder.beginReasonerCall();
+	}
+
+
+	public static void endReasonerCall(Object event, String method, String phase, boolean isTimeout) {
+		if (event != null) {
+			recorder.endReasonerCall(event, method, phase, isTimeout);
+		}
+	}
+
+
+	public static Object beginCleaning() {
+		return recorder == null ? null : recorder.beginCleaning();
+	}
+
+
+	public static void endCleaning(Object event, int axiomsBefore, int axiomsAfter) {
+		if (event != null) {
+			recorder.endCleaning(event, axiomsBefore, axiomsAfter);
+		}
+	}
+
+}
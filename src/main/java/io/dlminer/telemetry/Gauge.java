@@ -0,0 +1,31 @@
+package io.dlminer.telemetry;
+
+/**
+ * The last value of a quantity, e.g. the size of a structure.
+ */
+public class Gauge {
+
+	/**
+	 * The gauge returned when telemetry is disabled
+	 */
+	public static final Gauge NOOP = new Gauge() {
+		@Override
+		public void set(double value) {
+			// disabled
+		}
+	};
+
+	private volatile double value;
+
+
+
+	public void set(double value) {
+		this.value = value;
+	}
+
+
+	public double get() {
+		return value;
+	}
+
+}
@@ -0,0 +1,114 @@
+package io.dlminer.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram in nanoseconds with power-of-two buckets:
+ * bucket i counts latencies in [2^i, 2^(i+1)). Percentiles are
+ * approximated by upper bounds of buckets, i.e. within a factor of 2.
+ * <p>
+ * A latency is measured by {@code long start = h.start(); ... h.stop(start);}.
+ */
+public class Histogram {
+
+	/**
+	 * The histogram returned when telemetry is disabled,
+	 * which does not even read the clock
+	 */
+	public static final Histogram NOOP = new Histogram() {
+		@Override
+		public long start() {
+			return 0;
+		}
+		@Override
+		public void stop(long start) {
+			// disabled
+		}
+		@Override
+		public void record(long nanos) {
+			// disabled
+		}
+	};
+
+	private static final int BUCKETS_NUMBER = 64;
+
+	private AtomicLongArray buckets = new AtomicLongArray(BUCKETS_NUMBER);
+	private LongAdder count = new LongAdder();
+	private LongAdder sum = new LongAdder();
+	private AtomicLong max = new AtomicLong();
+
+
+
+	public long start() {
+		return System.nanoTime();
+	}
+
+
+	public void stop(long start) {
+		record(System.nanoTime() - start);
+	}
+
+
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		buckets.incrementAndGet(getBucket(nanos));
+		count.increment();
+		sum.add(nanos);
+		long prev;
+		while (nanos > (prev = max.get())) {
+			if (max.compareAndSet(prev, nanos)) {
+				break;
+			}
+		}
+	}
+
+
+
+	private static int getBucket(long nanos) {
+		return (nanos == 0) ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+	}
+
+
+
+	public long getCount() {
+		return count.sum();
+	}
+
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+
+	public long getMax() {
+		return max.get();
+	}
+
+
+
+	/**
+	 * @param quantile a number between 0 and 1
+	 * @return the upper bound of the bucket containing the quantile
+	 */
+	public long getPercentile(double quantile) {
+		long total = getCount();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(quantile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS_NUMBER; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank && seen > 0) {
+				long bound = (i >= 62) ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+				return Math.min(bound, getMax());
+			}
+		}
+		return getMax();
+	}
+
+}
@@ -0,0 +1,48 @@
+package io.dlminer.telemetry;
+
+/**
+ * Names of metrics recorded by DL-Miner.
+ */
+public interface MetricNames {
+
+	// phases (gauges in seconds)
+	String PHASE_PREFIX = "phase.";
+	String PARSING = "parsing";
+	String REASONING = "reasoning";
+	String INITIALISATION = "initialisation";
+	String ROLE_BUILDING = "roles";
+	String CONCEPT_BUILDING = "concepts";
+	String HYPOTHESIS_BUILDING = "hypotheses";
+	String CLEANING = "cleaning";
+	String EVALUATION = "evaluation";
+
+	// operations (histograms)
+	String REFINEMENT = "op.refinement";
+	String INSTANCE_CHECK = "op.instance_check";
+	String ENTAILMENT = "op.entailment";
+	String FLUSH = "op.flush";
+	String CONSISTENCY = "op.consistency";
+
+	// counters
+	String REFINEMENTS = "refinements";
+	String APRIORI_ITERATIONS = "apriori.iterations";
+	String INSTANCE_CACHE_HITS = "instances.cache_hits";
+	String INSTANCE_CACHE_MISSES = "instances.cache_misses";
+	String CHECKED_AXIOMS = "axioms.checked";
+	String SEARCH_PREFIX = "search.";
+
+	// reasoner calls (histograms and counters)
+	String REASONER_CALL_PREFIX = "reasoner.call.";
+	String REASONER_PHASE_PREFIX = "reasoner.phase.";
+	String REASONER_SITE_PREFIX = "reasoner.site.";
+	String REASONER_TIMEOUTS_PREFIX = "reasoner.timeouts.";
+	String REASONER_ERRORS_PREFIX = "reasoner.errors.";
+
+	// sizes (gauges)
+	String CONCEPTS = "concepts";
+	String ROLES = "roles";
+	String HYPOTHESES = "hypotheses";
+	String HEAP_USED = "heap.used";
+	String MEMORY_PREFIX = "memory.";
+
+}
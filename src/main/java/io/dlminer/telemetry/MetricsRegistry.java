@@ -0,0 +1,184 @@
+package io.dlminer.telemetry;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named counters, gauges and histograms. Metrics are created on
+ * the first request and are meant to be kept by their users,
+ * so hot paths do not look them up.
+ */
+public class MetricsRegistry {
+
+	private ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+
+
+	public Counter counter(String name) {
+		Counter counter = counters.get(name);
+		if (counter == null) {
+			Counter prev = counters.putIfAbsent(name, counter = new Counter());
+			if (prev != null) {
+				counter = prev;
+			}
+		}
+		return counter;
+	}
+
+
+
+	public Gauge gauge(String name) {
+		Gauge gauge = gauges.get(name);
+		if (gauge == null) {
+			Gauge prev = gauges.putIfAbsent(name, gauge = new Gauge());
+			if (prev != null) {
+				gauge = prev;
+			}
+		}
+		return gauge;
+	}
+
+
+
+	public Histogram histogram(String name) {
+		Histogram histogram = histograms.get(name);
+		if (histogram == null) {
+			Histogram prev = histograms.putIfAbsent(name, histogram = new Histogram());
+			if (prev != null) {
+				histogram = prev;
+			}
+		}
+		return histogram;
+	}
+
+
+
+	public Map<String, Histogram> getHistograms() {
+		return new TreeMap<>(histograms);
+	}
+
+
+
+	public void clear() {
+		counters.clear();
+		gauges.clear();
+		histograms.clear();
+	}
+
+
+
+	/**
+	 * @return the snapshot of all metrics as JSON, names are sorted;
+	 * histogram values are in milliseconds
+	 */
+	public String toJSON() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n  \"timestamp\": ").append(System.currentTimeMillis());
+		json.append(",\n  \"counters\": {");
+		String sep = "\n";
+		for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+			json.append(sep).append("    ");
+			appendString(json, entry.getKey());
+			json.append(": ").append(entry.getValue().get());
+			sep = ",\n";
+		}
+		json.append("\n  },\n  \"gauges\": {");
+		sep = "\n";
+		for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+			json.append(sep).append("    ");
+			appendString(json, entry.getKey());
+			json.append(": ");
+			appendNumber(json, entry.getValue().get());
+			sep = ",\n";
+		}
+		json.append("\n  },\n  \"histograms\": {");
+		sep = "\n";
+		for (Map.Entry<String, Histogram> entry : getHistograms().entrySet()) {
+			Histogram h = entry.getValue();
+			long count = h.getCount();
+			json.append(sep).append("    ");
+			appendString(json, entry.getKey());
+			json.append(": {\"count\": ").append(count);
+			json.append(", \"sum_ms\": ");
+			appendNumber(json, h.getSum() / 1e6);
+			json.append(", \"mean_ms\": ");
+			appendNumber(json, count == 0 ? 0 : h.getSum() / 1e6 / count);
+			json.append(", \"p50_ms\": ");
+			appendNumber(json, h.getPercentile(0.5) / 1e6);
+			json.append(", \"p99_ms\": ");
+			appendNumber(json, h.getPercentile(0.99) / 1e6);
+			json.append(", \"max_ms\": ");
+			appendNumber(json, h.getMax() / 1e6);
+			json.append("}");
+			sep = ",\n";
+		}
+		json.append("\n  }\n}\n");
+		return json.toString();
+	}
+
+
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+
+
+	// JSON has no NaN and infinities
+	private static void appendNumber(StringBuilder json, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			json.append("null");
+		} else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			json.append((long) value);
+		} else {
+			json.append(value);
+		}
+	}
+
+
+
+	/**
+	 * Writes the snapshot to a temporary file which then replaces the file,
+	 * so readers never see a partial snapshot.
+	 * @param file the output file
+	 * @throws IOException if writing fails
+	 */
+	public void writeJSON(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		File tmp = new File(file.getPath() + ".tmp");
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+			writer.write(toJSON());
+		}
+		if (!tmp.renameTo(file)) {
+			file.delete();
+			if (!tmp.renameTo(file)) {
+				throw new IOException("Cannot rename " + tmp + " to " + file);
+			}
+		}
+	}
+
+}
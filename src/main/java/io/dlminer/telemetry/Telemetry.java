@@ -0,0 +1,157 @@
+package io.dlminer.telemetry;
+
+import io.dlminer.main.DLMinerOutputI;
+import io.dlminer.print.Out;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The process-wide access point to metrics. When telemetry is disabled,
+ * requested metrics are shared no-op instances, so instrumented code
+ * costs a virtual call and nothing else. Components request their
+ * metrics once when they are created, hence telemetry is switched
+ * before a run starts.
+ */
+public class Telemetry {
+
+	public static final String DEF_PHASE = "none";
+
+	private static volatile boolean enabled;
+
+	private static volatile boolean reasonerProfiling;
+
+	private static volatile String phase = DEF_PHASE;
+
+	private static final MetricsRegistry registry = new MetricsRegistry();
+
+	private static ScheduledExecutorService reporter;
+
+
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+
+	public static void setEnabled(boolean isEnabled) {
+		enabled = isEnabled;
+	}
+
+
+	public static MetricsRegistry getRegistry() {
+		return registry;
+	}
+
+
+
+	/**
+	 * @return whether reasoners created by ReasonerLoader record their calls
+	 */
+	public static boolean isReasonerProfiling() {
+		return enabled && reasonerProfiling;
+	}
+
+
+	public static void setReasonerProfiling(boolean isProfiling) {
+		reasonerProfiling = isProfiling;
+	}
+
+
+
+	/**
+	 * @return the current phase of the run, which is shared by all threads
+	 */
+	public static String getPhase() {
+		return phase;
+	}
+
+
+	public static void setPhase(String name) {
+		phase = name;
+		// the default phase is not recorded
+		FlightEvents.beginPhase(DEF_PHASE.equals(name) ? null : name);
+	}
+
+
+
+	public static Counter counter(String name) {
+		return enabled ? registry.counter(name) : Counter.NOOP;
+	}
+
+
+	public static Gauge gauge(String name) {
+		return enabled ? registry.gauge(name) : Gauge.NOOP;
+	}
+
+
+	public static Histogram histogram(String name) {
+		return enabled ? registry.histogram(name) : Histogram.NOOP;
+	}
+
+
+
+	/**
+	 * @param phase the name of a phase
+	 * @param seconds the wall time of the phase
+	 */
+	public static void recordPhase(String phase, double seconds) {
+		if (enabled) {
+			registry.gauge(MetricNames.PHASE_PREFIX + phase).set(seconds);
+		}
+	}
+
+
+
+	/**
+	 * Writes the snapshot, errors are reported and ignored.
+	 * @param file the output file
+	 */
+	public static void writeSnapshot(File file) {
+		Runtime runtime = Runtime.getRuntime();
+		gauge(MetricNames.HEAP_USED).set(runtime.totalMemory() - runtime.freeMemory());
+		try {
+			registry.writeJSON(file);
+		} catch (Exception e) {
+			Out.p(e + DLMinerOutputI.TELEMETRY_ERROR);
+		}
+	}
+
+
+
+	/**
+	 * Starts writing snapshots to the file periodically in a daemon thread.
+	 * @param file the output file
+	 * @param interval the interval in milliseconds
+	 */
+	public static synchronized void startReporting(final File file, long interval) {
+		stopReporting();
+		reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "telemetry-reporter");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		reporter.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				writeSnapshot(file);
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+
+
+	public static synchronized void stopReporting() {
+		if (reporter != null) {
+			reporter.shutdownNow();
+			reporter = null;
+		}
+	}
+
+}
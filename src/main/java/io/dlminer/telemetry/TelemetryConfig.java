@@ -0,0 +1,49 @@
+package io.dlminer.telemetry;
+
+import java.io.File;
+
+/**
+ * The configuration of metrics recorded during a run.
+ */
+public class TelemetryConfig {
+
+	public static final long DEF_REPORTING_INTERVAL = 0;
+
+	public static final int DEF_REPORTED_CALL_SITES_NUMBER = 10;
+
+
+	/**
+	 * Whether metrics are recorded; when disabled,
+	 * all metrics are no-ops
+	 */
+	public boolean enabled = false;
+
+
+	/**
+	 * The file to which the JSON snapshot is written
+	 * at the end of the run, null means no snapshot
+	 */
+	public File snapshotFile;
+
+
+	/**
+	 * The interval in milliseconds between snapshots written
+	 * during the run, 0 means only at the end
+	 */
+	public long reportingInterval = DEF_REPORTING_INTERVAL;
+
+
+	/**
+	 * Whether reasoners record the latency, the phase and the calling site
+	 * of each call, which requires walking the stack on each call
+	 */
+	public boolean profileReasoners = false;
+
+
+	/**
+	 * The number of call sites in the reasoner report
+	 */
+	public int reportedCallSitesNumber = DEF_REPORTED_CALL_SITES_NUMBER;
+
+
+}
@@ -0,0 +1,22 @@
+package io.dlminer.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.dlminer.Cleaning")
+@Label("Hypothesis Cleaning")
+@Description("Removal of redundant axioms of a hypothesis")
+@Category({"DL-Miner", "Hypotheses"})
+@Enabled(false)
+public class CleaningEvent extends jdk.jfr.Event {
+
+	@Label("Axioms Before")
+	public int axiomsBefore;
+
+	@Label("Axioms After")
+	public int axiomsAfter;
+
+}
@@ -0,0 +1,23 @@
+package io.dlminer.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.dlminer.InstanceChecks")
+@Label("Instance Checks")
+@Description("Instance checks of the refinements of a concept")
+@Category({"DL-Miner", "Concepts"})
+@Enabled(false)
+public class InstanceCheckEvent extends jdk.jfr.Event {
+
+	@Label("Checks")
+	public int checks;
+
+	@Label("Frequent")
+	@Description("The number of refinements with the minimal support")
+	public int frequent;
+
+}
@@ -0,0 +1,26 @@
+package io.dlminer.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.dlminer.AprioriIteration")
+@Label("Apriori Iteration")
+@Description("Refinement of a concept and evaluation of its refinements")
+@Category({"DL-Miner", "Concepts"})
+@Enabled(false)
+public class IterationEvent extends jdk.jfr.Event {
+
+	@Label("Concept Length")
+	public int conceptLength;
+
+	@Label("Refinements")
+	public int refinements;
+
+	@Label("Candidates")
+	@Description("The number of concepts waiting for refinement")
+	public int candidates;
+
+}
@@ -0,0 +1,135 @@
+package io.dlminer.telemetry.jfr;
+
+import io.dlminer.telemetry.EventRecorder;
+
+/**
+ * Records JFR events; the class is only loaded if JFR is available.
+ * Events are created only if they are enabled in the recording.
+ */
+public class JfrEventRecorder implements EventRecorder {
+
+	// probes of event states
+	private final IterationEvent iterationProbe = new IterationEvent();
+	private final InstanceCheckEvent instanceCheckProbe = new InstanceCheckEvent();
+	private final ReasonerCallEvent reasonerCallProbe = new ReasonerCallEvent();
+	private final CleaningEvent cleaningProbe = new CleaningEvent();
+
+	private PhaseEvent phaseEvent;
+
+
+
+	@Override
+	public synchronized void beginPhase(String phase) {
+		if (phaseEvent != null) {
+			phaseEvent.end();
+			if (phaseEvent.shouldCommit()) {
+				phaseEvent.commit();
+			}
+			phaseEvent = null;
+		}
+		if (phase != null) {
+			phaseEvent = new PhaseEvent();
+			phaseEvent.phase = phase;
+			phaseEvent.begin();
+		}
+	}
+
+
+
+	@Override
+	public Object beginIteration() {
+		if (!iterationProbe.isEnabled()) {
+			return null;
+		}
+		IterationEvent event = new IterationEvent();
+		event.begin();
+		return event;
+	}
+
+
+	@Override
+	public void endIteration(Object e, int conceptLength, int refinements, int candidates) {
+		IterationEvent event = (IterationEvent) e;
+		event.end();
+		if (event.shouldCommit()) {
+			event.conceptLength = conceptLength;
+			event.refinements = refinements;
+			event.candidates = candidates;
+			event.commit();
+		}
+	}
+
+
+
+	@Override
+	public Object beginInstanceChecks() {
+		if (!instanceCheckProbe.isEnabled()) {
+			return null;
+		}
+		InstanceCheckEvent event = new InstanceCheckEvent();
+		event.begin();
+		return event;
+	}
+
+
+	@Override
+	public void endInstanceChecks(Object e, int checks, int frequent) {
+		InstanceCheckEvent event = (InstanceCheckEvent) e;
+		event.end();
+		if (event.shouldCommit()) {
+			event.checks = checks;
+			event.frequent = frequent;
+			event.commit();
+		}
+	}
+
+
+
+	@Override
+	public Object beginReasonerCall() {
+		if (!reasonerCallProbe.isEnabled()) {
+			return null;
+		}
+		ReasonerCallEvent event = new ReasonerCallEvent();
+		event.begin();
+		return event;
+	}
+
+
+	@Override
+	public void endReasonerCall(Object e, String method, String phase, boolean isTimeout) {
+		ReasonerCallEvent event = (ReasonerCallEvent) e;
+		event.end();
+		if (event.shouldCommit()) {
+			event.method = method;
+			event.phase = phase;
+			event.timeout = isTimeout;
+			event.commit();
+		}
+	}
+
+
+
+	@Override
+	public Object beginCleaning() {
+		if (!cleaningProbe.isEnabled()) {
+			return null;
+		}
+		CleaningEvent event = new CleaningEvent();
+		event.begin();
+		return event;
+	}
+
+
+	@Override
+	public void endCleaning(Object e, int axiomsBefore, int axiomsAfter) {
+		CleaningEvent event = (CleaningEvent) e;
+		event.end();
+		if (event.shouldCommit()) {
+			event.axiomsBefore = axiomsBefore;
+			event.axiomsAfter = axiomsAfter;
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,17 @@
+package io.dlminer.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.dlminer.Phase")
+@Label("Mining Phase")
+@Description("A phase of the run, e.g. concept building or cleaning")
+@Category({"DL-Miner"})
+public class PhaseEvent extends jdk.jfr.Event {
+
+	@Label("Phase")
+	public String phase;
+
+}
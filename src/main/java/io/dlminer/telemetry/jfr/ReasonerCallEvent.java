@@ -0,0 +1,23 @@
+package io.dlminer.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.dlminer.ReasonerCall")
+@Label("Reasoner Call")
+@Category({"DL-Miner", "Reasoner"})
+@Enabled(false)
+public class ReasonerCallEvent extends jdk.jfr.Event {
+
+	@Label("Method")
+	public String method;
+
+	@Label("Phase")
+	public String phase;
+
+	@Label("Timeout")
+	public boolean timeout;
+
+}
@@ -0,0 +1,53 @@
+package io.dlminer.learn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Compares class axioms generated in parallel chunks with those generated
+ * by a single thread.
+ */
+public class AxiomBuilderTest {
+
+	private static OWLOntology ontology;
+
+
+
+	@BeforeClass
+	public static void generateOntology() throws Exception {
+		ontology = MiningRuns.generate(500);
+	}
+
+
+
+	@Test
+	public void testParallelEqualsSerial() throws Exception {
+		assertSameHypotheses(1000);
+	}
+
+
+
+	@Test
+	public void testParallelEqualsSerialWhenLimited() throws Exception {
+		// the limit is reached within the first chunks
+		assertSameHypotheses(50);
+	}
+
+
+
+	private void assertSameHypotheses(int maxHypothesesNumber) throws Exception {
+		Set<String> serial = MiningRuns.mine(
+				MiningRuns.createInput(ontology, maxHypothesesNumber, 1));
+		Set<String> parallel = MiningRuns.mine(
+				MiningRuns.createInput(ontology, maxHypothesesNumber, 4));
+		assertFalse(serial.isEmpty());
+		assertEquals(serial, parallel);
+	}
+
+}
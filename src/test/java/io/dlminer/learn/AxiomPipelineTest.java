@@ -0,0 +1,60 @@
+package io.dlminer.learn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import io.dlminer.main.DLMinerInput;
+
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Compares hypotheses of the pipelined mode with those of the staged mode.
+ */
+public class AxiomPipelineTest {
+
+	private static OWLOntology ontology;
+
+
+
+	@BeforeClass
+	public static void generateOntology() throws Exception {
+		ontology = MiningRuns.generate(300);
+	}
+
+
+
+	@Test
+	public void testPipelineEqualsStaged() throws Exception {
+		assertSameHypotheses(false);
+	}
+
+
+
+	@Test
+	public void testPipelineEqualsStagedWithCleaning() throws Exception {
+		assertSameHypotheses(true);
+	}
+
+
+
+	private void assertSameHypotheses(boolean useCleaning) throws Exception {
+		Set<String> staged = MiningRuns.mine(createInput(useCleaning, false));
+		Set<String> pipelined = MiningRuns.mine(createInput(useCleaning, true));
+		assertFalse(staged.isEmpty());
+		assertEquals(staged, pipelined);
+	}
+
+
+
+	private DLMinerInput createInput(boolean useCleaning, boolean usePipelining) {
+		DLMinerInput input = MiningRuns.createInput(ontology, 300, 4);
+		input.getAxiomConfig().useCleaning = useCleaning;
+		input.getAxiomConfig().usePipelining = usePipelining;
+		return input;
+	}
+
+}
@@ -0,0 +1,103 @@
+package io.dlminer.learn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.MiningWorkspace;
+import io.dlminer.ont.OntologyHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Compares consistency flags set by group testing with those of checking
+ * hypotheses one by one.
+ */
+public class ConsistencyGroupTesterTest {
+
+	// every n-th subsumption is also negated, which is inconsistent
+	private static final int INCONSISTENT_STEP = 10;
+
+	private static MiningWorkspace workspace;
+	private static List<Hypothesis> hypotheses;
+
+
+
+	@BeforeClass
+	public static void mineHypotheses() throws Exception {
+		workspace = new MiningWorkspace(
+				MiningRuns.createInput(MiningRuns.generate(300), 300, 1));
+		workspace.init();
+		DLMiner miner = MiningRuns.mine(workspace);
+		// hypotheses without an axiom are not checked
+		hypotheses = new ArrayList<>();
+		for (Hypothesis h : miner.getOutput().getHypotheses()) {
+			if (h.getFirstAxiom() != null) {
+				hypotheses.add(h);
+			}
+		}
+		// subclasses and superclasses share supporting instances
+		OWLDataFactory factory = OWLManager.getOWLDataFactory();
+		List<Hypothesis> negations = new ArrayList<>();
+		for (int i = 0; i < hypotheses.size(); i += INCONSISTENT_STEP) {
+			OWLAxiom axiom = hypotheses.get(i).getFirstAxiom();
+			if (axiom instanceof OWLSubClassOfAxiom) {
+				OWLSubClassOfAxiom subAxiom = (OWLSubClassOfAxiom) axiom;
+				OWLAxiom negAxiom = factory.getOWLSubClassOfAxiom(subAxiom.getSubClass(),
+						factory.getOWLObjectComplementOf(subAxiom.getSuperClass()));
+				negations.add(new Hypothesis(Collections.singleton(negAxiom),
+						Collections.singleton(negAxiom), new HashSet<OWLAxiom>()));
+			}
+		}
+		hypotheses.addAll(negations);
+	}
+
+
+
+	@AfterClass
+	public static void disposeWorkspace() {
+		if (workspace != null) {
+			workspace.dispose();
+		}
+	}
+
+
+
+	@Test
+	public void testGroupsEqualOneByOne() throws Exception {
+		OntologyHandler handler = workspace.getHandler();
+		OWLReasoner reasoner = workspace.getReasoner();
+		List<Boolean> serial = new ArrayList<>();
+		for (Hypothesis h : hypotheses) {
+			OWLAxiom axiom = h.getFirstAxiom();
+			// axioms of the ontology must not be removed after the check
+			if (handler.getOntology().containsAxiom(axiom)) {
+				serial.add(reasoner.isConsistent());
+			} else {
+				serial.add(HypothesisEvaluator.isConsistent(axiom, handler, reasoner));
+			}
+		}
+		ConsistencyGroupTester tester = new ConsistencyGroupTester(handler, reasoner);
+		tester.test(hypotheses);
+		List<Boolean> grouped = new ArrayList<>();
+		for (Hypothesis h : hypotheses) {
+			grouped.add(h.isConsistent);
+		}
+		assertTrue(serial.contains(false));
+		assertEquals(serial, grouped);
+		assertTrue(tester.getReasonerCalls() < hypotheses.size());
+	}
+
+}
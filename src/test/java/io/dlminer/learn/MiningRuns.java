@@ -0,0 +1,118 @@
+package io.dlminer.learn;
+
+import io.dlminer.gen.GeneratorConfig;
+import io.dlminer.gen.OntologyGenerator;
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.DLMinerInput;
+import io.dlminer.main.MiningWorkspace;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Runs DL-Miner over small generated ontologies, so that the parallel
+ * components can be compared with the serial ones in tests.
+ */
+public class MiningRuns {
+
+	private MiningRuns() {
+	}
+
+
+
+	/**
+	 * @param individualsNumber the number of individuals
+	 * @return a generated ontology with existential patterns
+	 * @throws Exception if it cannot be generated
+	 */
+	public static OWLOntology generate(int individualsNumber) throws Exception {
+		GeneratorConfig config = new GeneratorConfig();
+		config.individualsNumber = individualsNumber;
+		config.useExistentialPatterns = true;
+		config.dataPropertiesNumber = 0;
+		return new OntologyGenerator(config).generate();
+	}
+
+
+
+	/**
+	 * @param ontology the ontology
+	 * @param maxHypothesesNumber the maximal number of hypotheses
+	 * @param threadsNumber the number of threads
+	 * @return the input of a serial run without cleaning
+	 */
+	public static DLMinerInput createInput(OWLOntology ontology,
+			int maxHypothesesNumber, int threadsNumber) {
+		DLMinerInput input = new DLMinerInput(ontology);
+		input.setMaxHypothesesNumber(maxHypothesesNumber);
+		input.getOperatorConfig().maxLength = 4;
+		input.getOperatorConfig().minSupport = 10;
+		input.getAxiomConfig().threadsNumber = threadsNumber;
+		input.getAxiomConfig().useCleaning = false;
+		input.getAxiomConfig().usePipelining = false;
+		return input;
+	}
+
+
+
+	/**
+	 * @param input the input
+	 * @return the hypotheses of a full run described by {@link #describe}
+	 * @throws Exception if the run fails
+	 */
+	public static Set<String> mine(DLMinerInput input) throws Exception {
+		DLMiner miner = new DLMiner(input);
+		miner.init();
+		miner.run();
+		return describe(miner.getOutput().getHypotheses());
+	}
+
+
+
+	/**
+	 * @param workspace an initialised workspace which is kept after the run
+	 * @return the miner after a run over the workspace
+	 * @throws Exception if the run fails
+	 */
+	public static DLMiner mine(MiningWorkspace workspace) throws Exception {
+		DLMiner miner = new DLMiner(workspace.getInput());
+		miner.init(workspace);
+		miner.run();
+		return miner;
+	}
+
+
+
+	/**
+	 * @param hypotheses hypotheses
+	 * @return the axioms of each hypothesis together with its main measures
+	 */
+	public static Set<String> describe(Collection<Hypothesis> hypotheses) {
+		Set<String> descriptions = new TreeSet<>();
+		for (Hypothesis h : hypotheses) {
+			descriptions.add(describe(h));
+		}
+		return descriptions;
+	}
+
+
+
+	/**
+	 * @param h a hypothesis
+	 * @return the axioms of the hypothesis together with its main measures
+	 */
+	public static String describe(Hypothesis h) {
+		Set<String> axioms = new TreeSet<>();
+		for (OWLAxiom axiom : h.axioms) {
+			axioms.add(axiom.toString());
+		}
+		return axioms + " support=" + h.get(Measure.SUPPORT) + " precision=" + h.get(Measure.PRECISION)
+				+ " lift=" + h.get(Measure.LIFT) + " novelty=" + h.get(Measure.NOVELTY_APPROX)
+				+ " dissimilarity=" + h.get(Measure.DISSIMILARITY_APPROX) + " length=" + h.length;
+	}
+
+}
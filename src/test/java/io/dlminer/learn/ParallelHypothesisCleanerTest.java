@@ -0,0 +1,61 @@
+package io.dlminer.learn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.MiningWorkspace;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Compares hypotheses cleaned in parallel parts with those cleaned
+ * one by one by {@link HypothesisCleaner}.
+ */
+public class ParallelHypothesisCleanerTest {
+
+	private static MiningWorkspace workspace;
+	private static ConceptBuilder conceptBuilder;
+	private static Set<Hypothesis> hypotheses;
+
+
+
+	@BeforeClass
+	public static void mineHypotheses() throws Exception {
+		workspace = new MiningWorkspace(
+				MiningRuns.createInput(MiningRuns.generate(300), 300, 1));
+		workspace.init();
+		DLMiner miner = MiningRuns.mine(workspace);
+		conceptBuilder = miner.getOutput().getConceptBuilder();
+		hypotheses = new HashSet<>(miner.getOutput().getHypotheses());
+	}
+
+
+
+	@AfterClass
+	public static void disposeWorkspace() {
+		if (workspace != null) {
+			workspace.dispose();
+		}
+	}
+
+
+
+	@Test
+	public void testParallelEqualsSerial() {
+		HypothesisCleaner cleaner = new HypothesisCleaner(
+				conceptBuilder, hypotheses, workspace.getReasoner());
+		Set<String> serial = MiningRuns.describe(cleaner.cleanSeparately());
+		cleaner.dispose();
+		Set<String> parallel = MiningRuns.describe(
+				new ParallelHypothesisCleaner(conceptBuilder, hypotheses, 4).cleanSeparately());
+		assertFalse(serial.isEmpty());
+		assertEquals(serial, parallel);
+	}
+
+}
@@ -0,0 +1,42 @@
+package io.dlminer.main;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.Measure;
+import io.dlminer.learn.MiningRuns;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+/**
+ * Runs DL-Miner in anytime mode over a generated ontology.
+ */
+public class DLMinerTest {
+
+	// seconds, enough for the run to finish
+	private static final int TIME_BUDGET = 600;
+
+
+
+	@Test
+	public void testAnytimeHypothesesAreRankedByQuality() throws Exception {
+		DLMinerInput input = MiningRuns.createInput(MiningRuns.generate(300), 300, 1);
+		input.setTimeBudget(TIME_BUDGET);
+		DLMiner miner = new DLMiner(input);
+		miner.init();
+		miner.run();
+		Collection<Hypothesis> hypotheses = miner.getOutput().getHypotheses();
+		assertFalse(hypotheses.isEmpty());
+		Double previous = null;
+		for (Hypothesis h : hypotheses) {
+			if (previous != null) {
+				assertTrue(h.get(Measure.QUALITY) <= previous);
+			}
+			previous = h.get(Measure.QUALITY);
+		}
+	}
+
+}
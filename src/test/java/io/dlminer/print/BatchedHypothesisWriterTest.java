@@ -0,0 +1,70 @@
+package io.dlminer.print;
+
+import static org.junit.Assert.assertEquals;
+
+import io.dlminer.learn.Hypothesis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+/**
+ * Saves small hypotheses to separate files.
+ */
+public class BatchedHypothesisWriterTest {
+
+	private static final String PREFIX = "http://www.dlminer.io/test#";
+
+	private static final int HYPOTHESES_NUMBER = 100;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+
+	private static List<Hypothesis> createHypotheses() {
+		OWLDataFactory factory = OWLManager.getOWLDataFactory();
+		List<Hypothesis> hypotheses = new ArrayList<>();
+		for (int i = 0; i < HYPOTHESES_NUMBER; i++) {
+			OWLAxiom axiom = factory.getOWLSubClassOfAxiom(
+					factory.getOWLClass(IRI.create(PREFIX + "A" + i)),
+					factory.getOWLClass(IRI.create(PREFIX + "B" + i)));
+			hypotheses.add(new Hypothesis(Collections.singleton(axiom),
+					Collections.singleton(axiom), new HashSet<OWLAxiom>()));
+		}
+		return hypotheses;
+	}
+
+
+
+	@Test
+	public void testFilesAreSaved() throws Exception {
+		File directory = folder.newFolder();
+		BatchedHypothesisWriter writer = new BatchedHypothesisWriter(null, null, 4);
+		assertEquals(HYPOTHESES_NUMBER,
+				writer.saveHypothesesToSeparateFiles(createHypotheses(), directory));
+		assertEquals(HYPOTHESES_NUMBER, directory.listFiles().length);
+	}
+
+
+
+	@Test(expected = IOException.class)
+	public void testWriteErrorIsPassedOn() throws Exception {
+		// a file in place of the directory cannot contain files
+		File directory = folder.newFile();
+		BatchedHypothesisWriter writer = new BatchedHypothesisWriter(null, null, 4);
+		writer.saveHypothesesToSeparateFiles(createHypotheses(), directory);
+	}
+
+}
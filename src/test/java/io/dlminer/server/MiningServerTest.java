@@ -0,0 +1,151 @@
+package io.dlminer.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.dlminer.gen.GeneratorConfig;
+import io.dlminer.gen.OntologyGenerator;
+import io.dlminer.main.DLMinerInput;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Round trips through the HTTP interface of the server on the loopback
+ * interface over a generated ontology.
+ */
+public class MiningServerTest {
+
+	private static final String ONTOLOGY = "gen";
+
+	// milliseconds to wait for a job to start
+	private static final long START_TIMEOUT = 60000;
+
+	private static MiningServer server;
+	private static String base;
+
+
+
+	@BeforeClass
+	public static void startServer() throws Exception {
+		GeneratorConfig config = new GeneratorConfig();
+		config.individualsNumber = 300;
+		OWLOntology ontology = new OntologyGenerator(config).generate();
+		server = new MiningServer(0);
+		server.addOntology(ONTOLOGY, new DLMinerInput(ontology));
+		server.start();
+		base = server.getURI().toString();
+	}
+
+
+
+	@AfterClass
+	public static void stopServer() {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+
+
+	@Test
+	public void testOntologyIsLoaded() throws Exception {
+		Response response = request("GET", "ontologies");
+		assertEquals(200, response.code);
+		assertTrue(response.lines.contains(ONTOLOGY + "=0"));
+	}
+
+
+
+	@Test
+	public void testJobIsStreamed() throws Exception {
+		String id = submit("maxHypothesesNumber=50&maxLength=3&minSupport=10");
+		Response stream = request("GET", "jobs/" + id + "/hypotheses");
+		assertEquals(200, stream.code);
+		MiningJob job = server.getJob(id);
+		// the stream ends with the job
+		assertTrue(job.getStatus().isFinal());
+		assertEquals(JobStatus.DONE, job.getStatus());
+		assertTrue(job.getHypothesesNumber() > 0);
+		assertEquals(job.getHypothesesNumber(), stream.lines.size());
+		Response state = request("GET", "jobs/" + id);
+		assertTrue(state.lines.contains("status=" + JobStatus.DONE));
+		assertTrue(state.lines.contains("hypotheses=" + job.getHypothesesNumber()));
+	}
+
+
+
+	@Test
+	public void testJobIsCancelled() throws Exception {
+		String id = submit("maxHypothesesNumber=100000&maxLength=6&minSupport=2");
+		MiningJob job = server.getJob(id);
+		long start = System.currentTimeMillis();
+		while (job.getStatus() == JobStatus.QUEUED
+				&& System.currentTimeMillis() - start < START_TIMEOUT) {
+			Thread.sleep(10);
+		}
+		assertEquals(200, request("POST", "jobs/" + id + "/cancel").code);
+		Response stream = request("GET", "jobs/" + id + "/hypotheses");
+		assertEquals(200, stream.code);
+		assertEquals(JobStatus.CANCELLED, job.getStatus());
+		assertTrue(request("GET", "jobs/" + id).lines.contains("status=" + JobStatus.CANCELLED));
+	}
+
+
+
+	@Test
+	public void testUnknownOntologyIsRejected() throws Exception {
+		assertEquals(400, request("POST", "jobs?ontology=none").code);
+		assertEquals(404, request("GET", "jobs/none").code);
+	}
+
+
+
+	private static String submit(String parameters) throws IOException {
+		Response response = request("POST", "jobs?ontology=" + ONTOLOGY + "&" + parameters);
+		assertEquals(202, response.code);
+		String line = response.lines.get(0);
+		assertTrue(line.startsWith("id="));
+		return line.substring("id=".length());
+	}
+
+
+
+	private static Response request(String method, String path) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+		connection.setRequestMethod(method);
+		Response response = new Response();
+		response.code = connection.getResponseCode();
+		InputStream in = (response.code < 400) ?
+				connection.getInputStream() : connection.getErrorStream();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				response.lines.add(line);
+			}
+		}
+		return response;
+	}
+
+
+
+	private static class Response {
+
+		private int code;
+		private List<String> lines = new ArrayList<>();
+	}
+
+}
@@ -0,0 +1,148 @@
+package io.dlminer.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.dlminer.graph.Graph;
+import io.dlminer.learn.Hypothesis;
+import io.dlminer.learn.MiningRuns;
+import io.dlminer.main.DLMiner;
+import io.dlminer.main.DLMinerInput;
+import io.dlminer.ont.OntologyHandler;
+import io.dlminer.ont.ReasonerLoader;
+import io.dlminer.ont.ReasonerName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Compares the strength order of {@link StrengthGraphBuilder} with
+ * the order found by checking every pair of hypotheses by the reasoner.
+ */
+public class StrengthGraphBuilderTest {
+
+	private static List<Hypothesis> hypotheses;
+	// entailments between all pairs checked one by one
+	private static boolean[][] serial;
+	private static StrengthGraphBuilder builder;
+
+
+
+	@BeforeClass
+	public static void orderHypotheses() throws Exception {
+		DLMinerInput input = MiningRuns.createInput(MiningRuns.generate(300), 100, 1);
+		DLMiner miner = new DLMiner(input);
+		miner.init();
+		miner.run();
+		hypotheses = new ArrayList<>(miner.getOutput().getHypotheses());
+		serial = orderSerially(hypotheses);
+		builder = new StrengthGraphBuilder(hypotheses);
+		builder.build();
+	}
+
+
+
+	// the stronger hypothesis is loaded into an empty ontology as in the builder
+	private static boolean[][] orderSerially(List<Hypothesis> hypotheses) throws Exception {
+		int n = hypotheses.size();
+		boolean[][] order = new boolean[n][n];
+		OntologyHandler handler = new OntologyHandler();
+		OWLReasoner reasoner = ReasonerLoader.initReasoner(ReasonerName.HERMIT,
+				handler.getOntology());
+		try {
+			for (int i = 0; i < n; i++) {
+				Hypothesis h1 = hypotheses.get(i);
+				handler.removeAxioms();
+				handler.addAxioms(h1.axioms);
+				boolean isConsistent;
+				try {
+					reasoner.flush();
+					isConsistent = reasoner.isConsistent();
+				} catch (Exception e) {
+					// usually irregular roles
+					isConsistent = false;
+				}
+				for (int j = 0; j < n; j++) {
+					Hypothesis h2 = hypotheses.get(j);
+					if (i == j || h1.axioms.containsAll(h2.axioms)) {
+						order[i][j] = true;
+					} else if (isConsistent) {
+						order[i][j] = reasoner.isEntailed(h2.axioms);
+					}
+				}
+			}
+		} finally {
+			reasoner.dispose();
+		}
+		return order;
+	}
+
+
+
+	@Test
+	public void testOrderIsSound() {
+		for (int i = 0; i < hypotheses.size(); i++) {
+			for (int j = 0; j < hypotheses.size(); j++) {
+				if (builder.isStrongerOrEqual(hypotheses.get(i), hypotheses.get(j))) {
+					assertTrue(i + " > " + j, serial[i][j]);
+				}
+			}
+		}
+	}
+
+
+
+	@Test
+	public void testOrderIsComplete() {
+		int entailments = 0;
+		for (int i = 0; i < hypotheses.size(); i++) {
+			Hypothesis h1 = hypotheses.get(i);
+			for (int j = 0; j < hypotheses.size(); j++) {
+				Hypothesis h2 = hypotheses.get(j);
+				// the builder only compares these pairs
+				if (i == j || !sharesTwoEntities(h1, h2)
+						|| (!h1.containsRoleAxioms() && h2.containsRoleAxioms())) {
+					continue;
+				}
+				assertEquals(i + " > " + j, serial[i][j], builder.isStrongerOrEqual(h1, h2));
+				if (serial[i][j]) {
+					entailments++;
+				}
+			}
+		}
+		assertTrue(entailments > 0);
+	}
+
+
+
+	@Test
+	public void testGraphKeepsReachability() {
+		Graph<Hypothesis> graph = builder.getGraph();
+		for (int i = 0; i < hypotheses.size(); i++) {
+			Hypothesis h1 = hypotheses.get(i);
+			for (int j = 0; j < hypotheses.size(); j++) {
+				Hypothesis h2 = hypotheses.get(j);
+				if (i != j) {
+					assertEquals(i + " > " + j, builder.isStrongerOrEqual(h1, h2),
+							graph.hasDescendant(h1, h2));
+				}
+			}
+		}
+	}
+
+
+
+	private static boolean sharesTwoEntities(Hypothesis h1, Hypothesis h2) {
+		Set<OWLEntity> common = new HashSet<>(h1.getSignature());
+		common.retainAll(h2.getSignature());
+		return common.size() >= 2;
+	}
+
+}